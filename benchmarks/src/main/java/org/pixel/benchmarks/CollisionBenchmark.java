@@ -0,0 +1,70 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pixel.math.MathHelper;
+import org.pixel.math.Vector2;
+
+/**
+ * Polygon collision through {@link MathHelper#overlap(List, List)} (SAT) for colliding and separated polygons.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    @Param({"4", "8"})
+    private int vertexCount;
+
+    private List<Vector2> polygon;
+    private List<Vector2> overlappingPolygon;
+    private List<Vector2> separatedPolygon;
+
+    @Setup
+    public void setup() {
+        polygon = createPolygon(0f, 0f, 10f);
+        overlappingPolygon = createPolygon(5f, 5f, 10f);
+        separatedPolygon = createPolygon(50f, 50f, 10f);
+    }
+
+    @Benchmark
+    public boolean overlapColliding() {
+        return MathHelper.overlap(polygon, overlappingPolygon);
+    }
+
+    @Benchmark
+    public boolean overlapSeparated() {
+        return MathHelper.overlap(polygon, separatedPolygon);
+    }
+
+    private List<Vector2> createPolygon(float x, float y, float radius) {
+        // regular polygon (counter-clockwise), rotated so the quad case is not axis aligned:
+        List<Vector2> vertices = new ArrayList<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            double angle = Math.PI * 2 * i / vertexCount + 0.3;
+            vertices.add(new Vector2(x + (float) Math.cos(angle) * radius, y + (float) Math.sin(angle) * radius));
+        }
+
+        return vertices;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.benchmarks;
+
+import static org.lwjgl.stb.STBImage.stbi_failure_reason;
+import static org.lwjgl.stb.STBImage.stbi_image_free;
+import static org.lwjgl.stb.STBImage.stbi_load_from_memory;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.IntBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.lwjgl.system.MemoryStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pixel.content.ContentManager;
+import org.pixel.content.TexturePack;
+import org.pixel.content.importer.TextImporter;
+import org.pixel.content.importer.TexturePackImporter;
+import org.pixel.content.texture.CompressedTextureData;
+import org.pixel.content.texture.CompressedTextureReader;
+
+/**
+ * Content import decoding through the {@link ContentManager} (uncached, so every call runs the importer), PNG
+ * decoding (the stb_image call used by the texture importer) and compressed texture container parsing. Resources are
+ * generated in memory so disk I/O is not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentBenchmark {
+
+    private static final int DDS_HEADER_SIZE = 128;
+    private static final int DDS_FOURCC_DXT5 = 0x35545844;
+
+    @Param({"64", "1024"})
+    private int frameCount;
+
+    private ContentManager contentManager;
+    private ByteBuffer ddsData;
+    private ByteBuffer pngData;
+
+    @Setup
+    public void setup() {
+        byte[] texturePack = createTexturePack(frameCount).getBytes(StandardCharsets.UTF_8);
+        byte[] text = "Lorem ipsum dolor sit amet. ".repeat(frameCount).getBytes(StandardCharsets.UTF_8);
+        contentManager = new ContentManager(path -> path.endsWith(".json") ? texturePack : text,
+                new TexturePackImporter(), new TextImporter());
+
+        ddsData = createDds(1024, 1024);
+        pngData = createPng(512, 512);
+    }
+
+    @Benchmark
+    public TexturePack importTexturePack() {
+        return contentManager.load("atlas.json", TexturePack.class, null, false);
+    }
+
+    @Benchmark
+    public String importText() {
+        return contentManager.load("text.txt", String.class, null, false);
+    }
+
+    @Benchmark
+    public CompressedTextureData readCompressedTexture() throws IOException {
+        return CompressedTextureReader.read(ddsData);
+    }
+
+    @Benchmark
+    public int decodePng() {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer w = stack.mallocInt(1);
+            IntBuffer h = stack.mallocInt(1);
+            IntBuffer comp = stack.mallocInt(1);
+
+            ByteBuffer imageData = stbi_load_from_memory(pngData, w, h, comp, 4);
+            if (imageData == null) {
+                throw new IllegalStateException("Unable to decode image: " + stbi_failure_reason());
+            }
+            int size = imageData.remaining();
+            stbi_image_free(imageData);
+
+            return size;
+        }
+    }
+
+    private static String createTexturePack(int frameCount) {
+        // texture packer JSON (hash) format, without the "meta" image so no texture is imported:
+        StringBuilder builder = new StringBuilder("{\"frames\":{");
+        for (int i = 0; i < frameCount; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("\"frame_").append(i).append(".png\":{")
+                    .append("\"frame\":{\"x\":").append((i % 32) * 32).append(",\"y\":").append((i / 32) * 32)
+                    .append(",\"w\":32,\"h\":32},")
+                    .append("\"pivot\":{\"x\":0.5,\"y\":0.5},")
+                    .append("\"attributes\":{\"index\":").append(i).append("}}");
+        }
+
+        return builder.append("}}").toString();
+    }
+
+    private static ByteBuffer createPng(int width, int height) {
+        // sprite-like content: flat color blocks with some noise, so the image neither compresses trivially nor
+        // behaves like pure noise:
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int block = ((x / 16) * 31 + (y / 16) * 17) & 0xFF;
+                int noise = random.nextInt(8);
+                image.setRGB(x, y, 0xFF000000 | ((block + noise) & 0xFF) << 16 | (255 - block) << 8 | (block ^ noise));
+            }
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] bytes = output.toByteArray();
+
+        // stb reads from direct buffers only:
+        return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+    }
+
+    private static ByteBuffer createDds(int width, int height) {
+        // DXT5 (BC3) with a full mipmap chain:
+        int levelCount = 1 + (31 - Integer.numberOfLeadingZeros(Math.max(width, height)));
+        int payloadSize = 0;
+        for (int i = 0; i < levelCount; i++) {
+            payloadSize += ((Math.max(1, width >> i) + 3) / 4) * ((Math.max(1, height >> i) + 3) / 4) * 16;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(DDS_HEADER_SIZE + payloadSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, 0x20534444); // "DDS "
+        buffer.putInt(4, 124); // header size
+        buffer.putInt(12, height);
+        buffer.putInt(16, width);
+        buffer.putInt(28, levelCount);
+        buffer.putInt(76, 32); // pixel format size
+        buffer.putInt(80, 0x4); // DDPF_FOURCC
+        buffer.putInt(84, DDS_FOURCC_DXT5);
+
+        return buffer;
+    }
+}
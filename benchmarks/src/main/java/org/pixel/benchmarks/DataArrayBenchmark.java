@@ -0,0 +1,78 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pixel.commons.data.DataArray;
+
+/**
+ * Sequential reads of a 64KB {@link DataArray} (bytes, ints and longs).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataArrayBenchmark {
+
+    private static final int LENGTH = 64 * 1024;
+
+    private DataArray dataArray;
+
+    @Setup
+    public void setup() {
+        byte[] source = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            source[i] = (byte) (i * 31);
+        }
+
+        dataArray = new DataArray(source);
+    }
+
+    @Benchmark
+    public long readBytes() {
+        dataArray.resetReaderIndex();
+        long sum = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            sum += dataArray.readByte();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long readInts() {
+        dataArray.resetReaderIndex();
+        long sum = 0;
+        for (int i = 0; i < LENGTH / Integer.BYTES; i++) {
+            sum += dataArray.readInt(Integer.BYTES);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long readLongs() {
+        dataArray.resetReaderIndex();
+        long sum = 0;
+        for (int i = 0; i < LENGTH / Long.BYTES; i++) {
+            sum += dataArray.readLong(Long.BYTES);
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pixel.commons.event.EventManager;
+
+/**
+ * Event publishing to N subscribed listeners (untyped and typed), plus publishing an event without listeners.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventManagerBenchmark {
+
+    private static final String EVENT_NAME = "benchmark.event";
+    private static final String TYPED_EVENT_NAME = "benchmark.typed.event";
+    private static final String UNHANDLED_EVENT_NAME = "benchmark.unhandled.event";
+
+    @Param({"1", "16"})
+    private int listenerCount;
+
+    private EventManager eventManager;
+    private Integer eventData;
+    private long received;
+
+    @Setup
+    public void setup() {
+        eventManager = new EventManager();
+        eventData = 42;
+        for (int i = 0; i < listenerCount; i++) {
+            eventManager.subscribe(EVENT_NAME, data -> received++);
+            eventManager.subscribe(TYPED_EVENT_NAME, Integer.class, data -> received += data);
+        }
+    }
+
+    @Benchmark
+    public long publish() {
+        eventManager.publish(EVENT_NAME, eventData);
+        return received;
+    }
+
+    @Benchmark
+    public long publishTyped() {
+        eventManager.publish(TYPED_EVENT_NAME, eventData);
+        return received;
+    }
+
+    @Benchmark
+    public long publishUnhandled() {
+        eventManager.publish(UNHANDLED_EVENT_NAME, eventData);
+        return received;
+    }
+}
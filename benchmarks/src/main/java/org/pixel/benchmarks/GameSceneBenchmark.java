@@ -0,0 +1,78 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pixel.commons.DeltaTime;
+import org.pixel.content.Texture;
+import org.pixel.ext.ecs.GameScene;
+import org.pixel.ext.ecs.Sprite;
+import org.pixel.ext.ecs.component.ConstantRotationComponent;
+import org.pixel.ext.ecs.component.ConstantVelocityComponent;
+import org.pixel.math.Vector2;
+
+/**
+ * Game scene update of N sprites, each with a velocity and a rotation component (no drawing).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameSceneBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int spriteCount;
+
+    private GameScene scene;
+    private DeltaTime delta;
+
+    @Setup
+    public void setup() {
+        Texture texture = new BenchmarkTexture();
+        scene = new GameScene("BenchmarkScene", null, null);
+        for (int i = 0; i < spriteCount; i++) {
+            Sprite sprite = new Sprite("Sprite" + i, texture);
+            sprite.getTransform().setPosition((i % 100) * 32f, (i / 100) * 32f);
+            sprite.addComponent(new ConstantVelocityComponent(new Vector2(10f, 5f)));
+            sprite.addComponent(new ConstantRotationComponent(1f));
+            scene.addChild(sprite);
+        }
+
+        delta = new DeltaTime();
+        delta.tick(16);
+    }
+
+    @Benchmark
+    public GameScene update() {
+        scene.update(delta);
+        return scene;
+    }
+
+    private static class BenchmarkTexture extends Texture {
+
+        BenchmarkTexture() {
+            super(0, 32, 32);
+        }
+
+        @Override
+        public void dispose() {
+            // intentionally empty
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pixel.math.Matrix4;
+import org.pixel.math.Vector2;
+
+/**
+ * Matrix4 and Vector2 operations used on every frame (camera and sprite transforms).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathBenchmark {
+
+    private Matrix4 matrix;
+    private Matrix4 otherMatrix;
+    private Vector2 vector;
+
+    @Setup
+    public void setup() {
+        matrix = new Matrix4();
+        matrix.translate(120f, 80f, 0f);
+        matrix.rotate(0.5f, 0f, 0f, 1f);
+        matrix.scale(32f, 32f, 1f);
+
+        otherMatrix = Matrix4.orthographic(0f, 800f, 600f, 0f, -1f, 1f);
+        vector = new Vector2();
+    }
+
+    @Benchmark
+    public Matrix4 matrix4Multiply() {
+        Matrix4 result = new Matrix4(matrix);
+        result.multiply(otherMatrix);
+        return result;
+    }
+
+    @Benchmark
+    public Matrix4 matrix4MultiplyScalar() {
+        Matrix4 result = new Matrix4(matrix);
+        result.multiply(1.5f);
+        return result;
+    }
+
+    @Benchmark
+    public Matrix4 matrix4Invert() {
+        Matrix4 result = new Matrix4(matrix);
+        result.invert();
+        return result;
+    }
+
+    @Benchmark
+    public Matrix4 matrix4SpriteTransform() {
+        // the same sequence the sprite batch applies per sprite:
+        Matrix4 result = new Matrix4();
+        result.translate(100f, 50f, 0f);
+        result.translate(16f, 16f, 0f);
+        result.rotate(0.75f, 0f, 0f, 1f);
+        result.translate(-16f, -16f, 0f);
+        result.scale(32f, 32f, 0f);
+        return result;
+    }
+
+    @Benchmark
+    public Vector2 vector2TransformMatrix4() {
+        vector.set(0.5f, 0.25f);
+        vector.transformMatrix4(matrix);
+        return vector;
+    }
+
+    @Benchmark
+    public Vector2 vector2Normalize() {
+        vector.set(3f, 4f);
+        vector.normalize();
+        return vector;
+    }
+
+    @Benchmark
+    public Vector2 vector2RotateAround() {
+        vector.set(10f, 0f);
+        vector.rotateAround(Vector2.ZERO, 0.5f);
+        return vector;
+    }
+}
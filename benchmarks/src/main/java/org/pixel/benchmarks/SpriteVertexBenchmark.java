@@ -0,0 +1,76 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pixel.commons.Color;
+import org.pixel.graphics.render.opengl.GLSpriteVertexWriter;
+
+/**
+ * CPU side of the sprite batch: vertex generation of a full batch into a direct buffer (the same buffer layout the
+ * batch uploads), without a graphics context.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpriteVertexBenchmark {
+
+    @Param({"256", "4096"})
+    private int spriteCount;
+
+    @Param({"false", "true"})
+    private boolean rotated;
+
+    private GLSpriteVertexWriter vertexWriter;
+    private FloatBuffer buffer;
+    private float[] positions;
+    private Color color;
+
+    @Setup
+    public void setup() {
+        vertexWriter = new GLSpriteVertexWriter();
+        buffer = ByteBuffer.allocateDirect(GLSpriteVertexWriter.SPRITE_UNIT_LENGTH * spriteCount * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        color = new Color(Color.WHITE);
+
+        positions = new float[spriteCount * 2];
+        for (int i = 0; i < spriteCount; i++) {
+            positions[i * 2] = (i % 64) * 32f;
+            positions[i * 2 + 1] = (i / 64) * 32f;
+        }
+    }
+
+    @Benchmark
+    public FloatBuffer writeBatch() {
+        buffer.clear();
+        float rotation = rotated ? 0.5f : 0f;
+        for (int i = 0; i < spriteCount; i++) {
+            vertexWriter.write(buffer, positions[i * 2], positions[i * 2 + 1], 32f, 32f, 0.5f, 0.5f, rotation,
+                    0f, 0f, 1f, 1f, color, i & 15);
+        }
+        buffer.flip();
+
+        return buffer;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pixel.commons.DeltaTime;
+import org.pixel.ext.tween.Tween;
+import org.pixel.ext.tween.TweenEasingMode;
+import org.pixel.ext.tween.TweenLoopMode;
+import org.pixel.math.Vector2;
+
+/**
+ * Update of N looping tweens, either producing raw values or copying them into a target instance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TweenBenchmark {
+
+    @Param({"1000"})
+    private int tweenCount;
+
+    @Param({"LINEAR", "ELASTIC"})
+    private TweenEasingMode easing;
+
+    private Tween[] valueTweens;
+    private Tween[] targetTweens;
+    private DeltaTime delta;
+
+    @Setup
+    public void setup() {
+        valueTweens = new Tween[tweenCount];
+        targetTweens = new Tween[tweenCount];
+        for (int i = 0; i < tweenCount; i++) {
+            valueTweens[i] = new Tween(0f, 0f, 0f, 0f)
+                    .to(1f, 2f, 3f, 4f)
+                    .duration(1f + (i % 10) * 0.1f)
+                    .easing(easing)
+                    .loopMode(TweenLoopMode.LOOP_REVERSE);
+
+            targetTweens[i] = new Tween(new Vector2(0f, 0f))
+                    .to(new Vector2(100f, 100f))
+                    .duration(1f + (i % 10) * 0.1f)
+                    .easing(easing)
+                    .loopMode(TweenLoopMode.LOOP_REVERSE)
+                    .target(new Vector2());
+        }
+
+        delta = new DeltaTime();
+        delta.tick(16);
+    }
+
+    @Benchmark
+    public Tween[] updateValues() {
+        for (Tween tween : valueTweens) {
+            tween.update(delta);
+        }
+
+        return valueTweens;
+    }
+
+    @Benchmark
+    public Tween[] updateTargets() {
+        for (Tween tween : targetTweens) {
+            tween.update(delta);
+        }
+
+        return targetTweens;
+    }
+}
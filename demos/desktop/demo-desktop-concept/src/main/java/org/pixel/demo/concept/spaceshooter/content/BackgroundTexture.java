@@ -9,7 +9,6 @@ import static org.lwjgl.opengl.GL11C.GL_TEXTURE_MIN_FILTER;
 import static org.lwjgl.opengl.GL11C.GL_TEXTURE_WRAP_S;
 import static org.lwjgl.opengl.GL11C.GL_TEXTURE_WRAP_T;
 import static org.lwjgl.opengl.GL11C.GL_UNSIGNED_BYTE;
-import static org.lwjgl.opengl.GL11C.glBindTexture;
 import static org.lwjgl.opengl.GL11C.glGenTextures;
 import static org.lwjgl.opengl.GL11C.glGetTexImage;
 import static org.lwjgl.opengl.GL11C.glTexImage2D;
@@ -25,6 +24,7 @@ import org.lwjgl.opengl.GL11C;
 import org.pixel.content.Texture;
 import org.pixel.content.TextureFrame;
 import org.pixel.content.opengl.GLTexture;
+import org.pixel.graphics.opengl.GLStateCache;
 
 public class BackgroundTexture extends GLTexture {
 
@@ -50,9 +50,9 @@ public class BackgroundTexture extends GLTexture {
                 (int) (baseTexture.getWidth() * baseTexture.getHeight() * 4));
         imageData = BufferUtils.createByteBuffer((int) (tw * th * 4));
 
-        glBindTexture(GL_TEXTURE_2D, baseTexture.getId());
+        GLStateCache.bindTexture(baseTexture.getId());
         glGetTexImage(GL11C.GL_TEXTURE_2D, 0, GL_RGBA, GL_UNSIGNED_BYTE, imageSourceData);
-        glBindTexture(GL_TEXTURE_2D, 0);
+        GLStateCache.bindTexture(0);
 
         frames.sort(Comparator.comparingInt(o -> o.getAttributes().getInteger("weight", 1)));
 
@@ -72,13 +72,13 @@ public class BackgroundTexture extends GLTexture {
             }
         }
 
-        glBindTexture(GL_TEXTURE_2D, getId());
+        GLStateCache.bindTexture(getId());
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_REPEAT);
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_REPEAT);
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
         glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, (int) tw, (int) th, 0, GL_RGBA, GL_UNSIGNED_BYTE, imageData.flip());
-        glBindTexture(GL_TEXTURE_2D, 0);
+        GLStateCache.bindTexture(0);
 
         width = tw;
         height = th;
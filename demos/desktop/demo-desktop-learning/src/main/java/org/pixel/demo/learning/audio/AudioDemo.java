@@ -37,6 +37,7 @@ public class AudioDemo extends DemoGame {
 
     @Override
     public void dispose() {
+        audioPlayer.dispose();
         contentManager.dispose();
         sound.dispose();
         super.dispose();
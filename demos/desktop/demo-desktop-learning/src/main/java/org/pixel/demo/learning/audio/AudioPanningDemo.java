@@ -8,6 +8,7 @@ package org.pixel.demo.learning.audio;
 import org.pixel.commons.Color;
 import org.pixel.commons.DeltaTime;
 import org.pixel.commons.ServiceProvider;
+import org.pixel.content.Sound;
 import org.pixel.content.Texture;
 import org.pixel.core.Camera2D;
 import org.pixel.core.WindowSettings;
@@ -46,13 +47,14 @@ public class AudioPanningDemo extends AudioDemo {
         panningValue += 0.001f * delta.getElapsedMs(); // dummy panning reference
         texturePosition.set(MathHelper.cos(panningValue) * 100f, MathHelper.sin(panningValue) * 100f);
 
-        // This sets the panning value for the sound:
+        // This sets the panning value for the sound (in-place changes must be flagged):
         sound.getSpatialPosition().set(
                 MathHelper.cos(panningValue),
                 MathHelper.sin(panningValue)
         );
-        // This synchronizes the sound properties with the audio player:
-        audioPlayer.sync(sound);
+        sound.markDirty(Sound.PROPERTY_POSITION);
+        // This applies the flagged changes of every playing sound, once per update:
+        audioPlayer.flush();
     }
 
     @Override
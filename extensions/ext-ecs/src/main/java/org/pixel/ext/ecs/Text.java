@@ -1,13 +1,9 @@
 package org.pixel.ext.ecs;
 
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
-import lombok.RequiredArgsConstructor;
-
 import org.pixel.commons.Color;
 import org.pixel.commons.DeltaTime;
 import org.pixel.content.Font;
+import org.pixel.content.font.TextLayout;
 import org.pixel.graphics.render.SpriteBatch;
 import org.pixel.math.Vector2;
 
@@ -16,15 +12,16 @@ import org.pixel.math.Vector2;
  */
 public class Text extends GameObject {
 
-    private final List<TextLine> textLineList;
     private final Vector2 pivot;
+    private final Vector2 drawPosition;
     private Color color;
     private transient Font font;
+    private transient TextLayout layout;
     private String text;
     private Alignment alignment;
     private int fontSize;
     private int verticalSpacing;
-    private Vector2 previousPosition;
+    private float maxWidth;
     private boolean dirty;
 
     /**
@@ -67,16 +64,17 @@ public class Text extends GameObject {
         this.alignment = alignment;
         this.dirty = true;
         this.pivot = Vector2.zero();
+        this.drawPosition = new Vector2();
         this.fontSize = font.getFontSize();
         this.verticalSpacing = font.getVerticalSpacing();
-        this.textLineList = new ArrayList<>();
+        this.maxWidth = 0;
     }
 
     @Override
     public void update(DeltaTime delta) {
         super.update(delta);
 
-        if (!getTransform().getWorldPosition().equals(previousPosition) || dirty) {
+        if (layout == null || dirty) {
             cacheTextData();
         }
     }
@@ -85,9 +83,14 @@ public class Text extends GameObject {
     public void draw(DeltaTime delta, SpriteBatch spriteBatch) {
         super.draw(delta, spriteBatch);
 
-        for (TextLine textLine : textLineList) {
-            spriteBatch.drawText(font, textLine.text, textLine.position, color, fontSize);
+        if (layout == null) {
+            return; // not laid out yet
         }
+
+        // moving the text only translates the cached layout:
+        drawPosition.set(getTransform().getWorldPosition());
+        drawPosition.add(-layout.getWidth() * pivot.getX(), -layout.getHeight() * pivot.getY());
+        spriteBatch.drawText(layout, drawPosition, color);
     }
 
     @Override
@@ -98,42 +101,30 @@ public class Text extends GameObject {
     }
 
     /**
-     * Compute and cache text line data.
+     * Compute and cache the text layout.
      */
     private void cacheTextData() {
-        textLineList.clear();
-
-        var lines = text.split("\n");
-        var totalHeight = (fontSize + verticalSpacing) * lines.length;
-        var lineMaxWidth = 0;
-        for (String line : lines) {
-            var lineWidth = font.computeTextWidth(line, fontSize);
-            if (lineWidth > lineMaxWidth) {
-                lineMaxWidth = lineWidth;
-            }
-
-            textLineList.add(new TextLine(line, lineWidth));
+        if (layout == null || layout.getFont() != font) {
+            layout = new TextLayout(font);
         }
 
-        for (int i = 0; i < textLineList.size(); i++) {
-            var textLine = textLineList.get(i);
-            var positionY = (fontSize + verticalSpacing) * i;
-            switch (alignment) {
-                case LEFT:
-                    textLine.position.set(0, positionY);
-                    break;
-                case CENTER:
-                    textLine.position.set((lineMaxWidth / 2f) - (textLine.lineWidth / 2f), positionY);
-                    break;
-                case RIGHT:
-                    textLine.position.set(lineMaxWidth - textLine.lineWidth, positionY);
-                    break;
-            }
-            textLine.position.add(getTransform().getWorldPosition());
-            textLine.position.add(-lineMaxWidth * pivot.getX(), -totalHeight * pivot.getY());
+        layout.setFontSize(fontSize);
+        layout.setMaxWidth(maxWidth);
+        switch (alignment) {
+            case CENTER:
+                layout.setAlignment(TextLayout.Alignment.CENTER);
+                break;
+            case RIGHT:
+                layout.setAlignment(TextLayout.Alignment.RIGHT);
+                break;
+            default:
+                layout.setAlignment(TextLayout.Alignment.LEFT);
+                break;
         }
 
-        previousPosition = new Vector2(getTransform().getWorldPosition());
+        layout.setVerticalSpacing(verticalSpacing);
+        layout.layout(text);
+
         dirty = false;
     }
 
@@ -246,6 +237,25 @@ public class Text extends GameObject {
         this.dirty = true;
     }
 
+    /**
+     * Get the maximum line width.
+     *
+     * @return The maximum line width or 0 if wrapping is disabled.
+     */
+    public float getMaxWidth() {
+        return maxWidth;
+    }
+
+    /**
+     * Set the maximum line width, longer lines are wrapped at word boundaries.
+     *
+     * @param maxWidth The maximum line width or 0 to disable wrapping.
+     */
+    public void setMaxWidth(float maxWidth) {
+        this.maxWidth = maxWidth;
+        this.dirty = true;
+    }
+
     /**
      * Get the drawing pivot of the Text.
      *
@@ -299,12 +309,4 @@ public class Text extends GameObject {
     public enum Alignment {
         LEFT, CENTER, RIGHT;
     }
-
-    @RequiredArgsConstructor
-    private static class TextLine implements Serializable {
-
-        private final Vector2 position = new Vector2();
-        private final String text;
-        private final int lineWidth;
-    }
 }
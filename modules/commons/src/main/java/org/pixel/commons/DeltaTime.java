@@ -11,6 +11,8 @@ public class DeltaTime {
     private long lastTimestamp;
     private long elapsedMilliseconds;
     private float elapsedSeconds;
+    private long totalFixedMilliseconds;
+    private boolean fixedStep;
 
     /**
      * Constructor.
@@ -44,7 +46,7 @@ public class DeltaTime {
      * @return Total time elapsed in seconds.
      */
     public float getTotalElapsed() {
-        return (System.currentTimeMillis() - startTimestamp) / 1000f;
+        return getTotalElapsedMs() / 1000f;
     }
 
     /**
@@ -53,7 +55,16 @@ public class DeltaTime {
      * @return Total time elapsed in milliseconds.
      */
     public float getTotalElapsedMs() {
-        return System.currentTimeMillis() - startTimestamp;
+        return fixedStep ? totalFixedMilliseconds : System.currentTimeMillis() - startTimestamp;
+    }
+
+    /**
+     * Check if the time advances by fixed steps (see {@link #tick(long)}).
+     *
+     * @return True if advancing by fixed steps, false otherwise.
+     */
+    public boolean isFixedStep() {
+        return fixedStep;
     }
 
     /**
@@ -66,4 +77,18 @@ public class DeltaTime {
         lastTimestamp = now;
     }
 
+    /**
+     * Advance by a fixed step instead of the measured time, for deterministic runs (e.g. benchmarks, golden-image
+     * tests). Once used, the total elapsed time is the sum of the fixed steps.
+     *
+     * @param stepMilliseconds The step (in milliseconds).
+     */
+    public void tick(long stepMilliseconds) {
+        fixedStep = true;
+        elapsedMilliseconds = stepMilliseconds;
+        elapsedSeconds = stepMilliseconds / 1000f;
+        totalFixedMilliseconds += stepMilliseconds;
+        lastTimestamp = System.nanoTime() / 1000000;
+    }
+
 }
@@ -0,0 +1,191 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.commons.data;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size table of handles shared between a producer thread (that hands out the handles) and a consumer thread
+ * (that maps them to values, e.g. pooled voices). A handle keeps its slot reserved until the consumer frees it, so
+ * the producer never reuses the slot of a handle that is still alive (e.g. a looping or paused playback): allocation
+ * probes past reserved slots instead.
+ */
+public class HandleTable {
+
+    public static final long INVALID_HANDLE = 0L;
+
+    private final int mask;
+    private final AtomicLongArray reservedHandles; // handle per slot, until freed (written by both threads)
+    private final AtomicLongArray activeHandles; // handle per slot while active (written by both threads)
+    private final long[] mappedHandles; // consumer only
+    private final long[] mappedValues; // consumer only
+    private final int[] mappedSlots; // consumer only
+    private final int[] mappedIndexes; // consumer only (slot to index in mappedSlots)
+    private int mappedCount = 0;
+    private long nextHandle = 1; // producer only
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The minimum capacity (rounded up to a power of two).
+     */
+    public HandleTable(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        this.mask = size - 1;
+        this.reservedHandles = new AtomicLongArray(size);
+        this.activeHandles = new AtomicLongArray(size);
+        this.mappedHandles = new long[size];
+        this.mappedValues = new long[size];
+        this.mappedSlots = new int[size];
+        this.mappedIndexes = new int[size];
+    }
+
+    /**
+     * Allocate a new handle (producer only). The handle is reserved and reported as active until the consumer frees
+     * it or marks it inactive.
+     *
+     * @return The handle or {@link #INVALID_HANDLE} if every slot is reserved.
+     */
+    public long allocate() {
+        for (int i = 0; i <= mask; i++) {
+            long handle = nextHandle++;
+            int slot = slot(handle);
+            if (reservedHandles.get(slot) == INVALID_HANDLE) {
+                activeHandles.set(slot, handle);
+                reservedHandles.set(slot, handle);
+                return handle;
+            }
+        }
+
+        return INVALID_HANDLE;
+    }
+
+    /**
+     * Map a handle to a value (consumer only).
+     *
+     * @param handle The handle (as returned by {@link #allocate()}).
+     * @param value  The value; {@link #INVALID_HANDLE} frees the handle.
+     */
+    public void map(long handle, long value) {
+        if (value == INVALID_HANDLE) {
+            free(handle);
+            return;
+        }
+
+        int slot = slot(handle);
+        if (reservedHandles.get(slot) != handle) {
+            return; // not allocated
+        }
+
+        if (mappedHandles[slot] == INVALID_HANDLE) {
+            mappedIndexes[slot] = mappedCount;
+            mappedSlots[mappedCount++] = slot;
+        }
+        mappedHandles[slot] = handle;
+        mappedValues[slot] = value;
+    }
+
+    /**
+     * Get the value mapped to a handle (consumer only).
+     *
+     * @param handle The handle.
+     * @return The value or {@link #INVALID_HANDLE} if the handle is not mapped.
+     */
+    public long resolve(long handle) {
+        int slot = slot(handle);
+        return handle != INVALID_HANDLE && mappedHandles[slot] == handle ? mappedValues[slot] : INVALID_HANDLE;
+    }
+
+    /**
+     * Unmap a handle and release its slot (consumer only).
+     *
+     * @param handle The handle.
+     */
+    public void free(long handle) {
+        int slot = slot(handle);
+        if (handle == INVALID_HANDLE || reservedHandles.get(slot) != handle) {
+            return;
+        }
+
+        if (mappedHandles[slot] == handle) {
+            int index = mappedIndexes[slot];
+            int lastSlot = mappedSlots[--mappedCount];
+            mappedSlots[index] = lastSlot;
+            mappedIndexes[lastSlot] = index;
+            mappedHandles[slot] = INVALID_HANDLE;
+        }
+        activeHandles.compareAndSet(slot, handle, INVALID_HANDLE);
+        reservedHandles.set(slot, INVALID_HANDLE);
+    }
+
+    /**
+     * Set whether a (reserved) handle is active (consumer only).
+     *
+     * @param handle The handle.
+     * @param active True if active, false otherwise.
+     */
+    public void setActive(long handle, boolean active) {
+        int slot = slot(handle);
+        if (active) {
+            if (reservedHandles.get(slot) == handle && activeHandles.get(slot) != handle) {
+                activeHandles.set(slot, handle);
+            }
+        } else {
+            activeHandles.compareAndSet(slot, handle, INVALID_HANDLE);
+        }
+    }
+
+    /**
+     * Check if a handle is active (any thread).
+     *
+     * @param handle The handle.
+     * @return True if active, false otherwise.
+     */
+    public boolean isActive(long handle) {
+        return handle != INVALID_HANDLE && activeHandles.get(slot(handle)) == handle;
+    }
+
+    /**
+     * Get the number of mapped handles (consumer only). Mapped handles can be iterated by index; iterate backwards
+     * when freeing handles during the iteration.
+     *
+     * @return The number of mapped handles.
+     */
+    public int getMappedCount() {
+        return mappedCount;
+    }
+
+    /**
+     * Get a mapped handle by index (consumer only).
+     *
+     * @param index The index (0 to {@link #getMappedCount()} - 1).
+     * @return The handle.
+     */
+    public long getMappedHandle(int index) {
+        return mappedHandles[mappedSlots[index]];
+    }
+
+    /**
+     * Get the table capacity.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    private int slot(long handle) {
+        return (int) (handle & mask);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.commons.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, lock-free, single-producer/single-consumer ring of preallocated (mutable) slots. The producer claims a
+ * slot, fills it and publishes it; the consumer peeks the oldest published slot and releases it once processed, so
+ * exchanging messages between the two threads allocates nothing.
+ *
+ * @param <T> The slot type.
+ */
+public class SpscRingBuffer<T> {
+
+    private final Object[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next slot to consume (written by the consumer)
+    private final AtomicLong tail = new AtomicLong(); // next slot to produce (written by the producer)
+    private long cachedHead = 0; // producer-local view of head
+    private long cachedTail = 0; // consumer-local view of tail
+
+    /**
+     * Constructor.
+     *
+     * @param capacity    The minimum capacity (rounded up to a power of two).
+     * @param slotFactory The factory of the preallocated slots.
+     */
+    public SpscRingBuffer(int capacity, Supplier<T> slotFactory) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        this.slots = new Object[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = slotFactory.get();
+        }
+    }
+
+    /**
+     * Claim the next slot to fill (producer only). The slot becomes visible to the consumer on {@link #publish()}.
+     *
+     * @return The slot or null if the ring is full.
+     */
+    @SuppressWarnings("unchecked")
+    public T claim() {
+        long t = tail.getPlain();
+        if (t - cachedHead >= slots.length) {
+            cachedHead = head.getAcquire();
+            if (t - cachedHead >= slots.length) {
+                return null;
+            }
+        }
+
+        return (T) slots[(int) (t & mask)];
+    }
+
+    /**
+     * Publish the claimed slot (producer only).
+     *
+     * @return The sequence of the published slot; it is consumed once {@link #getConsumedSequence()} exceeds it.
+     */
+    public long publish() {
+        long t = tail.getPlain();
+        tail.setRelease(t + 1);
+        return t;
+    }
+
+    /**
+     * Get the oldest published slot (consumer only), without consuming it.
+     *
+     * @return The slot or null if the ring is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        long h = head.getPlain();
+        if (h >= cachedTail) {
+            cachedTail = tail.getAcquire();
+            if (h >= cachedTail) {
+                return null;
+            }
+        }
+
+        return (T) slots[(int) (h & mask)];
+    }
+
+    /**
+     * Release the slot returned by {@link #peek()} (consumer only), handing it back to the producer.
+     */
+    public void release() {
+        head.setRelease(head.getPlain() + 1);
+    }
+
+    /**
+     * Get the number of consumed slots since creation (safe to call from any thread).
+     *
+     * @return The consumed sequence.
+     */
+    public long getConsumedSequence() {
+        return head.getAcquire();
+    }
+
+    /**
+     * Get the number of published slots waiting to be consumed (approximate when called concurrently).
+     *
+     * @return The number of slots.
+     */
+    public int size() {
+        return (int) (tail.getAcquire() - head.getAcquire());
+    }
+
+    /**
+     * Get the capacity.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+}
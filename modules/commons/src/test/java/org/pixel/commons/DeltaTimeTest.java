@@ -0,0 +1,25 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.commons;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DeltaTimeTest {
+
+    @Test
+    public void fixedStepTest() throws InterruptedException {
+        var delta = new DeltaTime();
+        delta.tick(16);
+        Thread.sleep(30); // wall time must not leak into fixed steps
+        delta.tick(16);
+
+        Assertions.assertEquals(16, delta.getElapsedMs());
+        Assertions.assertEquals(0.016f, delta.getElapsed(), 0.0001f);
+        Assertions.assertEquals(32f, delta.getTotalElapsedMs());
+        Assertions.assertEquals(0.032f, delta.getTotalElapsed(), 0.0001f);
+    }
+}
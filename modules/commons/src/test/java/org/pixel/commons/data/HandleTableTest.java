@@ -0,0 +1,86 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.commons.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HandleTableTest {
+
+    @Test
+    public void allocateMapFreeTest() {
+        var table = new HandleTable(3);
+        Assertions.assertEquals(4, table.getCapacity());
+
+        long handle = table.allocate();
+        Assertions.assertNotEquals(HandleTable.INVALID_HANDLE, handle);
+        Assertions.assertTrue(table.isActive(handle));
+        Assertions.assertEquals(HandleTable.INVALID_HANDLE, table.resolve(handle));
+
+        table.map(handle, 7);
+        Assertions.assertEquals(7, table.resolve(handle));
+        Assertions.assertEquals(1, table.getMappedCount());
+        Assertions.assertEquals(handle, table.getMappedHandle(0));
+
+        table.setActive(handle, false); // e.g. paused
+        Assertions.assertFalse(table.isActive(handle));
+        Assertions.assertEquals(7, table.resolve(handle));
+
+        table.free(handle);
+        Assertions.assertEquals(HandleTable.INVALID_HANDLE, table.resolve(handle));
+        Assertions.assertEquals(0, table.getMappedCount());
+    }
+
+    @Test
+    public void failedMappingFreesHandleTest() {
+        var table = new HandleTable(4);
+        long handle = table.allocate();
+        table.map(handle, HandleTable.INVALID_HANDLE); // e.g. no voice available
+
+        Assertions.assertFalse(table.isActive(handle));
+        Assertions.assertEquals(0, table.getMappedCount());
+    }
+
+    @Test
+    public void liveHandleSurvivesSlotWrapAroundTest() {
+        final int capacity = 1024;
+        var table = new HandleTable(capacity);
+
+        long looping = table.allocate();
+        table.map(looping, 1);
+
+        // play (and finish) far more sounds than there are slots while the looping playback is kept alive:
+        for (int i = 0; i < capacity * 3; i++) {
+            long handle = table.allocate();
+            Assertions.assertNotEquals(HandleTable.INVALID_HANDLE, handle);
+            Assertions.assertNotEquals(looping, handle);
+            table.map(handle, 2);
+            Assertions.assertEquals(2, table.resolve(handle));
+            table.free(handle);
+        }
+
+        Assertions.assertTrue(table.isActive(looping));
+        Assertions.assertEquals(1, table.resolve(looping));
+        Assertions.assertEquals(1, table.getMappedCount());
+    }
+
+    @Test
+    public void fullTableTest() {
+        var table = new HandleTable(4);
+        for (int i = 0; i < 4; i++) {
+            table.map(table.allocate(), i + 1);
+        }
+
+        Assertions.assertEquals(HandleTable.INVALID_HANDLE, table.allocate());
+
+        long handle = table.getMappedHandle(2);
+        table.free(handle);
+        Assertions.assertEquals(3, table.getMappedCount());
+        long next = table.allocate();
+        Assertions.assertNotEquals(HandleTable.INVALID_HANDLE, next);
+        Assertions.assertNotEquals(handle, next);
+    }
+}
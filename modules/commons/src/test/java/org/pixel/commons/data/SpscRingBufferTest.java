@@ -0,0 +1,75 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.commons.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SpscRingBufferTest {
+
+    @Test
+    public void claimPublishPeekReleaseTest() {
+        var ring = new SpscRingBuffer<>(3, Message::new);
+        Assertions.assertEquals(4, ring.getCapacity());
+        Assertions.assertNull(ring.peek());
+
+        for (int i = 0; i < 4; i++) {
+            ring.claim().value = i;
+            Assertions.assertEquals(i, ring.publish());
+        }
+        Assertions.assertNull(ring.claim()); // full
+        Assertions.assertEquals(4, ring.size());
+
+        Assertions.assertEquals(0, ring.peek().value);
+        Assertions.assertEquals(0, ring.peek().value); // peek does not consume
+        ring.release();
+        Assertions.assertEquals(1, ring.getConsumedSequence());
+        Assertions.assertNotNull(ring.claim());
+    }
+
+    @Test
+    public void concurrentTransferTest() throws InterruptedException {
+        final long count = 1_000_000;
+        var ring = new SpscRingBuffer<>(64, Message::new);
+        long[] sum = new long[1];
+
+        Thread consumer = new Thread(() -> {
+            long expected = 0;
+            while (expected < count) {
+                Message message = ring.peek();
+                if (message == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (message.value != expected) {
+                    throw new IllegalStateException("Out of order: " + message.value + " != " + expected);
+                }
+                sum[0] += message.value;
+                expected++;
+                ring.release();
+            }
+        });
+        consumer.start();
+
+        for (long i = 0; i < count; i++) {
+            Message message;
+            while ((message = ring.claim()) == null) {
+                Thread.onSpinWait();
+            }
+            message.value = i;
+            ring.publish();
+        }
+
+        consumer.join();
+        Assertions.assertEquals(count * (count - 1) / 2, sum[0]);
+        Assertions.assertEquals(count, ring.getConsumedSequence());
+    }
+
+    private static class Message {
+
+        private long value;
+    }
+}
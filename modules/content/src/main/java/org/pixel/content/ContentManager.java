@@ -13,7 +13,14 @@ import org.pixel.content.importer.settings.ContentImporterSettings;
 import org.pixel.pipeline.DataPipeline;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 
 public class ContentManager implements Disposable {
@@ -21,10 +28,16 @@ public class ContentManager implements Disposable {
     private static final Logger log = LoggerFactory.getLogger(ContentManager.class);
 
     private final ResourceLoader resourceLoader;
-    private final ConcurrentHashMap<String, Object> assetCache;
-    private final ConcurrentHashMap<Class<?>, ContentImporter<?>> importers;
+    private final ConcurrentHashMap<String, CacheEntry> assetCache;
+    private final ConcurrentHashMap<Class<?>, List<ContentImporter<?>>> importers;
+    private final LinkedHashMap<String, CacheEntry> evictionQueue; // unreferenced entries, least recently released first
+    private final Object cacheLock = new Object();
 
     private DataPipeline<byte[]> dataPipeline;
+    private long gpuMemoryBudget = Long.MAX_VALUE;
+    private long cpuMemoryBudget = Long.MAX_VALUE;
+    private long gpuMemoryUsage = 0;
+    private long cpuMemoryUsage = 0;
 
     /**
      * Constructor. By default, includes all internal importers.
@@ -35,6 +48,7 @@ public class ContentManager implements Disposable {
         this.resourceLoader = resourceLoader;
         this.assetCache = new ConcurrentHashMap<>();
         this.importers = new ConcurrentHashMap<>();
+        this.evictionQueue = new LinkedHashMap<>();
     }
 
     /**
@@ -47,6 +61,7 @@ public class ContentManager implements Disposable {
         this.resourceLoader = resourceLoader;
         this.assetCache = new ConcurrentHashMap<>();
         this.importers = new ConcurrentHashMap<>();
+        this.evictionQueue = new LinkedHashMap<>();
         this.addContentImporter(importers);
     }
 
@@ -55,19 +70,21 @@ public class ContentManager implements Disposable {
      */
     @Override
     public void dispose() {
-        assetCache.forEach((assetName, asset) -> {
-            // dispose all "disposable" assets
-            if (asset instanceof Disposable) {
-                ((Disposable) asset).dispose();
-            }
-        });
+        synchronized (cacheLock) {
+            // dispose all "disposable" assets (in-flight imports are left to their owner)
+            assetCache.forEach((assetName, entry) -> disposeAsset(entry.getAsset()));
+            assetCache.clear();
+            evictionQueue.clear();
+            gpuMemoryUsage = 0;
+            cpuMemoryUsage = 0;
+        }
 
-        importers.forEach((importerName, importer) -> {
-            // dispose all "disposable" assets
+        importers.forEach((importerType, importerList) -> importerList.forEach(importer -> {
+            // dispose all "disposable" importers
             if (importer instanceof Disposable) {
                 ((Disposable) importer).dispose();
             }
-        });
+        }));
     }
 
     /**
@@ -82,7 +99,8 @@ public class ContentManager implements Disposable {
     }
 
     /**
-     * Add a custom content importer to the content manager.
+     * Add a custom content importer to the content manager. Several importers may be registered for the same type, in
+     * which case the importer is selected by the file extension of the asset.
      *
      * @param importers The importer(s) to add.
      */
@@ -96,8 +114,38 @@ public class ContentManager implements Disposable {
 
             log.trace("Adding content importer '{}'.", importer.getClass().getSimpleName());
 
-            this.importers.put(importerDetails.type(), importer);
+            this.importers.computeIfAbsent(importerDetails.type(), type -> new CopyOnWriteArrayList<>()).add(importer);
+        }
+    }
+
+    /**
+     * Find the importer of a given type that best matches the file extension of the given filepath. Importers that
+     * declare the extension take precedence over wildcard ("*") importers, which take precedence over the remaining
+     * importers of the same type.
+     *
+     * @param filepath The filepath of the resource.
+     * @param type     The class type of the resource.
+     * @return The importer or null if no importer is available for the given type.
+     */
+    private ContentImporter<?> getContentImporter(String filepath, Class<?> type) {
+        List<ContentImporter<?>> importerList = this.importers.get(type);
+        if (importerList == null || importerList.isEmpty()) {
+            return null;
+        }
+
+        String lowerCaseFilepath = filepath.toLowerCase(Locale.ROOT);
+        ContentImporter<?> wildcardImporter = null;
+        for (ContentImporter<?> importer : importerList) {
+            for (String extension : importer.getClass().getAnnotation(ContentImporterInfo.class).extension()) {
+                if (extension.equals("*")) {
+                    wildcardImporter = wildcardImporter == null ? importer : wildcardImporter;
+                } else if (lowerCaseFilepath.endsWith(extension.toLowerCase(Locale.ROOT))) {
+                    return importer;
+                }
+            }
         }
+
+        return wildcardImporter != null ? wildcardImporter : importerList.get(0);
     }
 
     /**
@@ -273,29 +321,285 @@ public class ContentManager implements Disposable {
      * @param <T>      The type of the resource.
      * @return The loaded resource or null if the resource could not be loaded.
      */
-    @SuppressWarnings("unchecked")
     public <T> T load(String filepath, Class<T> type, @Nullable ContentImporterSettings settings, boolean useCache) {
+        if (!useCache) {
+            return importAsset(filepath, type, settings);
+        }
+
+        return loadCached(filepath, type, settings, false);
+    }
+
+    /**
+     * Load a resource file and acquire a reference to it - supports both absolute and relative paths (based on the
+     * project resource folder). Acquired assets are kept in memory until every reference is given back through
+     * {@link #release(String, Class)}; afterwards they become eligible for eviction once the memory budgets are
+     * exceeded.
+     *
+     * @param filepath The filepath of the resource - supports both relative and
+     *                 absolute paths.
+     * @param type     The class type of the resource.
+     * @param <T>      The type of the resource.
+     * @return The loaded resource or null if the resource could not be loaded.
+     */
+    public <T> T acquire(String filepath, Class<T> type) {
+        return acquire(filepath, type, null);
+    }
+
+    /**
+     * Load a resource file with a custom importer settings and acquire a reference to it - supports both absolute
+     * and relative paths (based on the project resource folder).
+     *
+     * @param filepath The filepath of the resource - supports both relative and
+     *                 absolute paths.
+     * @param type     The class type of the resource.
+     * @param settings The settings to use for the importer.
+     * @param <T>      The type of the resource.
+     * @return The loaded resource or null if the resource could not be loaded.
+     */
+    public <T> T acquire(String filepath, Class<T> type, @Nullable ContentImporterSettings settings) {
+        return loadCached(filepath, type, settings, true);
+    }
+
+    /**
+     * Release a reference previously obtained through {@link #acquire(String, Class)}. When the last reference is
+     * released the asset stays cached, but it may be evicted (and disposed) to honor the memory budgets.
+     *
+     * @param filepath The filepath of the resource.
+     * @param type     The class type of the resource.
+     */
+    public void release(String filepath, Class<?> type) {
         String assetRef = getCacheReference(filepath, type);
-        if (useCache && assetCache.containsKey(assetRef)) {
-            Object o = assetCache.get(assetRef);
-            if (type.isInstance(o)) {
-                return (T) assetCache.get(assetRef);
+        synchronized (cacheLock) {
+            CacheEntry entry = assetCache.get(assetRef);
+            if (entry == null || entry.refCount <= 0) {
+                log.warn("Unable to release asset '{}'; no references acquired.", filepath);
+                return;
+            }
+
+            if (--entry.refCount == 0 && !entry.pinned) {
+                evictionQueue.put(assetRef, entry);
             }
         }
 
-        ContentImporter<T> fileImporter = (ContentImporter<T>) this.importers.get(type);
-        if (fileImporter == null) {
-            log.warn("Unable to load asset due to unavailable importer for '{}'.", type.getCanonicalName());
-            return null;
+        enforceMemoryBudget();
+    }
+
+    /**
+     * Unload and dispose every cached asset associated with the given filepath, regardless of the references held.
+     *
+     * @param filepath The filepath of the resource.
+     * @return True if any asset was unloaded, false otherwise.
+     */
+    public boolean unload(String filepath) {
+        List<Object> unloaded = new ArrayList<>();
+        synchronized (cacheLock) {
+            assetCache.forEach((assetRef, entry) -> {
+                if (entry.filepath.equals(filepath) && entry.future.isDone()) {
+                    removeEntry(assetRef, entry);
+                    unloaded.add(entry.getAsset());
+                }
+            });
+        }
+
+        unloaded.forEach(this::disposeAsset);
+        return !unloaded.isEmpty();
+    }
+
+    /**
+     * Create a new content scope bound to this content manager. Assets loaded through the scope are released
+     * together once the scope is disposed (e.g. when a scene is unloaded).
+     *
+     * @return The content scope.
+     */
+    public ContentScope createScope() {
+        return new ContentScope(this);
+    }
+
+    /**
+     * Load a resource through the asset cache; concurrent requests for the same reference share a single import.
+     *
+     * @param filepath The filepath of the resource.
+     * @param type     The class type of the resource.
+     * @param settings The settings to use for the importer.
+     * @param acquire  Whether to acquire a reference (true) or pin the asset for the lifetime of the cache (false).
+     * @param <T>      The type of the resource.
+     * @return The loaded resource or null if the resource could not be loaded.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T loadCached(String filepath, Class<T> type, @Nullable ContentImporterSettings settings,
+            boolean acquire) {
+        String assetRef = getCacheReference(filepath, type);
+        while (true) {
+            // single-flight: the first caller for a given reference owns the import, everyone else waits on it
+            CacheEntry pending = new CacheEntry(filepath);
+            CacheEntry entry = assetCache.computeIfAbsent(assetRef, ref -> pending);
+            Object asset;
+            if (entry != pending) {
+                try {
+                    asset = entry.future.join();
+
+                } catch (CompletionException e) {
+                    log.error("Unable to load asset '{}'; concurrent import failed.", filepath, e.getCause());
+                    return null;
+                }
+
+            } else {
+                try {
+                    asset = importAsset(filepath, type, settings);
+                    if (asset == null) {
+                        assetCache.remove(assetRef, pending); // allow future attempts to retry the import
+                        pending.future.complete(null);
+                        return null;
+                    }
+
+                    synchronized (cacheLock) {
+                        pending.gpuSize = estimateGpuMemorySize(asset);
+                        pending.cpuSize = estimateCpuMemorySize(asset);
+                        gpuMemoryUsage += pending.gpuSize;
+                        cpuMemoryUsage += pending.cpuSize;
+                    }
+
+                } catch (Throwable e) {
+                    // errors included (e.g. out of memory): waiting callers must not block on an orphaned entry
+                    assetCache.remove(assetRef, pending);
+                    pending.future.completeExceptionally(e);
+                    throw e;
+                }
+                pending.future.complete(asset);
+            }
+
+            if (!type.isInstance(asset)) {
+                return null;
+            }
+
+            synchronized (cacheLock) {
+                if (assetCache.get(assetRef) != entry) {
+                    continue; // evicted or unloaded in the meantime, import it again
+                }
+
+                if (acquire) {
+                    entry.refCount++;
+                } else {
+                    entry.pinned = true;
+                }
+                evictionQueue.remove(assetRef);
+            }
+
+            if (entry == pending) {
+                enforceMemoryBudget();
+            }
+
+            return (T) asset;
+        }
+    }
+
+    /**
+     * Evict unreferenced assets (least recently released first) until the memory usage fits the configured budgets.
+     */
+    private void enforceMemoryBudget() {
+        List<Object> evicted = new ArrayList<>();
+        synchronized (cacheLock) {
+            var iterator = evictionQueue.entrySet().iterator();
+            while ((gpuMemoryUsage > gpuMemoryBudget || cpuMemoryUsage > cpuMemoryBudget) && iterator.hasNext()) {
+                var candidate = iterator.next();
+                iterator.remove();
+                removeEntry(candidate.getKey(), candidate.getValue());
+                evicted.add(candidate.getValue().getAsset());
+                log.trace("Evicting asset '{}' from cache.", candidate.getKey());
+            }
         }
 
-        byte[] resourceData = this.resourceLoader.load(filepath);
-        if (resourceData == null) {
-            log.warn("Unable to load asset '{}'; target could not be found.", filepath);
+        evicted.forEach(this::disposeAsset);
+    }
+
+    /**
+     * Remove a cache entry and its memory accounting. Must be called while holding the cache lock.
+     *
+     * @param assetRef The asset reference.
+     * @param entry    The cache entry.
+     */
+    private void removeEntry(String assetRef, CacheEntry entry) {
+        if (assetCache.remove(assetRef, entry)) {
+            evictionQueue.remove(assetRef);
+            gpuMemoryUsage -= entry.gpuSize;
+            cpuMemoryUsage -= entry.cpuSize;
+        }
+    }
+
+    private void disposeAsset(Object asset) {
+        if (asset instanceof Disposable) {
+            ((Disposable) asset).dispose();
+        }
+    }
+
+    /**
+     * Estimate the GPU memory used by the given asset.
+     *
+     * @param asset The asset.
+     * @return The estimated size in bytes.
+     */
+    private long estimateGpuMemorySize(Object asset) {
+        if (asset instanceof Texture) {
+            return ((Texture) asset).getMemorySize();
+
+        } else if (asset instanceof TexturePack && ((TexturePack) asset).getTexture() != null) {
+            return estimateGpuMemorySize(((TexturePack) asset).getTexture());
+
+        } else if (asset instanceof Font) {
+            return ((Font) asset).getTextureMemorySize();
+        }
+
+        return 0;
+    }
+
+    /**
+     * Estimate the CPU memory used by the given asset (decoded audio, font sources and text).
+     *
+     * @param asset The asset.
+     * @return The estimated size in bytes.
+     */
+    private long estimateCpuMemorySize(Object asset) {
+        if (asset instanceof Sound) {
+            return ((Sound) asset).getDataSize();
+
+        } else if (asset instanceof Font) {
+            ByteBuffer source = ((Font) asset).getFontData().getSource();
+            return source != null ? source.capacity() : 0;
+
+        } else if (asset instanceof String) {
+            return ((String) asset).length() * 2L;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Import a resource file without going through the asset cache.
+     *
+     * @param filepath The filepath of the resource - supports both relative and
+     *                 absolute paths.
+     * @param type     The class type of the resource.
+     * @param settings The settings to use for the importer.
+     * @param <T>      The type of the resource.
+     * @return The imported resource or null if the resource could not be imported.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T importAsset(String filepath, Class<T> type, @Nullable ContentImporterSettings settings) {
+        ContentImporter<T> fileImporter = (ContentImporter<T>) getContentImporter(filepath, type);
+        if (fileImporter == null) {
+            log.warn("Unable to load asset due to unavailable importer for '{}'.", type.getCanonicalName());
             return null;
         }
 
+        ImportContext ctx;
         if (dataPipeline != null) {
+            // the data pipeline operates on byte arrays, so the resource must be fully loaded on the heap:
+            byte[] resourceData = this.resourceLoader.load(filepath);
+            if (resourceData == null) {
+                log.warn("Unable to load asset '{}'; target could not be found.", filepath);
+                return null;
+            }
+
             try {
                 resourceData = dataPipeline.begin(resourceData).get();
 
@@ -303,15 +607,20 @@ public class ContentManager implements Disposable {
                 log.error("Unable to execute data pipeline on asset '{}'.", filepath, e);
                 return null;
             }
-        }
 
-        ImportContext ctx = new ImportContext(this, resourceData, filepath, settings);
-        T asset = fileImporter.process(ctx);
-        if (useCache && asset != null) {
-            assetCache.put(assetRef, asset);
+            ctx = new ImportContext(this, resourceData, filepath, settings);
+
+        } else {
+            ByteBuffer resourceBuffer = this.resourceLoader.loadBuffer(filepath);
+            if (resourceBuffer == null) {
+                log.warn("Unable to load asset '{}'; target could not be found.", filepath);
+                return null;
+            }
+
+            ctx = new ImportContext(this, resourceBuffer, filepath, settings);
         }
 
-        return asset;
+        return fileImporter.process(ctx);
     }
 
     /**
@@ -333,4 +642,85 @@ public class ContentManager implements Disposable {
     public void setDataPipeline(DataPipeline<byte[]> dataPipeline) {
         this.dataPipeline = dataPipeline;
     }
+
+    /**
+     * Get the GPU memory budget (in bytes) of the asset cache.
+     *
+     * @return The GPU memory budget.
+     */
+    public long getGpuMemoryBudget() {
+        return gpuMemoryBudget;
+    }
+
+    /**
+     * Set the GPU memory budget (in bytes) of the asset cache. Unreferenced assets are evicted once the estimated
+     * usage goes above this value (unbounded by default).
+     *
+     * @param gpuMemoryBudget The GPU memory budget.
+     */
+    public void setGpuMemoryBudget(long gpuMemoryBudget) {
+        this.gpuMemoryBudget = gpuMemoryBudget;
+        this.enforceMemoryBudget();
+    }
+
+    /**
+     * Get the CPU memory budget (in bytes) of the asset cache.
+     *
+     * @return The CPU memory budget.
+     */
+    public long getCpuMemoryBudget() {
+        return cpuMemoryBudget;
+    }
+
+    /**
+     * Set the CPU memory budget (in bytes) of the asset cache. Unreferenced assets are evicted once the estimated
+     * usage goes above this value (unbounded by default).
+     *
+     * @param cpuMemoryBudget The CPU memory budget.
+     */
+    public void setCpuMemoryBudget(long cpuMemoryBudget) {
+        this.cpuMemoryBudget = cpuMemoryBudget;
+        this.enforceMemoryBudget();
+    }
+
+    /**
+     * Get the estimated GPU memory (in bytes) used by the cached assets.
+     *
+     * @return The estimated GPU memory usage.
+     */
+    public long getGpuMemoryUsage() {
+        synchronized (cacheLock) {
+            return gpuMemoryUsage;
+        }
+    }
+
+    /**
+     * Get the estimated CPU memory (in bytes) used by the cached assets.
+     *
+     * @return The estimated CPU memory usage.
+     */
+    public long getCpuMemoryUsage() {
+        synchronized (cacheLock) {
+            return cpuMemoryUsage;
+        }
+    }
+
+    private static class CacheEntry {
+
+        private final String filepath;
+        private final CompletableFuture<Object> future;
+        private int refCount;
+        private boolean pinned;
+        private long gpuSize;
+        private long cpuSize;
+
+        private CacheEntry(String filepath) {
+            this.filepath = filepath;
+            this.future = new CompletableFuture<>();
+        }
+
+        private Object getAsset() {
+            return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+        }
+    }
 }
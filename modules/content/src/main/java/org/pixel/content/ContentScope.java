@@ -0,0 +1,131 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content;
+
+import org.pixel.commons.annotations.Nullable;
+import org.pixel.commons.data.Pair;
+import org.pixel.commons.lifecycle.Disposable;
+import org.pixel.content.importer.settings.ContentImporterSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ContentScope implements Disposable {
+
+    private final ContentManager contentManager;
+    private final List<Pair<String, Class<?>>> references;
+
+    /**
+     * Constructor.
+     *
+     * @param contentManager The content manager used to acquire the assets.
+     */
+    public ContentScope(ContentManager contentManager) {
+        this.contentManager = contentManager;
+        this.references = new ArrayList<>();
+    }
+
+    /**
+     * Release every asset acquired through this scope.
+     */
+    @Override
+    public void dispose() {
+        synchronized (references) {
+            for (int i = references.size() - 1; i >= 0; i--) {
+                var reference = references.get(i);
+                contentManager.release(reference.getA(), reference.getB());
+            }
+            references.clear();
+        }
+    }
+
+    /**
+     * Load a texture resource file and bind it to this scope.
+     *
+     * @param filepath The filepath of the resource - supports both relative and
+     *                 absolute paths.
+     * @return The loaded resource or null if the resource could not be loaded.
+     */
+    public Texture loadTexture(String filepath) {
+        return load(filepath, Texture.class);
+    }
+
+    /**
+     * Load a texture pack resource file and bind it to this scope.
+     *
+     * @param filepath The filepath of the resource - supports both relative and
+     *                 absolute paths.
+     * @return The loaded resource or null if the resource could not be loaded.
+     */
+    public TexturePack loadTexturePack(String filepath) {
+        return load(filepath, TexturePack.class);
+    }
+
+    /**
+     * Load an audio resource file and bind it to this scope.
+     *
+     * @param filepath The filepath of the resource - supports both relative and
+     *                 absolute paths.
+     * @return The loaded resource or null if the resource could not be loaded.
+     */
+    public Sound loadSound(String filepath) {
+        return load(filepath, Sound.class);
+    }
+
+    /**
+     * Load a font resource file and bind it to this scope.
+     *
+     * @param filepath The filepath of the resource - supports both relative and
+     *                 absolute paths.
+     * @return The loaded resource or null if the resource could not be loaded.
+     */
+    public Font loadFont(String filepath) {
+        return load(filepath, Font.class);
+    }
+
+    /**
+     * Load a resource file and bind it to this scope.
+     *
+     * @param filepath The filepath of the resource - supports both relative and
+     *                 absolute paths.
+     * @param type     The class type of the resource.
+     * @param <T>      The type of the resource.
+     * @return The loaded resource or null if the resource could not be loaded.
+     */
+    public <T> T load(String filepath, Class<T> type) {
+        return load(filepath, type, null);
+    }
+
+    /**
+     * Load a resource file with a custom importer settings and bind it to this scope.
+     *
+     * @param filepath The filepath of the resource - supports both relative and
+     *                 absolute paths.
+     * @param type     The class type of the resource.
+     * @param settings The settings to use for the importer.
+     * @param <T>      The type of the resource.
+     * @return The loaded resource or null if the resource could not be loaded.
+     */
+    public <T> T load(String filepath, Class<T> type, @Nullable ContentImporterSettings settings) {
+        T asset = contentManager.acquire(filepath, type, settings);
+        if (asset != null) {
+            synchronized (references) {
+                references.add(new Pair<>(filepath, type));
+            }
+        }
+
+        return asset;
+    }
+
+    /**
+     * Get the content manager associated with this scope.
+     *
+     * @return The content manager.
+     */
+    public ContentManager getContentManager() {
+        return contentManager;
+    }
+}
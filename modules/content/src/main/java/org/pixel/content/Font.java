@@ -6,9 +6,9 @@
 package org.pixel.content;
 
 import java.nio.ByteBuffer;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.pixel.commons.lifecycle.Disposable;
+import org.pixel.content.font.GlyphCache;
 
 public abstract class Font implements Disposable {
 
@@ -25,8 +25,9 @@ public abstract class Font implements Disposable {
     protected int horizontalSpacing;
     protected int verticalSpacing;
     protected int oversampling;
+    protected boolean distanceField;
     protected ByteBuffer bitmap;
-    protected ConcurrentHashMap<Character, FontGlyph> glyphCache;
+    protected GlyphCache glyphCache;
 
     //endregion
 
@@ -56,11 +57,27 @@ public abstract class Font implements Disposable {
      * @param oversampling      The oversampling.
      */
     public Font(FontData fontData, int fontSize, int horizontalSpacing, int verticalSpacing, int oversampling) {
+        this(fontData, fontSize, horizontalSpacing, verticalSpacing, oversampling, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param fontData          The font data.
+     * @param fontSize          The initial font size (the glyph size of distance field fonts).
+     * @param horizontalSpacing The horizontal spacing.
+     * @param verticalSpacing   The vertical spacing.
+     * @param oversampling      The oversampling.
+     * @param distanceField     True to rasterize signed distance field glyphs.
+     */
+    public Font(FontData fontData, int fontSize, int horizontalSpacing, int verticalSpacing, int oversampling,
+            boolean distanceField) {
         this.fontData = fontData;
         this.fontSize = fontSize;
         this.horizontalSpacing = horizontalSpacing;
         this.verticalSpacing = verticalSpacing;
         this.oversampling = oversampling;
+        this.distanceField = distanceField;
         this.init();
     }
 
@@ -70,7 +87,7 @@ public abstract class Font implements Disposable {
 
     protected void init() {
         this.textureId = -1;
-        this.glyphCache = new ConcurrentHashMap<>();
+        this.glyphCache = new GlyphCache();
         this.computeFontData();
     }
 
@@ -116,15 +133,38 @@ public abstract class Font implements Disposable {
     }
 
     /**
-     * Set font size. This call triggers a font data recompute to adjust the source texture.
+     * Set font size. Glyphs for the new size are rasterized on demand (no font data recompute).
      *
      * @param fontSize The font size.
      */
     public void setFontSize(int fontSize) {
-        if (fontSize != this.fontSize) {
-            this.fontSize = fontSize;
-            this.computeFontData();
+        this.fontSize = fontSize;
+    }
+
+    /**
+     * Get the size bucket glyphs are rasterized at for a given font size. Sizes are rounded up (glyphs are scaled
+     * down, never up) to a coarser step as they grow, so nearby sizes share glyphs. Distance field fonts always use
+     * the font size.
+     *
+     * @param fontSize The font size.
+     * @return The size bucket.
+     */
+    public int getSizeBucket(int fontSize) {
+        if (distanceField) {
+            return this.fontSize; // distance fields scale to any size from a single glyph set
+        } else if (fontSize <= 0) {
+            return 1;
+        } else if (fontSize == this.fontSize) {
+            return fontSize; // the font native size is always exact
+        } else if (fontSize <= 16) {
+            return (fontSize + 1) & ~1;
+        } else if (fontSize <= 32) {
+            return (fontSize + 3) & ~3;
+        } else if (fontSize <= 64) {
+            return (fontSize + 7) & ~7;
         }
+
+        return (fontSize + 15) & ~15;
     }
 
     /**
@@ -133,7 +173,7 @@ public abstract class Font implements Disposable {
      * @param text The text to compute the size of.
      * @return The width of the given text.
      */
-    public int computeTextWidth(String text) {
+    public int computeTextWidth(CharSequence text) {
         return computeTextWidth(text, fontSize);
     }
 
@@ -144,23 +184,44 @@ public abstract class Font implements Disposable {
      * @param fontSize The font size to use.
      * @return The width of the given text.
      */
-    public int computeTextWidth(String text, float fontSize) {
-        int width = 0;
-        float scale = fontSize / (float) getFontSize();
-        for (char ch : text.toCharArray()) {
-            FontGlyph glyph = getGlyph(ch);
+    public int computeTextWidth(CharSequence text, float fontSize) {
+        float width = 0;
+        int size = (int) Math.ceil(fontSize);
+        int previousCodePoint = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = Character.codePointAt(text, i);
+            i += Character.charCount(codePoint);
+
+            FontGlyph glyph = getGlyph(codePoint, size);
             if (glyph == null) {
                 continue; // cannot process this char data...
             }
 
-            width += glyph.getXAdvance() * scale + getHorizontalSpacing();
+            if (previousCodePoint >= 0) {
+                width += getKerning(previousCodePoint, codePoint, fontSize);
+            }
+            width += glyph.getXAdvance() * (fontSize / glyph.getFontSize()) + getHorizontalSpacing();
+            previousCodePoint = codePoint;
         }
 
-        return width;
+        return (int) width;
     }
 
     /**
-     * Get font native texture id.
+     * Get the kerning adjustment between two code points.
+     *
+     * @param left     The left code point.
+     * @param right    The right code point.
+     * @param fontSize The font size.
+     * @return The adjustment to add to the pen position (in pixels, usually negative) or 0 if the font has no
+     *         kerning for the pair.
+     */
+    public float getKerning(int left, int right, float fontSize) {
+        return 0;
+    }
+
+    /**
+     * Get font native texture id (of the first atlas page; each glyph references its own page).
      *
      * @return The font native texture id.
      */
@@ -168,6 +229,15 @@ public abstract class Font implements Disposable {
         return textureId;
     }
 
+    /**
+     * Get the GPU memory used by the font textures, in bytes.
+     *
+     * @return The memory size.
+     */
+    public long getTextureMemorySize() {
+        return (long) textureWidth * textureHeight * 4L;
+    }
+
     /**
      * Get the font texture width.
      *
@@ -187,12 +257,25 @@ public abstract class Font implements Disposable {
     }
 
     /**
-     * Get glyph data for a given character.
+     * Get glyph data for a given character, at the font size.
      *
      * @param ch The character to get glyph data for.
      * @return The glyph data for the given character.
      */
-    public abstract FontGlyph getGlyph(char ch);
+    public FontGlyph getGlyph(char ch) {
+        return getGlyph(ch, fontSize);
+    }
+
+    /**
+     * Get glyph data for a given code point, rasterized at the size bucket of the given font size (see
+     * {@link #getSizeBucket(int)}). Glyphs are rasterized on demand; code points missing from the font resolve to
+     * the font's "missing glyph".
+     *
+     * @param codePoint The code point to get glyph data for.
+     * @param fontSize  The font size.
+     * @return The glyph data or null for control characters.
+     */
+    public abstract FontGlyph getGlyph(int codePoint, int fontSize);
     
     /**
      * Get the horizontal spacing between characters.
@@ -251,6 +334,15 @@ public abstract class Font implements Disposable {
         }
     }
 
+    /**
+     * Check if the font glyphs are signed distance fields (to be rendered with a distance field aware shader).
+     *
+     * @return True if the glyphs are signed distance fields.
+     */
+    public boolean isDistanceField() {
+        return distanceField;
+    }
+
     /**
      * Get the font data.
      *
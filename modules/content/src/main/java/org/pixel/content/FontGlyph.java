@@ -15,6 +15,9 @@ public class FontGlyph {
     private final float xadvance;
     private final float xoff;
     private final float yoff;
+    private final int textureId;
+    private final int page;
+    private final int fontSize;
 
     //endregion
 
@@ -32,6 +35,25 @@ public class FontGlyph {
      * @param yoff     Offset in Y axis.
      */
     public FontGlyph(float x, float y, float width, float height, float xadvance, float xoff, float yoff) {
+        this(x, y, width, height, xadvance, xoff, yoff, -1, -1, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param x         X position (in the atlas page).
+     * @param y         Y position (in the atlas page).
+     * @param width     Width.
+     * @param height    Height.
+     * @param xadvance  Advance in X axis.
+     * @param xoff      Offset in X axis.
+     * @param yoff      Offset in Y axis.
+     * @param textureId The native texture id of the atlas page holding the glyph.
+     * @param page      The atlas page index (-1 if the glyph has no bitmap).
+     * @param fontSize  The font size the glyph was rasterized at.
+     */
+    public FontGlyph(float x, float y, float width, float height, float xadvance, float xoff, float yoff,
+            int textureId, int page, int fontSize) {
         this.x = x;
         this.y = y;
         this.width = width;
@@ -39,6 +61,9 @@ public class FontGlyph {
         this.xadvance = xadvance;
         this.xoff = xoff;
         this.yoff = yoff;
+        this.textureId = textureId;
+        this.page = page;
+        this.fontSize = fontSize;
     }
 
     //endregion
@@ -108,5 +133,32 @@ public class FontGlyph {
         return yoff;
     }
 
+    /**
+     * Get the native texture id of the atlas page holding the glyph.
+     *
+     * @return The texture id.
+     */
+    public int getTextureId() {
+        return textureId;
+    }
+
+    /**
+     * Get the atlas page index.
+     *
+     * @return The page index (-1 if the glyph has no bitmap).
+     */
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * Get the font size the glyph was rasterized at (metrics are relative to this size).
+     *
+     * @return The font size.
+     */
+    public int getFontSize() {
+        return fontSize;
+    }
+
     //endregion
 }
@@ -8,13 +8,15 @@ package org.pixel.content;
 import org.pixel.content.importer.settings.ContentImporterSettings;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 public class ImportContext {
 
     private final ContentManager contentManager;
-    private final byte[] data;
     private final String filepath;
     private final ContentImporterSettings settings;
+    private byte[] data;
+    private ByteBuffer buffer;
 
     /**
      * Constructor.
@@ -32,6 +34,22 @@ public class ImportContext {
         this.settings = settings;
     }
 
+    /**
+     * Constructor.
+     *
+     * @param contentManager The content manager.
+     * @param buffer         The content data buffer.
+     * @param filepath       The filepath.
+     * @param settings       The settings.
+     */
+    public ImportContext(ContentManager contentManager, ByteBuffer buffer, String filepath,
+            ContentImporterSettings settings) {
+        this.contentManager = contentManager;
+        this.buffer = buffer;
+        this.filepath = filepath;
+        this.settings = settings;
+    }
+
     /**
      * Get the content manager.
      *
@@ -42,13 +60,38 @@ public class ImportContext {
     }
 
     /**
-     * Get the content data buffer.
-     * @return The content data buffer.
+     * Get the content data as a byte array. When the content was loaded into a byte buffer, the data is copied once
+     * (prefer {@link #getBuffer()} for native consumers).
+     * @return The content data.
      */
     public byte[] getData() {
+        if (data == null && buffer != null) {
+            data = new byte[buffer.remaining()];
+            buffer.duplicate().get(data);
+        }
+
         return data;
     }
 
+    /**
+     * Get the content data as a direct (possibly memory-mapped) byte buffer, suitable to be passed to native decoders
+     * without copies. When the content was loaded into a byte array, the data is copied once into a direct buffer.
+     * @return The content data buffer (position and limit delimit the content).
+     */
+    public ByteBuffer getBuffer() {
+        if (buffer == null || !buffer.isDirect()) {
+            byte[] source = getData();
+            if (source == null) {
+                return null;
+            }
+
+            buffer = ByteBuffer.allocateDirect(source.length).order(ByteOrder.nativeOrder());
+            buffer.put(source).flip(); // reset position to 0
+        }
+
+        return buffer.duplicate();
+    }
+
     /**
      * Get the filepath.
      * @return The filepath.
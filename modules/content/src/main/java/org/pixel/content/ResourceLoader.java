@@ -1,5 +1,7 @@
 package org.pixel.content;
 
+import java.nio.ByteBuffer;
+
 public interface ResourceLoader {
     /**
      * Load a resource from the given path.
@@ -8,4 +10,16 @@ public interface ResourceLoader {
      * @return The resource data.
      */
     byte[] load(String path);
+
+    /**
+     * Load a resource from the given path as a byte buffer. Implementations should prefer direct (or memory-mapped)
+     * buffers so native decoders can consume the data without intermediate copies.
+     *
+     * @param path The resource path.
+     * @return The resource data or null if the resource could not be found.
+     */
+    default ByteBuffer loadBuffer(String path) {
+        byte[] data = load(path);
+        return data != null ? ByteBuffer.wrap(data) : null;
+    }
 }
@@ -5,16 +5,115 @@
 
 package org.pixel.content;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.Getter;
-import lombok.Setter;
 import org.pixel.commons.lifecycle.Disposable;
 import org.pixel.math.Vector2;
 
 @Getter
-@Setter
 public abstract class Sound implements Disposable {
+
+    public static final int PROPERTY_GAIN = 1;
+    public static final int PROPERTY_PITCH = 1 << 1;
+    public static final int PROPERTY_POSITION = 1 << 2;
+    public static final int PROPERTY_ALL = PROPERTY_GAIN | PROPERTY_PITCH | PROPERTY_POSITION;
+
     private float gain = 1.0f;
     private float offset = 0.0f;
     private float pitch = 1.0f;
     private Vector2 spatialPosition = Vector2.zero();
+    private final AtomicInteger dirtyProperties = new AtomicInteger(PROPERTY_ALL); // may be consumed by an audio thread
+
+    /**
+     * Set the gain.
+     *
+     * @param gain The gain.
+     */
+    public void setGain(float gain) {
+        if (this.gain != gain) {
+            this.gain = gain;
+            markDirty(PROPERTY_GAIN);
+        }
+    }
+
+    /**
+     * Set the start offset (in seconds), applied on the next playback.
+     *
+     * @param offset The offset.
+     */
+    public void setOffset(float offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * Set the pitch.
+     *
+     * @param pitch The pitch.
+     */
+    public void setPitch(float pitch) {
+        if (this.pitch != pitch) {
+            this.pitch = pitch;
+            markDirty(PROPERTY_PITCH);
+        }
+    }
+
+    /**
+     * Set the spatial position. When the position instance is modified in place, call
+     * {@link #markDirty(int)} with {@link #PROPERTY_POSITION} so the change is synced.
+     *
+     * @param spatialPosition The spatial position.
+     */
+    public void setSpatialPosition(Vector2 spatialPosition) {
+        this.spatialPosition = spatialPosition;
+        markDirty(PROPERTY_POSITION);
+    }
+
+    /**
+     * Flag properties as changed, so they are applied on the next audio player sync.
+     *
+     * @param properties The properties (PROPERTY_* flags).
+     */
+    public void markDirty(int properties) {
+        int current;
+        do {
+            current = dirtyProperties.get();
+            if ((current & properties) == properties) {
+                return;
+            }
+        } while (!dirtyProperties.compareAndSet(current, current | properties));
+    }
+
+    /**
+     * Get the changed properties.
+     *
+     * @return The changed properties (PROPERTY_* flags).
+     */
+    public int getDirtyProperties() {
+        return dirtyProperties.get();
+    }
+
+    /**
+     * Get and clear the changed properties, atomically (called by the audio player once they are applied).
+     *
+     * @return The changed properties (PROPERTY_* flags).
+     */
+    public int takeDirtyProperties() {
+        return dirtyProperties.getAndSet(0);
+    }
+
+    /**
+     * Clear the changed properties.
+     */
+    public void clearDirtyProperties() {
+        dirtyProperties.set(0);
+    }
+
+    /**
+     * Get the size (in bytes) of the decoded audio data held by this sound.
+     *
+     * @return The size of the decoded audio data.
+     */
+    public long getDataSize() {
+        return 0;
+    }
 }
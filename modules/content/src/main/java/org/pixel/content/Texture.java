@@ -14,6 +14,8 @@ public abstract class Texture implements Disposable {
     protected int id;
     protected float width;
     protected float height;
+    protected long memorySize;
+    protected boolean premultipliedAlpha;
 
     //endregion
 
@@ -46,6 +48,33 @@ public abstract class Texture implements Disposable {
         return id;
     }
 
+    /**
+     * Get the (estimated) GPU memory used by the texture, in bytes.
+     *
+     * @return the GPU memory used by the texture.
+     */
+    public long getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Check if the color channels are premultiplied by alpha (requires the premultiplied blend mode).
+     *
+     * @return True if premultiplied, false otherwise.
+     */
+    public boolean isPremultipliedAlpha() {
+        return premultipliedAlpha;
+    }
+
+    /**
+     * Set if the color channels are premultiplied by alpha.
+     *
+     * @param premultipliedAlpha True if premultiplied, false otherwise.
+     */
+    public void setPremultipliedAlpha(boolean premultipliedAlpha) {
+        this.premultipliedAlpha = premultipliedAlpha;
+    }
+
     //endregion
 
     //region constructors
@@ -67,9 +96,22 @@ public abstract class Texture implements Disposable {
      * @param height The height of the texture.
      */
     public Texture(int id, int width, int height) {
+        this(id, width, height, (long) width * (long) height * 4L);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param id         The texture id.
+     * @param width      The width of the texture.
+     * @param height     The height of the texture.
+     * @param memorySize The GPU memory used by the texture (in bytes, including every mipmap level).
+     */
+    public Texture(int id, int width, int height, long memorySize) {
         this.id = id;
         this.width = width;
         this.height = height;
+        this.memorySize = memorySize;
     }
 
     /**
@@ -0,0 +1,210 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.pixel.commons.lifecycle.Disposable;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+
+/**
+ * On-disk cache of decoded texture payloads. Entries are stored in a raw format (small header followed by the RGBA
+ * levels) that is memory-mapped on load, so a cache hit skips image decoding entirely and the data can be uploaded
+ * straight to the GPU. Entries are keyed by the hash of the source data and the importer variant (settings that
+ * change the payload), and are written in the background.
+ *
+ * <p>Layout (big-endian header): {@code [magic:int][version:int][width:int][height:int][levelCount:int][flags:int]}
+ * followed by the RGBA data of each level.
+ */
+public class TextureCache implements Disposable {
+
+    private static final Logger log = LoggerFactory.getLogger(TextureCache.class);
+
+    private static final int MAGIC = 0x50585443; // "PXTC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final String FILE_EXTENSION = ".pxtc";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path directory;
+    private final ExecutorService writer;
+
+    /**
+     * Constructor.
+     *
+     * @param directory The cache directory (created if needed).
+     */
+    public TextureCache(Path directory) {
+        this.directory = directory;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, TextureCache.class.getSimpleName() + "-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Compute the cache key of a given source.
+     *
+     * @param source  The encoded source data (e.g. PNG file contents); the buffer position is not modified.
+     * @param variant The importer variant (identifies the settings that affect the decoded payload).
+     * @return The cache key.
+     */
+    public String computeKey(ByteBuffer source, String variant) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(source.duplicate());
+            digest.update(variant.getBytes(StandardCharsets.UTF_8));
+
+            byte[] hash = digest.digest();
+            char[] key = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                key[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+                key[i * 2 + 1] = HEX[hash[i] & 0xF];
+            }
+
+            return new String(key);
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Load a cached entry. The payload is memory-mapped (no decoding, no copies).
+     *
+     * @param key The cache key.
+     * @return The cached entry or null on a cache miss.
+     */
+    public TextureCacheEntry load(String key) {
+        Path file = directory.resolve(key + FILE_EXTENSION);
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer mapped = fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size());
+            ByteBuffer header = mapped.duplicate().order(ByteOrder.BIG_ENDIAN);
+            if (header.remaining() >= HEADER_SIZE && header.getInt() == MAGIC && header.getInt() == VERSION) {
+                int width = header.getInt();
+                int height = header.getInt();
+                int levelCount = header.getInt();
+                int flags = header.getInt();
+                long dataSize = TextureCacheEntry.computeDataSize(width, height, levelCount);
+                if (width > 0 && height > 0 && levelCount > 0 && header.remaining() == dataSize) {
+                    return new TextureCacheEntry(width, height, levelCount, flags, header.slice());
+                }
+            }
+
+        } catch (IOException e) {
+            log.error("Unable to read texture cache entry '{}'.", file, e);
+            return null;
+        }
+
+        log.warn("Discarding invalid texture cache entry '{}'.", file);
+        try {
+            Files.deleteIfExists(file);
+
+        } catch (IOException e) {
+            log.error("Unable to delete texture cache entry '{}'.", file, e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Store an entry in the background.
+     *
+     * @param key        The cache key.
+     * @param width      The width of the base level.
+     * @param height     The height of the base level.
+     * @param levelCount The number of levels contained in the data.
+     * @param flags      The payload flags.
+     * @param data       The RGBA data of all levels; it must remain valid until the returned future completes.
+     * @return A future that completes once the entry is written (true) or failed to be written (false).
+     */
+    public CompletableFuture<Boolean> storeAsync(String key, int width, int height, int levelCount, int flags,
+            ByteBuffer data) {
+        final ByteBuffer source = data.duplicate();
+        try {
+            return CompletableFuture.supplyAsync(() -> store(key, width, height, levelCount, flags, source), writer);
+
+        } catch (RuntimeException e) {
+            log.warn("Unable to schedule texture cache entry '{}'.", key);
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    private boolean store(String key, int width, int height, int levelCount, int flags, ByteBuffer data) {
+        if (data.remaining() != TextureCacheEntry.computeDataSize(width, height, levelCount)) {
+            log.warn("Unable to store texture cache entry '{}'; unexpected payload size.", key);
+            return false;
+        }
+
+        Path file = directory.resolve(key + FILE_EXTENSION);
+        Path tmpFile = directory.resolve(key + FILE_EXTENSION + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel fc = FileChannel.open(tmpFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(MAGIC).putInt(VERSION)
+                        .putInt(width).putInt(height).putInt(levelCount).putInt(flags)
+                        .flip();
+                while (header.hasRemaining()) {
+                    fc.write(header);
+                }
+                while (data.hasRemaining()) {
+                    fc.write(data);
+                }
+            }
+
+            // publish atomically so concurrent readers never observe a partial entry:
+            try {
+                Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            return true;
+
+        } catch (IOException e) {
+            log.error("Unable to write texture cache entry '{}'.", file, e);
+            return false;
+        }
+    }
+
+    /**
+     * Get the cache directory.
+     *
+     * @return The cache directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Dispose the cache; pending writes are completed in the background.
+     */
+    @Override
+    public void dispose() {
+        writer.shutdown();
+    }
+}
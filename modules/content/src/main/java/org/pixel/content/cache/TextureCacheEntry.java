@@ -0,0 +1,121 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.cache;
+
+import java.nio.ByteBuffer;
+
+public class TextureCacheEntry {
+
+    public static final int FLAG_PREMULTIPLIED_ALPHA = 1;
+
+    private final int width;
+    private final int height;
+    private final int levelCount;
+    private final int flags;
+    private final ByteBuffer data;
+
+    /**
+     * Constructor.
+     *
+     * @param width      The width of the base level.
+     * @param height     The height of the base level.
+     * @param levelCount The number of stored (mipmap) levels.
+     * @param flags      The payload flags.
+     * @param data       The RGBA payload (all levels, sequentially).
+     */
+    public TextureCacheEntry(int width, int height, int levelCount, int flags, ByteBuffer data) {
+        this.width = width;
+        this.height = height;
+        this.levelCount = levelCount;
+        this.flags = flags;
+        this.data = data;
+    }
+
+    /**
+     * Compute the size (in bytes) of an RGBA payload with the given dimensions and level count.
+     *
+     * @param width      The width of the base level.
+     * @param height     The height of the base level.
+     * @param levelCount The number of levels.
+     * @return The payload size.
+     */
+    public static long computeDataSize(int width, int height, int levelCount) {
+        long size = 0;
+        for (int level = 0; level < levelCount; level++) {
+            size += (long) getLevelDimension(width, level) * getLevelDimension(height, level) * 4L;
+        }
+
+        return size;
+    }
+
+    /**
+     * Get the dimension of a given mipmap level.
+     *
+     * @param baseDimension The base level dimension.
+     * @param level         The level.
+     * @return The dimension of the level.
+     */
+    public static int getLevelDimension(int baseDimension, int level) {
+        return Math.max(1, baseDimension >> level);
+    }
+
+    /**
+     * Get the RGBA data of a given level (shares the underlying payload, no copies).
+     *
+     * @param level The level.
+     * @return The level data.
+     */
+    public ByteBuffer getLevel(int level) {
+        int offset = (int) computeDataSize(width, height, level);
+        int length = getLevelDimension(width, level) * getLevelDimension(height, level) * 4;
+        return data.slice(data.position() + offset, length);
+    }
+
+    /**
+     * Get the width of the base level.
+     *
+     * @return The width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the height of the base level.
+     *
+     * @return The height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the number of stored levels.
+     *
+     * @return The level count.
+     */
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    /**
+     * Get the payload flags.
+     *
+     * @return The flags.
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * Get the RGBA payload (all levels, sequentially).
+     *
+     * @return The payload.
+     */
+    public ByteBuffer getData() {
+        return data;
+    }
+}
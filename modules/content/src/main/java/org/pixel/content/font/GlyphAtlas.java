@@ -0,0 +1,235 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.font;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Rectangle allocator for a paged glyph atlas. Each page is packed with shelves (rows of glyphs of similar height);
+ * when every page is full the least recently used page is evicted (cleared and reused). This class only does the
+ * bookkeeping: the owner uploads the bitmaps and drops the glyphs of evicted pages through the eviction listener.
+ */
+public class GlyphAtlas {
+
+    //region Fields & Properties
+
+    public static final long INVALID_REGION = -1L;
+
+    private final int pageSize;
+    private final int maxPages;
+    private final List<Page> pages;
+    private IntConsumer evictionListener;
+    private long useCounter;
+
+    //endregion
+
+    //region Constructors
+
+    /**
+     * Constructor.
+     *
+     * @param pageSize The width and height of each page.
+     * @param maxPages The maximum number of pages.
+     */
+    public GlyphAtlas(int pageSize, int maxPages) {
+        if (pageSize <= 0 || pageSize > 0xFFFF || maxPages <= 0) {
+            throw new IllegalArgumentException("Invalid atlas dimensions: " + pageSize + "x" + maxPages);
+        }
+
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.pages = new ArrayList<>(maxPages);
+        this.useCounter = 0;
+    }
+
+    //endregion
+
+    //region Private Functions
+
+    private long allocate(Page page, int index, int width, int height) {
+        Shelf best = null;
+        for (Shelf shelf : page.shelves) {
+            // pick the tightest shelf that fits (avoids wasting tall shelves on small glyphs):
+            if (shelf.height >= height && pageSize - shelf.x >= width && shelf.height <= height * 2
+                    && (best == null || shelf.height < best.height)) {
+                best = shelf;
+            }
+        }
+
+        if (best == null) {
+            if (page.nextShelfY + height > pageSize) {
+                return INVALID_REGION; // page is full
+            }
+
+            best = new Shelf(page.nextShelfY, height);
+            page.shelves.add(best);
+            page.nextShelfY += height;
+        }
+
+        int x = best.x;
+        best.x += width;
+        page.lastUse = ++useCounter;
+
+        return encode(index, x, best.y);
+    }
+
+    private static long encode(int page, int x, int y) {
+        return ((long) page << 32) | ((long) x << 16) | y;
+    }
+
+    //endregion
+
+    //region Public Functions
+
+    /**
+     * Allocate a region in the atlas, adding or evicting a page if needed.
+     *
+     * @param width  The region width.
+     * @param height The region height.
+     * @return The encoded region (see {@link #getPage(long)}, {@link #getX(long)} and {@link #getY(long)}) or
+     *         {@link #INVALID_REGION} if the region is larger than a page.
+     */
+    public long allocate(int width, int height) {
+        if (width <= 0 || height <= 0 || width > pageSize || height > pageSize) {
+            return INVALID_REGION;
+        }
+
+        // try the pages in use, most recent first (they are the most likely to have free space):
+        for (int i = pages.size() - 1; i >= 0; i--) {
+            long region = allocate(pages.get(i), i, width, height);
+            if (region != INVALID_REGION) {
+                return region;
+            }
+        }
+
+        if (pages.size() < maxPages) {
+            pages.add(new Page());
+            return allocate(pages.get(pages.size() - 1), pages.size() - 1, width, height);
+        }
+
+        // all pages are full, evict the least recently used:
+        int lruIndex = 0;
+        for (int i = 1; i < pages.size(); i++) {
+            if (pages.get(i).lastUse < pages.get(lruIndex).lastUse) {
+                lruIndex = i;
+            }
+        }
+
+        pages.set(lruIndex, new Page());
+        if (evictionListener != null) {
+            evictionListener.accept(lruIndex);
+        }
+
+        return allocate(pages.get(lruIndex), lruIndex, width, height);
+    }
+
+    /**
+     * Mark a page as used (keeps it from being evicted).
+     *
+     * @param page The page index.
+     */
+    public void touch(int page) {
+        if (page >= 0 && page < pages.size()) {
+            pages.get(page).lastUse = ++useCounter;
+        }
+    }
+
+    /**
+     * Remove all pages.
+     */
+    public void clear() {
+        pages.clear();
+    }
+
+    /**
+     * Set the listener called with the index of an evicted page (before it is reused).
+     *
+     * @param evictionListener The eviction listener.
+     */
+    public void setEvictionListener(IntConsumer evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Get the page size.
+     *
+     * @return The width and height of each page.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Get the maximum number of pages.
+     *
+     * @return The maximum number of pages.
+     */
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    /**
+     * Get the number of pages in use.
+     *
+     * @return The number of pages.
+     */
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Get the page of an encoded region.
+     *
+     * @param region The encoded region.
+     * @return The page index.
+     */
+    public static int getPage(long region) {
+        return (int) (region >>> 32);
+    }
+
+    /**
+     * Get the x position of an encoded region.
+     *
+     * @param region The encoded region.
+     * @return The x position within the page.
+     */
+    public static int getX(long region) {
+        return (int) (region >>> 16) & 0xFFFF;
+    }
+
+    /**
+     * Get the y position of an encoded region.
+     *
+     * @param region The encoded region.
+     * @return The y position within the page.
+     */
+    public static int getY(long region) {
+        return (int) region & 0xFFFF;
+    }
+
+    //endregion
+
+    private static class Page {
+
+        private final List<Shelf> shelves = new ArrayList<>();
+        private int nextShelfY;
+        private long lastUse;
+    }
+
+    private static class Shelf {
+
+        private final int y;
+        private final int height;
+        private int x;
+
+        private Shelf(int y, int height) {
+            this.y = y;
+            this.height = height;
+        }
+    }
+}
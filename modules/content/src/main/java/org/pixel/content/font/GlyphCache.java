@@ -0,0 +1,142 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.font;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.pixel.content.FontGlyph;
+
+/**
+ * Glyph cache keyed by code point and size bucket. Glyphs of the basic multilingual plane are stored in flat arrays
+ * (blocks of 256 code points allocated on demand per size bucket), so lookups in the draw loop neither hash nor box;
+ * supplementary code points (e.g. emoji) fall back to a map.
+ */
+public class GlyphCache {
+
+    //region Fields & Properties
+
+    private static final int BLOCK_SIZE = 256;
+    private static final int BLOCK_COUNT = (Character.MAX_VALUE + 1) / BLOCK_SIZE;
+
+    private FontGlyph[][][] glyphs; // [size bucket][code point block][code point in block]
+    private final Map<Long, FontGlyph> supplementaryGlyphs;
+
+    //endregion
+
+    //region Constructors
+
+    /**
+     * Constructor.
+     */
+    public GlyphCache() {
+        this.glyphs = new FontGlyph[0][][];
+        this.supplementaryGlyphs = new HashMap<>();
+    }
+
+    //endregion
+
+    //region Private Functions
+
+    private static long getKey(int codePoint, int sizeBucket) {
+        return ((long) sizeBucket << 32) | (codePoint & 0xFFFFFFFFL);
+    }
+
+    //endregion
+
+    //region Public Functions
+
+    /**
+     * Get a cached glyph.
+     *
+     * @param codePoint  The code point.
+     * @param sizeBucket The size bucket.
+     * @return The glyph or null if not cached.
+     */
+    public FontGlyph get(int codePoint, int sizeBucket) {
+        if (codePoint < 0 || sizeBucket < 0) {
+            return null;
+        } else if (codePoint > Character.MAX_VALUE) {
+            return supplementaryGlyphs.get(getKey(codePoint, sizeBucket));
+        } else if (sizeBucket >= glyphs.length || glyphs[sizeBucket] == null) {
+            return null;
+        }
+
+        FontGlyph[] block = glyphs[sizeBucket][codePoint / BLOCK_SIZE];
+        return block != null ? block[codePoint % BLOCK_SIZE] : null;
+    }
+
+    /**
+     * Add a glyph to the cache.
+     *
+     * @param codePoint  The code point.
+     * @param sizeBucket The size bucket.
+     * @param glyph      The glyph.
+     */
+    public void put(int codePoint, int sizeBucket, FontGlyph glyph) {
+        if (codePoint < 0 || sizeBucket < 0) {
+            throw new IllegalArgumentException("Invalid glyph key: " + codePoint + "@" + sizeBucket);
+        } else if (codePoint > Character.MAX_VALUE) {
+            supplementaryGlyphs.put(getKey(codePoint, sizeBucket), glyph);
+            return;
+        }
+
+        if (sizeBucket >= glyphs.length) {
+            var grown = new FontGlyph[Math.max(sizeBucket + 1, glyphs.length * 2)][][];
+            System.arraycopy(glyphs, 0, grown, 0, glyphs.length);
+            glyphs = grown;
+        }
+
+        if (glyphs[sizeBucket] == null) {
+            glyphs[sizeBucket] = new FontGlyph[BLOCK_COUNT][];
+        }
+
+        FontGlyph[] block = glyphs[sizeBucket][codePoint / BLOCK_SIZE];
+        if (block == null) {
+            block = new FontGlyph[BLOCK_SIZE];
+            glyphs[sizeBucket][codePoint / BLOCK_SIZE] = block;
+        }
+
+        block[codePoint % BLOCK_SIZE] = glyph;
+    }
+
+    /**
+     * Remove all the glyphs matching a filter.
+     *
+     * @param filter The filter.
+     */
+    public void removeIf(Predicate<FontGlyph> filter) {
+        for (FontGlyph[][] blocks : glyphs) {
+            if (blocks == null) {
+                continue;
+            }
+
+            for (FontGlyph[] block : blocks) {
+                if (block == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < block.length; i++) {
+                    if (block[i] != null && filter.test(block[i])) {
+                        block[i] = null;
+                    }
+                }
+            }
+        }
+
+        supplementaryGlyphs.values().removeIf(filter);
+    }
+
+    /**
+     * Remove all glyphs.
+     */
+    public void clear() {
+        glyphs = new FontGlyph[0][][];
+        supplementaryGlyphs.clear();
+    }
+
+    //endregion
+}
@@ -0,0 +1,369 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.font;
+
+import java.util.Arrays;
+import org.pixel.content.Font;
+import org.pixel.content.FontGlyph;
+
+/**
+ * Pre-computed text layout: the glyph pen positions of a text (kerning, word wrapping and alignment applied),
+ * relative to the top left corner of the text. A layout is computed once per text change and can be drawn at any
+ * position, so moving text costs a translation rather than a relayout. Glyphs are resolved by code point at draw
+ * time (a flat array lookup), so the layout stays valid when the font atlas evicts glyphs.
+ */
+public class TextLayout {
+
+    //region Fields & Properties
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Font font;
+    private int fontSize;
+    private int verticalSpacing;
+    private float maxWidth;
+    private Alignment alignment;
+
+    private int[] codePoints;
+    private float[] glyphX; // pen position
+    private float[] glyphY; // baseline
+    private int glyphCount;
+    private int[] lineStarts;
+    private float[] lineWidths;
+    private int lineCount;
+    private float width;
+    private float height;
+
+    //endregion
+
+    //region Constructors
+
+    /**
+     * Constructor.
+     *
+     * @param font The font to use.
+     */
+    public TextLayout(Font font) {
+        this(font, font.getFontSize(), 0, Alignment.LEFT);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param font      The font to use.
+     * @param fontSize  The font size.
+     * @param maxWidth  The maximum line width (lines are wrapped at word boundaries) or 0 to disable wrapping.
+     * @param alignment The line alignment.
+     */
+    public TextLayout(Font font, int fontSize, float maxWidth, Alignment alignment) {
+        this.font = font;
+        this.fontSize = fontSize;
+        this.verticalSpacing = font.getVerticalSpacing();
+        this.maxWidth = maxWidth;
+        this.alignment = alignment;
+        this.codePoints = new int[INITIAL_CAPACITY];
+        this.glyphX = new float[INITIAL_CAPACITY];
+        this.glyphY = new float[INITIAL_CAPACITY];
+        this.lineStarts = new int[8];
+        this.lineWidths = new float[8];
+    }
+
+    //endregion
+
+    //region Private Functions
+
+    private void addGlyph(int codePoint, float x, float y) {
+        if (glyphCount == codePoints.length) {
+            int capacity = codePoints.length * 2;
+            codePoints = Arrays.copyOf(codePoints, capacity);
+            glyphX = Arrays.copyOf(glyphX, capacity);
+            glyphY = Arrays.copyOf(glyphY, capacity);
+        }
+
+        codePoints[glyphCount] = codePoint;
+        glyphX[glyphCount] = x;
+        glyphY[glyphCount] = y;
+        glyphCount++;
+    }
+
+    private void addLine(int start) {
+        if (lineCount == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+            lineWidths = Arrays.copyOf(lineWidths, lineCount * 2);
+        }
+
+        lineStarts[lineCount] = start;
+        lineWidths[lineCount] = 0;
+        lineCount++;
+    }
+
+    private float computeLineWidth(int start, int end, float penX) {
+        // trailing white space does not count towards the line width (alignment):
+        while (end > start && Character.isWhitespace(codePoints[end - 1])) {
+            penX = glyphX[--end];
+        }
+
+        return penX;
+    }
+
+    //endregion
+
+    //region Public Functions
+
+    /**
+     * Compute the layout of a given text.
+     *
+     * @param text The text.
+     */
+    public void layout(CharSequence text) {
+        glyphCount = 0;
+        lineCount = 0;
+        width = 0;
+
+        float lineHeight = fontSize + verticalSpacing;
+        float penX = 0;
+        float baseline = lineHeight;
+        int breakIndex = -1; // first glyph after the last white space of the line (wrap point)
+        int previousCodePoint = -1;
+        addLine(0);
+
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = Character.codePointAt(text, i);
+            i += Character.charCount(codePoint);
+
+            if (codePoint == '\n') {
+                lineWidths[lineCount - 1] = computeLineWidth(lineStarts[lineCount - 1], glyphCount, penX);
+                addLine(glyphCount);
+                penX = 0;
+                baseline += lineHeight;
+                breakIndex = -1;
+                previousCodePoint = -1;
+                continue;
+            }
+
+            FontGlyph glyph = font.getGlyph(codePoint, fontSize);
+            if (glyph == null) {
+                continue; // cannot process this char data...
+            }
+
+            if (previousCodePoint >= 0) {
+                penX += font.getKerning(previousCodePoint, codePoint, fontSize);
+            }
+
+            float advance = glyph.getXAdvance() * (fontSize / (float) glyph.getFontSize())
+                    + font.getHorizontalSpacing();
+            boolean whitespace = Character.isWhitespace(codePoint);
+            if (maxWidth > 0 && !whitespace && penX + advance > maxWidth && glyphCount > lineStarts[lineCount - 1]) {
+                // wrap at the last word boundary (or break the word if it fills the whole line):
+                int wrapIndex = breakIndex > lineStarts[lineCount - 1] ? breakIndex : glyphCount;
+                float offset = wrapIndex < glyphCount ? glyphX[wrapIndex] : penX;
+                lineWidths[lineCount - 1] = computeLineWidth(lineStarts[lineCount - 1], wrapIndex, offset);
+                addLine(wrapIndex);
+                baseline += lineHeight;
+                for (int g = wrapIndex; g < glyphCount; g++) {
+                    glyphX[g] -= offset;
+                    glyphY[g] = baseline;
+                }
+                penX -= offset;
+                breakIndex = -1;
+            }
+
+            addGlyph(codePoint, penX, baseline);
+            penX += advance;
+            previousCodePoint = codePoint;
+            if (whitespace) {
+                breakIndex = glyphCount;
+            }
+        }
+
+        lineWidths[lineCount - 1] = computeLineWidth(lineStarts[lineCount - 1], glyphCount, penX);
+        for (int l = 0; l < lineCount; l++) {
+            width = Math.max(width, lineWidths[l]);
+        }
+        height = lineCount * lineHeight;
+
+        // align lines within the layout width:
+        if (alignment != Alignment.LEFT) {
+            for (int l = 0; l < lineCount; l++) {
+                float offset = width - lineWidths[l];
+                if (alignment == Alignment.CENTER) {
+                    offset /= 2f;
+                }
+
+                int end = l + 1 < lineCount ? lineStarts[l + 1] : glyphCount;
+                for (int g = lineStarts[l]; g < end; g++) {
+                    glyphX[g] += offset;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the font.
+     *
+     * @return The font.
+     */
+    public Font getFont() {
+        return font;
+    }
+
+    /**
+     * Get the font size.
+     *
+     * @return The font size.
+     */
+    public int getFontSize() {
+        return fontSize;
+    }
+
+    /**
+     * Set the font size (applies on the next {@link #layout(CharSequence)}).
+     *
+     * @param fontSize The font size.
+     */
+    public void setFontSize(int fontSize) {
+        this.fontSize = fontSize;
+    }
+
+    /**
+     * Get the vertical spacing between lines.
+     *
+     * @return The vertical spacing.
+     */
+    public int getVerticalSpacing() {
+        return verticalSpacing;
+    }
+
+    /**
+     * Set the vertical spacing between lines (applies on the next {@link #layout(CharSequence)}).
+     *
+     * @param verticalSpacing The vertical spacing.
+     */
+    public void setVerticalSpacing(int verticalSpacing) {
+        this.verticalSpacing = verticalSpacing;
+    }
+
+    /**
+     * Get the maximum line width.
+     *
+     * @return The maximum line width or 0 if wrapping is disabled.
+     */
+    public float getMaxWidth() {
+        return maxWidth;
+    }
+
+    /**
+     * Set the maximum line width (applies on the next {@link #layout(CharSequence)}).
+     *
+     * @param maxWidth The maximum line width or 0 to disable wrapping.
+     */
+    public void setMaxWidth(float maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    /**
+     * Get the line alignment.
+     *
+     * @return The line alignment.
+     */
+    public Alignment getAlignment() {
+        return alignment;
+    }
+
+    /**
+     * Set the line alignment (applies on the next {@link #layout(CharSequence)}).
+     *
+     * @param alignment The line alignment.
+     */
+    public void setAlignment(Alignment alignment) {
+        this.alignment = alignment;
+    }
+
+    /**
+     * Get the number of glyphs.
+     *
+     * @return The number of glyphs.
+     */
+    public int getGlyphCount() {
+        return glyphCount;
+    }
+
+    /**
+     * Get the code point of a glyph.
+     *
+     * @param index The glyph index.
+     * @return The code point.
+     */
+    public int getCodePoint(int index) {
+        return codePoints[index];
+    }
+
+    /**
+     * Get the pen x position of a glyph, relative to the layout left edge.
+     *
+     * @param index The glyph index.
+     * @return The pen x position.
+     */
+    public float getGlyphX(int index) {
+        return glyphX[index];
+    }
+
+    /**
+     * Get the baseline y position of a glyph, relative to the layout top edge.
+     *
+     * @param index The glyph index.
+     * @return The baseline y position.
+     */
+    public float getGlyphY(int index) {
+        return glyphY[index];
+    }
+
+    /**
+     * Get the number of lines.
+     *
+     * @return The number of lines.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Get the width of a line (without trailing white space).
+     *
+     * @param line The line index.
+     * @return The line width.
+     */
+    public float getLineWidth(int line) {
+        return lineWidths[line];
+    }
+
+    /**
+     * Get the layout width (the widest line).
+     *
+     * @return The layout width.
+     */
+    public float getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the layout height.
+     *
+     * @return The layout height.
+     */
+    public float getHeight() {
+        return height;
+    }
+
+    //endregion
+
+    /**
+     * Line alignment enumeration.
+     */
+    public enum Alignment {
+        LEFT, CENTER, RIGHT
+    }
+}
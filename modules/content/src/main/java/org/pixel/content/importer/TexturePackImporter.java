@@ -42,8 +42,9 @@ public class TexturePackImporter implements ContentImporter<TexturePack> {
         if (json.has("meta")) {
             JSONObject meta = json.getJSONObject("meta");
             if (meta.has("image")) {
+                // the pack owns (and disposes) its texture, so it must not be shared through the asset cache
                 texture = ctx.getContentManager().load(FileUtils.getParentDirectory(ctx.getFilepath()) +
-                        FileUtils.FILE_SEPARATOR + meta.getString("image"), Texture.class);
+                        FileUtils.FILE_SEPARATOR + meta.getString("image"), Texture.class, null, false);
                 
                 if (texture == null) {
                     log.warn("Unable to load texture pack due to missing texture file.");
@@ -0,0 +1,20 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.importer.settings;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AudioImporterSettings implements ContentImporterSettings {
+    /**
+     * Decode the audio in small chunks while it plays instead of upfront (recommended for long music tracks).
+     */
+    private boolean streaming;
+}
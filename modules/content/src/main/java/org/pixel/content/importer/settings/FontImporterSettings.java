@@ -12,4 +12,21 @@ public class FontImporterSettings implements ContentImporterSettings {
     private int horizontalSpacing = 0;
     private int verticalSpacing = 0;
     private int oversampling = 1;
+    /**
+     * Rasterize signed distance field glyphs at the font size, rendered crisply at any scale and rotation (use a
+     * size around the largest one drawn, e.g. 32 to 48).
+     */
+    private boolean distanceField = false;
+
+    /**
+     * Constructor.
+     *
+     * @param fontSize          The font size.
+     * @param horizontalSpacing The horizontal spacing.
+     * @param verticalSpacing   The vertical spacing.
+     * @param oversampling      The oversampling.
+     */
+    public FontImporterSettings(int fontSize, int horizontalSpacing, int verticalSpacing, int oversampling) {
+        this(fontSize, horizontalSpacing, verticalSpacing, oversampling, false);
+    }
 }
@@ -18,4 +18,30 @@ public class TextureImporterSettings implements ContentImporterSettings {
     private int wrapTMode;
     private int minFilterMode;
     private int magFilterMode;
+    /**
+     * Generate the full mipmap chain while decoding (a non-mipmap minification filter is promoted to its
+     * *_MIPMAP_LINEAR variant, otherwise the generated levels would never be sampled).
+     */
+    private boolean generateMipmaps;
+    /**
+     * Maximum anisotropy (values above 1 enable anisotropic filtering, clamped to the GPU limit).
+     */
+    private float anisotropy;
+    /**
+     * Premultiply the color channels by alpha while decoding (the texture is flagged so sprite batches draw it with
+     * the premultiplied blend mode).
+     */
+    private boolean premultiplyAlpha;
+
+    /**
+     * Constructor.
+     *
+     * @param wrapSMode     The horizontal wrap mode.
+     * @param wrapTMode     The vertical wrap mode.
+     * @param minFilterMode The minification filter.
+     * @param magFilterMode The magnification filter.
+     */
+    public TextureImporterSettings(int wrapSMode, int wrapTMode, int minFilterMode, int magFilterMode) {
+        this(wrapSMode, wrapTMode, minFilterMode, magFilterMode, false, 0f, false);
+    }
 }
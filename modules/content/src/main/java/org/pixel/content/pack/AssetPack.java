@@ -0,0 +1,174 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.pack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only view over a pack file. The file is memory-mapped once and the (sorted) index is decoded when opened, so
+ * lookups are binary searches and uncompressed entries are served as zero-copy slices of the mapping.
+ *
+ * <p>Layout (big-endian): header {@code [magic:int][version:int][entryCount:int][reserved:int]}, followed by
+ * {@code entryCount} index records {@code [pathLength:short][path:utf8][offset:long][length:int][size:int]
+ * [compression:byte]} sorted by path, followed by the entry data.
+ */
+public class AssetPack {
+
+    public static final int MAGIC = 0x50585041; // "PXPA"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+
+    private final Path path;
+    private final MappedByteBuffer mappedBuffer;
+    private final String[] paths;
+    private final AssetPackEntry[] entries;
+
+    /**
+     * Constructor.
+     *
+     * @param path The pack file path.
+     * @throws IOException If the pack file cannot be read or has an invalid format.
+     */
+    public AssetPack(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel fc = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.mappedBuffer = fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size());
+        }
+
+        ByteBuffer header = mappedBuffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Invalid asset pack file: " + path);
+        }
+
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported asset pack version " + version + ": " + path);
+        }
+
+        int entryCount = header.getInt();
+        header.getInt(); // reserved
+
+        this.paths = new String[entryCount];
+        this.entries = new AssetPackEntry[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            byte[] pathBytes = new byte[header.getShort() & 0xFFFF];
+            header.get(pathBytes);
+            String entryPath = new String(pathBytes, StandardCharsets.UTF_8);
+            paths[i] = entryPath;
+            entries[i] = new AssetPackEntry(entryPath, header.getLong(), header.getInt(), header.getInt(), header.get());
+
+            if (i > 0 && paths[i - 1].compareTo(entryPath) >= 0) {
+                throw new IOException("Invalid asset pack index (entries are not sorted): " + path);
+            }
+        }
+    }
+
+    /**
+     * Normalize an asset path to the format stored in the pack index.
+     *
+     * @param path The asset path.
+     * @return The normalized path.
+     */
+    public static String normalizePath(String path) {
+        String normalized = path.replace('\\', '/');
+        while (normalized.startsWith("./")) {
+            normalized = normalized.substring(2);
+        }
+
+        return normalized.startsWith("/") ? normalized.substring(1) : normalized;
+    }
+
+    /**
+     * Find the index entry of a given asset.
+     *
+     * @param assetPath The asset path.
+     * @return The entry or null if the asset is not part of this pack.
+     */
+    public AssetPackEntry getEntry(String assetPath) {
+        int index = Arrays.binarySearch(paths, normalizePath(assetPath));
+        return index >= 0 ? entries[index] : null;
+    }
+
+    /**
+     * Check if a given asset is part of this pack.
+     *
+     * @param assetPath The asset path.
+     * @return True if the asset exists, false otherwise.
+     */
+    public boolean contains(String assetPath) {
+        return getEntry(assetPath) != null;
+    }
+
+    /**
+     * Get the data of a given asset. Uncompressed entries are returned as read-only slices of the mapped file
+     * (no copies); compressed entries are inflated into a new direct buffer.
+     *
+     * @param assetPath The asset path.
+     * @return The asset data or null if the asset is not part of this pack.
+     * @throws IOException If the asset data is corrupted.
+     */
+    public ByteBuffer getBuffer(String assetPath) throws IOException {
+        AssetPackEntry entry = getEntry(assetPath);
+        if (entry == null) {
+            return null;
+        }
+
+        ByteBuffer stored = mappedBuffer.slice((int) entry.getOffset(), entry.getLength());
+        if (entry.getCompression() == AssetPackEntry.COMPRESSION_NONE) {
+            return stored;
+
+        } else if (entry.getCompression() == AssetPackEntry.COMPRESSION_DEFLATE) {
+            ByteBuffer output = ByteBuffer.allocateDirect(entry.getSize()).order(ByteOrder.nativeOrder());
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(stored);
+                while (output.hasRemaining() && !inflater.finished()) {
+                    if (inflater.inflate(output) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Truncated asset pack entry: " + entry.getPath());
+                    }
+                }
+
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupted asset pack entry: " + entry.getPath(), e);
+
+            } finally {
+                inflater.end();
+            }
+
+            return output.flip();
+        }
+
+        throw new IOException("Unsupported compression " + entry.getCompression() + " for entry " + entry.getPath());
+    }
+
+    /**
+     * Get the number of assets in this pack.
+     *
+     * @return The number of assets.
+     */
+    public int getEntryCount() {
+        return entries.length;
+    }
+
+    /**
+     * Get the pack file path.
+     *
+     * @return The pack file path.
+     */
+    public Path getPath() {
+        return path;
+    }
+}
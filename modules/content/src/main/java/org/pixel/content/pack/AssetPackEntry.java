@@ -0,0 +1,80 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.pack;
+
+public class AssetPackEntry {
+
+    public static final byte COMPRESSION_NONE = 0;
+    public static final byte COMPRESSION_DEFLATE = 1;
+
+    private final String path;
+    private final long offset;
+    private final int length;
+    private final int size;
+    private final byte compression;
+
+    /**
+     * Constructor.
+     *
+     * @param path        The asset path (relative, '/' separated).
+     * @param offset      The offset of the stored data within the pack file.
+     * @param length      The length of the stored (possibly compressed) data.
+     * @param size        The size of the original (uncompressed) data.
+     * @param compression The compression method.
+     */
+    public AssetPackEntry(String path, long offset, int length, int size, byte compression) {
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+        this.size = size;
+        this.compression = compression;
+    }
+
+    /**
+     * Get the asset path.
+     *
+     * @return The asset path.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Get the offset of the stored data within the pack file.
+     *
+     * @return The offset.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get the length of the stored (possibly compressed) data.
+     *
+     * @return The stored length.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Get the size of the original (uncompressed) data.
+     *
+     * @return The original size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the compression method.
+     *
+     * @return The compression method.
+     */
+    public byte getCompression() {
+        return compression;
+    }
+}
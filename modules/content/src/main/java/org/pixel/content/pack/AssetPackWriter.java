@@ -0,0 +1,184 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.pack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+
+/**
+ * Build-time tool that packs a resource directory into a single {@link AssetPack} file.
+ */
+public class AssetPackWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetPackWriter.class);
+
+    private static final float MIN_COMPRESSION_GAIN = 0.9f; // keep compressed data only if it saves at least 10%
+
+    private boolean compressionEnabled = true;
+
+    /**
+     * Pack all files of a given directory (recursively) into a pack file. Asset paths are stored relative to the
+     * source directory, so they match the paths used to load them from the classpath.
+     *
+     * @param sourceDirectory The source directory.
+     * @param output          The output pack file.
+     * @return The number of packed assets.
+     * @throws IOException If the source files cannot be read or the pack cannot be written.
+     */
+    public int write(Path sourceDirectory, Path output) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(sourceDirectory)) {
+            files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+
+        List<String> assetPaths = new ArrayList<>(files.size());
+        for (Path file : files) {
+            assetPaths.add(AssetPack.normalizePath(sourceDirectory.relativize(file).toString()));
+        }
+
+        // the index must be sorted so the reader can binary search it:
+        List<Integer> order = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> assetPaths.get(a).compareTo(assetPaths.get(b)));
+
+        // the index has a fixed size per path, so the data section can be written right after reserving it:
+        long indexSize = 0;
+        for (String assetPath : assetPaths) {
+            indexSize += 2 + assetPath.getBytes(StandardCharsets.UTF_8).length + 8 + 4 + 4 + 1;
+        }
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        List<AssetPackEntry> entries = new ArrayList<>(files.size());
+        try (FileChannel fc = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long offset = AssetPack.HEADER_SIZE + indexSize;
+            fc.position(offset);
+            for (int i : order) {
+                byte[] data = Files.readAllBytes(files.get(i));
+                byte compression = AssetPackEntry.COMPRESSION_NONE;
+                byte[] stored = data;
+                if (compressionEnabled) {
+                    byte[] compressed = deflate(data);
+                    if (compressed.length < data.length * MIN_COMPRESSION_GAIN) {
+                        compression = AssetPackEntry.COMPRESSION_DEFLATE;
+                        stored = compressed;
+                    }
+                }
+
+                if (offset + stored.length > Integer.MAX_VALUE) {
+                    throw new IOException("Asset pack exceeds the maximum supported size (2GB).");
+                }
+
+                ByteBuffer storedBuffer = ByteBuffer.wrap(stored);
+                while (storedBuffer.hasRemaining()) {
+                    fc.write(storedBuffer);
+                }
+                entries.add(new AssetPackEntry(assetPaths.get(i), offset, stored.length, data.length, compression));
+                offset += stored.length;
+            }
+
+            ByteBuffer index = ByteBuffer.allocate((int) (AssetPack.HEADER_SIZE + indexSize));
+            index.putInt(AssetPack.MAGIC);
+            index.putInt(AssetPack.VERSION);
+            index.putInt(entries.size());
+            index.putInt(0); // reserved
+            for (AssetPackEntry entry : entries) {
+                byte[] pathBytes = entry.getPath().getBytes(StandardCharsets.UTF_8);
+                index.putShort((short) pathBytes.length);
+                index.put(pathBytes);
+                index.putLong(entry.getOffset());
+                index.putInt(entry.getLength());
+                index.putInt(entry.getSize());
+                index.put(entry.getCompression());
+            }
+
+            index.flip();
+            fc.position(0);
+            while (index.hasRemaining()) {
+                fc.write(index);
+            }
+        }
+
+        log.info("Packed {} assets from '{}' into '{}'.", entries.size(), sourceDirectory, output);
+        return entries.size();
+    }
+
+    private byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            byte[] buffer = new byte[Math.max(64, data.length)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+
+            return Arrays.copyOf(buffer, length);
+
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Get whether entries are compressed (when worthwhile).
+     *
+     * @return True if compression is enabled.
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * Set whether entries are compressed (when worthwhile). Uncompressed entries are served without copies.
+     *
+     * @param compressionEnabled True to enable compression.
+     */
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    /**
+     * Command line entry point: {@code AssetPackWriter <sourceDirectory> <outputFile> [--no-compression]}.
+     *
+     * @param args The command line arguments.
+     * @throws IOException If the pack cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: AssetPackWriter <sourceDirectory> <outputFile> [--no-compression]");
+            System.exit(1);
+        }
+
+        AssetPackWriter writer = new AssetPackWriter();
+        writer.setCompressionEnabled(args.length < 3 || !"--no-compression".equals(args[2]));
+        writer.write(Paths.get(args[0]), Paths.get(args[1]));
+    }
+}
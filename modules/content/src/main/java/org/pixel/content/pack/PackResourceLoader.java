@@ -0,0 +1,89 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.pack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import org.pixel.commons.annotations.Nullable;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+import org.pixel.content.ResourceLoader;
+
+/**
+ * Resource loader backed by an {@link AssetPack}. Assets missing from the pack are resolved through an optional
+ * fallback loader (e.g. the platform loader, for loose files added after the pack was built).
+ */
+public class PackResourceLoader implements ResourceLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(PackResourceLoader.class);
+
+    private final AssetPack assetPack;
+    private final ResourceLoader fallback;
+
+    /**
+     * Constructor.
+     *
+     * @param packPath The pack file path.
+     * @param fallback The fallback loader for assets missing from the pack (optional).
+     * @throws IOException If the pack file cannot be opened.
+     */
+    public PackResourceLoader(Path packPath, @Nullable ResourceLoader fallback) throws IOException {
+        this(new AssetPack(packPath), fallback);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param assetPack The asset pack.
+     * @param fallback  The fallback loader for assets missing from the pack (optional).
+     */
+    public PackResourceLoader(AssetPack assetPack, @Nullable ResourceLoader fallback) {
+        this.assetPack = assetPack;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] load(String path) {
+        ByteBuffer buffer = loadFromPack(path);
+        if (buffer == null) {
+            return fallback != null ? fallback.load(path) : null;
+        }
+
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+    @Override
+    public ByteBuffer loadBuffer(String path) {
+        ByteBuffer buffer = loadFromPack(path);
+        if (buffer == null) {
+            return fallback != null ? fallback.loadBuffer(path) : null;
+        }
+
+        return buffer;
+    }
+
+    private ByteBuffer loadFromPack(String path) {
+        try {
+            return assetPack.getBuffer(path);
+
+        } catch (IOException e) {
+            log.error("Unable to load asset '{}' from pack '{}'.", path, assetPack.getPath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the asset pack backing this loader.
+     *
+     * @return The asset pack.
+     */
+    public AssetPack getAssetPack() {
+        return assetPack;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.texture;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+public class CompressedTextureData {
+
+    private final CompressedTextureFormat format;
+    private final int width;
+    private final int height;
+    private final List<ByteBuffer> levels;
+
+    /**
+     * Constructor.
+     *
+     * @param format The compressed format.
+     * @param width  The width of the base level.
+     * @param height The height of the base level.
+     * @param levels The data of each mipmap level (base level first).
+     */
+    public CompressedTextureData(CompressedTextureFormat format, int width, int height, List<ByteBuffer> levels) {
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.levels = levels;
+    }
+
+    /**
+     * Get the width of a given mipmap level.
+     *
+     * @param level The level.
+     * @return The width.
+     */
+    public int getLevelWidth(int level) {
+        return Math.max(1, width >> level);
+    }
+
+    /**
+     * Get the height of a given mipmap level.
+     *
+     * @param level The level.
+     * @return The height.
+     */
+    public int getLevelHeight(int level) {
+        return Math.max(1, height >> level);
+    }
+
+    /**
+     * Get the total size (in bytes) of all levels.
+     *
+     * @return The total size.
+     */
+    public long getDataSize() {
+        long size = 0;
+        for (ByteBuffer level : levels) {
+            size += level.remaining();
+        }
+
+        return size;
+    }
+
+    /**
+     * Get the compressed format.
+     *
+     * @return The compressed format.
+     */
+    public CompressedTextureFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Get the width of the base level.
+     *
+     * @return The width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the height of the base level.
+     *
+     * @return The height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the data of each mipmap level (base level first); the buffers are slices of the source data.
+     *
+     * @return The level data.
+     */
+    public List<ByteBuffer> getLevels() {
+        return levels;
+    }
+}
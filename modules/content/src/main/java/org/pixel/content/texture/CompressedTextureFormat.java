@@ -0,0 +1,95 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.texture;
+
+/**
+ * Block-compressed texture formats. The internal format values are the OpenGL / OpenGL ES enums (shared by both).
+ */
+public enum CompressedTextureFormat {
+    BC1_RGB(0x83F0, 8),     // GL_COMPRESSED_RGB_S3TC_DXT1_EXT
+    BC1_RGBA(0x83F1, 8),    // GL_COMPRESSED_RGBA_S3TC_DXT1_EXT
+    BC2(0x83F2, 16),        // GL_COMPRESSED_RGBA_S3TC_DXT3_EXT
+    BC3(0x83F3, 16),        // GL_COMPRESSED_RGBA_S3TC_DXT5_EXT
+    BC7(0x8E8C, 16),        // GL_COMPRESSED_RGBA_BPTC_UNORM
+    ETC2_RGB8(0x9274, 8),   // GL_COMPRESSED_RGB8_ETC2
+    ETC2_RGB8A1(0x9276, 8), // GL_COMPRESSED_RGB8_PUNCHTHROUGH_ALPHA1_ETC2
+    ETC2_RGBA8(0x9278, 16); // GL_COMPRESSED_RGBA8_ETC2_EAC
+
+    public static final int BLOCK_DIMENSION = 4;
+
+    private final int glInternalFormat;
+    private final int blockSize;
+
+    CompressedTextureFormat(int glInternalFormat, int blockSize) {
+        this.glInternalFormat = glInternalFormat;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Get the format matching the given OpenGL internal format.
+     *
+     * @param glInternalFormat The OpenGL internal format.
+     * @return The format or null if not supported.
+     */
+    public static CompressedTextureFormat fromGLInternalFormat(int glInternalFormat) {
+        for (CompressedTextureFormat format : values()) {
+            if (format.glInternalFormat == glInternalFormat) {
+                return format;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Compute the size (in bytes) of an image with the given dimensions.
+     *
+     * @param width  The image width.
+     * @param height The image height.
+     * @return The image size.
+     */
+    public int computeImageSize(int width, int height) {
+        int blocksX = Math.max(1, (width + BLOCK_DIMENSION - 1) / BLOCK_DIMENSION);
+        int blocksY = Math.max(1, (height + BLOCK_DIMENSION - 1) / BLOCK_DIMENSION);
+        return blocksX * blocksY * blockSize;
+    }
+
+    /**
+     * Check if this is a BCn (S3TC/BPTC) format, mostly available on desktop GPUs.
+     *
+     * @return True if this is a BCn format.
+     */
+    public boolean isBlockCompression() {
+        return ordinal() <= BC7.ordinal();
+    }
+
+    /**
+     * Check if this is an ETC2 format, mandatory on OpenGL ES 3.0 (and OpenGL 4.3).
+     *
+     * @return True if this is an ETC2 format.
+     */
+    public boolean isEtc2() {
+        return !isBlockCompression();
+    }
+
+    /**
+     * Get the OpenGL internal format.
+     *
+     * @return The OpenGL internal format.
+     */
+    public int getGLInternalFormat() {
+        return glInternalFormat;
+    }
+
+    /**
+     * Get the size (in bytes) of each 4x4 block.
+     *
+     * @return The block size.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.texture;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader of GPU-ready compressed texture containers (KTX, KTX2 and DDS). The payload is not transcoded: each mipmap
+ * level is returned as a slice of the source buffer so it can be handed directly to {@code glCompressedTexImage2D}.
+ */
+public class CompressedTextureReader {
+
+    private static final byte[] KTX1_IDENTIFIER = {
+            (byte) 0xAB, 'K', 'T', 'X', ' ', '1', '1', (byte) 0xBB, '\r', '\n', 0x1A, '\n'
+    };
+    private static final byte[] KTX2_IDENTIFIER = {
+            (byte) 0xAB, 'K', 'T', 'X', ' ', '2', '0', (byte) 0xBB, '\r', '\n', 0x1A, '\n'
+    };
+    private static final int KTX1_ENDIANNESS = 0x04030201;
+    private static final int KTX1_HEADER_SIZE = 64;
+    private static final int KTX2_HEADER_SIZE = 80;
+
+    private static final int DDS_MAGIC = 0x20534444; // "DDS "
+    private static final int DDS_HEADER_SIZE = 128;
+    private static final int DDS_DX10_HEADER_SIZE = 20;
+    private static final int DDS_FOURCC_DXT1 = 0x31545844;
+    private static final int DDS_FOURCC_DXT3 = 0x33545844;
+    private static final int DDS_FOURCC_DXT5 = 0x35545844;
+    private static final int DDS_FOURCC_DX10 = 0x30315844;
+
+    private CompressedTextureReader() {
+    }
+
+    /**
+     * Check if the given data starts with a supported container signature.
+     *
+     * @param data The data; the buffer position is not modified.
+     * @return True if the data can be read by this reader.
+     */
+    public static boolean isSupported(ByteBuffer data) {
+        return startsWith(data, KTX1_IDENTIFIER) || startsWith(data, KTX2_IDENTIFIER)
+                || (data.remaining() >= 4
+                && data.duplicate().order(ByteOrder.LITTLE_ENDIAN).getInt(data.position()) == DDS_MAGIC);
+    }
+
+    /**
+     * Read a compressed texture container.
+     *
+     * @param data The container data; the buffer position is not modified.
+     * @return The compressed texture data (levels are slices of the given buffer).
+     * @throws IOException If the container is malformed or uses an unsupported format.
+     */
+    public static CompressedTextureData read(ByteBuffer data) throws IOException {
+        ByteBuffer buffer = data.slice();
+        try {
+            if (startsWith(buffer, KTX1_IDENTIFIER)) {
+                return readKtx1(buffer);
+            } else if (startsWith(buffer, KTX2_IDENTIFIER)) {
+                return readKtx2(buffer.order(ByteOrder.LITTLE_ENDIAN));
+            } else if (buffer.remaining() >= 4 && buffer.order(ByteOrder.LITTLE_ENDIAN).getInt(0) == DDS_MAGIC) {
+                return readDds(buffer);
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated compressed texture container", e);
+        }
+
+        throw new IOException("Unknown compressed texture container");
+    }
+
+    private static CompressedTextureData readKtx1(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(12) != KTX1_ENDIANNESS) {
+            buffer.order(ByteOrder.BIG_ENDIAN);
+        }
+
+        int glType = buffer.getInt(16);
+        int glInternalFormat = buffer.getInt(28);
+        int width = buffer.getInt(36);
+        int height = buffer.getInt(40);
+        int depth = buffer.getInt(44);
+        int arrayElements = buffer.getInt(48);
+        int faces = buffer.getInt(52);
+        int levelCount = Math.max(1, buffer.getInt(56));
+        int keyValueDataSize = buffer.getInt(60);
+
+        if (glType != 0) {
+            throw new IOException("KTX file is not compressed (glType=" + glType + ")");
+        }
+        if (depth > 1 || arrayElements > 0 || faces != 1) {
+            throw new IOException("Only 2D KTX textures are supported");
+        }
+
+        CompressedTextureFormat format = CompressedTextureFormat.fromGLInternalFormat(glInternalFormat);
+        if (format == null) {
+            throw new IOException("Unsupported KTX internal format 0x" + Integer.toHexString(glInternalFormat));
+        }
+
+        List<ByteBuffer> levels = new ArrayList<>(levelCount);
+        int offset = KTX1_HEADER_SIZE + keyValueDataSize;
+        for (int i = 0; i < levelCount; i++) {
+            int imageSize = buffer.getInt(offset);
+            offset += Integer.BYTES;
+            levels.add(slice(buffer, offset, imageSize));
+            offset += (imageSize + 3) & ~3; // mip padding
+        }
+
+        return new CompressedTextureData(format, width, height, levels);
+    }
+
+    private static CompressedTextureData readKtx2(ByteBuffer buffer) throws IOException {
+        int vkFormat = buffer.getInt(12);
+        int width = buffer.getInt(20);
+        int height = buffer.getInt(24);
+        int depth = buffer.getInt(28);
+        int layerCount = buffer.getInt(32);
+        int faceCount = buffer.getInt(36);
+        int levelCount = Math.max(1, buffer.getInt(40));
+        int supercompressionScheme = buffer.getInt(44);
+
+        if (supercompressionScheme != 0) {
+            throw new IOException("Supercompressed KTX2 textures are not supported");
+        }
+        if (depth > 0 || layerCount > 0 || faceCount != 1) {
+            throw new IOException("Only 2D KTX2 textures are supported");
+        }
+
+        CompressedTextureFormat format = fromVkFormat(vkFormat);
+        if (format == null) {
+            throw new IOException("Unsupported KTX2 vkFormat " + vkFormat);
+        }
+
+        // level index: [byteOffset:uint64][byteLength:uint64][uncompressedByteLength:uint64] per level
+        List<ByteBuffer> levels = new ArrayList<>(levelCount);
+        for (int i = 0; i < levelCount; i++) {
+            int entry = KTX2_HEADER_SIZE + i * 3 * Long.BYTES;
+            levels.add(slice(buffer, toIntExact(buffer.getLong(entry)), toIntExact(buffer.getLong(entry + Long.BYTES))));
+        }
+
+        return new CompressedTextureData(format, width, height, levels);
+    }
+
+    private static CompressedTextureData readDds(ByteBuffer buffer) throws IOException {
+        int height = buffer.getInt(12);
+        int width = buffer.getInt(16);
+        int levelCount = Math.max(1, buffer.getInt(28));
+        int fourCC = buffer.getInt(84);
+
+        int offset = DDS_HEADER_SIZE;
+        CompressedTextureFormat format;
+        switch (fourCC) {
+            case DDS_FOURCC_DXT1:
+                format = CompressedTextureFormat.BC1_RGBA;
+                break;
+            case DDS_FOURCC_DXT3:
+                format = CompressedTextureFormat.BC2;
+                break;
+            case DDS_FOURCC_DXT5:
+                format = CompressedTextureFormat.BC3;
+                break;
+            case DDS_FOURCC_DX10:
+                format = fromDxgiFormat(buffer.getInt(DDS_HEADER_SIZE));
+                offset += DDS_DX10_HEADER_SIZE;
+                break;
+            default:
+                format = null;
+        }
+
+        if (format == null) {
+            throw new IOException("Unsupported DDS pixel format 0x" + Integer.toHexString(fourCC));
+        }
+
+        List<ByteBuffer> levels = new ArrayList<>(levelCount);
+        for (int i = 0; i < levelCount; i++) {
+            int size = format.computeImageSize(Math.max(1, width >> i), Math.max(1, height >> i));
+            levels.add(slice(buffer, offset, size));
+            offset += size;
+        }
+
+        return new CompressedTextureData(format, width, height, levels);
+    }
+
+    private static CompressedTextureFormat fromVkFormat(int vkFormat) {
+        switch (vkFormat) {
+            case 131: // VK_FORMAT_BC1_RGB_UNORM_BLOCK
+                return CompressedTextureFormat.BC1_RGB;
+            case 133: // VK_FORMAT_BC1_RGBA_UNORM_BLOCK
+                return CompressedTextureFormat.BC1_RGBA;
+            case 135: // VK_FORMAT_BC2_UNORM_BLOCK
+                return CompressedTextureFormat.BC2;
+            case 137: // VK_FORMAT_BC3_UNORM_BLOCK
+                return CompressedTextureFormat.BC3;
+            case 145: // VK_FORMAT_BC7_UNORM_BLOCK
+                return CompressedTextureFormat.BC7;
+            case 147: // VK_FORMAT_ETC2_R8G8B8_UNORM_BLOCK
+                return CompressedTextureFormat.ETC2_RGB8;
+            case 149: // VK_FORMAT_ETC2_R8G8B8A1_UNORM_BLOCK
+                return CompressedTextureFormat.ETC2_RGB8A1;
+            case 151: // VK_FORMAT_ETC2_R8G8B8A8_UNORM_BLOCK
+                return CompressedTextureFormat.ETC2_RGBA8;
+            default:
+                return null;
+        }
+    }
+
+    private static CompressedTextureFormat fromDxgiFormat(int dxgiFormat) {
+        switch (dxgiFormat) {
+            case 71: // DXGI_FORMAT_BC1_UNORM
+                return CompressedTextureFormat.BC1_RGBA;
+            case 74: // DXGI_FORMAT_BC2_UNORM
+                return CompressedTextureFormat.BC2;
+            case 77: // DXGI_FORMAT_BC3_UNORM
+                return CompressedTextureFormat.BC3;
+            case 98: // DXGI_FORMAT_BC7_UNORM
+                return CompressedTextureFormat.BC7;
+            default:
+                return null;
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || offset > buffer.limit() - length) {
+            throw new IOException("Compressed texture level out of bounds");
+        }
+
+        return buffer.duplicate().position(offset).limit(offset + length).slice();
+    }
+
+    private static int toIntExact(long value) throws IOException {
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Compressed texture level out of bounds");
+        }
+
+        return (int) value;
+    }
+
+    private static boolean startsWith(ByteBuffer data, byte[] identifier) {
+        if (data.remaining() < identifier.length) {
+            return false;
+        }
+
+        for (int i = 0; i < identifier.length; i++) {
+            if (data.get(data.position() + i) != identifier[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.texture;
+
+import java.nio.ByteBuffer;
+import org.pixel.content.cache.TextureCacheEntry;
+
+/**
+ * CPU-side processing of decoded RGBA8 images (premultiplied alpha and mipmap chains), meant to run while decoding
+ * so the results can be uploaded (and cached) as-is.
+ */
+public class TextureUtils {
+
+    /**
+     * Compute the number of levels of a full mipmap chain.
+     *
+     * @param width  The width of the base level.
+     * @param height The height of the base level.
+     * @return The level count (down to 1x1).
+     */
+    public static int computeLevelCount(int width, int height) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(1, Math.max(width, height)));
+    }
+
+    /**
+     * Premultiply the color channels of an RGBA8 image by its alpha, in place.
+     *
+     * @param rgba The image data (from position to limit); the buffer position is not modified.
+     */
+    public static void premultiplyAlpha(ByteBuffer rgba) {
+        for (int i = rgba.position(); i + 3 < rgba.limit(); i += 4) {
+            int a = rgba.get(i + 3) & 0xFF;
+            if (a == 0xFF) {
+                continue;
+            }
+
+            rgba.put(i, (byte) premultiply(rgba.get(i) & 0xFF, a));
+            rgba.put(i + 1, (byte) premultiply(rgba.get(i + 1) & 0xFF, a));
+            rgba.put(i + 2, (byte) premultiply(rgba.get(i + 2) & 0xFF, a));
+        }
+    }
+
+    /**
+     * Generate a mipmap chain with a 2x2 box filter. The levels are laid out sequentially (as in the texture cache)
+     * and the base level must already be filled.
+     *
+     * @param chain         The RGBA8 chain (from position), sized for {@code levelCount} levels.
+     * @param width         The width of the base level.
+     * @param height        The height of the base level.
+     * @param levelCount    The number of levels to fill (including the base level).
+     * @param premultiplied True if the image has premultiplied alpha; otherwise colors are alpha-weighted so that
+     *                      transparent texels do not bleed into the smaller levels.
+     */
+    public static void generateMipmaps(ByteBuffer chain, int width, int height, int levelCount,
+            boolean premultiplied) {
+        int srcOffset = chain.position();
+        for (int level = 1; level < levelCount; level++) {
+            int srcWidth = TextureCacheEntry.getLevelDimension(width, level - 1);
+            int srcHeight = TextureCacheEntry.getLevelDimension(height, level - 1);
+            int dstWidth = TextureCacheEntry.getLevelDimension(width, level);
+            int dstHeight = TextureCacheEntry.getLevelDimension(height, level);
+            int dstOffset = srcOffset + srcWidth * srcHeight * 4;
+
+            for (int y = 0; y < dstHeight; y++) {
+                int y0 = Math.min(y * 2, srcHeight - 1);
+                int y1 = Math.min(y * 2 + 1, srcHeight - 1);
+                for (int x = 0; x < dstWidth; x++) {
+                    int x0 = Math.min(x * 2, srcWidth - 1);
+                    int x1 = Math.min(x * 2 + 1, srcWidth - 1);
+                    downsample(chain, dstOffset + (y * dstWidth + x) * 4,
+                            srcOffset + (y0 * srcWidth + x0) * 4, srcOffset + (y0 * srcWidth + x1) * 4,
+                            srcOffset + (y1 * srcWidth + x0) * 4, srcOffset + (y1 * srcWidth + x1) * 4,
+                            premultiplied);
+                }
+            }
+
+            srcOffset = dstOffset;
+        }
+    }
+
+    private static void downsample(ByteBuffer chain, int dst, int s0, int s1, int s2, int s3, boolean premultiplied) {
+        int a0 = chain.get(s0 + 3) & 0xFF;
+        int a1 = chain.get(s1 + 3) & 0xFF;
+        int a2 = chain.get(s2 + 3) & 0xFF;
+        int a3 = chain.get(s3 + 3) & 0xFF;
+        int alphaSum = a0 + a1 + a2 + a3;
+
+        for (int c = 0; c < 3; c++) {
+            int value;
+            if (premultiplied || alphaSum == 0) {
+                value = ((chain.get(s0 + c) & 0xFF) + (chain.get(s1 + c) & 0xFF) + (chain.get(s2 + c) & 0xFF)
+                        + (chain.get(s3 + c) & 0xFF) + 2) / 4;
+            } else {
+                value = ((chain.get(s0 + c) & 0xFF) * a0 + (chain.get(s1 + c) & 0xFF) * a1
+                        + (chain.get(s2 + c) & 0xFF) * a2 + (chain.get(s3 + c) & 0xFF) * a3 + alphaSum / 2)
+                        / alphaSum;
+            }
+            chain.put(dst + c, (byte) value);
+        }
+
+        chain.put(dst + 3, (byte) ((alphaSum + 2) / 4));
+    }
+
+    private static int premultiply(int color, int alpha) {
+        // exact rounding of color * alpha / 255
+        int value = color * alpha + 128;
+        return (value + (value >> 8)) >> 8;
+    }
+}
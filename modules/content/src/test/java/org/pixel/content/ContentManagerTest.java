@@ -0,0 +1,306 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.pixel.commons.lifecycle.Disposable;
+
+public class ContentManagerTest {
+
+    @Test
+    public void cachedLoadTest() {
+        var importer = new CountingImporter();
+        var contentManager = new ContentManager(path -> path.getBytes(), importer);
+
+        var first = contentManager.load("a.txt", CountingAsset.class);
+        var second = contentManager.load("a.txt", CountingAsset.class);
+
+        Assertions.assertNotNull(first);
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, importer.importCount.get());
+    }
+
+    @Test
+    public void uncachedLoadTest() {
+        var importer = new CountingImporter();
+        var contentManager = new ContentManager(path -> path.getBytes(), importer);
+
+        var first = contentManager.load("a.txt", CountingAsset.class, null, false);
+        var second = contentManager.load("a.txt", CountingAsset.class, null, false);
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(2, importer.importCount.get());
+    }
+
+    @Test
+    public void failedLoadIsRetriedTest() {
+        var importer = new CountingImporter();
+        var contentManager = new ContentManager(path -> null, importer);
+
+        Assertions.assertNull(contentManager.load("missing.txt", CountingAsset.class));
+        Assertions.assertNull(contentManager.load("missing.txt", CountingAsset.class));
+        Assertions.assertEquals(0, importer.importCount.get());
+    }
+
+    @Test
+    public void failedImportErrorIsRetriedTest() {
+        var importer = new FailingImporter();
+        var contentManager = new ContentManager(path -> path.getBytes(), importer);
+
+        Assertions.assertThrows(OutOfMemoryError.class, () -> contentManager.load("a.txt", CountingAsset.class));
+        // the in-flight entry was removed, so the next load imports again instead of waiting forever:
+        Assertions.assertNotNull(contentManager.load("a.txt", CountingAsset.class));
+        Assertions.assertEquals(2, importer.importCount.get());
+    }
+
+    @Test
+    public void concurrentLoadTest() throws Exception {
+        final int threadCount = 32;
+        final int iterations = 50;
+        final String[] keys = {"a.png", "b.png", "c.png", "d.png"};
+
+        var importer = new CountingImporter();
+        var contentManager = new ContentManager(path -> path.getBytes(), importer);
+        var loaded = new ConcurrentHashMap<String, List<CountingAsset>>();
+        for (String key : keys) {
+            loaded.put(key, new ArrayList<>());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                for (int i = 0; i < iterations; i++) {
+                    for (String key : keys) {
+                        var asset = contentManager.load(key, CountingAsset.class);
+                        var list = loaded.get(key);
+                        synchronized (list) {
+                            list.add(asset);
+                        }
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Assertions.assertEquals(keys.length, importer.importCount.get());
+        for (String key : keys) {
+            var list = loaded.get(key);
+            Assertions.assertEquals(threadCount * iterations, list.size());
+            Assertions.assertNotNull(list.get(0));
+            list.forEach(asset -> Assertions.assertSame(list.get(0), asset));
+        }
+
+        contentManager.dispose();
+        for (String key : keys) {
+            Assertions.assertTrue(loaded.get(key).get(0).disposed);
+        }
+    }
+
+    @Test
+    public void acquireReleaseTest() {
+        var contentManager = new ContentManager(path -> path.getBytes(), new SizedTextureImporter());
+
+        var first = contentManager.acquire("a.png", Texture.class);
+        var second = contentManager.acquire("a.png", Texture.class);
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(16 * 16 * 4, contentManager.getGpuMemoryUsage());
+
+        contentManager.setGpuMemoryBudget(0);
+        contentManager.release("a.png", Texture.class);
+        Assertions.assertFalse(((SizedTexture) first).disposed);
+
+        contentManager.release("a.png", Texture.class);
+        Assertions.assertTrue(((SizedTexture) first).disposed);
+        Assertions.assertEquals(0, contentManager.getGpuMemoryUsage());
+    }
+
+    @Test
+    public void budgetEvictionTest() {
+        var contentManager = new ContentManager(path -> path.getBytes(), new SizedTextureImporter());
+        contentManager.setGpuMemoryBudget(16 * 16 * 4 * 2);
+
+        var a = (SizedTexture) contentManager.acquire("a.png", Texture.class);
+        var b = (SizedTexture) contentManager.acquire("b.png", Texture.class);
+        contentManager.release("a.png", Texture.class);
+        contentManager.release("b.png", Texture.class);
+        Assertions.assertFalse(a.disposed);
+        Assertions.assertFalse(b.disposed);
+
+        // least recently released asset goes first:
+        var c = (SizedTexture) contentManager.acquire("c.png", Texture.class);
+        Assertions.assertTrue(a.disposed);
+        Assertions.assertFalse(b.disposed);
+        Assertions.assertFalse(c.disposed);
+
+        // re-acquiring an unreferenced asset keeps it alive:
+        Assertions.assertSame(b, contentManager.acquire("b.png", Texture.class));
+        contentManager.acquire("d.png", Texture.class);
+        Assertions.assertFalse(b.disposed);
+        Assertions.assertEquals(16 * 16 * 4 * 3, contentManager.getGpuMemoryUsage());
+    }
+
+    @Test
+    public void pinnedAssetsAreNotEvictedTest() {
+        var contentManager = new ContentManager(path -> path.getBytes(), new SizedTextureImporter());
+        contentManager.setGpuMemoryBudget(0);
+
+        var pinned = (SizedTexture) contentManager.load("a.png", Texture.class);
+        contentManager.acquire("a.png", Texture.class);
+        contentManager.release("a.png", Texture.class);
+        Assertions.assertFalse(pinned.disposed);
+        Assertions.assertSame(pinned, contentManager.load("a.png", Texture.class));
+    }
+
+    @Test
+    public void unloadTest() {
+        var contentManager = new ContentManager(path -> path.getBytes(), new SizedTextureImporter());
+
+        var first = (SizedTexture) contentManager.load("a.png", Texture.class);
+        Assertions.assertTrue(contentManager.unload("a.png"));
+        Assertions.assertTrue(first.disposed);
+        Assertions.assertFalse(contentManager.unload("a.png"));
+        Assertions.assertEquals(0, contentManager.getGpuMemoryUsage());
+
+        var second = contentManager.load("a.png", Texture.class);
+        Assertions.assertNotSame(first, second);
+    }
+
+    @Test
+    public void contentScopeTest() {
+        var contentManager = new ContentManager(path -> path.getBytes(), new SizedTextureImporter());
+        contentManager.setGpuMemoryBudget(0);
+
+        var levelScope = contentManager.createScope();
+        var hudScope = contentManager.createScope();
+        var shared = (SizedTexture) levelScope.loadTexture("shared.png");
+        var level = (SizedTexture) levelScope.loadTexture("level.png");
+        Assertions.assertSame(shared, hudScope.loadTexture("shared.png"));
+
+        levelScope.dispose();
+        Assertions.assertTrue(level.disposed);
+        Assertions.assertFalse(shared.disposed);
+
+        hudScope.dispose();
+        Assertions.assertTrue(shared.disposed);
+    }
+
+    @Test
+    public void importerSelectionByExtensionTest() {
+        var contentManager = new ContentManager(path -> path.getBytes(),
+                new SizedTextureImporter(), new CompressedTextureImporter());
+
+        Assertions.assertTrue(contentManager.loadTexture("a.png") instanceof SizedTexture);
+        Assertions.assertTrue(contentManager.loadTexture("a.DDS") instanceof CompressedTexture);
+        Assertions.assertTrue(contentManager.loadTexture("a.ktx2") instanceof CompressedTexture);
+        Assertions.assertTrue(contentManager.loadTexture("a.unknown") instanceof SizedTexture);
+    }
+
+    private static class SizedTexture extends Texture {
+
+        private boolean disposed = false;
+
+        private SizedTexture() {
+            super(0, 16, 16);
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+    }
+
+    @ContentImporterInfo(type = Texture.class, extension = ".png")
+    private static class SizedTextureImporter implements ContentImporter<Texture> {
+
+        @Override
+        public Texture process(ImportContext ctx) {
+            return new SizedTexture();
+        }
+    }
+
+    private static class CompressedTexture extends Texture {
+
+        private CompressedTexture() {
+            super(0, 16, 16);
+        }
+
+        @Override
+        public void dispose() {
+            // nothing to dispose
+        }
+    }
+
+    @ContentImporterInfo(type = Texture.class, extension = {".ktx", ".ktx2", ".dds"})
+    private static class CompressedTextureImporter implements ContentImporter<Texture> {
+
+        @Override
+        public Texture process(ImportContext ctx) {
+            return new CompressedTexture();
+        }
+    }
+
+    private static class CountingAsset implements Disposable {
+
+        private boolean disposed = false;
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+    }
+
+    @ContentImporterInfo(type = CountingAsset.class, extension = "*")
+    private static class FailingImporter implements ContentImporter<CountingAsset> {
+
+        private final AtomicInteger importCount = new AtomicInteger();
+
+        @Override
+        public CountingAsset process(ImportContext ctx) {
+            if (importCount.incrementAndGet() == 1) {
+                throw new OutOfMemoryError("Simulated import failure");
+            }
+
+            return new CountingAsset();
+        }
+    }
+
+    @ContentImporterInfo(type = CountingAsset.class, extension = "*")
+    private static class CountingImporter implements ContentImporter<CountingAsset> {
+
+        private final AtomicInteger importCount = new AtomicInteger();
+
+        @Override
+        public CountingAsset process(ImportContext ctx) {
+            importCount.incrementAndGet();
+            try {
+                Thread.sleep(5); // widen the window for concurrent callers
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return new CountingAsset();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FontTest {
+
+    @Test
+    public void sizeBucketTest() {
+        var font = new StubFont(24, false);
+
+        Assertions.assertEquals(24, font.getSizeBucket(24)); // native size is exact
+        Assertions.assertEquals(10, font.getSizeBucket(9));
+        Assertions.assertEquals(16, font.getSizeBucket(16));
+        Assertions.assertEquals(20, font.getSizeBucket(18));
+        Assertions.assertEquals(40, font.getSizeBucket(33));
+        Assertions.assertEquals(80, font.getSizeBucket(65));
+        Assertions.assertEquals(1, font.getSizeBucket(0));
+    }
+
+    @Test
+    public void distanceFieldSizeBucketTest() {
+        var font = new StubFont(32, true);
+
+        Assertions.assertEquals(32, font.getSizeBucket(9));
+        Assertions.assertEquals(32, font.getSizeBucket(120));
+        Assertions.assertTrue(font.isDistanceField());
+    }
+
+    private static class StubFont extends Font {
+
+        private StubFont(int fontSize, boolean distanceField) {
+            super(new FontData(null), fontSize, 0, 0, 1, distanceField);
+        }
+
+        @Override
+        protected void computeFontData() {
+            // nothing to compute
+        }
+
+        @Override
+        public void saveAsPng(String filepath) {
+            // nothing to save
+        }
+
+        @Override
+        public void saveAsBmp(String filepath) {
+            // nothing to save
+        }
+
+        @Override
+        public FontGlyph getGlyph(int codePoint, int fontSize) {
+            return null;
+        }
+
+        @Override
+        public void dispose() {
+            // nothing to dispose
+        }
+    }
+}
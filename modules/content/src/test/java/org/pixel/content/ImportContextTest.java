@@ -0,0 +1,38 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ImportContextTest {
+
+    @Test
+    public void arrayToBufferTest() {
+        byte[] data = {1, 2, 3, 4};
+        var ctx = new ImportContext(null, data, "test.bin", null);
+
+        ByteBuffer buffer = ctx.getBuffer();
+        Assertions.assertTrue(buffer.isDirect());
+        Assertions.assertEquals(data.length, buffer.remaining());
+        Assertions.assertEquals(3, buffer.get(2));
+        Assertions.assertSame(data, ctx.getData());
+    }
+
+    @Test
+    public void bufferToArrayTest() {
+        ByteBuffer source = ByteBuffer.allocateDirect(4).put(new byte[]{1, 2, 3, 4}).flip();
+        var ctx = new ImportContext(null, source, "test.bin", null);
+
+        Assertions.assertArrayEquals(new byte[]{1, 2, 3, 4}, ctx.getData());
+        Assertions.assertEquals(0, source.position()); // the source buffer must remain untouched
+
+        ByteBuffer first = ctx.getBuffer();
+        first.get();
+        Assertions.assertEquals(0, ctx.getBuffer().position());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.pixel.math.Vector2;
+
+public class SoundTest {
+
+    @Test
+    public void dirtyPropertiesTest() {
+        var sound = new TestSound();
+        Assertions.assertEquals(Sound.PROPERTY_ALL, sound.getDirtyProperties());
+
+        sound.clearDirtyProperties();
+        sound.setGain(1.0f); // unchanged
+        Assertions.assertEquals(0, sound.getDirtyProperties());
+
+        sound.setGain(0.5f);
+        sound.setOffset(2.0f);
+        Assertions.assertEquals(Sound.PROPERTY_GAIN, sound.getDirtyProperties());
+
+        sound.setPitch(2.0f);
+        sound.setSpatialPosition(new Vector2(1, 1));
+        Assertions.assertEquals(Sound.PROPERTY_ALL, sound.getDirtyProperties());
+
+        sound.clearDirtyProperties();
+        sound.getSpatialPosition().setX(5);
+        sound.markDirty(Sound.PROPERTY_POSITION);
+        Assertions.assertEquals(Sound.PROPERTY_POSITION, sound.getDirtyProperties());
+
+        Assertions.assertEquals(Sound.PROPERTY_POSITION, sound.takeDirtyProperties());
+        Assertions.assertEquals(0, sound.getDirtyProperties());
+    }
+
+    private static class TestSound extends Sound {
+
+        @Override
+        public void dispose() {
+            // nothing to dispose
+        }
+    }
+}
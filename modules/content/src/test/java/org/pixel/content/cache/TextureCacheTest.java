@@ -0,0 +1,72 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TextureCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void keyTest() {
+        var cache = new TextureCache(Path.of("unused"));
+        ByteBuffer source = ByteBuffer.wrap(new byte[]{1, 2, 3});
+
+        Assertions.assertEquals(cache.computeKey(source, "rgba8"), cache.computeKey(source, "rgba8"));
+        Assertions.assertNotEquals(cache.computeKey(source, "rgba8"), cache.computeKey(source, "rgba8-pma"));
+        Assertions.assertNotEquals(cache.computeKey(source, "rgba8"),
+                cache.computeKey(ByteBuffer.wrap(new byte[]{1, 2, 4}), "rgba8"));
+        Assertions.assertEquals(0, source.position());
+    }
+
+    @Test
+    public void storeAndLoadTest() throws Exception {
+        var cache = new TextureCache(tempDir);
+        String key = cache.computeKey(ByteBuffer.wrap(new byte[]{42}), "rgba8");
+        Assertions.assertNull(cache.load(key));
+
+        // 4x2 base level + 2x1 + 1x1 mipmap levels:
+        int size = (int) TextureCacheEntry.computeDataSize(4, 2, 3);
+        Assertions.assertEquals((8 + 2 + 1) * 4, size);
+        ByteBuffer data = ByteBuffer.allocateDirect(size);
+        for (int i = 0; i < size; i++) {
+            data.put((byte) i);
+        }
+        data.flip();
+
+        Assertions.assertTrue(cache.storeAsync(key, 4, 2, 3, TextureCacheEntry.FLAG_PREMULTIPLIED_ALPHA, data).get());
+
+        TextureCacheEntry entry = cache.load(key);
+        Assertions.assertNotNull(entry);
+        Assertions.assertEquals(4, entry.getWidth());
+        Assertions.assertEquals(2, entry.getHeight());
+        Assertions.assertEquals(3, entry.getLevelCount());
+        Assertions.assertEquals(TextureCacheEntry.FLAG_PREMULTIPLIED_ALPHA, entry.getFlags());
+        Assertions.assertEquals(size, entry.getData().remaining());
+        Assertions.assertEquals(4, entry.getLevel(2).remaining());
+        Assertions.assertEquals((byte) 40, entry.getLevel(2).get(0));
+        cache.dispose();
+    }
+
+    @Test
+    public void invalidEntryTest() throws Exception {
+        var cache = new TextureCache(tempDir);
+        String key = cache.computeKey(ByteBuffer.wrap(new byte[]{42}), "rgba8");
+
+        Assertions.assertFalse(cache.storeAsync(key, 4, 4, 1, 0, ByteBuffer.allocate(3)).get());
+        Files.write(tempDir.resolve(key + ".pxtc"), new byte[]{1, 2, 3});
+        Assertions.assertNull(cache.load(key));
+        Assertions.assertFalse(Files.exists(tempDir.resolve(key + ".pxtc")));
+        cache.dispose();
+    }
+}
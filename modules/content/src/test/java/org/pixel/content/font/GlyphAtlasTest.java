@@ -0,0 +1,68 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.font;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class GlyphAtlasTest {
+
+    @Test
+    public void allocateTest() {
+        var atlas = new GlyphAtlas(64, 2);
+
+        long first = atlas.allocate(10, 12);
+        long second = atlas.allocate(10, 12);
+        Assertions.assertEquals(0, GlyphAtlas.getPage(first));
+        Assertions.assertEquals(0, GlyphAtlas.getX(first));
+        Assertions.assertEquals(0, GlyphAtlas.getY(first));
+        Assertions.assertEquals(10, GlyphAtlas.getX(second));
+        Assertions.assertEquals(0, GlyphAtlas.getY(second));
+
+        // too tall for the first shelf, opens a new one:
+        long third = atlas.allocate(10, 20);
+        Assertions.assertEquals(0, GlyphAtlas.getX(third));
+        Assertions.assertEquals(12, GlyphAtlas.getY(third));
+
+        Assertions.assertEquals(GlyphAtlas.INVALID_REGION, atlas.allocate(65, 10));
+        Assertions.assertEquals(GlyphAtlas.INVALID_REGION, atlas.allocate(0, 10));
+    }
+
+    @Test
+    public void newPageTest() {
+        var atlas = new GlyphAtlas(32, 2);
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(0, GlyphAtlas.getPage(atlas.allocate(16, 16)));
+        }
+
+        long region = atlas.allocate(16, 16);
+        Assertions.assertEquals(1, GlyphAtlas.getPage(region));
+        Assertions.assertEquals(2, atlas.getPageCount());
+    }
+
+    @Test
+    public void lruEvictionTest() {
+        var atlas = new GlyphAtlas(32, 2);
+        List<Integer> evicted = new ArrayList<>();
+        atlas.setEvictionListener(evicted::add);
+
+        atlas.allocate(32, 32); // fills page 0
+        atlas.allocate(32, 32); // fills page 1
+        Assertions.assertTrue(evicted.isEmpty());
+
+        atlas.touch(0); // page 1 is now the least recently used
+        long region = atlas.allocate(32, 32);
+        Assertions.assertEquals(1, GlyphAtlas.getPage(region));
+        Assertions.assertEquals(List.of(1), evicted);
+
+        region = atlas.allocate(16, 16);
+        Assertions.assertEquals(0, GlyphAtlas.getPage(region));
+        Assertions.assertEquals(List.of(1, 0), evicted);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.font;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.pixel.content.FontGlyph;
+
+public class GlyphCacheTest {
+
+    @Test
+    public void getPutTest() {
+        var cache = new GlyphCache();
+        var a = new FontGlyph(0, 0, 1, 1, 1, 0, 0, 1, 0, 24);
+        var b = new FontGlyph(0, 0, 1, 1, 1, 0, 0, 1, 0, 32);
+        var emoji = new FontGlyph(0, 0, 1, 1, 1, 0, 0, 1, 1, 24);
+
+        cache.put('a', 24, a);
+        cache.put('a', 32, b);
+        cache.put(0x1F600, 24, emoji);
+
+        Assertions.assertSame(a, cache.get('a', 24));
+        Assertions.assertSame(b, cache.get('a', 32));
+        Assertions.assertSame(emoji, cache.get(0x1F600, 24));
+        Assertions.assertNull(cache.get('b', 24));
+        Assertions.assertNull(cache.get('a', 16));
+        Assertions.assertNull(cache.get('a', 1000));
+        Assertions.assertNull(cache.get(0x1F600, 32));
+    }
+
+    @Test
+    public void removeIfTest() {
+        var cache = new GlyphCache();
+        cache.put('a', 24, new FontGlyph(0, 0, 1, 1, 1, 0, 0, 1, 0, 24));
+        cache.put('b', 24, new FontGlyph(0, 0, 1, 1, 1, 0, 0, 1, 1, 24));
+        cache.put(0x1F600, 24, new FontGlyph(0, 0, 1, 1, 1, 0, 0, 1, 1, 24));
+
+        cache.removeIf(glyph -> glyph.getPage() == 1);
+        Assertions.assertNotNull(cache.get('a', 24));
+        Assertions.assertNull(cache.get('b', 24));
+        Assertions.assertNull(cache.get(0x1F600, 24));
+
+        cache.clear();
+        Assertions.assertNull(cache.get('a', 24));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.font;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.pixel.content.Font;
+import org.pixel.content.FontData;
+import org.pixel.content.FontGlyph;
+
+public class TextLayoutTest {
+
+    @Test
+    public void singleLineTest() {
+        var layout = new TextLayout(new MonospaceFont());
+        layout.layout("abc");
+
+        Assertions.assertEquals(3, layout.getGlyphCount());
+        Assertions.assertEquals(1, layout.getLineCount());
+        Assertions.assertEquals(0f, layout.getGlyphX(0));
+        Assertions.assertEquals(10f, layout.getGlyphX(1));
+        Assertions.assertEquals(20f, layout.getGlyphX(2));
+        Assertions.assertEquals(10f, layout.getGlyphY(0)); // baseline of the first line
+        Assertions.assertEquals(30f, layout.getWidth());
+        Assertions.assertEquals(10f, layout.getHeight());
+    }
+
+    @Test
+    public void kerningTest() {
+        var layout = new TextLayout(new MonospaceFont());
+        layout.layout("AVA");
+
+        Assertions.assertEquals(8f, layout.getGlyphX(1));
+        Assertions.assertEquals(16f, layout.getGlyphX(2));
+        Assertions.assertEquals(26f, layout.getWidth());
+    }
+
+    @Test
+    public void lineBreakTest() {
+        var layout = new TextLayout(new MonospaceFont());
+        layout.layout("ab\ncde");
+
+        Assertions.assertEquals(2, layout.getLineCount());
+        Assertions.assertEquals(0f, layout.getGlyphX(2));
+        Assertions.assertEquals(20f, layout.getGlyphY(2));
+        Assertions.assertEquals(30f, layout.getWidth());
+        Assertions.assertEquals(20f, layout.getHeight());
+    }
+
+    @Test
+    public void wordWrapTest() {
+        var layout = new TextLayout(new MonospaceFont(), 10, 60, TextLayout.Alignment.LEFT);
+        layout.layout("ab cd efgh");
+
+        // "ab cd " fits (trailing space excluded from the width), "efgh" wraps:
+        Assertions.assertEquals(2, layout.getLineCount());
+        Assertions.assertEquals(50f, layout.getLineWidth(0));
+        Assertions.assertEquals(40f, layout.getLineWidth(1));
+        Assertions.assertEquals('e', layout.getCodePoint(6));
+        Assertions.assertEquals(0f, layout.getGlyphX(6));
+        Assertions.assertEquals(20f, layout.getGlyphY(6));
+    }
+
+    @Test
+    public void longWordIsBrokenTest() {
+        var layout = new TextLayout(new MonospaceFont(), 10, 30, TextLayout.Alignment.LEFT);
+        layout.layout("abcdefg");
+
+        Assertions.assertEquals(3, layout.getLineCount());
+        Assertions.assertEquals(0f, layout.getGlyphX(3));
+        Assertions.assertEquals(20f, layout.getGlyphY(3));
+        Assertions.assertEquals(30f, layout.getHeight());
+    }
+
+    @Test
+    public void alignmentTest() {
+        var layout = new TextLayout(new MonospaceFont(), 10, 0, TextLayout.Alignment.RIGHT);
+        layout.layout("abcd\nab");
+        Assertions.assertEquals(20f, layout.getGlyphX(4));
+
+        layout.setAlignment(TextLayout.Alignment.CENTER);
+        layout.layout("abcd\nab");
+        Assertions.assertEquals(10f, layout.getGlyphX(4));
+    }
+
+    @Test
+    public void scaledFontSizeTest() {
+        var layout = new TextLayout(new MonospaceFont(), 20, 0, TextLayout.Alignment.LEFT);
+        layout.layout("ab");
+
+        Assertions.assertEquals(20f, layout.getGlyphX(1));
+        Assertions.assertEquals(20f, layout.getHeight());
+    }
+
+    /**
+     * Font with 10px advances (at size 10) and a -2px kerning for the "AV"/"VA" pairs.
+     */
+    private static class MonospaceFont extends Font {
+
+        private MonospaceFont() {
+            super(new FontData(null), 10, 0, 0, 1);
+        }
+
+        @Override
+        protected void computeFontData() {
+            // nothing to compute
+        }
+
+        @Override
+        public void saveAsPng(String filepath) {
+            // nothing to save
+        }
+
+        @Override
+        public void saveAsBmp(String filepath) {
+            // nothing to save
+        }
+
+        @Override
+        public float getKerning(int left, int right, float fontSize) {
+            boolean pair = (left == 'A' && right == 'V') || (left == 'V' && right == 'A');
+            return pair ? -2f * fontSize / 10f : 0f;
+        }
+
+        @Override
+        public FontGlyph getGlyph(int codePoint, int fontSize) {
+            if (Character.isISOControl(codePoint)) {
+                return null;
+            }
+
+            return new FontGlyph(0, 0, 8, 8, 10, 0, -8, 1, 0, 10);
+        }
+
+        @Override
+        public void dispose() {
+            // nothing to dispose
+        }
+    }
+}
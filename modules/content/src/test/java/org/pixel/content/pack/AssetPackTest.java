@@ -0,0 +1,79 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.pack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AssetPackTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void writeAndReadTest() throws IOException {
+        Path source = Files.createDirectories(tempDir.resolve("pack-src"));
+        Path output = tempDir.resolve("assets.pxpack");
+
+        byte[] noise = new byte[4096];
+        new Random(42).nextBytes(noise); // incompressible, stored as-is
+        byte[] text = "hello pack ".repeat(200).getBytes(); // compressible
+
+        Files.createDirectories(source.resolve("textures/ui"));
+        Files.write(source.resolve("textures/ui/button.png"), noise);
+        Files.write(source.resolve("data.txt"), text);
+        Files.write(source.resolve("empty.bin"), new byte[0]);
+
+        Assertions.assertEquals(3, new AssetPackWriter().write(source, output));
+
+        AssetPack pack = new AssetPack(output);
+        Assertions.assertEquals(3, pack.getEntryCount());
+        Assertions.assertEquals(AssetPackEntry.COMPRESSION_NONE, pack.getEntry("textures/ui/button.png").getCompression());
+        Assertions.assertEquals(AssetPackEntry.COMPRESSION_DEFLATE, pack.getEntry("data.txt").getCompression());
+
+        Assertions.assertArrayEquals(noise, toArray(pack.getBuffer("textures/ui/button.png")));
+        Assertions.assertArrayEquals(noise, toArray(pack.getBuffer("./textures\\ui/button.png")));
+        Assertions.assertArrayEquals(text, toArray(pack.getBuffer("data.txt")));
+        Assertions.assertEquals(0, pack.getBuffer("empty.bin").remaining());
+        Assertions.assertNull(pack.getBuffer("missing.png"));
+        Assertions.assertFalse(pack.contains("textures"));
+    }
+
+    @Test
+    public void fallbackLoaderTest() throws IOException {
+        Path source = Files.createDirectories(tempDir.resolve("pack-src"));
+        Path output = tempDir.resolve("assets.pxpack");
+        Files.write(source.resolve("packed.txt"), "packed".getBytes());
+        new AssetPackWriter().write(source, output);
+
+        var loader = new PackResourceLoader(output, path -> path.equals("loose.txt") ? "loose".getBytes() : null);
+
+        Assertions.assertEquals("packed", new String(loader.load("packed.txt")));
+        Assertions.assertEquals("loose", new String(loader.load("loose.txt")));
+        Assertions.assertEquals("loose", new String(toArray(loader.loadBuffer("loose.txt"))));
+        Assertions.assertNull(loader.load("missing.txt"));
+    }
+
+    @Test
+    public void invalidPackTest() throws IOException {
+        Path output = tempDir.resolve("invalid.pxpack");
+        Files.write(output, "not a pack file at all".getBytes());
+
+        Assertions.assertThrows(IOException.class, () -> new AssetPack(output));
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] data = new byte[buffer.remaining()];
+        buffer.duplicate().get(data);
+        return data;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.texture;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CompressedTextureReaderTest {
+
+    @Test
+    public void readDdsTest() throws IOException {
+        // 8x8 DXT5 with 4 levels: 64 + 16 + 16 + 16 bytes
+        ByteBuffer data = ByteBuffer.allocate(128 + 112).order(ByteOrder.LITTLE_ENDIAN);
+        data.putInt(0, 0x20534444);
+        data.putInt(12, 8);
+        data.putInt(16, 8);
+        data.putInt(28, 4);
+        data.putInt(84, 0x35545844);
+        data.put(128 + 64, (byte) 7);
+
+        Assertions.assertTrue(CompressedTextureReader.isSupported(data));
+        CompressedTextureData texture = CompressedTextureReader.read(data);
+        Assertions.assertEquals(CompressedTextureFormat.BC3, texture.getFormat());
+        Assertions.assertEquals(8, texture.getWidth());
+        Assertions.assertEquals(4, texture.getLevels().size());
+        Assertions.assertEquals(64, texture.getLevels().get(0).remaining());
+        Assertions.assertEquals(16, texture.getLevels().get(3).remaining());
+        Assertions.assertEquals(7, texture.getLevels().get(1).get(0));
+        Assertions.assertEquals(1, texture.getLevelWidth(3));
+        Assertions.assertEquals(112, texture.getDataSize());
+    }
+
+    @Test
+    public void readDdsDx10Test() throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(148 + 16).order(ByteOrder.LITTLE_ENDIAN);
+        data.putInt(0, 0x20534444);
+        data.putInt(12, 4);
+        data.putInt(16, 4);
+        data.putInt(84, 0x30315844);
+        data.putInt(128, 98);
+
+        CompressedTextureData texture = CompressedTextureReader.read(data);
+        Assertions.assertEquals(CompressedTextureFormat.BC7, texture.getFormat());
+        Assertions.assertEquals(1, texture.getLevels().size());
+        Assertions.assertEquals(16, texture.getLevels().get(0).remaining());
+    }
+
+    @Test
+    public void readKtxTest() throws IOException {
+        // 4x4 ETC2 RGB8 with 2 levels (8 bytes each) and 4 bytes of key/value data
+        ByteBuffer data = ByteBuffer.allocate(64 + 4 + 2 * (4 + 8)).order(ByteOrder.LITTLE_ENDIAN);
+        data.put(new byte[]{(byte) 0xAB, 'K', 'T', 'X', ' ', '1', '1', (byte) 0xBB, '\r', '\n', 0x1A, '\n'});
+        data.putInt(12, 0x04030201);
+        data.putInt(28, 0x9274);
+        data.putInt(36, 4);
+        data.putInt(40, 4);
+        data.putInt(52, 1);
+        data.putInt(56, 2);
+        data.putInt(60, 4);
+        data.putInt(68, 8);
+        data.putInt(80, 8);
+        data.put(84, (byte) 3);
+        data.position(0);
+
+        CompressedTextureData texture = CompressedTextureReader.read(data);
+        Assertions.assertEquals(CompressedTextureFormat.ETC2_RGB8, texture.getFormat());
+        Assertions.assertEquals(2, texture.getLevels().size());
+        Assertions.assertEquals(3, texture.getLevels().get(1).get(0));
+        Assertions.assertTrue(texture.getFormat().isEtc2());
+    }
+
+    @Test
+    public void readKtx2Test() throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(80 + 24 + 16).order(ByteOrder.LITTLE_ENDIAN);
+        data.put(new byte[]{(byte) 0xAB, 'K', 'T', 'X', ' ', '2', '0', (byte) 0xBB, '\r', '\n', 0x1A, '\n'});
+        data.putInt(12, 145);
+        data.putInt(20, 4);
+        data.putInt(24, 4);
+        data.putInt(36, 1);
+        data.putInt(40, 1);
+        data.putLong(80, 104);
+        data.putLong(88, 16);
+        data.position(0);
+
+        CompressedTextureData texture = CompressedTextureReader.read(data);
+        Assertions.assertEquals(CompressedTextureFormat.BC7, texture.getFormat());
+        Assertions.assertEquals(16, texture.getLevels().get(0).remaining());
+    }
+
+    @Test
+    public void truncatedDataTest() {
+        ByteBuffer data = ByteBuffer.allocate(128).order(ByteOrder.LITTLE_ENDIAN);
+        data.putInt(0, 0x20534444);
+        data.putInt(12, 8);
+        data.putInt(16, 8);
+        data.putInt(84, 0x31545844);
+
+        Assertions.assertThrows(IOException.class, () -> CompressedTextureReader.read(data));
+        Assertions.assertFalse(CompressedTextureReader.isSupported(ByteBuffer.wrap(new byte[]{1, 2, 3, 4})));
+    }
+}
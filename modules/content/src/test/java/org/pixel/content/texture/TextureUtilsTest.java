@@ -0,0 +1,69 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.content.texture;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.pixel.content.cache.TextureCacheEntry;
+
+public class TextureUtilsTest {
+
+    @Test
+    public void computeLevelCountTest() {
+        Assertions.assertEquals(1, TextureUtils.computeLevelCount(1, 1));
+        Assertions.assertEquals(9, TextureUtils.computeLevelCount(256, 256));
+        Assertions.assertEquals(9, TextureUtils.computeLevelCount(300, 20));
+    }
+
+    @Test
+    public void premultiplyAlphaTest() {
+        ByteBuffer rgba = ByteBuffer.wrap(new byte[]{
+                (byte) 255, (byte) 128, 0, (byte) 128,
+                (byte) 200, (byte) 200, (byte) 200, (byte) 255,
+                (byte) 255, (byte) 255, (byte) 255, 0
+        });
+
+        TextureUtils.premultiplyAlpha(rgba);
+        Assertions.assertEquals(128, rgba.get(0) & 0xFF);
+        Assertions.assertEquals(64, rgba.get(1) & 0xFF);
+        Assertions.assertEquals(0, rgba.get(2) & 0xFF);
+        Assertions.assertEquals(200, rgba.get(4) & 0xFF);
+        Assertions.assertEquals(0, rgba.get(8) & 0xFF);
+        Assertions.assertEquals(0, rgba.position());
+    }
+
+    @Test
+    public void generateMipmapsTest() {
+        int levels = TextureUtils.computeLevelCount(3, 2);
+        ByteBuffer chain = ByteBuffer.allocate((int) TextureCacheEntry.computeDataSize(3, 2, levels));
+        for (int i = 0; i < 6; i++) {
+            // opaque texels with red = 0, 40, 80, ...
+            chain.put(i * 4, (byte) (i * 40));
+            chain.put(i * 4 + 3, (byte) 255);
+        }
+
+        TextureUtils.generateMipmaps(chain, 3, 2, levels, false);
+
+        // level 1 (1x1 from 3x2: texels 0, 1, 3, 4), level 2 does not exist
+        Assertions.assertEquals(2, levels);
+        Assertions.assertEquals((0 + 40 + 120 + 160) / 4, chain.get(24) & 0xFF);
+        Assertions.assertEquals(255, chain.get(27) & 0xFF);
+    }
+
+    @Test
+    public void transparentTexelsDoNotBleedTest() {
+        ByteBuffer chain = ByteBuffer.allocate((int) TextureCacheEntry.computeDataSize(2, 2, 2));
+        chain.put(0, (byte) 255).put(3, (byte) 255); // opaque red, the other texels are transparent black
+
+        TextureUtils.generateMipmaps(chain, 2, 2, 2, false);
+        Assertions.assertEquals(255, chain.get(16) & 0xFF);
+        Assertions.assertEquals(64, chain.get(19) & 0xFF);
+
+        TextureUtils.generateMipmaps(chain, 2, 2, 2, true);
+        Assertions.assertEquals(64, chain.get(16) & 0xFF);
+    }
+}
@@ -1,43 +1,104 @@
 package org.pixel.audio;
 
+import org.pixel.commons.lifecycle.Disposable;
 import org.pixel.content.Sound;
 
-public interface AudioPlayer {
+public interface AudioPlayer extends Disposable {
+
+    /**
+     * Handle returned when a sound could not be played (no voice available).
+     */
+    long INVALID_HANDLE = 0L;
+
+    /**
+     * Default playback priority.
+     */
+    int DEFAULT_PRIORITY = 0;
 
     /**
      * Play the sound.
      *
      * @param sound The sound to play
+     * @return The playback handle or {@link #INVALID_HANDLE} if no voice is available
      */
-    void play(Sound sound);
+    long play(Sound sound);
 
     /**
      * Play the sound.
      *
      * @param sound The sound to play
      * @param loop  Whether the sound should loop
+     * @return The playback handle or {@link #INVALID_HANDLE} if no voice is available
      */
-    void play(Sound sound, boolean loop);
+    long play(Sound sound, boolean loop);
 
     /**
-     * Pause the sound.
+     * Play the sound. When every voice is busy, the lowest priority (and then oldest) playback with a priority not
+     * higher than the given one is stolen.
+     *
+     * @param sound    The sound to play
+     * @param loop     Whether the sound should loop
+     * @param priority The playback priority (higher values are stolen last)
+     * @return The playback handle or {@link #INVALID_HANDLE} if no voice is available
+     */
+    long play(Sound sound, boolean loop, int priority);
+
+    /**
+     * Pause every playback of the sound.
      *
      * @param sound The sound to pause
      */
     void pause(Sound sound);
 
     /**
-     * Stop the sound.
+     * Stop every playback of the sound.
      *
      * @param sound The sound to stop
      */
     void stop(Sound sound);
 
     /**
-     * Sync the sound properties with the audio player.
+     * Pause a playback (no-op if the playback already ended).
+     *
+     * @param handle The playback handle
+     */
+    void pause(long handle);
+
+    /**
+     * Resume a paused playback (no-op if the playback already ended).
+     *
+     * @param handle The playback handle
+     */
+    void resume(long handle);
+
+    /**
+     * Stop a playback (no-op if the playback already ended).
+     *
+     * @param handle The playback handle
+     */
+    void stop(long handle);
+
+    /**
+     * Check if a playback is still playing.
+     *
+     * @param handle The playback handle
+     * @return True if playing
+     */
+    boolean isPlaying(long handle);
+
+    /**
+     * Sync every sound property with the audio player, immediately (including properties modified in place, such as
+     * the spatial position, that were not flagged as changed). Prefer flagging the changes and letting
+     * {@link #flush()} apply them once per frame.
      *
      * @param sound The sound to sync.
      */
     void sync(Sound sound);
 
+    /**
+     * Apply, in one pass, the changed properties of every sound currently playing. Meant to be called once per frame
+     * (after the game update), so property changes cost no audio API calls until then.
+     */
+    void flush();
+
 }
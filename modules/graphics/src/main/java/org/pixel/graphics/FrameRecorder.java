@@ -0,0 +1,60 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics;
+
+import org.pixel.commons.lifecycle.Disposable;
+
+/**
+ * Records the rendered frames (e.g. to an image sequence or a video stream). Captured frames are encoded in the
+ * background; when the encoders fall behind frames are dropped instead of stalling the game.
+ */
+public interface FrameRecorder extends Disposable {
+
+    /**
+     * Start recording.
+     *
+     * @return True if recording started, false otherwise.
+     */
+    boolean start();
+
+    /**
+     * Stop recording; frames already captured are encoded before this call returns.
+     */
+    void stop();
+
+    /**
+     * Check if the recorder is recording.
+     *
+     * @return True if recording, false otherwise.
+     */
+    boolean isRecording();
+
+    /**
+     * Capture the current frame (called by the game loop once per frame, after drawing).
+     */
+    void captureFrame();
+
+    /**
+     * Get the number of frames captured (including the dropped ones).
+     *
+     * @return The number of captured frames.
+     */
+    long getCapturedFrameCount();
+
+    /**
+     * Get the number of frames dropped because the encoders could not keep up.
+     *
+     * @return The number of dropped frames.
+     */
+    long getDroppedFrameCount();
+
+    /**
+     * Get the number of frames encoded.
+     *
+     * @return The number of encoded frames.
+     */
+    long getEncodedFrameCount();
+}
@@ -1,11 +1,23 @@
 package org.pixel.graphics;
 
+import java.util.concurrent.CompletableFuture;
 import org.pixel.commons.Color;
+import org.pixel.commons.DeltaTime;
 import org.pixel.commons.lifecycle.Disposable;
 import org.pixel.commons.lifecycle.Initializable;
 
 public interface GraphicsDevice extends Initializable, Disposable {
 
+    /**
+     * Prepare the per-frame state (e.g. elapsed time and viewport shared by the shaders). Called once at the
+     * beginning of every frame, before the game update.
+     *
+     * @param delta The frame delta time (already ticked); fixed time steps make the shader time deterministic.
+     */
+    default void beginFrame(DeltaTime delta) {
+        // intentionally empty
+    }
+
     /**
      * Clear the screen.
      */
@@ -29,4 +41,20 @@ public interface GraphicsDevice extends Initializable, Disposable {
      * @return The pixels (RGBA chunk format).
      */
     byte[] readPixels(int x, int y, int width, int height, boolean opaque);
+
+    /**
+     * Read pixels from the screen without stalling the render pipeline (RGBA chunk format). The returned future
+     * completes once the data is available, which may take a few frames; the default implementation reads
+     * synchronously.
+     *
+     * @param x      The x coordinate.
+     * @param y      The y coordinate.
+     * @param width  The width.
+     * @param height The height.
+     * @param opaque True if the alpha channel should be opaque, false otherwise.
+     * @return A future completed with the pixels (RGBA chunk format).
+     */
+    default CompletableFuture<byte[]> readPixelsAsync(int x, int y, int width, int height, boolean opaque) {
+        return CompletableFuture.completedFuture(readPixels(x, y, width, height, opaque));
+    }
 }
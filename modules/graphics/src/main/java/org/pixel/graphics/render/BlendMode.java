@@ -6,5 +6,10 @@
 package org.pixel.graphics.render;
 
 public enum BlendMode {
-    NORMAL_BLEND, ADDITIVE, MULTIPLY
+    NORMAL_BLEND, ADDITIVE, MULTIPLY,
+    /**
+     * Normal blending of premultiplied alpha colors (source color added as is, destination scaled by the inverse
+     * source alpha). Sprite batches switch to it automatically for premultiplied textures in NORMAL_BLEND mode.
+     */
+    PREMULTIPLIED
 }
@@ -0,0 +1,354 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.render;
+
+import org.pixel.commons.Color;
+import org.pixel.commons.lifecycle.Initializable;
+import org.pixel.math.Rectangle;
+import org.pixel.math.Vector2;
+
+/**
+ * Batched renderer of colored primitives (lines, rectangles, circles, triangles), meant for debug overlays and
+ * hitbox visualization. Shapes are decomposed into line segments and triangles which implementations accumulate
+ * and draw with one call per primitive type. Pending triangles are always drawn before pending lines, so outlines
+ * are drawn over fills, including when a full buffer is drawn in the middle of a batch.
+ */
+public abstract class PrimitiveBatch implements DrawBatch, Initializable {
+
+    //region Fields & Properties
+
+    public static final int DEFAULT_CIRCLE_SEGMENTS = 32;
+    public static final int DEFAULT_MAX_VERTICES = 16384; // maximum vertices per primitive type and draw call
+
+    private static final float[] circleCos = new float[DEFAULT_CIRCLE_SEGMENTS + 1];
+    private static final float[] circleSin = new float[DEFAULT_CIRCLE_SEGMENTS + 1];
+
+    static {
+        // unit circle, precomputed for the default segment count:
+        for (int i = 0; i <= DEFAULT_CIRCLE_SEGMENTS; i++) {
+            double angle = 2.0 * Math.PI * i / DEFAULT_CIRCLE_SEGMENTS;
+            circleCos[i] = (float) Math.cos(angle);
+            circleSin[i] = (float) Math.sin(angle);
+        }
+    }
+
+    private final int maxVertices;
+    private int lineVertexCount;
+    private int triangleVertexCount;
+
+    //endregion
+
+    //region Constructors
+
+    /**
+     * Constructor.
+     */
+    protected PrimitiveBatch() {
+        this(DEFAULT_MAX_VERTICES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxVertices The maximum number of vertices per primitive type drawn in a single call (rounded down to a
+     *                    multiple of 6, which keeps both line and triangle batches full).
+     */
+    protected PrimitiveBatch(int maxVertices) {
+        if (maxVertices < 6) {
+            throw new RuntimeException("Invalid buffer size, must hold at least two triangles");
+        }
+
+        this.maxVertices = maxVertices - maxVertices % 6;
+    }
+
+    //endregion
+
+    //region Private Functions
+
+    /**
+     * Add a line segment to the batch (there is always room for its vertices).
+     *
+     * @param x1    The start x position.
+     * @param y1    The start y position.
+     * @param x2    The end x position.
+     * @param y2    The end y position.
+     * @param color The color.
+     */
+    protected abstract void putLine(float x1, float y1, float x2, float y2, Color color);
+
+    /**
+     * Add a filled triangle to the batch (there is always room for its vertices).
+     *
+     * @param x1    The first vertex x position.
+     * @param y1    The first vertex y position.
+     * @param x2    The second vertex x position.
+     * @param y2    The second vertex y position.
+     * @param x3    The third vertex x position.
+     * @param y3    The third vertex y position.
+     * @param color The color.
+     */
+    protected abstract void putTriangle(float x1, float y1, float x2, float y2, float x3, float y3, Color color);
+
+    /**
+     * Draw the pending line segments and discard them.
+     *
+     * @param vertexCount The number of pending vertices.
+     */
+    protected abstract void drawLines(int vertexCount);
+
+    /**
+     * Draw the pending triangles and discard them.
+     *
+     * @param vertexCount The number of pending vertices.
+     */
+    protected abstract void drawTriangles(int vertexCount);
+
+    /**
+     * Draw every pending primitive (called at the end of the batch).
+     */
+    protected void flush() {
+        // outlines are drawn over fills:
+        flushTriangles();
+        flushLines();
+    }
+
+    /**
+     * Forget the pending primitives (called at the beginning of the batch, with the implementation buffers reset).
+     */
+    protected void clearPending() {
+        lineVertexCount = 0;
+        triangleVertexCount = 0;
+    }
+
+    /**
+     * Get the maximum number of vertices per primitive type drawn in a single call.
+     *
+     * @return The maximum number of vertices.
+     */
+    protected int getMaxVertices() {
+        return maxVertices;
+    }
+
+    private void line(float x1, float y1, float x2, float y2, Color color) {
+        if (lineVertexCount + 2 > maxVertices) {
+            flush(); // the pending fills go first, or they would cover these lines
+        }
+
+        putLine(x1, y1, x2, y2, color);
+        lineVertexCount += 2;
+    }
+
+    private void triangle(float x1, float y1, float x2, float y2, float x3, float y3, Color color) {
+        if (triangleVertexCount + 3 > maxVertices) {
+            flushTriangles(); // the pending lines are still drawn over these
+        }
+
+        putTriangle(x1, y1, x2, y2, x3, y3, color);
+        triangleVertexCount += 3;
+    }
+
+    private void flushLines() {
+        if (lineVertexCount > 0) {
+            drawLines(lineVertexCount);
+            lineVertexCount = 0;
+        }
+    }
+
+    private void flushTriangles() {
+        if (triangleVertexCount > 0) {
+            drawTriangles(triangleVertexCount);
+            triangleVertexCount = 0;
+        }
+    }
+
+    private static float circleCos(int i, int segments) {
+        return segments == DEFAULT_CIRCLE_SEGMENTS
+                ? circleCos[i] : (float) Math.cos(2.0 * Math.PI * i / segments);
+    }
+
+    private static float circleSin(int i, int segments) {
+        return segments == DEFAULT_CIRCLE_SEGMENTS
+                ? circleSin[i] : (float) Math.sin(2.0 * Math.PI * i / segments);
+    }
+
+    //endregion
+
+    //region Public Functions
+
+    /**
+     * Draw a line.
+     *
+     * @param start The start position.
+     * @param end   The end position.
+     * @param color The color.
+     */
+    public void drawLine(Vector2 start, Vector2 end, Color color) {
+        line(start.getX(), start.getY(), end.getX(), end.getY(), color);
+    }
+
+    /**
+     * Draw a line.
+     *
+     * @param x1    The start x position.
+     * @param y1    The start y position.
+     * @param x2    The end x position.
+     * @param y2    The end y position.
+     * @param color The color.
+     */
+    public void drawLine(float x1, float y1, float x2, float y2, Color color) {
+        line(x1, y1, x2, y2, color);
+    }
+
+    /**
+     * Draw a polyline.
+     *
+     * @param points The points as consecutive x, y pairs.
+     * @param count  The number of points.
+     * @param closed True to connect the last point to the first.
+     * @param color  The color.
+     */
+    public void drawPolyline(float[] points, int count, boolean closed, Color color) {
+        for (int i = 1; i < count; i++) {
+            line(points[i * 2 - 2], points[i * 2 - 1], points[i * 2], points[i * 2 + 1], color);
+        }
+
+        if (closed && count > 2) {
+            line(points[count * 2 - 2], points[count * 2 - 1], points[0], points[1], color);
+        }
+    }
+
+    /**
+     * Draw a rectangle outline.
+     *
+     * @param rectangle The rectangle.
+     * @param color     The color.
+     */
+    public void drawRectangle(Rectangle rectangle, Color color) {
+        drawRectangle(rectangle.getX(), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight(), color);
+    }
+
+    /**
+     * Draw a rectangle outline.
+     *
+     * @param x      The x position.
+     * @param y      The y position.
+     * @param width  The width.
+     * @param height The height.
+     * @param color  The color.
+     */
+    public void drawRectangle(float x, float y, float width, float height, Color color) {
+        line(x, y, x + width, y, color);
+        line(x + width, y, x + width, y + height, color);
+        line(x + width, y + height, x, y + height, color);
+        line(x, y + height, x, y, color);
+    }
+
+    /**
+     * Draw a filled rectangle.
+     *
+     * @param rectangle The rectangle.
+     * @param color     The color.
+     */
+    public void fillRectangle(Rectangle rectangle, Color color) {
+        fillRectangle(rectangle.getX(), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight(), color);
+    }
+
+    /**
+     * Draw a filled rectangle.
+     *
+     * @param x      The x position.
+     * @param y      The y position.
+     * @param width  The width.
+     * @param height The height.
+     * @param color  The color.
+     */
+    public void fillRectangle(float x, float y, float width, float height, Color color) {
+        triangle(x, y, x + width, y, x + width, y + height, color);
+        triangle(x, y, x + width, y + height, x, y + height, color);
+    }
+
+    /**
+     * Draw a circle outline.
+     *
+     * @param center The center position.
+     * @param radius The radius.
+     * @param color  The color.
+     */
+    public void drawCircle(Vector2 center, float radius, Color color) {
+        drawCircle(center.getX(), center.getY(), radius, DEFAULT_CIRCLE_SEGMENTS, color);
+    }
+
+    /**
+     * Draw a circle outline.
+     *
+     * @param x        The center x position.
+     * @param y        The center y position.
+     * @param radius   The radius.
+     * @param segments The number of segments.
+     * @param color    The color.
+     */
+    public void drawCircle(float x, float y, float radius, int segments, Color color) {
+        for (int i = 0; i < segments; i++) {
+            line(x + circleCos(i, segments) * radius, y + circleSin(i, segments) * radius,
+                    x + circleCos(i + 1, segments) * radius, y + circleSin(i + 1, segments) * radius, color);
+        }
+    }
+
+    /**
+     * Draw a filled circle.
+     *
+     * @param center The center position.
+     * @param radius The radius.
+     * @param color  The color.
+     */
+    public void fillCircle(Vector2 center, float radius, Color color) {
+        fillCircle(center.getX(), center.getY(), radius, DEFAULT_CIRCLE_SEGMENTS, color);
+    }
+
+    /**
+     * Draw a filled circle.
+     *
+     * @param x        The center x position.
+     * @param y        The center y position.
+     * @param radius   The radius.
+     * @param segments The number of segments.
+     * @param color    The color.
+     */
+    public void fillCircle(float x, float y, float radius, int segments, Color color) {
+        for (int i = 0; i < segments; i++) {
+            triangle(x, y, x + circleCos(i, segments) * radius, y + circleSin(i, segments) * radius,
+                    x + circleCos(i + 1, segments) * radius, y + circleSin(i + 1, segments) * radius, color);
+        }
+    }
+
+    /**
+     * Draw a triangle outline.
+     *
+     * @param a     The first vertex.
+     * @param b     The second vertex.
+     * @param c     The third vertex.
+     * @param color The color.
+     */
+    public void drawTriangle(Vector2 a, Vector2 b, Vector2 c, Color color) {
+        line(a.getX(), a.getY(), b.getX(), b.getY(), color);
+        line(b.getX(), b.getY(), c.getX(), c.getY(), color);
+        line(c.getX(), c.getY(), a.getX(), a.getY(), color);
+    }
+
+    /**
+     * Draw a filled triangle.
+     *
+     * @param a     The first vertex.
+     * @param b     The second vertex.
+     * @param c     The third vertex.
+     * @param color The color.
+     */
+    public void fillTriangle(Vector2 a, Vector2 b, Vector2 c, Color color) {
+        triangle(a.getX(), a.getY(), b.getX(), b.getY(), c.getX(), c.getY(), color);
+    }
+
+    //endregion
+}
@@ -9,6 +9,8 @@ import org.pixel.commons.Color;
 import org.pixel.commons.attribute.HorizontalAlignment;
 import org.pixel.commons.attribute.Solidity;
 import org.pixel.commons.attribute.VerticalAlignment;
+import org.pixel.graphics.render.shape.ShapeMesh;
+import org.pixel.graphics.render.shape.VectorShape;
 import org.pixel.math.Size;
 import org.pixel.math.Matrix4;
 import org.pixel.math.Rectangle;
@@ -301,6 +303,24 @@ public abstract class RenderEngine2D extends StatefulRenderEngine {
      */
     public abstract void fill();
 
+    /**
+     * Upload a tessellated mesh (see {@link org.pixel.graphics.render.shape.ShapeBuilder}) into a retained shape.
+     * Static shapes should be created once and redrawn with {@link #drawShape(VectorShape, Matrix4)}, keeping the
+     * path API for content that changes every frame.
+     *
+     * @param mesh The mesh.
+     * @return The retained shape, to be disposed by the caller.
+     */
+    public abstract VectorShape createShape(ShapeMesh mesh);
+
+    /**
+     * Draws a retained shape.
+     *
+     * @param shape     The shape to draw.
+     * @param transform The shape transform, applied before the current coordinate system transform.
+     */
+    public abstract void drawShape(VectorShape shape, Matrix4 transform);
+
     /**
      * Scissors view by the given bounds.
      *
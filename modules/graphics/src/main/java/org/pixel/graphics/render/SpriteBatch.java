@@ -8,6 +8,7 @@ import org.pixel.math.Rectangle;
 import org.pixel.math.Vector2;
 import org.pixel.content.Font;
 import org.pixel.content.Texture;
+import org.pixel.content.font.TextLayout;
 import org.pixel.graphics.shader.Shader;
 
 public abstract class SpriteBatch implements Initializable, Disposable {
@@ -209,11 +210,11 @@ public abstract class SpriteBatch implements Initializable, Disposable {
      * Draws text.
      *
      * @param font     The font to use.
-     * @param text     The text to draw.
+     * @param text     The text to draw (read in place, e.g. a reused StringBuilder).
      * @param position The position of the text.
      * @param color    The color of the text.
      */
-    public void drawText(Font font, String text, Vector2 position, Color color) {
+    public void drawText(Font font, CharSequence text, Vector2 position, Color color) {
         this.drawText(font, text, position, color, font.getFontSize());
     }
 
@@ -221,12 +222,21 @@ public abstract class SpriteBatch implements Initializable, Disposable {
      * Draws text.
      *
      * @param font     The font to use.
-     * @param text     The text to draw.
+     * @param text     The text to draw (read in place, e.g. a reused StringBuilder).
      * @param position The position of the text.
      * @param color    The color of the text.
      * @param fontSize The size of the font.
      */
-    public abstract void drawText(Font font, String text, Vector2 position, Color color, int fontSize);
+    public abstract void drawText(Font font, CharSequence text, Vector2 position, Color color, int fontSize);
+
+    /**
+     * Draws a pre-computed text layout (the layout is only translated, not recomputed).
+     *
+     * @param layout   The text layout.
+     * @param position The position of the layout top left corner.
+     * @param color    The color of the text.
+     */
+    public abstract void drawText(TextLayout layout, Vector2 position, Color color);
 
     /**
      * Get the active shader.
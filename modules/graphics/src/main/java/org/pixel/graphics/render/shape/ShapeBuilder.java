@@ -0,0 +1,639 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.render.shape;
+
+import java.util.Arrays;
+import org.pixel.commons.Color;
+
+/**
+ * Records a path sequence (same vocabulary as {@link org.pixel.graphics.render.RenderEngine2D}) and tessellates it
+ * into a {@link ShapeMesh}. Curves are flattened once, fills are ear clipped and both fills and strokes get an
+ * optional anti-aliasing fringe (a one unit wide ring fading to transparent), so the resulting mesh can be redrawn
+ * every frame without any CPU work.
+ * <p>
+ * Each sub-path is filled as an independent simple polygon: holes and self-intersecting paths are not supported and
+ * should keep using the immediate NanoVG path API. The fringe and the flattening tolerance are expressed in shape
+ * units, scale them down when the shape is drawn with a scaling transform.
+ */
+public class ShapeBuilder {
+
+    //region Fields & Properties
+
+    private static final float KAPPA = 0.5522847493f; // cubic bezier approximation of a quarter circle
+    private static final float DISTANCE_EPSILON = 0.01f;
+    private static final int MAX_FLATTEN_LEVEL = 10;
+
+    private float tolerance = 0.25f;
+    private float fringeWidth = 1.0f;
+    private float miterLimit = 4.0f;
+
+    // current path:
+    private float[] points = new float[64];
+    private int pointCount;
+    private int[] subpathStarts = new int[8];
+    private boolean[] subpathClosed = new boolean[8];
+    private int subpathCount;
+
+    // tessellated mesh:
+    private float[] positions = new float[128];
+    private int[] colors = new int[64];
+    private int vertexCount;
+    private int[] indices = new int[192];
+    private int indexCount;
+
+    // tessellation scratch:
+    private float[] polygon = new float[64];
+    private float[] offsets = new float[64];
+    private int[] remaining = new int[32];
+
+    //endregion
+
+    //region Private Functions
+
+    private void addSubpath() {
+        if (subpathCount == subpathStarts.length) {
+            subpathStarts = Arrays.copyOf(subpathStarts, subpathCount * 2);
+            subpathClosed = Arrays.copyOf(subpathClosed, subpathCount * 2);
+        }
+
+        subpathStarts[subpathCount] = pointCount;
+        subpathClosed[subpathCount] = false;
+        subpathCount++;
+    }
+
+    private void addPoint(float x, float y) {
+        if (pointCount > subpathStarts[subpathCount - 1]) {
+            float dx = x - points[pointCount * 2 - 2];
+            float dy = y - points[pointCount * 2 - 1];
+            if (dx * dx + dy * dy < DISTANCE_EPSILON * DISTANCE_EPSILON) {
+                return; // coincident points produce degenerate normals
+            }
+        }
+
+        if (pointCount * 2 == points.length) {
+            points = Arrays.copyOf(points, points.length * 2);
+        }
+
+        points[pointCount * 2] = x;
+        points[pointCount * 2 + 1] = y;
+        pointCount++;
+    }
+
+    private float lastX() {
+        return points[pointCount * 2 - 2];
+    }
+
+    private float lastY() {
+        return points[pointCount * 2 - 1];
+    }
+
+    private void flattenBezier(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4,
+            int level) {
+        float dx = x4 - x1;
+        float dy = y4 - y1;
+        float d2 = Math.abs((x2 - x4) * dy - (y2 - y4) * dx);
+        float d3 = Math.abs((x3 - x4) * dy - (y3 - y4) * dx);
+
+        if (level >= MAX_FLATTEN_LEVEL || (d2 + d3) * (d2 + d3) < tolerance * (dx * dx + dy * dy)) {
+            addPoint(x4, y4);
+            return;
+        }
+
+        // de Casteljau subdivision at t = 0.5:
+        float x12 = (x1 + x2) * 0.5f;
+        float y12 = (y1 + y2) * 0.5f;
+        float x23 = (x2 + x3) * 0.5f;
+        float y23 = (y2 + y3) * 0.5f;
+        float x34 = (x3 + x4) * 0.5f;
+        float y34 = (y3 + y4) * 0.5f;
+        float x123 = (x12 + x23) * 0.5f;
+        float y123 = (y12 + y23) * 0.5f;
+        float x234 = (x23 + x34) * 0.5f;
+        float y234 = (y23 + y34) * 0.5f;
+        float x1234 = (x123 + x234) * 0.5f;
+        float y1234 = (y123 + y234) * 0.5f;
+
+        flattenBezier(x1, y1, x12, y12, x123, y123, x1234, y1234, level + 1);
+        flattenBezier(x1234, y1234, x234, y234, x34, y34, x4, y4, level + 1);
+    }
+
+    /**
+     * Copy a sub-path into the polygon scratch array, dropping the closing point when it repeats the first one.
+     *
+     * @param subpath The sub-path index.
+     * @return The number of points copied.
+     */
+    private int loadSubpath(int subpath) {
+        int start = subpathStarts[subpath];
+        int end = subpath + 1 < subpathCount ? subpathStarts[subpath + 1] : pointCount;
+        int count = end - start;
+
+        if (count > 2) {
+            float dx = points[end * 2 - 2] - points[start * 2];
+            float dy = points[end * 2 - 1] - points[start * 2 + 1];
+            if (dx * dx + dy * dy < DISTANCE_EPSILON * DISTANCE_EPSILON) {
+                count--;
+            }
+        }
+
+        if (polygon.length < count * 2) {
+            polygon = new float[count * 4];
+            offsets = new float[count * 4];
+        }
+        System.arraycopy(points, start * 2, polygon, 0, count * 2);
+
+        return count;
+    }
+
+    private float polygonArea(int count) {
+        float area = 0;
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            area += polygon[j * 2] * polygon[i * 2 + 1] - polygon[i * 2] * polygon[j * 2 + 1];
+        }
+
+        return area * 0.5f;
+    }
+
+    private void reversePolygon(int count) {
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            float x = polygon[i * 2];
+            float y = polygon[i * 2 + 1];
+            polygon[i * 2] = polygon[j * 2];
+            polygon[i * 2 + 1] = polygon[j * 2 + 1];
+            polygon[j * 2] = x;
+            polygon[j * 2 + 1] = y;
+        }
+    }
+
+    /**
+     * Compute the per point extrusion vectors: the averaged edge normals scaled to keep the extruded edges at unit
+     * distance (miter), clamped by the miter limit. Normals point to the left of the travel direction, which is
+     * outwards for a positive area polygon.
+     */
+    private void computeOffsets(int count, boolean closed) {
+        for (int i = 0; i < count; i++) {
+            int prev = i > 0 ? i - 1 : (closed ? count - 1 : -1);
+            int next = i < count - 1 ? i + 1 : (closed ? 0 : -1);
+
+            float n0x = 0;
+            float n0y = 0;
+            float n1x = 0;
+            float n1y = 0;
+            if (prev >= 0) {
+                float dx = polygon[i * 2] - polygon[prev * 2];
+                float dy = polygon[i * 2 + 1] - polygon[prev * 2 + 1];
+                float length = (float) Math.sqrt(dx * dx + dy * dy);
+                n0x = dy / length;
+                n0y = -dx / length;
+            }
+            if (next >= 0) {
+                float dx = polygon[next * 2] - polygon[i * 2];
+                float dy = polygon[next * 2 + 1] - polygon[i * 2 + 1];
+                float length = (float) Math.sqrt(dx * dx + dy * dy);
+                n1x = dy / length;
+                n1y = -dx / length;
+            }
+            if (prev < 0) {
+                n0x = n1x;
+                n0y = n1y;
+            } else if (next < 0) {
+                n1x = n0x;
+                n1y = n0y;
+            }
+
+            float mx = (n0x + n1x) * 0.5f;
+            float my = (n0y + n1y) * 0.5f;
+            float length2 = mx * mx + my * my;
+            if (length2 > 1e-6f) {
+                float scale = 1.0f / length2;
+                if (scale * scale * length2 > miterLimit * miterLimit) {
+                    scale = miterLimit / (float) Math.sqrt(length2);
+                }
+                offsets[i * 2] = mx * scale;
+                offsets[i * 2 + 1] = my * scale;
+            } else {
+                // the path turns back on itself:
+                offsets[i * 2] = n0x;
+                offsets[i * 2 + 1] = n0y;
+            }
+        }
+    }
+
+    private int addVertex(float x, float y, int color) {
+        if (vertexCount == colors.length) {
+            colors = Arrays.copyOf(colors, vertexCount * 2);
+            positions = Arrays.copyOf(positions, vertexCount * 4);
+        }
+
+        positions[vertexCount * 2] = x;
+        positions[vertexCount * 2 + 1] = y;
+        colors[vertexCount] = color;
+
+        return vertexCount++;
+    }
+
+    private void addTriangle(int a, int b, int c) {
+        if (indexCount + 3 > indices.length) {
+            indices = Arrays.copyOf(indices, indices.length * 2);
+        }
+
+        indices[indexCount++] = a;
+        indices[indexCount++] = b;
+        indices[indexCount++] = c;
+    }
+
+    private void addQuad(int a, int b, int c, int d) {
+        // a-b is the first edge, c-d the opposite one:
+        addTriangle(a, c, b);
+        addTriangle(b, c, d);
+    }
+
+    private float cross(int a, int b, int c) {
+        return (polygon[b * 2] - polygon[a * 2]) * (polygon[c * 2 + 1] - polygon[b * 2 + 1])
+                - (polygon[b * 2 + 1] - polygon[a * 2 + 1]) * (polygon[c * 2] - polygon[b * 2]);
+    }
+
+    private boolean isEar(int previous, int current, int next, int remainingCount) {
+        if (cross(previous, current, next) <= 0) {
+            return false; // reflex or collinear corner
+        }
+
+        for (int k = 0; k < remainingCount; k++) {
+            int p = remaining[k];
+            if (p == previous || p == current || p == next) {
+                continue;
+            }
+
+            if (cross(previous, current, p) >= 0 && cross(current, next, p) >= 0 && cross(next, previous, p) >= 0) {
+                return false; // another vertex lies inside the candidate ear
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Triangulate the (positive area) polygon scratch by ear clipping.
+     *
+     * @param count The number of polygon points.
+     * @param base  The index of the vertex emitted for the first polygon point.
+     */
+    private void triangulate(int count, int base) {
+        if (remaining.length < count) {
+            remaining = new int[count * 2];
+        }
+        for (int i = 0; i < count; i++) {
+            remaining[i] = i;
+        }
+
+        int remainingCount = count;
+        int i = 0;
+        int attempts = 0;
+        while (remainingCount > 3) {
+            int previous = remaining[(i + remainingCount - 1) % remainingCount];
+            int current = remaining[i];
+            int next = remaining[(i + 1) % remainingCount];
+
+            if (isEar(previous, current, next, remainingCount)) {
+                addTriangle(base + previous, base + current, base + next);
+                System.arraycopy(remaining, i + 1, remaining, i, remainingCount - i - 1);
+                remainingCount--;
+                i %= remainingCount;
+                attempts = 0;
+            } else if (++attempts > remainingCount) {
+                break; // degenerate or self-intersecting input, fan the rest
+            } else {
+                i = (i + 1) % remainingCount;
+            }
+        }
+
+        for (int k = 1; k < remainingCount - 1; k++) {
+            addTriangle(base + remaining[0], base + remaining[k], base + remaining[k + 1]);
+        }
+    }
+
+    private void fillPolygon(int count, int color) {
+        if (polygonArea(count) < 0) {
+            reversePolygon(count);
+        }
+        computeOffsets(count, true);
+
+        // interior vertices (inset by half the fringe so the fade is centered on the path edge):
+        float inset = fringeWidth * 0.5f;
+        int base = vertexCount;
+        for (int i = 0; i < count; i++) {
+            addVertex(polygon[i * 2] - offsets[i * 2] * inset, polygon[i * 2 + 1] - offsets[i * 2 + 1] * inset,
+                    color);
+        }
+        triangulate(count, base);
+
+        if (fringeWidth > 0) {
+            int outer = vertexCount;
+            int transparent = transparent(color);
+            for (int i = 0; i < count; i++) {
+                addVertex(polygon[i * 2] + offsets[i * 2] * inset, polygon[i * 2 + 1] + offsets[i * 2 + 1] * inset,
+                        transparent);
+            }
+
+            for (int i = 0, j = count - 1; i < count; j = i++) {
+                addQuad(base + j, outer + j, base + i, outer + i);
+            }
+        }
+    }
+
+    private void strokePolyline(int count, boolean closed, int color, float width) {
+        computeOffsets(count, closed);
+
+        float halfWidth = width * 0.5f;
+        int transparent = transparent(color);
+        int rails = fringeWidth > 0 ? 4 : 2;
+        float inner = fringeWidth > 0 ? Math.max(halfWidth - fringeWidth * 0.5f, 0) : halfWidth;
+        float outer = halfWidth + fringeWidth * 0.5f;
+
+        int base = vertexCount;
+        for (int i = 0; i < count; i++) {
+            float x = polygon[i * 2];
+            float y = polygon[i * 2 + 1];
+            float ox = offsets[i * 2];
+            float oy = offsets[i * 2 + 1];
+
+            if (fringeWidth > 0) {
+                addVertex(x - ox * outer, y - oy * outer, transparent);
+            }
+            addVertex(x - ox * inner, y - oy * inner, color);
+            addVertex(x + ox * inner, y + oy * inner, color);
+            if (fringeWidth > 0) {
+                addVertex(x + ox * outer, y + oy * outer, transparent);
+            }
+        }
+
+        int segments = closed ? count : count - 1;
+        for (int i = 0; i < segments; i++) {
+            int a = base + i * rails;
+            int b = base + ((i + 1) % count) * rails;
+            for (int r = 0; r < rails - 1; r++) {
+                addQuad(a + r, a + r + 1, b + r, b + r + 1);
+            }
+        }
+    }
+
+    private static int transparent(int rgba) {
+        return rgba & 0xffffff00;
+    }
+
+    //endregion
+
+    //region Public Functions
+
+    /**
+     * Get the curve flattening tolerance.
+     *
+     * @return The tolerance.
+     */
+    public float getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Set the curve flattening tolerance (lower values produce more segments per curve).
+     *
+     * @param tolerance The tolerance.
+     */
+    public void setTolerance(float tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Get the anti-aliasing fringe width.
+     *
+     * @return The fringe width.
+     */
+    public float getFringeWidth() {
+        return fringeWidth;
+    }
+
+    /**
+     * Set the anti-aliasing fringe width.
+     *
+     * @param fringeWidth The fringe width or 0 to disable anti-aliasing.
+     */
+    public void setFringeWidth(float fringeWidth) {
+        this.fringeWidth = fringeWidth;
+    }
+
+    /**
+     * Get the miter limit of stroke joins and fill fringes.
+     *
+     * @return The miter limit.
+     */
+    public float getMiterLimit() {
+        return miterLimit;
+    }
+
+    /**
+     * Set the miter limit of stroke joins and fill fringes.
+     *
+     * @param miterLimit The miter limit.
+     */
+    public void setMiterLimit(float miterLimit) {
+        this.miterLimit = miterLimit;
+    }
+
+    /**
+     * Begin a new path (the tessellated mesh is kept).
+     */
+    public void beginPath() {
+        pointCount = 0;
+        subpathCount = 0;
+    }
+
+    /**
+     * Start a new sub-path at the specified position.
+     *
+     * @param x The x position.
+     * @param y The y position.
+     */
+    public void moveTo(float x, float y) {
+        addSubpath();
+        addPoint(x, y);
+    }
+
+    /**
+     * Add a line from the current position to the specified position.
+     *
+     * @param x The x position.
+     * @param y The y position.
+     */
+    public void lineTo(float x, float y) {
+        if (subpathCount == 0) {
+            moveTo(x, y);
+            return;
+        }
+
+        addPoint(x, y);
+    }
+
+    /**
+     * Add a bezier curve from the current position to the specified position.
+     *
+     * @param cp1x The x position of the first control point.
+     * @param cp1y The y position of the first control point.
+     * @param cp2x The x position of the second control point.
+     * @param cp2y The y position of the second control point.
+     * @param x    The x position.
+     * @param y    The y position.
+     */
+    public void bezierCurveTo(float cp1x, float cp1y, float cp2x, float cp2y, float x, float y) {
+        if (subpathCount == 0) {
+            moveTo(cp1x, cp1y);
+        }
+
+        flattenBezier(lastX(), lastY(), cp1x, cp1y, cp2x, cp2y, x, y, 0);
+    }
+
+    /**
+     * Add a quadratic curve from the current position to the specified position.
+     *
+     * @param cpx The x position of the control point.
+     * @param cpy The y position of the control point.
+     * @param x   The x position.
+     * @param y   The y position.
+     */
+    public void quadraticCurveTo(float cpx, float cpy, float x, float y) {
+        if (subpathCount == 0) {
+            moveTo(cpx, cpy);
+        }
+
+        // degree elevation to a cubic curve:
+        float x0 = lastX();
+        float y0 = lastY();
+        bezierCurveTo(x0 + 2.0f / 3.0f * (cpx - x0), y0 + 2.0f / 3.0f * (cpy - y0),
+                x + 2.0f / 3.0f * (cpx - x), y + 2.0f / 3.0f * (cpy - y), x, y);
+    }
+
+    /**
+     * Add a rectangle sub-path.
+     *
+     * @param x      The x position.
+     * @param y      The y position.
+     * @param width  The width.
+     * @param height The height.
+     */
+    public void rectangle(float x, float y, float width, float height) {
+        moveTo(x, y);
+        lineTo(x, y + height);
+        lineTo(x + width, y + height);
+        lineTo(x + width, y);
+        closePath();
+    }
+
+    /**
+     * Add a rounded rectangle sub-path.
+     *
+     * @param x            The x position.
+     * @param y            The y position.
+     * @param width        The width.
+     * @param height       The height.
+     * @param cornerRadius The radius of the rounded corners.
+     */
+    public void roundedRectangle(float x, float y, float width, float height, float cornerRadius) {
+        float r = Math.min(cornerRadius, Math.min(Math.abs(width), Math.abs(height)) * 0.5f);
+        if (r < 0.1f) {
+            rectangle(x, y, width, height);
+            return;
+        }
+
+        float k = r * (1.0f - KAPPA);
+        moveTo(x, y + r);
+        lineTo(x, y + height - r);
+        bezierCurveTo(x, y + height - k, x + k, y + height, x + r, y + height);
+        lineTo(x + width - r, y + height);
+        bezierCurveTo(x + width - k, y + height, x + width, y + height - k, x + width, y + height - r);
+        lineTo(x + width, y + r);
+        bezierCurveTo(x + width, y + k, x + width - k, y, x + width - r, y);
+        lineTo(x + r, y);
+        bezierCurveTo(x + k, y, x, y + k, x, y + r);
+        closePath();
+    }
+
+    /**
+     * Add a circle sub-path.
+     *
+     * @param x      The center x position.
+     * @param y      The center y position.
+     * @param radius The radius.
+     */
+    public void circle(float x, float y, float radius) {
+        float k = radius * KAPPA;
+        moveTo(x - radius, y);
+        bezierCurveTo(x - radius, y + k, x - k, y + radius, x, y + radius);
+        bezierCurveTo(x + k, y + radius, x + radius, y + k, x + radius, y);
+        bezierCurveTo(x + radius, y - k, x + k, y - radius, x, y - radius);
+        bezierCurveTo(x - k, y - radius, x - radius, y - k, x - radius, y);
+        closePath();
+    }
+
+    /**
+     * Close the current sub-path.
+     */
+    public void closePath() {
+        if (subpathCount > 0) {
+            subpathClosed[subpathCount - 1] = true;
+        }
+    }
+
+    /**
+     * Tessellate the fill of the current path.
+     *
+     * @param color The fill color.
+     */
+    public void fill(Color color) {
+        int rgba = color.rgba();
+        for (int s = 0; s < subpathCount; s++) {
+            int count = loadSubpath(s);
+            if (count >= 3) {
+                fillPolygon(count, rgba);
+            }
+        }
+    }
+
+    /**
+     * Tessellate the stroke of the current path (miter joins, butt caps).
+     *
+     * @param color The stroke color.
+     * @param width The stroke width.
+     */
+    public void stroke(Color color, float width) {
+        int rgba = color.rgba();
+        for (int s = 0; s < subpathCount; s++) {
+            int count = loadSubpath(s);
+            if (count >= 2) {
+                strokePolyline(count, subpathClosed[s] && count >= 3, rgba, width);
+            }
+        }
+    }
+
+    /**
+     * Build a mesh of everything tessellated since the last {@link #reset()}.
+     *
+     * @return The mesh.
+     */
+    public ShapeMesh build() {
+        return new ShapeMesh(Arrays.copyOf(positions, vertexCount * 2), Arrays.copyOf(colors, vertexCount),
+                Arrays.copyOf(indices, indexCount));
+    }
+
+    /**
+     * Clear the current path and the tessellated mesh, so the builder can be reused for another shape.
+     */
+    public void reset() {
+        beginPath();
+        vertexCount = 0;
+        indexCount = 0;
+    }
+
+    //endregion
+}
@@ -0,0 +1,113 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.render.shape;
+
+/**
+ * Tessellated vector shape: an indexed triangle mesh with per-vertex colors, produced once by a
+ * {@link ShapeBuilder} and uploaded by a render engine into a retained {@link VectorShape}.
+ */
+public class ShapeMesh {
+
+    //region Fields & Properties
+
+    private final float[] positions;
+    private final int[] colors;
+    private final int[] indices;
+
+    //endregion
+
+    //region Constructors
+
+    /**
+     * Constructor.
+     *
+     * @param positions The vertex positions as consecutive x, y pairs.
+     * @param colors    The vertex colors in rgba8888 format.
+     * @param indices   The triangle vertex indices.
+     */
+    public ShapeMesh(float[] positions, int[] colors, int[] indices) {
+        if (positions.length != colors.length * 2) {
+            throw new IllegalArgumentException("Each vertex requires a position and a color");
+        }
+
+        this.positions = positions;
+        this.colors = colors;
+        this.indices = indices;
+    }
+
+    //endregion
+
+    //region Public Functions
+
+    /**
+     * Get the number of vertices.
+     *
+     * @return The number of vertices.
+     */
+    public int getVertexCount() {
+        return colors.length;
+    }
+
+    /**
+     * Get the number of indices (three per triangle).
+     *
+     * @return The number of indices.
+     */
+    public int getIndexCount() {
+        return indices.length;
+    }
+
+    /**
+     * Get the x position of a vertex.
+     *
+     * @param vertex The vertex index.
+     * @return The x position.
+     */
+    public float getX(int vertex) {
+        return positions[vertex * 2];
+    }
+
+    /**
+     * Get the y position of a vertex.
+     *
+     * @param vertex The vertex index.
+     * @return The y position.
+     */
+    public float getY(int vertex) {
+        return positions[vertex * 2 + 1];
+    }
+
+    /**
+     * Get the color of a vertex.
+     *
+     * @param vertex The vertex index.
+     * @return The color in rgba8888 format.
+     */
+    public int getColor(int vertex) {
+        return colors[vertex];
+    }
+
+    /**
+     * Get a triangle vertex index.
+     *
+     * @param index The position in the index list.
+     * @return The vertex index.
+     */
+    public int getIndex(int index) {
+        return indices[index];
+    }
+
+    /**
+     * Check if the mesh has no triangles.
+     *
+     * @return True if the mesh is empty.
+     */
+    public boolean isEmpty() {
+        return indices.length == 0;
+    }
+
+    //endregion
+}
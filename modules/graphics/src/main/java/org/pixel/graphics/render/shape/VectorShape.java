@@ -0,0 +1,22 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.render.shape;
+
+import org.pixel.commons.lifecycle.Disposable;
+
+/**
+ * Retained vector shape: a {@link ShapeMesh} uploaded to the GPU once by a render engine and redrawn with a
+ * transform, without re-tessellating its paths.
+ */
+public interface VectorShape extends Disposable {
+
+    /**
+     * Get the number of triangles.
+     *
+     * @return The number of triangles.
+     */
+    int getTriangleCount();
+}
@@ -0,0 +1,217 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.render;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.pixel.commons.Color;
+import org.pixel.math.Matrix4;
+import org.pixel.math.Vector2;
+
+public class PrimitiveBatchTest {
+
+    @Test
+    public void drawRectangleTest() {
+        var batch = new RecordingPrimitiveBatch();
+        batch.drawRectangle(10, 20, 30, 40, Color.RED);
+
+        Assertions.assertEquals(4, batch.lines.size());
+        Assertions.assertEquals(0, batch.triangles.size());
+        assertClosedOutline(batch.lines);
+        assertVertices(batch.lines.get(0), 10, 20, 40, 20);
+        assertVertices(batch.lines.get(3), 10, 60, 10, 20);
+    }
+
+    @Test
+    public void fillRectangleTest() {
+        var batch = new RecordingPrimitiveBatch();
+        batch.fillRectangle(10, 20, 30, 40, Color.RED);
+
+        Assertions.assertEquals(0, batch.lines.size());
+        Assertions.assertEquals(2, batch.triangles.size());
+        assertSameWinding(batch.triangles);
+        Assertions.assertEquals(30 * 40, totalArea(batch.triangles), 0.001f);
+    }
+
+    @Test
+    public void drawCircleTest() {
+        var batch = new RecordingPrimitiveBatch();
+        batch.drawCircle(new Vector2(5, 5), 10, Color.WHITE);
+
+        Assertions.assertEquals(PrimitiveBatch.DEFAULT_CIRCLE_SEGMENTS, batch.lines.size());
+        assertClosedOutline(batch.lines);
+        for (float[] line : batch.lines) {
+            Assertions.assertEquals(10f, (float) Math.hypot(line[0] - 5, line[1] - 5), 0.001f);
+        }
+
+        batch.lines.clear();
+        batch.drawCircle(0, 0, 1, 7, Color.WHITE);
+        Assertions.assertEquals(7, batch.lines.size());
+        assertClosedOutline(batch.lines);
+    }
+
+    @Test
+    public void fillCircleTest() {
+        var batch = new RecordingPrimitiveBatch();
+        batch.fillCircle(0, 0, 10, 64, Color.WHITE);
+
+        Assertions.assertEquals(64, batch.triangles.size());
+        assertSameWinding(batch.triangles);
+        for (float[] triangle : batch.triangles) {
+            // fan around the center:
+            Assertions.assertEquals(0f, triangle[0]);
+            Assertions.assertEquals(0f, triangle[1]);
+        }
+        // approaches the circle area as the segment count grows:
+        Assertions.assertEquals(Math.PI * 100, totalArea(batch.triangles), 1.0);
+    }
+
+    @Test
+    public void drawPolylineTest() {
+        var batch = new RecordingPrimitiveBatch();
+        float[] points = {0, 0, 10, 0, 10, 10, 0, 10, -5, 5};
+
+        batch.drawPolyline(points, 5, false, Color.WHITE);
+        Assertions.assertEquals(4, batch.lines.size());
+
+        batch.lines.clear();
+        batch.drawPolyline(points, 5, true, Color.WHITE);
+        Assertions.assertEquals(5, batch.lines.size());
+        assertClosedOutline(batch.lines);
+
+        batch.lines.clear();
+        batch.drawPolyline(points, 2, true, Color.WHITE); // a single segment is not closed
+        Assertions.assertEquals(1, batch.lines.size());
+    }
+
+    @Test
+    public void triangleTest() {
+        var batch = new RecordingPrimitiveBatch();
+        var a = new Vector2(0, 0);
+        var b = new Vector2(10, 0);
+        var c = new Vector2(0, 10);
+
+        batch.drawTriangle(a, b, c, Color.WHITE);
+        Assertions.assertEquals(3, batch.lines.size());
+        assertClosedOutline(batch.lines);
+
+        batch.fillTriangle(a, b, c, Color.WHITE);
+        Assertions.assertEquals(1, batch.triangles.size());
+        assertVertices(batch.triangles.get(0), 0, 0, 10, 0, 0, 10);
+    }
+
+    @Test
+    public void overflowDrawOrderTest() {
+        var batch = new RecordingPrimitiveBatch(12); // 6 lines or 4 triangles per draw
+        batch.begin(null);
+        batch.fillRectangle(0, 0, 10, 10, Color.RED);      // 2 triangles pending
+        batch.drawRectangle(0, 0, 10, 10, Color.WHITE);    // 4 lines pending
+        batch.drawRectangle(20, 0, 10, 10, Color.WHITE);   // line buffer full after 2 more lines
+        batch.end();
+
+        // the pending fills are drawn before the full line buffer, so every outline stays on top:
+        Assertions.assertEquals(List.of("triangles:6", "lines:12", "lines:4"), batch.draws);
+
+        batch.draws.clear();
+        batch.begin(null);
+        batch.drawCircle(0, 0, 5, 3, Color.WHITE);         // 3 lines pending
+        batch.fillCircle(0, 0, 5, 5, Color.RED);           // triangle buffer full after 4 triangles
+        batch.end();
+
+        Assertions.assertEquals(List.of("triangles:12", "triangles:3", "lines:6"), batch.draws);
+    }
+
+    private static void assertVertices(float[] actual, float... expected) {
+        Assertions.assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assertions.assertEquals(expected[i], actual[i], 0.0001f);
+        }
+    }
+
+    private static void assertClosedOutline(List<float[]> lines) {
+        for (int i = 0; i < lines.size(); i++) {
+            float[] line = lines.get(i);
+            float[] next = lines.get((i + 1) % lines.size());
+            Assertions.assertEquals(line[2], next[0], 0.0001f);
+            Assertions.assertEquals(line[3], next[1], 0.0001f);
+        }
+    }
+
+    private static void assertSameWinding(List<float[]> triangles) {
+        for (float[] triangle : triangles) {
+            Assertions.assertTrue(signedArea(triangle) > 0);
+        }
+    }
+
+    private static float totalArea(List<float[]> triangles) {
+        float area = 0;
+        for (float[] triangle : triangles) {
+            area += Math.abs(signedArea(triangle));
+        }
+
+        return area;
+    }
+
+    private static float signedArea(float[] t) {
+        return ((t[2] - t[0]) * (t[5] - t[1]) - (t[4] - t[0]) * (t[3] - t[1])) / 2f;
+    }
+
+    private static class RecordingPrimitiveBatch extends PrimitiveBatch {
+
+        private final List<float[]> lines = new ArrayList<>();
+        private final List<float[]> triangles = new ArrayList<>();
+        private final List<String> draws = new ArrayList<>();
+
+        private RecordingPrimitiveBatch() {
+            super();
+        }
+
+        private RecordingPrimitiveBatch(int maxVertices) {
+            super(maxVertices);
+        }
+
+        @Override
+        protected void putLine(float x1, float y1, float x2, float y2, Color color) {
+            lines.add(new float[]{x1, y1, x2, y2});
+        }
+
+        @Override
+        protected void putTriangle(float x1, float y1, float x2, float y2, float x3, float y3, Color color) {
+            triangles.add(new float[]{x1, y1, x2, y2, x3, y3});
+        }
+
+        @Override
+        protected void drawLines(int vertexCount) {
+            draws.add("lines:" + vertexCount);
+        }
+
+        @Override
+        protected void drawTriangles(int vertexCount) {
+            draws.add("triangles:" + vertexCount);
+        }
+
+        @Override
+        public boolean init() {
+            return true;
+        }
+
+        @Override
+        public void begin(Matrix4 viewMatrix) {
+            clearPending();
+        }
+
+        @Override
+        public void end() {
+            flush();
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+}
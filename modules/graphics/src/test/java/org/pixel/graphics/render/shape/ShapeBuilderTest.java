@@ -0,0 +1,121 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.render.shape;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.pixel.commons.Color;
+
+public class ShapeBuilderTest {
+
+    @Test
+    public void fillRectangleTest() {
+        var builder = new ShapeBuilder();
+        builder.setFringeWidth(0);
+        builder.rectangle(0, 0, 10, 20);
+        builder.fill(Color.RED);
+        var mesh = builder.build();
+
+        Assertions.assertEquals(4, mesh.getVertexCount());
+        Assertions.assertEquals(6, mesh.getIndexCount());
+        Assertions.assertEquals(200f, triangleArea(mesh), 0.001f);
+        Assertions.assertEquals(Color.RED.rgba(), mesh.getColor(0));
+    }
+
+    @Test
+    public void fillConcavePolygonTest() {
+        var builder = new ShapeBuilder();
+        builder.setFringeWidth(0);
+        // L shape, clockwise on screen:
+        builder.moveTo(0, 0);
+        builder.lineTo(20, 0);
+        builder.lineTo(20, 10);
+        builder.lineTo(10, 10);
+        builder.lineTo(10, 20);
+        builder.lineTo(0, 20);
+        builder.closePath();
+        builder.fill(Color.WHITE);
+        var mesh = builder.build();
+
+        Assertions.assertEquals(12, mesh.getIndexCount());
+        Assertions.assertEquals(300f, triangleArea(mesh), 0.001f);
+    }
+
+    @Test
+    public void fillFringeTest() {
+        var builder = new ShapeBuilder();
+        builder.rectangle(0, 0, 10, 10);
+        builder.fill(Color.WHITE);
+        var mesh = builder.build();
+
+        // inner and outer ring, 2 interior triangles and 2 triangles per edge:
+        Assertions.assertEquals(8, mesh.getVertexCount());
+        Assertions.assertEquals(6 + 4 * 6, mesh.getIndexCount());
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(0xff, mesh.getColor(i) & 0xff);
+            Assertions.assertEquals(0, mesh.getColor(4 + i) & 0xff);
+            // inset and outset by half a unit, the fade is centered on the path:
+            Assertions.assertTrue(mesh.getX(i) == 0.5f || mesh.getX(i) == 9.5f);
+            Assertions.assertTrue(mesh.getX(4 + i) == -0.5f || mesh.getX(4 + i) == 10.5f);
+        }
+    }
+
+    @Test
+    public void strokeLineTest() {
+        var builder = new ShapeBuilder();
+        builder.moveTo(0, 0);
+        builder.lineTo(10, 0);
+        builder.stroke(Color.WHITE, 4);
+        var mesh = builder.build();
+
+        // 4 rails (fringe, solid, solid, fringe) per point and 3 quads:
+        Assertions.assertEquals(8, mesh.getVertexCount());
+        Assertions.assertEquals(18, mesh.getIndexCount());
+        Assertions.assertEquals(2.5f, Math.abs(mesh.getY(0)), 0.001f);
+        Assertions.assertEquals(1.5f, Math.abs(mesh.getY(1)), 0.001f);
+        Assertions.assertEquals(0, mesh.getColor(0) & 0xff);
+        Assertions.assertEquals(0xff, mesh.getColor(1) & 0xff);
+    }
+
+    @Test
+    public void circleFlatteningTest() {
+        var builder = new ShapeBuilder();
+        builder.setFringeWidth(0);
+        builder.circle(50, 50, 20);
+        builder.fill(Color.WHITE);
+        var mesh = builder.build();
+
+        Assertions.assertTrue(mesh.getVertexCount() >= 16);
+        for (int i = 0; i < mesh.getVertexCount(); i++) {
+            double distance = Math.hypot(mesh.getX(i) - 50, mesh.getY(i) - 50);
+            Assertions.assertEquals(20.0, distance, 0.1);
+        }
+        Assertions.assertEquals(Math.PI * 20 * 20, triangleArea(mesh), 20.0);
+    }
+
+    @Test
+    public void resetTest() {
+        var builder = new ShapeBuilder();
+        builder.rectangle(0, 0, 10, 10);
+        builder.fill(Color.WHITE);
+        builder.reset();
+
+        Assertions.assertTrue(builder.build().isEmpty());
+    }
+
+    private static float triangleArea(ShapeMesh mesh) {
+        float area = 0;
+        for (int i = 0; i < mesh.getIndexCount(); i += 3) {
+            int a = mesh.getIndex(i);
+            int b = mesh.getIndex(i + 1);
+            int c = mesh.getIndex(i + 2);
+            area += Math.abs((mesh.getX(b) - mesh.getX(a)) * (mesh.getY(c) - mesh.getY(a))
+                    - (mesh.getY(b) - mesh.getY(a)) * (mesh.getX(c) - mesh.getX(a))) * 0.5f;
+        }
+
+        return area;
+    }
+}
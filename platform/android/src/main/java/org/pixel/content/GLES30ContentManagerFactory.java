@@ -1,6 +1,7 @@
 package org.pixel.content;
 
 import org.pixel.commons.ServiceFactory;
+import org.pixel.content.importer.GLES30CompressedTextureImporter;
 import org.pixel.content.importer.GLES30TextureImporter;
 import org.pixel.content.importer.TextImporter;
 import org.pixel.content.importer.TexturePackImporter;
@@ -12,6 +13,7 @@ public class GLES30ContentManagerFactory implements ServiceFactory<ContentManage
         return new ContentManager(new MobileResourceLoader(),
                 // MOBILE SPECIFIC IMPORTERS
                 new GLES30TextureImporter(),
+                new GLES30CompressedTextureImporter(),
 
                 // COMMON IMPORTERS
                 new TextImporter(),
@@ -0,0 +1,82 @@
+package org.pixel.content.importer;
+
+import android.opengl.GLES30;
+import java.nio.ByteBuffer;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+import org.pixel.content.ContentImporter;
+import org.pixel.content.ContentImporterInfo;
+import org.pixel.content.ImportContext;
+import org.pixel.content.Texture;
+import org.pixel.content.importer.settings.TextureImporterSettings;
+import org.pixel.content.opengl.GLES30Texture;
+import org.pixel.content.texture.CompressedTextureData;
+import org.pixel.content.texture.CompressedTextureReader;
+
+/**
+ * Importer of ETC2-compressed textures (KTX, KTX2 and DDS containers). ETC2 is mandatory on OpenGL ES 3.0, so the
+ * payload (and its mipmap chain) is uploaded as-is with {@code glCompressedTexImage2D}.
+ */
+@ContentImporterInfo(type = Texture.class, extension = {".ktx", ".ktx2", ".dds"})
+public class GLES30CompressedTextureImporter implements ContentImporter<Texture> {
+    private static final Logger log = LoggerFactory.getLogger(GLES30CompressedTextureImporter.class);
+
+    @Override
+    public Texture process(ImportContext ctx) {
+        try {
+            int wrapS = GLES30.GL_REPEAT;
+            int wrapT = GLES30.GL_REPEAT;
+            int minFilter = GLES30.GL_NEAREST;
+            int magFilter = GLES30.GL_NEAREST;
+
+            if (ctx.getSettings() instanceof TextureImporterSettings) {
+                TextureImporterSettings settings = (TextureImporterSettings) ctx.getSettings();
+                wrapS = settings.getWrapSMode();
+                wrapT = settings.getWrapTMode();
+                minFilter = settings.getMinFilterMode();
+                magFilter = settings.getMagFilterMode();
+            }
+
+            CompressedTextureData data = CompressedTextureReader.read(ctx.getBuffer());
+            if (!data.getFormat().isEtc2()) {
+                log.error("Unable to import '{}'; compressed texture format {} is not supported on OpenGL ES.",
+                        ctx.getFilepath(), data.getFormat());
+                return null;
+            }
+
+            // Create texture ID
+            int[] textures = new int[1];
+            GLES30.glGenTextures(1, textures, 0);
+            int textureId = textures[0];
+
+            // Bind texture ID
+            GLES30.glBindTexture(GLES30.GL_TEXTURE_2D, textureId);
+
+            // Upload every level
+            int levelCount = data.getLevels().size();
+            for (int level = 0; level < levelCount; level++) {
+                ByteBuffer levelData = data.getLevels().get(level);
+                GLES30.glCompressedTexImage2D(GLES30.GL_TEXTURE_2D, level, data.getFormat().getGLInternalFormat(),
+                        data.getLevelWidth(level), data.getLevelHeight(level), 0, levelData.remaining(), levelData);
+            }
+
+            // Set filtering
+            GLES30.glTexParameteri(GLES30.GL_TEXTURE_2D, GLES30.GL_TEXTURE_MAX_LEVEL, levelCount - 1);
+            GLES30.glTexParameteri(GLES30.GL_TEXTURE_2D, GLES30.GL_TEXTURE_MIN_FILTER, minFilter);
+            GLES30.glTexParameteri(GLES30.GL_TEXTURE_2D, GLES30.GL_TEXTURE_MAG_FILTER, magFilter);
+
+            // Set wrapping mode
+            GLES30.glTexParameteri(GLES30.GL_TEXTURE_2D, GLES30.GL_TEXTURE_WRAP_S, wrapS);
+            GLES30.glTexParameteri(GLES30.GL_TEXTURE_2D, GLES30.GL_TEXTURE_WRAP_T, wrapT);
+
+            // Unbind texture
+            GLES30.glBindTexture(GLES30.GL_TEXTURE_2D, 0);
+
+            return new GLES30Texture(textureId, data.getWidth(), data.getHeight(), data.getDataSize());
+
+        } catch (Exception e) {
+            log.error("Exception caught!", e);
+            return null;
+        }
+    }
+}
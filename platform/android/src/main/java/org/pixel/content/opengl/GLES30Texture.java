@@ -25,6 +25,18 @@ public class GLES30Texture extends Texture {
         super(id, width, height);
     }
 
+    /**
+     * Constructor
+     *
+     * @param id         The native texture id
+     * @param width      The texture width
+     * @param height     The texture height
+     * @param memorySize The GPU memory used by the texture (in bytes)
+     */
+    public GLES30Texture(int id, int width, int height, long memorySize) {
+        super(id, width, height, memorySize);
+    }
+
     @Override
     public void dispose() {
         if (this.id >= 0) {
@@ -7,6 +7,7 @@ import org.pixel.commons.logger.Logger;
 import org.pixel.commons.logger.LoggerFactory;
 import org.pixel.content.Font;
 import org.pixel.content.Texture;
+import org.pixel.content.font.TextLayout;
 import org.pixel.graphics.shader.Shader;
 import org.pixel.graphics.shader.opengl.GLES30Shader;
 import org.pixel.graphics.shader.opengl.GLES30TextureShader;
@@ -143,7 +144,12 @@ public class GLES30SpriteBatch extends SpriteBatch {
     }
 
     @Override
-    public void drawText(Font font, String text, Vector2 position, Color color, int fontSize) {
+    public void drawText(Font font, CharSequence text, Vector2 position, Color color, int fontSize) {
+        throw new UnsupportedOperationException("Not implemented yet.");
+    }
+
+    @Override
+    public void drawText(TextLayout layout, Vector2 position, Color color) {
         throw new UnsupportedOperationException("Not implemented yet.");
     }
 
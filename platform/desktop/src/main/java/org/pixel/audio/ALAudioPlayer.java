@@ -1,62 +1,355 @@
 package org.pixel.audio;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.lwjgl.openal.AL11;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
 import org.pixel.content.Sound;
 import org.pixel.content.openal.ALSound;
+import org.pixel.content.openal.ALStreamingSound;
 
+/**
+ * OpenAL audio player. Playbacks are assigned to a bounded pool of sources (voices), created on demand, and every
+ * playback of a sound shares the sound buffer, so the same sound can overlap itself without allocating AL objects.
+ * When the pool is exhausted the lowest priority (and then oldest) voice is stolen. Streamed sounds own their source
+ * and are controlled through the sound itself. Sound properties are dirty-tracked: only the changed ones are applied
+ * by {@link #sync(Sound)} and {@link #flush()}.
+ */
 public class ALAudioPlayer implements AudioPlayer {
 
+    private static final Logger log = LoggerFactory.getLogger(ALAudioPlayer.class);
+
+    public static final int DEFAULT_MAX_VOICES = 32;
+
+    private final Voice[] voices;
+    private final List<ALStreamingSound> activeStreams = new ArrayList<>();
+    private final Set<ALSound> listenedSounds = new HashSet<>(); // sounds this player's dispose listener is added to
+    private final Consumer<ALSound> disposeListener;
+    private int voiceCount = 0;
+    private long playSequence = 0;
+    private boolean poolExhausted = false;
+
+    /**
+     * Constructor.
+     */
+    public ALAudioPlayer() {
+        this(DEFAULT_MAX_VOICES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxVoices The maximum number of sources (concurrent playbacks).
+     */
+    public ALAudioPlayer(int maxVoices) {
+        this(maxVoices, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxVoices       The maximum number of sources (concurrent playbacks).
+     * @param disposeListener The listener installed on played sounds, called before they are disposed (defaults to
+     *                        detaching the sound from this player).
+     */
+    ALAudioPlayer(int maxVoices, Consumer<ALSound> disposeListener) {
+        this.voices = new Voice[maxVoices];
+        this.disposeListener = disposeListener != null ? disposeListener : this::detach;
+    }
+
+    @Override
+    public long play(Sound sound) {
+        return play(sound, false, DEFAULT_PRIORITY);
+    }
+
     @Override
-    public void play(Sound sound) {
-        play(sound, false);
+    public long play(Sound sound, boolean loop) {
+        return play(sound, loop, DEFAULT_PRIORITY);
     }
 
     @Override
-    public void play(Sound sound, boolean loop) {
-        sync(sound);                                                                    // sync the sound properties
+    public long play(Sound sound, boolean loop, int priority) {
+        if (sound instanceof ALStreamingSound) {
+            var stream = (ALStreamingSound) sound;
+            apply(stream.getSourcePointer(), sound, Sound.PROPERTY_ALL);                // sync the sound properties
+            stream.play(loop, sound.getOffset());                                       // prime and play the stream
+            if (!activeStreams.contains(stream)) {
+                activeStreams.add(stream);
+            }
+            return INVALID_HANDLE;
+        }
+
+        ALSound alSound = getALSound(sound);
+        Voice voice = acquireVoice(priority);
+        if (voice == null) {
+            return INVALID_HANDLE;
+        }
+
+        if (listenedSounds.add(alSound)) {
+            alSound.addDisposeListener(disposeListener);
+        }
+        voice.sound = alSound;
+        voice.priority = priority;
+        voice.sequence = ++playSequence;
+        voice.generation++;
 
-        int source = getSourcePointer(sound);
+        int source = voice.source;
+        AL11.alSourcei(source, AL11.AL_BUFFER, alSound.getBufferPointer());             // share the sound buffer
+        apply(source, sound, Sound.PROPERTY_ALL);                                       // sync the sound properties
         AL11.alSourcef(source, AL11.AL_SEC_OFFSET, sound.getOffset());                  // set the offset
         AL11.alSourcei(source, AL11.AL_LOOPING, loop ? AL11.AL_TRUE : AL11.AL_FALSE);   // set the loop flag
         AL11.alSourcePlay(source);                                                      // play the sound
+
+        return ((long) voice.generation << 32) | voice.index;
     }
 
     @Override
     public void pause(Sound sound) {
-        AL11.alSourcePause(getSourcePointer(sound));
+        if (sound instanceof ALStreamingSound) {
+            AL11.alSourcePause(((ALStreamingSound) sound).getSourcePointer());
+            return;
+        }
+
+        for (int i = 0; i < voiceCount; i++) {
+            if (voices[i].sound == sound) {
+                AL11.alSourcePause(voices[i].source);
+            }
+        }
     }
 
     @Override
     public void stop(Sound sound) {
-        AL11.alSourceStop(getSourcePointer(sound));
+        if (sound instanceof ALStreamingSound) {
+            ((ALStreamingSound) sound).stop();
+            return;
+        }
+
+        for (int i = 0; i < voiceCount; i++) {
+            if (voices[i].sound == sound) {
+                release(voices[i]);
+            }
+        }
+    }
+
+    @Override
+    public void pause(long handle) {
+        Voice voice = resolve(handle);
+        if (voice != null) {
+            AL11.alSourcePause(voice.source);
+        }
+    }
+
+    @Override
+    public void resume(long handle) {
+        Voice voice = resolve(handle);
+        if (voice != null && AL11.alGetSourcei(voice.source, AL11.AL_SOURCE_STATE) == AL11.AL_PAUSED) {
+            AL11.alSourcePlay(voice.source);
+        }
+    }
+
+    @Override
+    public void stop(long handle) {
+        Voice voice = resolve(handle);
+        if (voice != null) {
+            release(voice);
+        }
+    }
+
+    @Override
+    public boolean isPlaying(long handle) {
+        Voice voice = resolve(handle);
+        return voice != null && AL11.alGetSourcei(voice.source, AL11.AL_SOURCE_STATE) == AL11.AL_PLAYING;
     }
 
     @Override
     public void sync(Sound sound) {
-        var alSound = (ALSound) sound;
-        setGain(alSound);
-        setPitch(alSound);
-        setPosition(alSound);
+        // explicit syncs apply everything, in-place changes (e.g. getSpatialPosition().set(...)) are not flagged:
+        sound.takeDirtyProperties();
+        int properties = Sound.PROPERTY_ALL;
+
+        if (sound instanceof ALStreamingSound) {
+            apply(((ALStreamingSound) sound).getSourcePointer(), sound, properties);
+        } else {
+            applyToVoices(sound, properties, 0);
+        }
     }
 
-    private int getSourcePointer(Sound sound) {
+    @Override
+    public void flush() {
+        for (int i = 0; i < voiceCount; i++) {
+            Sound sound = voices[i].sound;
+            if (sound != null && sound.getDirtyProperties() != 0) {
+                // taken once, applied to every voice playing the sound:
+                applyToVoices(sound, sound.takeDirtyProperties(), i);
+            }
+        }
+
+        for (int i = activeStreams.size() - 1; i >= 0; i--) {
+            ALStreamingSound stream = activeStreams.get(i);
+            if (!stream.isPlaying()) {
+                activeStreams.remove(i);
+            } else if (stream.getDirtyProperties() != 0) {
+                apply(stream.getSourcePointer(), stream, stream.takeDirtyProperties());
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        activeStreams.clear();
+        for (ALSound sound : listenedSounds) {
+            sound.removeDisposeListener(disposeListener);
+        }
+        listenedSounds.clear();
+        for (int i = 0; i < voiceCount; i++) {
+            AL11.alSourceStop(voices[i].source);
+            AL11.alDeleteSources(voices[i].source);
+            voices[i] = null;
+        }
+        voiceCount = 0;
+    }
+
+    /**
+     * Get the number of sources currently allocated by the pool.
+     *
+     * @return The number of sources.
+     */
+    public int getVoiceCount() {
+        return voiceCount;
+    }
+
+    private ALSound getALSound(Sound sound) {
         if (sound instanceof ALSound) {
-            return ((ALSound) sound).getSourcePointer();
+            return (ALSound) sound;
         } else {
             throw new IllegalArgumentException("Unsupported sound type: " + sound.getClass().getSimpleName());
         }
     }
 
-    private void setGain(ALSound sound) {
-        AL11.alSourcef(sound.getSourcePointer(), AL11.AL_GAIN, sound.getGain());
+    /**
+     * Get a voice for a new playback: an idle voice, a new voice (while the pool can grow) or a stolen voice.
+     *
+     * @param priority The priority of the new playback.
+     * @return The voice or null if every voice is busy with a higher priority playback.
+     */
+    private Voice acquireVoice(int priority) {
+        Voice candidate = null;
+        for (int i = 0; i < voiceCount; i++) {
+            Voice voice = voices[i];
+            if (voice.sound == null || isIdle(voice)) {
+                voice.sound = null;
+                return voice;
+            }
+
+            if (voice.priority <= priority && (candidate == null || voice.priority < candidate.priority
+                    || (voice.priority == candidate.priority && voice.sequence < candidate.sequence))) {
+                candidate = voice;
+            }
+        }
+
+        if (voiceCount < voices.length && !poolExhausted) {
+            AL11.alGetError(); // clear previous errors
+            int source = AL11.alGenSources();
+            if (AL11.alGetError() == AL11.AL_NO_ERROR) {
+                Voice voice = new Voice(voiceCount, source);
+                voices[voiceCount++] = voice;
+                return voice;
+            }
+
+            log.warn("Unable to create more than {} audio sources.", voiceCount);
+            poolExhausted = true;
+        }
+
+        if (candidate != null) {
+            release(candidate); // voice stealing
+        }
+
+        return candidate;
+    }
+
+    /**
+     * Get the OpenAL state of a playback.
+     *
+     * @param handle The playback handle.
+     * @return The source state or AL_STOPPED if the handle is no longer valid.
+     */
+    int getState(long handle) {
+        Voice voice = resolve(handle);
+        return voice != null ? AL11.alGetSourcei(voice.source, AL11.AL_SOURCE_STATE) : AL11.AL_STOPPED;
+    }
+
+    private boolean isIdle(Voice voice) {
+        int state = AL11.alGetSourcei(voice.source, AL11.AL_SOURCE_STATE);
+        return state == AL11.AL_STOPPED || state == AL11.AL_INITIAL;
     }
 
-    private void setPitch(ALSound sound) {
-        AL11.alSourcef(sound.getSourcePointer(), AL11.AL_PITCH, sound.getPitch());
+    private Voice resolve(long handle) {
+        int index = (int) handle;
+        if (handle == INVALID_HANDLE || index < 0 || index >= voiceCount) {
+            return null;
+        }
+
+        Voice voice = voices[index];
+        return voice.sound != null && voice.generation == (int) (handle >>> 32) ? voice : null;
     }
 
-    private void setPosition(ALSound sound) {
-        AL11.alSource3f(sound.getSourcePointer(), AL11.AL_POSITION,
-                sound.getSpatialPosition().getX(), sound.getSpatialPosition().getY(), 0);
+    private void release(Voice voice) {
+        AL11.alSourceStop(voice.source);
+        AL11.alSourcei(voice.source, AL11.AL_BUFFER, 0);
+        voice.sound = null;
+    }
+
+    /**
+     * Stop every playback of a sound being disposed, so its buffer is no longer attached to a source.
+     *
+     * @param sound The sound.
+     */
+    void detach(ALSound sound) {
+        listenedSounds.remove(sound);
+        for (int i = 0; i < voiceCount; i++) {
+            if (voices[i].sound == sound) {
+                release(voices[i]);
+            }
+        }
+    }
+
+    private void applyToVoices(Sound sound, int properties, int firstVoice) {
+        for (int i = firstVoice; i < voiceCount; i++) {
+            if (voices[i].sound == sound) {
+                apply(voices[i].source, sound, properties);
+            }
+        }
+    }
+
+    private void apply(int source, Sound sound, int properties) {
+        if ((properties & Sound.PROPERTY_GAIN) != 0) {
+            AL11.alSourcef(source, AL11.AL_GAIN, sound.getGain());
+        }
+        if ((properties & Sound.PROPERTY_PITCH) != 0) {
+            AL11.alSourcef(source, AL11.AL_PITCH, sound.getPitch());
+        }
+        if ((properties & Sound.PROPERTY_POSITION) != 0) {
+            AL11.alSource3f(source, AL11.AL_POSITION,
+                    sound.getSpatialPosition().getX(), sound.getSpatialPosition().getY(), 0);
+        }
+    }
+
+    private static final class Voice {
+
+        private final int index;
+        private final int source;
+        private ALSound sound;
+        private int priority;
+        private long sequence;
+        private int generation;
+
+        private Voice(int index, int source) {
+            this.index = index;
+            this.source = source;
+        }
     }
 }
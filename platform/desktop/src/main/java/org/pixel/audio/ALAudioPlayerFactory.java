@@ -3,8 +3,27 @@ package org.pixel.audio;
 import org.pixel.commons.ServiceFactory;
 
 public class ALAudioPlayerFactory implements ServiceFactory<AudioPlayer> {
+
+    private final boolean dedicatedThread;
+
+    /**
+     * Constructor.
+     */
+    public ALAudioPlayerFactory() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dedicatedThread Whether the audio players perform the audio work on a dedicated thread.
+     */
+    public ALAudioPlayerFactory(boolean dedicatedThread) {
+        this.dedicatedThread = dedicatedThread;
+    }
+
     @Override
     public AudioPlayer create() {
-        return new ALAudioPlayer();
+        return dedicatedThread ? new ALThreadedAudioPlayer() : new ALAudioPlayer();
     }
 }
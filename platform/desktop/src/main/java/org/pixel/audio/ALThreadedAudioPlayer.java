@@ -0,0 +1,306 @@
+package org.pixel.audio;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.lwjgl.openal.AL11;
+import org.pixel.commons.data.HandleTable;
+import org.pixel.commons.data.SpscRingBuffer;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+import org.pixel.content.Sound;
+import org.pixel.content.openal.ALSound;
+import org.pixel.content.openal.ALStreamingSound;
+
+/**
+ * Audio player that performs every OpenAL call on a dedicated audio thread. The game thread only writes commands
+ * (play, pause, stop, sync...) into a single-producer/single-consumer ring, so audio work never stalls a frame.
+ * Playback handles are assigned by the game thread and mapped to pooled voices by the audio thread.
+ *
+ * <p>Every public method must be called from the same (game) thread. Sounds may be disposed from other threads (e.g.
+ * content loaders); their detach commands are serialized with the game thread commands by the producer lock, which is
+ * uncontended otherwise.
+ */
+public class ALThreadedAudioPlayer implements AudioPlayer {
+
+    private static final Logger log = LoggerFactory.getLogger(ALThreadedAudioPlayer.class);
+
+    private static final int COMMAND_CAPACITY = 4096;
+    private static final int HANDLE_SLOTS = 1024; // power of two
+    private static final long IDLE_WAIT_NS = 1_000_000L;
+
+    private final ALAudioPlayer player; // audio thread only
+    private final SpscRingBuffer<Command> commands = new SpscRingBuffer<>(COMMAND_CAPACITY, Command::new);
+    private final ReentrantLock producerLock = new ReentrantLock(); // keeps the ring single-producer
+    private final HandleTable handles = new HandleTable(HANDLE_SLOTS); // handle to voice mapping
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * Constructor.
+     */
+    public ALThreadedAudioPlayer() {
+        this(ALAudioPlayer.DEFAULT_MAX_VOICES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxVoices The maximum number of sources (concurrent playbacks).
+     */
+    public ALThreadedAudioPlayer(int maxVoices) {
+        Consumer<ALSound> disposeListener = this::detach;
+        this.player = new ALAudioPlayer(maxVoices, disposeListener);
+        this.thread = new Thread(this::run, ALThreadedAudioPlayer.class.getSimpleName());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public long play(Sound sound) {
+        return play(sound, false, DEFAULT_PRIORITY);
+    }
+
+    @Override
+    public long play(Sound sound, boolean loop) {
+        return play(sound, loop, DEFAULT_PRIORITY);
+    }
+
+    @Override
+    public long play(Sound sound, boolean loop, int priority) {
+        producerLock.lock();
+        try {
+            long handle = INVALID_HANDLE;
+            if (!(sound instanceof ALStreamingSound)) {
+                // reserved (and reported as playing) before publishing, so the audio thread can release it:
+                handle = handles.allocate();
+                if (handle == INVALID_HANDLE) {
+                    log.warn("Every playback handle is in use; playing the sound without a handle.");
+                }
+            }
+
+            Command command = claim();
+            command.type = CommandType.PLAY;
+            command.sound = sound;
+            command.handle = handle;
+            command.loop = loop;
+            command.priority = priority;
+            commands.publish();
+
+            return handle;
+
+        } finally {
+            producerLock.unlock();
+        }
+    }
+
+    @Override
+    public void pause(Sound sound) {
+        submit(CommandType.PAUSE_SOUND, sound, INVALID_HANDLE);
+    }
+
+    @Override
+    public void stop(Sound sound) {
+        submit(CommandType.STOP_SOUND, sound, INVALID_HANDLE);
+    }
+
+    @Override
+    public void pause(long handle) {
+        submit(CommandType.PAUSE, null, handle);
+    }
+
+    @Override
+    public void resume(long handle) {
+        submit(CommandType.RESUME, null, handle);
+    }
+
+    @Override
+    public void stop(long handle) {
+        submit(CommandType.STOP, null, handle);
+    }
+
+    @Override
+    public boolean isPlaying(long handle) {
+        return handles.isActive(handle);
+    }
+
+    @Override
+    public void sync(Sound sound) {
+        submit(CommandType.SYNC, sound, INVALID_HANDLE);
+    }
+
+    @Override
+    public void flush() {
+        submit(CommandType.FLUSH, null, INVALID_HANDLE);
+    }
+
+    @Override
+    public void dispose() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Called before a played sound is disposed: its buffer must be detached from the sources (on the audio thread)
+     * before it can be deleted, so this blocks until the audio thread has done it.
+     *
+     * @param sound The sound.
+     */
+    private void detach(ALSound sound) {
+        if (Thread.currentThread() == thread) {
+            player.detach(sound);
+            return;
+        }
+
+        if (!running) {
+            return; // the sources are already gone
+        }
+
+        long sequence = submit(CommandType.DETACH, sound, INVALID_HANDLE);
+        while (commands.getConsumedSequence() <= sequence && thread.isAlive()) {
+            LockSupport.unpark(thread);
+            Thread.onSpinWait();
+        }
+    }
+
+    private long submit(CommandType type, Sound sound, long handle) {
+        producerLock.lock();
+        try {
+            Command command = claim();
+            command.type = type;
+            command.sound = sound;
+            command.handle = handle;
+            return commands.publish();
+
+        } finally {
+            producerLock.unlock();
+        }
+    }
+
+    private Command claim() {
+        Command command = commands.claim();
+        if (command == null) {
+            log.warn("Audio command queue is full; waiting for the audio thread.");
+            while ((command = commands.claim()) == null) {
+                LockSupport.unpark(thread);
+                Thread.yield();
+            }
+        }
+
+        return command;
+    }
+
+    //region audio thread
+
+    private void run() {
+        try {
+            while (running) {
+                Command command;
+                boolean processed = false;
+                while ((command = commands.peek()) != null) {
+                    try {
+                        execute(command);
+                    } catch (Exception e) {
+                        log.error("Exception caught while executing audio command!", e);
+                    }
+                    command.sound = null;
+                    commands.release();
+                    processed = true;
+                }
+
+                updateHandles();
+                if (!processed) {
+                    LockSupport.parkNanos(IDLE_WAIT_NS);
+                }
+            }
+
+            // consume what's left so no caller keeps waiting:
+            while (commands.peek() != null) {
+                commands.peek().sound = null;
+                commands.release();
+            }
+
+        } finally {
+            player.dispose();
+        }
+    }
+
+    private void execute(Command command) {
+        switch (command.type) {
+            case PLAY:
+                long voice = player.play(command.sound, command.loop, command.priority);
+                if (command.handle != INVALID_HANDLE) {
+                    handles.map(command.handle, voice);
+                }
+                break;
+            case PAUSE_SOUND:
+                player.pause(command.sound);
+                break;
+            case STOP_SOUND:
+                player.stop(command.sound);
+                break;
+            case PAUSE:
+                player.pause(handles.resolve(command.handle));
+                break;
+            case RESUME:
+                player.resume(handles.resolve(command.handle));
+                break;
+            case STOP:
+                player.stop(handles.resolve(command.handle));
+                break;
+            case SYNC:
+                player.sync(command.sound);
+                break;
+            case FLUSH:
+                player.flush();
+                break;
+            case DETACH:
+                player.detach((ALSound) command.sound);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Publish the state of the mapped playbacks: paused playbacks keep their mapping (so they can be resumed), ended
+     * playbacks are unmapped.
+     */
+    private void updateHandles() {
+        for (int i = handles.getMappedCount() - 1; i >= 0; i--) {
+            long handle = handles.getMappedHandle(i);
+            int state = player.getState(handles.resolve(handle));
+            if (state == AL11.AL_PLAYING) {
+                handles.setActive(handle, true); // resumed
+            } else if (state == AL11.AL_PAUSED) {
+                handles.setActive(handle, false);
+            } else {
+                handles.free(handle); // ended (or stolen), the slot can be reused
+            }
+        }
+    }
+
+    //endregion
+
+    private enum CommandType {
+        PLAY, PAUSE_SOUND, STOP_SOUND, PAUSE, RESUME, STOP, SYNC, FLUSH, DETACH
+    }
+
+    private static final class Command {
+
+        private CommandType type;
+        private Sound sound;
+        private long handle;
+        private boolean loop;
+        private int priority;
+    }
+}
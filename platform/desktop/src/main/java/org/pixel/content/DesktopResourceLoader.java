@@ -1,5 +1,6 @@
 package org.pixel.content;
 
+import java.nio.ByteBuffer;
 import org.pixel.io.FileUtils;
 
 public class DesktopResourceLoader implements ResourceLoader {
@@ -9,4 +10,9 @@ public class DesktopResourceLoader implements ResourceLoader {
         return FileUtils.loadFile(path);
     }
 
+    @Override
+    public ByteBuffer loadBuffer(String path) {
+        return FileUtils.loadFileBuffer(path);
+    }
+
 }
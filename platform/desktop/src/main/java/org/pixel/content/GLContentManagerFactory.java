@@ -1,6 +1,10 @@
 package org.pixel.content;
 
+import java.nio.file.Path;
 import org.pixel.commons.ServiceFactory;
+import org.pixel.commons.annotations.Nullable;
+import org.pixel.content.cache.TextureCache;
+import org.pixel.content.importer.GLCompressedTextureImporter;
 import org.pixel.content.importer.GLFontImporter;
 import org.pixel.content.importer.GLTextureImporter;
 import org.pixel.content.importer.TextImporter;
@@ -9,11 +13,30 @@ import org.pixel.content.importer.ALVorbisAudioImporter;
 
 public class GLContentManagerFactory implements ServiceFactory<ContentManager> {
 
+    private final Path textureCacheDirectory;
+
+    /**
+     * Constructor.
+     */
+    public GLContentManagerFactory() {
+        this(null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param textureCacheDirectory The directory of the decoded texture cache (optional, disabled when null).
+     */
+    public GLContentManagerFactory(@Nullable Path textureCacheDirectory) {
+        this.textureCacheDirectory = textureCacheDirectory;
+    }
+
     @Override
     public ContentManager create() {
         return new ContentManager(new DesktopResourceLoader(),
                 // DESKTOP SPECIFIC IMPORTERS
-                new GLTextureImporter(),
+                new GLTextureImporter(textureCacheDirectory != null ? new TextureCache(textureCacheDirectory) : null),
+                new GLCompressedTextureImporter(),
                 new GLFontImporter(),
                 new ALVorbisAudioImporter(),
 
@@ -5,36 +5,48 @@
 
 package org.pixel.content.importer;
 
-import static org.lwjgl.BufferUtils.createByteBuffer;
-import static org.lwjgl.openal.AL10.AL_BUFFER;
 import static org.lwjgl.openal.AL10.AL_FORMAT_MONO16;
 import static org.lwjgl.openal.AL10.AL_FORMAT_STEREO16;
 import static org.lwjgl.openal.AL10.alBufferData;
 import static org.lwjgl.openal.AL10.alGenBuffers;
 import static org.lwjgl.openal.AL10.alGenSources;
-import static org.lwjgl.openal.AL10.alSourcei;
 import static org.lwjgl.stb.STBVorbis.stb_vorbis_decode_memory;
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_get_info;
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_open_memory;
+import static org.lwjgl.system.MemoryUtil.NULL;
 import static org.lwjgl.system.libc.LibCStdlib.free;
 
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
+import org.lwjgl.stb.STBVorbisInfo;
 import org.lwjgl.system.MemoryStack;
-import org.pixel.content.Sound;
-import org.pixel.content.openal.ALSound;
+import org.pixel.commons.lifecycle.Disposable;
 import org.pixel.commons.logger.Logger;
 import org.pixel.commons.logger.LoggerFactory;
 import org.pixel.content.ContentImporter;
 import org.pixel.content.ContentImporterInfo;
 import org.pixel.content.ImportContext;
+import org.pixel.content.Sound;
+import org.pixel.content.importer.settings.AudioImporterSettings;
+import org.pixel.content.openal.ALAudioStreamer;
+import org.pixel.content.openal.ALSound;
+import org.pixel.content.openal.ALStreamingSound;
 
 @ContentImporterInfo(type = Sound.class, extension = ".ogg")
-public class ALVorbisAudioImporter implements ContentImporter<Sound> {
+public class ALVorbisAudioImporter implements ContentImporter<Sound>, Disposable {
 
     private static final Logger log = LoggerFactory.getLogger(ALVorbisAudioImporter.class);
 
+    private final ALAudioStreamer streamer = new ALAudioStreamer();
+
     @Override
     public Sound process(ImportContext ctx) {
+        if (ctx.getSettings() instanceof AudioImporterSettings
+                && ((AudioImporterSettings) ctx.getSettings()).isStreaming()) {
+            return processStreaming(ctx);
+        }
+
         int channels;
         int sampleRate;
         ShortBuffer rawAudioBuffer;
@@ -42,8 +54,7 @@ public class ALVorbisAudioImporter implements ContentImporter<Sound> {
             // load the sound resource item:
             IntBuffer channelsBuffer = stack.mallocInt(1);
             IntBuffer sampleRateBuffer = stack.mallocInt(1);
-            ByteBuffer rawBuffer = createByteBuffer(ctx.getData().length);
-            rawBuffer.put(ctx.getData()).flip(); // reset position to 0
+            ByteBuffer rawBuffer = ctx.getBuffer();
 
             rawAudioBuffer = stb_vorbis_decode_memory(rawBuffer, channelsBuffer, sampleRateBuffer);
             if (rawAudioBuffer == null) {
@@ -61,27 +72,63 @@ public class ALVorbisAudioImporter implements ContentImporter<Sound> {
         }
 
         // assign the correct format:
-        int format = -1;
-        if (channels == 1) {
-            format = AL_FORMAT_MONO16;
-
-        } else if (channels == 2) {
-            format = AL_FORMAT_STEREO16;
-        }
+        int format = getFormat(channels);
 
         // request space for buffer:
         int bufferPointer = alGenBuffers();
 
         // send the sound data to OpenAl:
+        int bufferSize = rawAudioBuffer.remaining() * Short.BYTES;
         alBufferData(bufferPointer, format, rawAudioBuffer, sampleRate);
 
         // free stb allocated memory
         free(rawAudioBuffer);
 
-        // assign loaded resource to a source:
-        int sourcePointer = alGenSources();
-        alSourcei(sourcePointer, AL_BUFFER, bufferPointer);
+        // sources are assigned by the audio player on playback:
+        return new ALSound(bufferPointer, bufferSize);
+    }
+
+    @Override
+    public void dispose() {
+        streamer.dispose();
+    }
+
+    /**
+     * Open a streamed sound: only the headers are parsed here, the audio is decoded in chunks while it plays.
+     *
+     * @param ctx The import context.
+     * @return The streamed sound.
+     */
+    private Sound processStreaming(ImportContext ctx) {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            ByteBuffer rawBuffer = ctx.getBuffer(); // kept alive by the sound, the decoder reads from it
+            IntBuffer error = stack.mallocInt(1);
+            long decoder = stb_vorbis_open_memory(rawBuffer, error, null);
+            if (decoder == NULL) {
+                log.warn("Failed to open sound resource for streaming, error {}.", error.get(0));
+                return null;
+            }
+
+            STBVorbisInfo info = STBVorbisInfo.malloc(stack);
+            stb_vorbis_get_info(decoder, info);
+
+            return new ALStreamingSound(alGenSources(), streamer, rawBuffer, decoder, info.channels(),
+                    info.sample_rate(), getFormat(info.channels()));
+
+        } catch (Exception e) {
+            log.error("Exception caught!", e);
+            return null;
+        }
+    }
+
+    private int getFormat(int channels) {
+        if (channels == 1) {
+            return AL_FORMAT_MONO16;
+
+        } else if (channels == 2) {
+            return AL_FORMAT_STEREO16;
+        }
 
-        return new ALSound(sourcePointer);
+        return -1;
     }
 }
@@ -0,0 +1,102 @@
+package org.pixel.content.importer;
+
+import static org.lwjgl.opengl.GL11C.*;
+import static org.lwjgl.opengl.GL12C.GL_TEXTURE_MAX_LEVEL;
+import static org.lwjgl.opengl.GL13C.glCompressedTexImage2D;
+
+import java.nio.ByteBuffer;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+import org.pixel.content.ContentImporter;
+import org.pixel.content.ContentImporterInfo;
+import org.pixel.content.ImportContext;
+import org.pixel.content.Texture;
+import org.pixel.content.importer.settings.TextureImporterSettings;
+import org.pixel.content.opengl.GLTexture;
+import org.pixel.content.texture.CompressedTextureData;
+import org.pixel.content.texture.CompressedTextureFormat;
+import org.pixel.content.texture.CompressedTextureReader;
+import org.pixel.graphics.opengl.GLStateCache;
+
+/**
+ * Importer of GPU-compressed textures (KTX, KTX2 and DDS containers). BCn (S3TC/BPTC) and ETC2 payloads, including
+ * their mipmap chains, are uploaded as-is with {@code glCompressedTexImage2D}, skipping image decoding and keeping
+ * the textures compressed in video memory.
+ */
+@ContentImporterInfo(type = Texture.class, extension = {".ktx", ".ktx2", ".dds"})
+public class GLCompressedTextureImporter implements ContentImporter<Texture> {
+
+    private static final Logger log = LoggerFactory.getLogger(GLCompressedTextureImporter.class);
+
+    @Override
+    public Texture process(ImportContext ctx) {
+        try {
+            int wrapS = GL_REPEAT;
+            int wrapT = GL_REPEAT;
+            int minFilter = GL_NEAREST;
+            int magFilter = GL_NEAREST;
+
+            if (ctx.getSettings() instanceof TextureImporterSettings) {
+                var settings = (TextureImporterSettings) ctx.getSettings();
+                wrapS = settings.getWrapSMode();
+                wrapT = settings.getWrapTMode();
+                minFilter = settings.getMinFilterMode();
+                magFilter = settings.getMagFilterMode();
+            }
+
+            CompressedTextureData data = CompressedTextureReader.read(ctx.getBuffer());
+            if (!isFormatSupported(data.getFormat())) {
+                log.error("Unable to import '{}'; compressed texture format {} is not supported by the GPU.",
+                        ctx.getFilepath(), data.getFormat());
+                return null;
+            }
+
+            // create and setup texture
+            int textureId = glGenTextures();
+            GLStateCache.bindTexture(textureId);
+
+            int levelCount = data.getLevels().size();
+            for (int level = 0; level < levelCount; level++) {
+                ByteBuffer levelData = data.getLevels().get(level);
+                glCompressedTexImage2D(GL_TEXTURE_2D, level, data.getFormat().getGLInternalFormat(),
+                        data.getLevelWidth(level), data.getLevelHeight(level), 0, levelData);
+            }
+
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LEVEL, levelCount - 1);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, wrapS);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, wrapT);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, minFilter);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, magFilter);
+
+            GLStateCache.bindTexture(0); // unbind
+
+            return new GLTexture(textureId, data.getWidth(), data.getHeight(), data.getDataSize());
+
+        } catch (Exception e) {
+            log.error("Exception caught!", e);
+            return null;
+        }
+    }
+
+    /**
+     * Check if the current OpenGL context can sample the given compressed format.
+     *
+     * @param format The compressed format.
+     * @return True if supported.
+     */
+    private boolean isFormatSupported(CompressedTextureFormat format) {
+        GLCapabilities capabilities = GL.getCapabilities();
+        switch (format) {
+            case BC7:
+                return capabilities.OpenGL42 || capabilities.GL_ARB_texture_compression_bptc;
+            case ETC2_RGB8:
+            case ETC2_RGB8A1:
+            case ETC2_RGBA8:
+                return capabilities.OpenGL43 || capabilities.GL_ARB_ES3_compatibility;
+            default:
+                return capabilities.GL_EXT_texture_compression_s3tc;
+        }
+    }
+}
@@ -10,20 +10,18 @@ import org.pixel.content.opengl.GLFont;
 
 import java.nio.ByteBuffer;
 
-import static org.lwjgl.BufferUtils.createByteBuffer;
-
 @ContentImporterInfo(type = Font.class, extension = { ".ttf", ".otf" })
 public class GLFontImporter implements ContentImporter<Font> {
     @Override
     public Font process(ImportContext ctx) {
-        ByteBuffer rawBuffer = createByteBuffer(ctx.getData().length);
-        rawBuffer.put(ctx.getData()).flip(); // reset position to 0
+        // note: stb_truetype reads glyph data on demand, so the buffer is retained by the font data
+        ByteBuffer rawBuffer = ctx.getBuffer();
         var fontData = new FontData(rawBuffer);
 
         if (ctx.getSettings() instanceof FontImporterSettings) {
             var settings = (FontImporterSettings) ctx.getSettings();
             return new GLFont(fontData, settings.getFontSize(), settings.getHorizontalSpacing(),
-                    settings.getVerticalSpacing(), settings.getOversampling());
+                    settings.getVerticalSpacing(), settings.getOversampling(), settings.isDistanceField());
         }
 
         return new GLFont(fontData);
@@ -1,50 +1,71 @@
 package org.pixel.content.importer;
 
-import static org.lwjgl.BufferUtils.createByteBuffer;
 import static org.lwjgl.opengl.GL11C.*;
+import static org.lwjgl.opengl.GL12C.GL_TEXTURE_MAX_LEVEL;
+import static org.lwjgl.opengl.GL46C.GL_MAX_TEXTURE_MAX_ANISOTROPY;
+import static org.lwjgl.opengl.GL46C.GL_TEXTURE_MAX_ANISOTROPY;
 import static org.lwjgl.stb.STBImage.stbi_failure_reason;
 import static org.lwjgl.stb.STBImage.stbi_load_from_memory;
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memCopy;
+import static org.lwjgl.system.MemoryUtil.memFree;
 import static org.lwjgl.system.libc.LibCStdlib.free;
 
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
 import org.lwjgl.system.MemoryStack;
+import org.pixel.commons.annotations.Nullable;
+import org.pixel.commons.lifecycle.Disposable;
 import org.pixel.commons.logger.Logger;
 import org.pixel.commons.logger.LoggerFactory;
 import org.pixel.content.ContentImporter;
 import org.pixel.content.ContentImporterInfo;
 import org.pixel.content.ImportContext;
 import org.pixel.content.Texture;
+import org.pixel.content.cache.TextureCache;
+import org.pixel.content.cache.TextureCacheEntry;
 import org.pixel.content.importer.settings.TextureImporterSettings;
 import org.pixel.content.opengl.GLTexture;
+import org.pixel.content.texture.TextureUtils;
+import org.pixel.graphics.opengl.GLStateCache;
 
 @ContentImporterInfo(type = Texture.class, extension = {".png", ".jpeg", ".jpg", ".bmp"})
-public class GLTextureImporter implements ContentImporter<Texture> {
+public class GLTextureImporter implements ContentImporter<Texture>, Disposable {
 
     private static final Logger log = LoggerFactory.getLogger(GLTextureImporter.class);
 
-    @Override
-    public Texture process(ImportContext ctx) {
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            // prepare the buffers:
-            IntBuffer w = stack.mallocInt(1);
-            IntBuffer h = stack.mallocInt(1);
-            IntBuffer comp = stack.mallocInt(1);
+    private final TextureCache textureCache;
+    private float maxAnisotropy = -1f;
 
-            ByteBuffer rawBuffer = createByteBuffer(ctx.getData().length);
-            rawBuffer.put(ctx.getData()).flip(); // reset position to 0
+    /**
+     * Constructor.
+     */
+    public GLTextureImporter() {
+        this(null);
+    }
 
-            // load image data from buffer
-            ByteBuffer imageData = stbi_load_from_memory(rawBuffer, w, h, comp, 4);
-            if (imageData == null) {
-                throw new RuntimeException("Failed to process texture file: " + stbi_failure_reason());
-            }
+    /**
+     * Constructor.
+     *
+     * @param textureCache The decoded texture cache (optional); the importer takes ownership of it.
+     */
+    public GLTextureImporter(@Nullable TextureCache textureCache) {
+        this.textureCache = textureCache;
+    }
 
+    @Override
+    public Texture process(ImportContext ctx) {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
             int wrapS = GL_REPEAT;
             int wrapT = GL_REPEAT;
             int minFilter = GL_NEAREST;
             int magFilter = GL_NEAREST;
+            boolean generateMipmaps = false;
+            boolean premultiplyAlpha = false;
+            float anisotropy = 0f;
 
             if (ctx.getSettings() instanceof TextureImporterSettings) {
                 var settings = (TextureImporterSettings) ctx.getSettings();
@@ -52,29 +73,184 @@ public class GLTextureImporter implements ContentImporter<Texture> {
                 wrapT = settings.getWrapTMode();
                 minFilter = settings.getMinFilterMode();
                 magFilter = settings.getMagFilterMode();
+                generateMipmaps = settings.isGenerateMipmaps();
+                premultiplyAlpha = settings.isPremultiplyAlpha();
+                anisotropy = settings.getAnisotropy();
+            }
+
+            if (generateMipmaps) {
+                minFilter = toMipmapFilter(minFilter); // otherwise the generated levels would never be sampled
             }
 
-            // create and setup texture
-            int textureId = glGenTextures();
-            int width = w.get();
-            int height = h.get();
+            ByteBuffer rawBuffer = ctx.getBuffer();
+
+            // when available, skip decoding by uploading the cached payload:
+            String cacheKey = null;
+            if (textureCache != null) {
+                cacheKey = textureCache.computeKey(rawBuffer, getCacheVariant(generateMipmaps, premultiplyAlpha));
+                TextureCacheEntry entry = textureCache.load(cacheKey);
+                if (entry != null) {
+                    log.trace("Texture cache hit for '{}'.", ctx.getFilepath());
+                    int textureId = upload(entry.getData(), entry.getWidth(), entry.getHeight(),
+                            entry.getLevelCount(), wrapS, wrapT, minFilter, magFilter, anisotropy);
+                    var texture = new GLTexture(textureId, entry.getWidth(), entry.getHeight(),
+                            entry.getData().remaining());
+                    texture.setPremultipliedAlpha(premultiplyAlpha);
+                    return texture;
+                }
+            }
 
-            glBindTexture(GL_TEXTURE_2D, textureId);
+            // prepare the buffers:
+            IntBuffer w = stack.mallocInt(1);
+            IntBuffer h = stack.mallocInt(1);
+            IntBuffer comp = stack.mallocInt(1);
+
+            // load image data from buffer
+            ByteBuffer imageData = stbi_load_from_memory(rawBuffer, w, h, comp, 4);
+            if (imageData == null) {
+                throw new RuntimeException("Failed to process texture file: " + stbi_failure_reason());
+            }
 
-            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, imageData);
-            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, wrapS);
-            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, wrapT);
-            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, minFilter);
-            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, magFilter);
+            // the decoded image and the mipmap chain are released here, unless handed to the cache writer:
+            ByteBuffer mipmapData = null;
+            boolean handedOff = false;
+            try {
+                int width = w.get();
+                int height = h.get();
+                if (premultiplyAlpha) {
+                    TextureUtils.premultiplyAlpha(imageData);
+                }
 
-            glBindTexture(GL_TEXTURE_2D, 0); // unbind
-            free(imageData);
+                // the mipmap chain is computed on the CPU (while decoding), so it is cached along with the base level:
+                int levelCount = 1;
+                if (generateMipmaps) {
+                    levelCount = TextureUtils.computeLevelCount(width, height);
+                    mipmapData = memAlloc((int) TextureCacheEntry.computeDataSize(width, height, levelCount));
+                    memCopy(imageData, mipmapData);
+                    free(imageData);
+                    imageData = null;
+                    TextureUtils.generateMipmaps(mipmapData, width, height, levelCount, premultiplyAlpha);
+                }
 
-            return new GLTexture(textureId, width, height);
+                ByteBuffer payload = mipmapData != null ? mipmapData : imageData;
+                int textureId = upload(payload, width, height, levelCount, wrapS, wrapT, minFilter, magFilter,
+                        anisotropy);
+                long memorySize = payload.remaining();
+
+                if (cacheKey != null) {
+                    // populate the cache in the background; the payload is released once the entry is written
+                    final ByteBuffer releasableImage = imageData;
+                    final ByteBuffer releasableMipmaps = mipmapData;
+                    int flags = premultiplyAlpha ? TextureCacheEntry.FLAG_PREMULTIPLIED_ALPHA : 0;
+                    textureCache.storeAsync(cacheKey, width, height, levelCount, flags, payload)
+                            .whenComplete((stored, e) -> release(releasableImage, releasableMipmaps));
+                    handedOff = true;
+                }
+
+                var texture = new GLTexture(textureId, width, height, memorySize);
+                texture.setPremultipliedAlpha(premultiplyAlpha);
+                return texture;
+
+            } finally {
+                if (!handedOff) {
+                    release(imageData, mipmapData);
+                }
+            }
 
         } catch (Exception e) {
             log.error("Exception caught!", e);
             return null;
         }
     }
+
+    /**
+     * Get the mipmap variant of a minification filter (filters that already sample mipmaps are kept).
+     *
+     * @param minFilter The minification filter.
+     * @return The mipmap minification filter.
+     */
+    private static int toMipmapFilter(int minFilter) {
+        switch (minFilter) {
+            case GL_NEAREST:
+                return GL_NEAREST_MIPMAP_LINEAR;
+            case GL_LINEAR:
+                return GL_LINEAR_MIPMAP_LINEAR;
+            default:
+                return minFilter;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (textureCache != null) {
+            textureCache.dispose();
+        }
+    }
+
+    /**
+     * Get the cache variant, identifying the settings that change the decoded payload.
+     *
+     * @param generateMipmaps  True if the payload contains the mipmap chain.
+     * @param premultiplyAlpha True if the payload has premultiplied alpha.
+     * @return The cache variant.
+     */
+    private String getCacheVariant(boolean generateMipmaps, boolean premultiplyAlpha) {
+        return "rgba8" + (generateMipmaps ? "+mipmaps" : "") + (premultiplyAlpha ? "+pma" : "");
+    }
+
+    private void release(@Nullable ByteBuffer imageData, @Nullable ByteBuffer mipmapData) {
+        if (imageData != null) {
+            free(imageData); // allocated by stb_image
+        }
+        if (mipmapData != null) {
+            memFree(mipmapData);
+        }
+    }
+
+    private int upload(ByteBuffer payload, int width, int height, int levelCount, int wrapS, int wrapT,
+            int minFilter, int magFilter, float anisotropy) {
+        // create and setup texture
+        int textureId = glGenTextures();
+        GLStateCache.bindTexture(textureId);
+
+        int offset = payload.position();
+        for (int level = 0; level < levelCount; level++) {
+            int levelWidth = TextureCacheEntry.getLevelDimension(width, level);
+            int levelHeight = TextureCacheEntry.getLevelDimension(height, level);
+            int levelSize = levelWidth * levelHeight * 4;
+            glTexImage2D(GL_TEXTURE_2D, level, GL_RGBA, levelWidth, levelHeight, 0, GL_RGBA, GL_UNSIGNED_BYTE,
+                    payload.slice(offset, levelSize));
+            offset += levelSize;
+        }
+
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LEVEL, levelCount - 1);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, wrapS);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, wrapT);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, minFilter);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, magFilter);
+
+        if (anisotropy > 1f && getMaxAnisotropy() > 1f) {
+            glTexParameterf(GL_TEXTURE_2D, GL_TEXTURE_MAX_ANISOTROPY, Math.min(anisotropy, getMaxAnisotropy()));
+        }
+
+        GLStateCache.bindTexture(0); // unbind
+
+        return textureId;
+    }
+
+    /**
+     * Get the maximum anisotropy supported by the GPU (queried once).
+     *
+     * @return The maximum anisotropy or 0 if anisotropic filtering is not available.
+     */
+    private float getMaxAnisotropy() {
+        if (maxAnisotropy < 0f) {
+            GLCapabilities capabilities = GL.getCapabilities();
+            boolean supported = capabilities.OpenGL46 || capabilities.GL_ARB_texture_filter_anisotropic
+                    || capabilities.GL_EXT_texture_filter_anisotropic;
+            maxAnisotropy = supported ? glGetFloat(GL_MAX_TEXTURE_MAX_ANISOTROPY) : 0f;
+        }
+
+        return maxAnisotropy;
+    }
 }
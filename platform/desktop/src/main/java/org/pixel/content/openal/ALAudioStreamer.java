@@ -0,0 +1,90 @@
+package org.pixel.content.openal;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.pixel.commons.lifecycle.Disposable;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+
+/**
+ * Background thread that keeps the buffer queues of the playing {@link ALStreamingSound}s filled. The thread is
+ * started with the first streamed playback.
+ */
+public class ALAudioStreamer implements Disposable {
+
+    private static final Logger log = LoggerFactory.getLogger(ALAudioStreamer.class);
+    private static final long UPDATE_INTERVAL_MS = 10;
+
+    private final Set<ALStreamingSound> activeSounds = ConcurrentHashMap.newKeySet();
+    private Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * Start refilling the given sound.
+     *
+     * @param sound The sound (already playing).
+     */
+    synchronized void register(ALStreamingSound sound) {
+        if (!running) {
+            return;
+        }
+
+        activeSounds.add(sound);
+        if (thread == null) {
+            thread = new Thread(this::run, ALAudioStreamer.class.getSimpleName());
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stop refilling the given sound.
+     *
+     * @param sound The sound.
+     */
+    void unregister(ALStreamingSound sound) {
+        activeSounds.remove(sound);
+    }
+
+    private void run() {
+        while (running) {
+            for (ALStreamingSound sound : activeSounds) {
+                // update and removal under the sound lock, so a concurrent play() (which re-registers under the
+                // same lock) cannot be undone by a stale removal:
+                synchronized (sound) {
+                    try {
+                        if (!sound.update()) {
+                            activeSounds.remove(sound);
+                        }
+
+                    } catch (Exception e) {
+                        log.error("Exception caught while streaming audio!", e);
+                        activeSounds.remove(sound);
+                    }
+                }
+            }
+
+            try {
+                Thread.sleep(UPDATE_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        running = false;
+        activeSounds.clear();
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+}
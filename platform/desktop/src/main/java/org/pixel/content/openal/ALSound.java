@@ -1,5 +1,8 @@
 package org.pixel.content.openal;
 
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
 import lombok.Getter;
 import org.lwjgl.openal.AL10;
 import org.pixel.content.Sound;
@@ -7,21 +10,60 @@ import org.pixel.content.Sound;
 @Getter
 public class ALSound extends Sound {
 
-    private final int sourcePointer;
+    private final int bufferPointer;
+    private final int bufferSize;
+    private final Set<Consumer<ALSound>> disposeListeners = new CopyOnWriteArraySet<>();
+    private boolean disposed;
 
     /**
      * Constructor
      *
-     * @param sourcePointer The source pointer
+     * @param bufferPointer The buffer pointer (owned by this sound, shared by every playback)
+     * @param bufferSize    The size (in bytes) of the PCM data uploaded to the buffer
      */
-    public ALSound(int sourcePointer) {
-        this.sourcePointer = sourcePointer;
+    public ALSound(int bufferPointer, int bufferSize) {
+        this.bufferPointer = bufferPointer;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Add a listener notified before the sound is disposed (used by the audio players to detach the buffer from the
+     * sources still playing it). Every player that played the sound registers its own listener.
+     *
+     * @param disposeListener The listener.
+     */
+    public void addDisposeListener(Consumer<ALSound> disposeListener) {
+        disposeListeners.add(disposeListener);
+    }
+
+    /**
+     * Remove a dispose listener (e.g. when the audio player is disposed).
+     *
+     * @param disposeListener The listener.
+     */
+    public void removeDisposeListener(Consumer<ALSound> disposeListener) {
+        disposeListeners.remove(disposeListener);
+    }
+
+    @Override
+    public long getDataSize() {
+        return bufferSize;
     }
 
     @Override
     public void dispose() {
-        if (this.getSourcePointer() >= 0) {
-            AL10.alDeleteSources(this.getSourcePointer());
+        if (disposed) {
+            return;
+        }
+
+        disposed = true;
+        // the buffer can only be deleted once no source of any player has it attached:
+        for (Consumer<ALSound> disposeListener : disposeListeners) {
+            disposeListener.accept(this);
+        }
+        disposeListeners.clear();
+        if (this.getBufferPointer() >= 0) {
+            AL10.alDeleteBuffers(this.getBufferPointer());
         }
     }
 }
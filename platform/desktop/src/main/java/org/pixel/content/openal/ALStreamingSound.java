@@ -0,0 +1,208 @@
+package org.pixel.content.openal;
+
+import static org.lwjgl.openal.AL10.*;
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_close;
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_get_samples_short_interleaved;
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_seek;
+import static org.lwjgl.stb.STBVorbis.stb_vorbis_seek_start;
+import static org.lwjgl.system.MemoryUtil.memAllocShort;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Sound decoded while it plays: a small ring of OpenAL buffers is queued on the source and refilled, chunk by chunk,
+ * by the {@link ALAudioStreamer} thread. Only the encoded data and the ring are kept in memory. Unlike buffered
+ * sounds, a streamed sound owns its source (a buffer queue cannot be shared), so it plays one instance at a time.
+ */
+public class ALStreamingSound extends ALSound {
+
+    public static final int BUFFER_COUNT = 4;
+    public static final int BUFFER_FRAMES = 8192;
+
+    private final int sourcePointer;
+    private final ALAudioStreamer streamer;
+    private final ByteBuffer encodedData;
+    private final long decoder;
+    private final int channels;
+    private final int sampleRate;
+    private final int format;
+    private final int[] buffers = new int[BUFFER_COUNT];
+    private final ShortBuffer pcm;
+
+    private boolean playing;
+    private boolean looping;
+    private boolean ended;
+    private boolean disposed;
+
+    /**
+     * Constructor
+     *
+     * @param sourcePointer The source pointer (owned by this sound)
+     * @param streamer      The streamer that refills this sound
+     * @param encodedData   The encoded data (must remain valid while the decoder is open)
+     * @param decoder       The stb_vorbis decoder handle (owned by this sound)
+     * @param channels      The number of channels
+     * @param sampleRate    The sample rate
+     * @param format        The OpenAL buffer format
+     */
+    public ALStreamingSound(int sourcePointer, ALAudioStreamer streamer, ByteBuffer encodedData, long decoder,
+            int channels, int sampleRate, int format) {
+        super(-1, 0);
+        this.sourcePointer = sourcePointer;
+        this.streamer = streamer;
+        this.encodedData = encodedData;
+        this.decoder = decoder;
+        this.channels = channels;
+        this.sampleRate = sampleRate;
+        this.format = format;
+        this.pcm = memAllocShort(BUFFER_FRAMES * channels);
+        alGenBuffers(buffers);
+    }
+
+    /**
+     * Get the source pointer (owned by this sound).
+     *
+     * @return The source pointer
+     */
+    public int getSourcePointer() {
+        return sourcePointer;
+    }
+
+    /**
+     * Check if the stream is playing (or paused).
+     *
+     * @return True if playing
+     */
+    public synchronized boolean isPlaying() {
+        return playing;
+    }
+
+    /**
+     * Start playing from the given offset, priming the buffer queue before the source starts.
+     *
+     * @param loop   Whether the sound should loop
+     * @param offset The start offset (in seconds)
+     */
+    public synchronized void play(boolean loop, float offset) {
+        if (disposed) {
+            return;
+        }
+
+        rewind();
+        looping = loop;
+        ended = false;
+
+        if (offset > 0) {
+            stb_vorbis_seek(decoder, (int) (offset * sampleRate));
+        } else {
+            stb_vorbis_seek_start(decoder);
+        }
+
+        for (int buffer : buffers) {
+            if (!fill(buffer)) {
+                break;
+            }
+            alSourceQueueBuffers(getSourcePointer(), buffer);
+        }
+
+        alSourcei(getSourcePointer(), AL_LOOPING, AL_FALSE); // looping is handled by the decoder
+        alSourcePlay(getSourcePointer());
+        playing = true;
+        streamer.register(this);
+    }
+
+    /**
+     * Stop playing and release the queued buffers.
+     */
+    public synchronized void stop() {
+        if (disposed) {
+            return;
+        }
+
+        streamer.unregister(this);
+        rewind();
+    }
+
+    /**
+     * Refill the processed buffers (called by the streamer thread).
+     *
+     * @return False once the sound stops playing (so it is no longer updated).
+     */
+    synchronized boolean update() {
+        if (disposed || !playing) {
+            return false;
+        }
+
+        int source = getSourcePointer();
+        int processed = alGetSourcei(source, AL_BUFFERS_PROCESSED);
+        while (processed-- > 0) {
+            int buffer = alSourceUnqueueBuffers(source);
+            if (!ended && fill(buffer)) {
+                alSourceQueueBuffers(source, buffer);
+            }
+        }
+
+        if (alGetSourcei(source, AL_BUFFERS_QUEUED) == 0) {
+            playing = false; // reached the end
+            return false;
+        }
+
+        if (alGetSourcei(source, AL_SOURCE_STATE) == AL_STOPPED) {
+            alSourcePlay(source); // the queue ran dry before being refilled, resume
+        }
+
+        return true;
+    }
+
+    @Override
+    public long getDataSize() {
+        return encodedData.capacity() + (long) BUFFER_COUNT * BUFFER_FRAMES * channels * Short.BYTES;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (disposed) {
+            return;
+        }
+
+        streamer.unregister(this);
+        rewind();
+        disposed = true;
+        alDeleteSources(getSourcePointer());
+        alDeleteBuffers(buffers);
+        stb_vorbis_close(decoder);
+        memFree(pcm);
+    }
+
+    /**
+     * Decode the next chunk into the given buffer.
+     *
+     * @param buffer The OpenAL buffer.
+     * @return False if there is nothing left to decode.
+     */
+    private boolean fill(int buffer) {
+        pcm.clear();
+        int frames = stb_vorbis_get_samples_short_interleaved(decoder, channels, pcm);
+        if (frames == 0 && looping) {
+            stb_vorbis_seek_start(decoder);
+            frames = stb_vorbis_get_samples_short_interleaved(decoder, channels, pcm);
+        }
+
+        if (frames == 0) {
+            ended = true;
+            return false;
+        }
+
+        pcm.limit(frames * channels);
+        alBufferData(buffer, format, pcm, sampleRate);
+        return true;
+    }
+
+    private void rewind() {
+        playing = false;
+        alSourceStop(getSourcePointer());
+        alSourcei(getSourcePointer(), AL_BUFFER, 0); // detach every queued buffer
+    }
+}
@@ -1,37 +1,82 @@
 package org.pixel.content.opengl;
 
-import static org.lwjgl.BufferUtils.createByteBuffer;
 import static org.lwjgl.opengl.GL11C.GL_LINEAR;
-import static org.lwjgl.opengl.GL11C.GL_RGBA;
-import static org.lwjgl.opengl.GL11C.GL_RGBA8;
+import static org.lwjgl.opengl.GL11C.GL_ONE;
+import static org.lwjgl.opengl.GL11C.GL_PACK_ALIGNMENT;
+import static org.lwjgl.opengl.GL11C.GL_RED;
 import static org.lwjgl.opengl.GL11C.GL_TEXTURE_2D;
 import static org.lwjgl.opengl.GL11C.GL_TEXTURE_MAG_FILTER;
 import static org.lwjgl.opengl.GL11C.GL_TEXTURE_MIN_FILTER;
+import static org.lwjgl.opengl.GL11C.GL_TEXTURE_WRAP_S;
+import static org.lwjgl.opengl.GL11C.GL_TEXTURE_WRAP_T;
+import static org.lwjgl.opengl.GL11C.GL_UNPACK_ALIGNMENT;
 import static org.lwjgl.opengl.GL11C.GL_UNSIGNED_BYTE;
-import static org.lwjgl.opengl.GL11C.glBindTexture;
 import static org.lwjgl.opengl.GL11C.glDeleteTextures;
 import static org.lwjgl.opengl.GL11C.glGenTextures;
+import static org.lwjgl.opengl.GL11C.glGetTexImage;
+import static org.lwjgl.opengl.GL11C.glPixelStorei;
 import static org.lwjgl.opengl.GL11C.glTexImage2D;
 import static org.lwjgl.opengl.GL11C.glTexParameteri;
+import static org.lwjgl.opengl.GL11C.glTexParameteriv;
+import static org.lwjgl.opengl.GL11C.glTexSubImage2D;
+import static org.lwjgl.opengl.GL12C.GL_CLAMP_TO_EDGE;
+import static org.lwjgl.opengl.GL30C.GL_R8;
+import static org.lwjgl.opengl.GL33C.GL_TEXTURE_SWIZZLE_RGBA;
 import static org.lwjgl.stb.STBImageWrite.stbi_write_bmp;
 import static org.lwjgl.stb.STBImageWrite.stbi_write_png;
-import static org.lwjgl.stb.STBTruetype.stbtt_PackBegin;
-import static org.lwjgl.stb.STBTruetype.stbtt_PackEnd;
-import static org.lwjgl.stb.STBTruetype.stbtt_PackFontRange;
-import static org.lwjgl.stb.STBTruetype.stbtt_PackSetOversampling;
-import static org.lwjgl.system.MemoryUtil.NULL;
+import static org.lwjgl.stb.STBTruetype.stbtt_FindGlyphIndex;
+import static org.lwjgl.stb.STBTruetype.stbtt_FreeSDF;
+import static org.lwjgl.stb.STBTruetype.stbtt_GetGlyphBitmapBoxSubpixel;
+import static org.lwjgl.stb.STBTruetype.stbtt_GetCodepointKernAdvance;
+import static org.lwjgl.stb.STBTruetype.stbtt_GetGlyphHMetrics;
+import static org.lwjgl.stb.STBTruetype.stbtt_GetGlyphSDF;
+import static org.lwjgl.stb.STBTruetype.stbtt_InitFont;
+import static org.lwjgl.stb.STBTruetype.stbtt_MakeGlyphBitmapSubpixelPrefilter;
+import static org.lwjgl.stb.STBTruetype.stbtt_ScaleForPixelHeight;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memCopy;
+import static org.lwjgl.system.MemoryUtil.memFree;
+import static org.lwjgl.system.MemoryUtil.memRealloc;
+import static org.lwjgl.system.MemoryUtil.memSet;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
-import org.lwjgl.stb.STBTTPackContext;
-import org.lwjgl.stb.STBTTPackedchar;
+import org.lwjgl.stb.STBTTFontinfo;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
 import org.pixel.content.Font;
 import org.pixel.content.FontData;
 import org.pixel.content.FontGlyph;
+import org.pixel.content.font.GlyphAtlas;
+import org.pixel.graphics.opengl.GLStateCache;
 
 public class GLFont extends Font {
 
-    protected STBTTPackedchar.Buffer packedBuffer;
+    private static final Logger log = LoggerFactory.getLogger(GLFont.class);
+
+    private static final int MIN_PAGE_SIZE = 512;
+    private static final int MAX_PAGE_SIZE = 2048;
+    private static final int MAX_PAGES = 8;
+    private static final int[] ALPHA_SWIZZLE = {GL_ONE, GL_ONE, GL_ONE, GL_RED};
+    private static final int DISTANCE_FIELD_PADDING = 4; // distance (in glyph pixels) covered by the field
+    private static final byte DISTANCE_FIELD_ON_EDGE = (byte) 128; // field value at the glyph edge
+
+    protected STBTTFontinfo fontInfo;
+    protected GlyphAtlas atlas;
+    protected int[] pageTextures;
+
+    // rasterization scratch (assigned in init, which runs before the field initializers of this class):
+    private int[] advanceWidth;
+    private int[] leftSideBearing;
+    private int[] x0;
+    private int[] y0;
+    private int[] x1;
+    private int[] y1;
+    private float[] subX;
+    private float[] subY;
+    private ByteBuffer scratch;
 
     public GLFont(FontData fontData) {
         super(fontData);
@@ -41,9 +86,21 @@ public class GLFont extends Font {
         super(fontData, fontSize, horizontalSpacing, verticalSpacing, oversampling);
     }
 
+    public GLFont(FontData fontData, int fontSize, int horizontalSpacing, int verticalSpacing, int oversampling,
+            boolean distanceField) {
+        super(fontData, fontSize, horizontalSpacing, verticalSpacing, oversampling, distanceField);
+    }
+
     @Override
     protected void init() {
-        this.packedBuffer = STBTTPackedchar.malloc(6 * 128);
+        this.advanceWidth = new int[1];
+        this.leftSideBearing = new int[1];
+        this.x0 = new int[1];
+        this.y0 = new int[1];
+        this.x1 = new int[1];
+        this.y1 = new int[1];
+        this.subX = new float[1];
+        this.subY = new float[1];
         super.init();
     }
 
@@ -53,89 +110,239 @@ public class GLFont extends Font {
             throw new RuntimeException("Cannot compute font without a valid source");
         }
 
-        if (this.getTextureId() < 0) {
-            // texture is not yet assigned to this font, generate:
-            this.textureId = glGenTextures();
+        if (this.fontInfo == null) {
+            this.fontInfo = STBTTFontinfo.malloc();
+            if (!stbtt_InitFont(fontInfo, fontData.getSource())) {
+                throw new RuntimeException("Cannot initialize font from the given source");
+            }
         }
 
-        // calculate texture size:
-        // note: since stbtt optimizes the glyph placing on the bitmap, we don't need to
-        // go for 1:1 ratio here
-        float maxGlyphSize = this.fontSize * oversampling;
-        float tmpTextureSize = (maxGlyphSize + GLYPH_TEXTURE_PADDING_COMPENSATION) * 8;
-        if (tmpTextureSize % 2 != 0) {
-            tmpTextureSize++; // let's keep this in multiples of 2
+        // pages fit the printable ascii range at the native size (16x16 cells), larger sizes get their own pages:
+        int cellSize = getComputedFontSize() + GLYPH_TEXTURE_PADDING_COMPENSATION
+                + (distanceField ? DISTANCE_FIELD_PADDING * 2 * oversampling : 0);
+        int pageSize = Integer.highestOneBit(Math.max(1, cellSize * 16 - 1)) << 1;
+        pageSize = Math.max(MIN_PAGE_SIZE, Math.min(MAX_PAGE_SIZE, pageSize));
+
+        deletePages();
+        this.glyphCache.clear();
+        this.textureWidth = pageSize;
+        this.textureHeight = pageSize;
+        this.pageTextures = new int[MAX_PAGES];
+        this.atlas = new GlyphAtlas(pageSize, MAX_PAGES);
+        this.atlas.setEvictionListener(this::onPageEvicted);
+
+        // prewarm the printable ascii range at the native size:
+        for (int codePoint = 32; codePoint < 127; codePoint++) {
+            getGlyph(codePoint, fontSize);
         }
+    }
+
+    private void onPageEvicted(int page) {
+        // glyphs already batched (but not yet flushed) from this page will draw the new contents; with the page LRU
+        // this only happens when a single frame needs more glyphs than the whole atlas holds.
+        log.debug("Font atlas page {} evicted.", page);
+        this.glyphCache.removeIf(glyph -> glyph.getPage() == page);
+    }
+
+    private int getPageTexture(int page) {
+        if (pageTextures[page] == 0) {
+            int textureId = glGenTextures();
+            GLStateCache.bindTexture(textureId);
+            glTexImage2D(GL_TEXTURE_2D, 0, GL_R8, textureWidth, textureHeight, 0, GL_RED, GL_UNSIGNED_BYTE,
+                    (ByteBuffer) null);
+            glTexParameteriv(GL_TEXTURE_2D, GL_TEXTURE_SWIZZLE_RGBA, ALPHA_SWIZZLE);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
 
-        this.textureWidth = (int) tmpTextureSize;
-        this.textureHeight = (int) tmpTextureSize;
-
-        glyphCache.clear(); // clear the glyph cache
-        packedBuffer.clear(); // clear char data buffer
-        STBTTPackContext pc = STBTTPackContext.malloc();
-        ByteBuffer alphaBitmap = createByteBuffer(this.textureWidth * this.textureHeight);
-        stbtt_PackBegin(pc, alphaBitmap, this.textureWidth, this.textureHeight, 0, GLYPH_TEXTURE_PADDING, NULL);
-        // load up data to our buffer:
-        packedBuffer.limit(255); // text ascii range (32-127)
-        packedBuffer.position(32);
-        stbtt_PackSetOversampling(pc, oversampling, oversampling);
-        stbtt_PackFontRange(pc, fontData.getSource(), 0, getFontSize(), 32, packedBuffer);
-        stbtt_PackEnd(pc);
-        packedBuffer.clear();
-
-        // convert gray scale to rgba
-        bitmap = createByteBuffer(alphaBitmap.limit() * 4);
-        for (int i = 0; i < alphaBitmap.limit(); ++i) {
-            bitmap.put((byte) 255);
-            bitmap.put((byte) 255);
-            bitmap.put((byte) 255);
-            bitmap.put(alphaBitmap.get());
+            pageTextures[page] = textureId;
+            if (page == 0) {
+                this.textureId = textureId;
+            }
         }
-        bitmap.clear();
 
-        // bind char data to our texture:
-        glBindTexture(GL_TEXTURE_2D, getTextureId());
-        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, this.textureWidth, this.textureHeight, 0, GL_RGBA, GL_UNSIGNED_BYTE,
-                bitmap);
-        // glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
-        // glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+        return pageTextures[page];
+    }
+
+    private FontGlyph rasterize(int codePoint, int sizeBucket) {
+        int glyphIndex = stbtt_FindGlyphIndex(fontInfo, codePoint); // 0 (missing glyph) if not in the font
+        float scale = stbtt_ScaleForPixelHeight(fontInfo, sizeBucket);
+        stbtt_GetGlyphHMetrics(fontInfo, glyphIndex, advanceWidth, leftSideBearing);
+        float xadvance = advanceWidth[0] * scale;
+
+        return distanceField
+                ? rasterizeDistanceField(codePoint, glyphIndex, scale, xadvance, sizeBucket)
+                : rasterizeBitmap(codePoint, glyphIndex, scale, xadvance, sizeBucket);
+    }
+
+    private FontGlyph rasterizeBitmap(int codePoint, int glyphIndex, float scale, float xadvance, int sizeBucket) {
+        stbtt_GetGlyphBitmapBoxSubpixel(fontInfo, glyphIndex, scale * oversampling, scale * oversampling, 0, 0,
+                x0, y0, x1, y1);
+        if (x1[0] <= x0[0] || y1[0] <= y0[0]) {
+            // nothing to draw (e.g. white space):
+            return new FontGlyph(0, 0, 0, 0, xadvance, 0, 0, -1, -1, sizeBucket);
+        }
+
+        int width = x1[0] - x0[0] + oversampling - 1;
+        int height = y1[0] - y0[0] + oversampling - 1;
+        ByteBuffer target = prepareScratch(width, height);
+        stbtt_MakeGlyphBitmapSubpixelPrefilter(fontInfo, target, width - oversampling + 1,
+                height - oversampling + 1, width + GLYPH_TEXTURE_PADDING * 2, scale * oversampling, scale * oversampling, 0, 0,
+                oversampling, oversampling, subX, subY, glyphIndex);
+
+        return uploadScratch(codePoint, width, height, xadvance, x0[0] / (float) oversampling + subX[0],
+                y0[0] / (float) oversampling + subY[0], sizeBucket);
+    }
+
+    private FontGlyph rasterizeDistanceField(int codePoint, int glyphIndex, float scale, float xadvance,
+            int sizeBucket) {
+        int padding = DISTANCE_FIELD_PADDING * oversampling;
+        // note: the bitmap box arrays receive the field size (x1, y1) and offset (x0, y0):
+        ByteBuffer field = stbtt_GetGlyphSDF(fontInfo, scale * oversampling, glyphIndex, padding,
+                DISTANCE_FIELD_ON_EDGE, (DISTANCE_FIELD_ON_EDGE & 0xFF) / (float) padding, x1, y1, x0, y0);
+        if (field == null) {
+            // nothing to draw (e.g. white space):
+            return new FontGlyph(0, 0, 0, 0, xadvance, 0, 0, -1, -1, sizeBucket);
+        }
+
+        int width = x1[0];
+        int height = y1[0];
+        ByteBuffer target = prepareScratch(width, height);
+        int stride = width + GLYPH_TEXTURE_PADDING * 2;
+        for (int row = 0; row < height; row++) {
+            memCopy(memAddress(field) + (long) row * width, memAddress(target) + (long) row * stride, width);
+        }
+        stbtt_FreeSDF(field);
+
+        return uploadScratch(codePoint, width, height, xadvance, x0[0] / (float) oversampling,
+                y0[0] / (float) oversampling, sizeBucket);
+    }
+
+    /**
+     * Size and zero the scratch buffer for a glyph region (the glyph plus its padding on every side).
+     *
+     * @return A view of the scratch buffer starting at the glyph origin (rows are {@code width + 2 * padding} long).
+     */
+    private ByteBuffer prepareScratch(int width, int height) {
+        int regionWidth = width + GLYPH_TEXTURE_PADDING * 2;
+        int size = regionWidth * (height + GLYPH_TEXTURE_PADDING * 2);
+        if (scratch == null || scratch.capacity() < size) {
+            scratch = scratch == null ? memAlloc(size) : memRealloc(scratch, size);
+        }
+        scratch.clear();
+        memSet(scratch, 0);
+
+        int origin = GLYPH_TEXTURE_PADDING * regionWidth + GLYPH_TEXTURE_PADDING;
+        return scratch.slice(origin, size - origin);
+    }
+
+    private FontGlyph uploadScratch(int codePoint, int width, int height, float xadvance, float xoff, float yoff,
+            int sizeBucket) {
+        // the region is padded on every side and uploaded whole, so filtering never samples a neighbour glyph:
+        int regionWidth = width + GLYPH_TEXTURE_PADDING * 2;
+        int regionHeight = height + GLYPH_TEXTURE_PADDING * 2;
+        long region = atlas.allocate(regionWidth, regionHeight);
+        if (region == GlyphAtlas.INVALID_REGION) {
+            log.warn("Glyph {} at size {} does not fit the font atlas.", codePoint, sizeBucket);
+            return new FontGlyph(0, 0, 0, 0, xadvance, 0, 0, -1, -1, sizeBucket);
+        }
+
+        int page = GlyphAtlas.getPage(region);
+        int x = GlyphAtlas.getX(region);
+        int y = GlyphAtlas.getY(region);
+        int textureId = getPageTexture(page);
+        scratch.clear().limit(regionWidth * regionHeight);
+        GLStateCache.bindTexture(textureId);
+        glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
+        glTexSubImage2D(GL_TEXTURE_2D, 0, x, y, regionWidth, regionHeight, GL_RED, GL_UNSIGNED_BYTE, scratch);
+        glPixelStorei(GL_UNPACK_ALIGNMENT, 4);
+
+        return new FontGlyph(x + GLYPH_TEXTURE_PADDING, y + GLYPH_TEXTURE_PADDING, width, height, xadvance, xoff,
+                yoff, textureId, page, sizeBucket);
+    }
+
+    private void deletePages() {
+        if (pageTextures != null) {
+            for (int textureId : pageTextures) {
+                if (textureId != 0) {
+                    GLStateCache.onDeleteTexture(textureId);
+                    glDeleteTextures(textureId);
+                }
+            }
+            Arrays.fill(pageTextures, 0);
+        }
+
+        this.textureId = -1;
+    }
+
+    private void savePage(String filepath, boolean png) {
+        ByteBuffer pixels = memAlloc(textureWidth * textureHeight);
+        GLStateCache.bindTexture(getPageTexture(0));
+        glPixelStorei(GL_PACK_ALIGNMENT, 1);
+        glGetTexImage(GL_TEXTURE_2D, 0, GL_RED, GL_UNSIGNED_BYTE, pixels);
+        glPixelStorei(GL_PACK_ALIGNMENT, 4);
+
+        if (png) {
+            stbi_write_png(filepath, textureWidth, textureHeight, 1, pixels, 0);
+        } else {
+            stbi_write_bmp(filepath, textureWidth, textureHeight, 1, pixels);
+        }
+        memFree(pixels);
     }
 
     @Override
     public void dispose() {
-        if (this.textureId >= 0) {
-            glDeleteTextures(this.textureId);
-            this.textureId = -1;
+        deletePages();
+        glyphCache.clear();
+
+        if (fontInfo != null) {
+            fontInfo.free();
+            fontInfo = null;
+        }
+
+        if (scratch != null) {
+            memFree(scratch);
+            scratch = null;
         }
     }
 
     @Override
     public void saveAsPng(String filepath) {
-        stbi_write_png(filepath, this.textureWidth, this.textureHeight, 4, bitmap, 0);
+        savePage(filepath, true);
     }
 
     @Override
     public void saveAsBmp(String filepath) {
-        stbi_write_bmp(filepath, this.textureWidth, this.textureHeight, 4, bitmap);
+        savePage(filepath, false);
     }
 
     @Override
-    public FontGlyph getGlyph(char ch) {
-        FontGlyph glyph = this.glyphCache.get(ch);
-        if (glyph == null) {
-            STBTTPackedchar pc = this.packedBuffer.get(ch);
-            if (ch == 258) {
-                // tab
-                return null;
-            }
+    public long getTextureMemorySize() {
+        return (long) atlas.getPageCount() * textureWidth * textureHeight; // R8 pages
+    }
 
-            // create a new font glyph
-            glyph = new FontGlyph(pc.x0(), pc.y0(), pc.x1() - pc.x0(), pc.y1() - pc.y0(), pc.xadvance(),
-                    pc.xoff(), pc.yoff());
+    @Override
+    public float getKerning(int left, int right, float fontSize) {
+        int kerning = stbtt_GetCodepointKernAdvance(fontInfo, left, right);
+        return kerning != 0 ? kerning * stbtt_ScaleForPixelHeight(fontInfo, fontSize) : 0;
+    }
 
-            this.glyphCache.put(ch, glyph);
+    @Override
+    public FontGlyph getGlyph(int codePoint, int fontSize) {
+        if (Character.isISOControl(codePoint)) {
+            return null;
+        }
+
+        // rasterize at most at half a page, larger sizes are scaled up:
+        int sizeBucket = Math.min(getSizeBucket(fontSize),
+                Math.max(this.fontSize, atlas.getPageSize() / (2 * oversampling)));
+        FontGlyph glyph = this.glyphCache.get(codePoint, sizeBucket);
+        if (glyph == null) {
+            glyph = rasterize(codePoint, sizeBucket);
+            this.glyphCache.put(codePoint, sizeBucket, glyph);
+        } else if (glyph.getPage() >= 0) {
+            atlas.touch(glyph.getPage());
         }
 
         return glyph;
@@ -3,6 +3,7 @@ package org.pixel.content.opengl;
 import static org.lwjgl.opengl.GL11C.glDeleteTextures;
 
 import org.pixel.content.Texture;
+import org.pixel.graphics.opengl.GLStateCache;
 
 public class GLTexture extends Texture {
 
@@ -26,9 +27,22 @@ public class GLTexture extends Texture {
         super(id, width, height);
     }
 
+    /**
+     * Constructor
+     *
+     * @param id         The native texture id
+     * @param width      The texture width
+     * @param height     The texture height
+     * @param memorySize The GPU memory used by the texture (in bytes)
+     */
+    public GLTexture(int id, int width, int height, long memorySize) {
+        super(id, width, height, memorySize);
+    }
+
     @Override
     public void dispose() {
         if (this.id >= 0) {
+            GLStateCache.onDeleteTexture(this.id);
             glDeleteTextures(this.id);
             this.id = -1;
         }
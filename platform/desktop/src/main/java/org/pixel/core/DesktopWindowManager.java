@@ -51,4 +51,13 @@ public interface DesktopWindowManager extends WindowManager {
      * @return The window dimensions.
      */
     WindowDimensions getWindowDimensions();
+
+    /**
+     * Get the native id of the framebuffer the game renders into.
+     *
+     * @return The framebuffer id (0 for the default framebuffer of the window).
+     */
+    default int getFramebufferId() {
+        return 0;
+    }
 }
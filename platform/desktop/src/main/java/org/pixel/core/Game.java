@@ -11,12 +11,16 @@ import org.pixel.commons.logger.LoggerFactory;
 import org.pixel.content.ContentManager;
 import org.pixel.content.GLContentManagerFactory;
 import org.pixel.content.Sound;
+import org.pixel.graphics.glfw.GLFWHeadlessWindowManager;
 import org.pixel.graphics.glfw.GLFWWindowManager;
 import org.pixel.graphics.opengl.GLGraphicsDevice;
+import org.pixel.graphics.render.PrimitiveBatch;
 import org.pixel.graphics.render.SpriteBatch;
+import org.pixel.graphics.render.opengl.GLPrimitiveBatchServiceFactory;
 import org.pixel.graphics.render.opengl.GLSpriteBatchServiceFactory;
 
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 
 import static org.lwjgl.openal.ALC10.*;
 
@@ -39,8 +43,10 @@ public abstract class Game extends WindowGameContainer<DesktopWindowManager, GLG
 
     @Override
     protected boolean initWindowManager() {
-        // TODO: make configurable when/if more options are available
-        this.windowManager = new GLFWWindowManager(this);
+        // offscreen rendering without a visible window (CI, benchmarks, golden-image tests) when headless is set
+        this.windowManager = this.settings.isHeadless()
+                ? new GLFWHeadlessWindowManager(this)
+                : new GLFWWindowManager(this);
         return this.windowManager.init();
     }
 
@@ -97,8 +103,10 @@ public abstract class Game extends WindowGameContainer<DesktopWindowManager, GLG
         switch (this.settings.getGraphicsBackend()) {
             case OpenGL:
                 ServiceProvider.register(SpriteBatch.class, new GLSpriteBatchServiceFactory());
-                ServiceProvider.register(ContentManager.class, new GLContentManagerFactory());
-                ServiceProvider.register(AudioPlayer.class, new ALAudioPlayerFactory());
+                ServiceProvider.register(PrimitiveBatch.class, new GLPrimitiveBatchServiceFactory());
+                ServiceProvider.register(ContentManager.class, new GLContentManagerFactory(
+                        settings.getTextureCacheDirectory() != null ? Path.of(settings.getTextureCacheDirectory()) : null));
+                ServiceProvider.register(AudioPlayer.class, new ALAudioPlayerFactory(settings.isAudioThread()));
                 break;
             case Vulkan:
                 throw new UnsupportedOperationException("Vulkan is not supported yet.");
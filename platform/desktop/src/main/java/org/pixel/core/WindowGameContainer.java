@@ -4,6 +4,7 @@ import org.pixel.commons.DeltaTime;
 import org.pixel.commons.lifecycle.*;
 import org.pixel.commons.logger.Logger;
 import org.pixel.commons.logger.LoggerFactory;
+import org.pixel.graphics.FrameRecorder;
 import org.pixel.graphics.GraphicsDevice;
 
 public abstract class WindowGameContainer<T extends WindowManager, S extends GraphicsDevice, Z extends GameSettings>
@@ -13,6 +14,7 @@ public abstract class WindowGameContainer<T extends WindowManager, S extends Gra
     private static final Logger log = LoggerFactory.getLogger(GameContainer.class);
 
     protected T windowManager;
+    protected FrameRecorder frameRecorder;
 
     /**
      * Constructor.
@@ -65,6 +67,9 @@ public abstract class WindowGameContainer<T extends WindowManager, S extends Gra
 
     @Override
     public void dispose() {
+        if (frameRecorder != null) {
+            frameRecorder.dispose(); // before the context goes away
+        }
         windowManager.dispose();
         super.dispose();
     }
@@ -78,6 +83,24 @@ public abstract class WindowGameContainer<T extends WindowManager, S extends Gra
         this.windowManager.setVSync(vsyncEnabled);
     }
 
+    /**
+     * Set the frame recorder; while it is recording, every frame is handed to it after drawing.
+     *
+     * @param frameRecorder The frame recorder (null to remove it).
+     */
+    public void setFrameRecorder(FrameRecorder frameRecorder) {
+        this.frameRecorder = frameRecorder;
+    }
+
+    /**
+     * Get the frame recorder.
+     *
+     * @return The frame recorder or null if none is set.
+     */
+    public FrameRecorder getFrameRecorder() {
+        return frameRecorder;
+    }
+
     /**
      * Get the active window manager.
      *
@@ -93,9 +116,14 @@ public abstract class WindowGameContainer<T extends WindowManager, S extends Gra
     protected void renderLoop() {
         var delta = new DeltaTime();
         while (this.windowManager.isWindowActive()) {
-            delta.tick();
+            if (this.settings.getFixedTimeStepMs() > 0) {
+                delta.tick(this.settings.getFixedTimeStepMs());
+            } else {
+                delta.tick();
+            }
 
             this.windowManager.beginFrame();
+            this.graphicsDevice.beginFrame(delta);
 
             // call game update
             update(delta);
@@ -106,6 +134,10 @@ public abstract class WindowGameContainer<T extends WindowManager, S extends Gra
             }
             draw(delta);
 
+            if (this.frameRecorder != null && this.frameRecorder.isRecording()) {
+                this.frameRecorder.captureFrame();
+            }
+
             this.windowManager.endFrame();
 
             if (!this.windowManager.isWindowFocused() && this.settings.isIdleThrottle()) {
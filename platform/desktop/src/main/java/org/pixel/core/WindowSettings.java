@@ -17,6 +17,11 @@ public class WindowSettings extends GameSettings {
     private int windowWidth, windowHeight;
     private boolean windowResizable;
     private WindowMode windowMode;
+    private String textureCacheDirectory;
+    private String shaderCacheDirectory;
+    private boolean audioThread;
+    private boolean headless;
+    private int frameLimit;
 
     /**
      * Constructor.
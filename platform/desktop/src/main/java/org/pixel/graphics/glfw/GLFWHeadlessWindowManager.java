@@ -0,0 +1,313 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.glfw;
+
+import static org.lwjgl.glfw.GLFW.GLFW_CONTEXT_CREATION_API;
+import static org.lwjgl.glfw.GLFW.GLFW_CONTEXT_VERSION_MAJOR;
+import static org.lwjgl.glfw.GLFW.GLFW_CONTEXT_VERSION_MINOR;
+import static org.lwjgl.glfw.GLFW.GLFW_FALSE;
+import static org.lwjgl.glfw.GLFW.GLFW_OPENGL_CORE_PROFILE;
+import static org.lwjgl.glfw.GLFW.GLFW_OPENGL_DEBUG_CONTEXT;
+import static org.lwjgl.glfw.GLFW.GLFW_OPENGL_FORWARD_COMPAT;
+import static org.lwjgl.glfw.GLFW.GLFW_OPENGL_PROFILE;
+import static org.lwjgl.glfw.GLFW.GLFW_OSMESA_CONTEXT_API;
+import static org.lwjgl.glfw.GLFW.GLFW_PLATFORM;
+import static org.lwjgl.glfw.GLFW.GLFW_PLATFORM_NULL;
+import static org.lwjgl.glfw.GLFW.GLFW_RESIZABLE;
+import static org.lwjgl.glfw.GLFW.GLFW_TRUE;
+import static org.lwjgl.glfw.GLFW.GLFW_VISIBLE;
+import static org.lwjgl.glfw.GLFW.glfwCreateWindow;
+import static org.lwjgl.glfw.GLFW.glfwDefaultWindowHints;
+import static org.lwjgl.glfw.GLFW.glfwDestroyWindow;
+import static org.lwjgl.glfw.GLFW.glfwInit;
+import static org.lwjgl.glfw.GLFW.glfwInitHint;
+import static org.lwjgl.glfw.GLFW.glfwMakeContextCurrent;
+import static org.lwjgl.glfw.GLFW.glfwPlatformSupported;
+import static org.lwjgl.glfw.GLFW.glfwPollEvents;
+import static org.lwjgl.glfw.GLFW.glfwSwapInterval;
+import static org.lwjgl.glfw.GLFW.glfwTerminate;
+import static org.lwjgl.glfw.GLFW.glfwWindowHint;
+import static org.lwjgl.opengl.GL11C.GL_RGBA8;
+import static org.lwjgl.opengl.GL11C.GL_TRUE;
+import static org.lwjgl.opengl.GL30C.GL_COLOR_ATTACHMENT0;
+import static org.lwjgl.opengl.GL30C.GL_DEPTH24_STENCIL8;
+import static org.lwjgl.opengl.GL30C.GL_DEPTH_STENCIL_ATTACHMENT;
+import static org.lwjgl.opengl.GL30C.GL_FRAMEBUFFER;
+import static org.lwjgl.opengl.GL30C.GL_FRAMEBUFFER_COMPLETE;
+import static org.lwjgl.opengl.GL30C.GL_RENDERBUFFER;
+import static org.lwjgl.opengl.GL30C.glBindFramebuffer;
+import static org.lwjgl.opengl.GL30C.glBindRenderbuffer;
+import static org.lwjgl.opengl.GL30C.glCheckFramebufferStatus;
+import static org.lwjgl.opengl.GL30C.glDeleteFramebuffers;
+import static org.lwjgl.opengl.GL30C.glDeleteRenderbuffers;
+import static org.lwjgl.opengl.GL30C.glFramebufferRenderbuffer;
+import static org.lwjgl.opengl.GL30C.glGenFramebuffers;
+import static org.lwjgl.opengl.GL30C.glGenRenderbuffers;
+import static org.lwjgl.opengl.GL30C.glRenderbufferStorage;
+
+import org.lwjgl.glfw.GLFWErrorCallback;
+import org.pixel.commons.lifecycle.State;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+import org.pixel.core.DesktopWindowManager;
+import org.pixel.core.WindowCursorMode;
+import org.pixel.core.WindowDimensions;
+import org.pixel.core.WindowGameContainer;
+import org.pixel.core.WindowMode;
+import org.pixel.core.WindowSettings;
+import org.pixel.input.keyboard.Keyboard;
+
+/**
+ * Window manager without a visible window, for CI, benchmarks and golden-image tests. The OpenGL context comes from a
+ * hidden GLFW window or, when no display is available (e.g. a GPU-less Linux machine), from GLFW's null platform with
+ * an OSMesa context (Mesa llvmpipe). Frames are rendered into an offscreen framebuffer of the configured window size
+ * (single sampled) which stays bound while the game renders; buffers are never swapped.
+ * <p>
+ * The window stays active until disposed or until {@link WindowSettings#getFrameLimit()} frames were rendered (when
+ * set). Combine with {@link org.pixel.core.GameSettings#getFixedTimeStepMs()} for deterministic frame times.
+ */
+public class GLFWHeadlessWindowManager implements DesktopWindowManager {
+
+    private static final Logger log = LoggerFactory.getLogger(GLFWHeadlessWindowManager.class);
+    private static final int OPENGL_VERSION_MAJOR = 3;
+    private static final int OPENGL_VERSION_MINOR = 3;
+
+    private final WindowSettings windowSettings;
+
+    private State state;
+    private WindowDimensions windowDimensions;
+    private long windowHandle;
+    private long frameCount;
+    private int framebuffer;
+    private int colorRenderbuffer;
+    private int depthStencilRenderbuffer;
+
+    /**
+     * Constructor.
+     *
+     * @param game The game.
+     */
+    public GLFWHeadlessWindowManager(WindowGameContainer game) {
+        this.windowSettings = (WindowSettings) game.getSettings();
+        this.state = State.CREATED;
+    }
+
+    @Override
+    public boolean init() {
+        if (this.state.hasInitialized()) {
+            log.warn("Window Manager already initialized.");
+            return false;
+        }
+
+        log.debug("Initializing GLFW headless window manager...");
+
+        this.windowDimensions = WindowDimensions.builder()
+                .windowWidth(this.windowSettings.getWindowWidth())
+                .windowHeight(this.windowSettings.getWindowHeight())
+                .virtualWidth(this.windowSettings.getVirtualWidth())
+                .virtualHeight(this.windowSettings.getVirtualHeight())
+                .pixelRatio(1f)
+                .frameWidth(this.windowSettings.getWindowWidth())
+                .frameHeight(this.windowSettings.getWindowHeight())
+                .build();
+
+        boolean offscreenPlatform = this.initGLFW();
+        this.windowHandle = this.createWindow(offscreenPlatform);
+        glfwMakeContextCurrent(this.windowHandle);
+        glfwSwapInterval(0); // nothing is presented, never wait for v-sync
+
+        this.frameCount = 0;
+        this.state = State.INITIALIZED;
+
+        return true;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (this.state.isDisposed()) {
+            return;
+        }
+
+        this.state = State.DISPOSING;
+
+        if (this.framebuffer != 0) {
+            glDeleteFramebuffers(this.framebuffer);
+            glDeleteRenderbuffers(this.colorRenderbuffer);
+            glDeleteRenderbuffers(this.depthStencilRenderbuffer);
+            this.framebuffer = 0;
+        }
+
+        glfwDestroyWindow(this.windowHandle);
+        glfwTerminate();
+
+        this.state = State.DISPOSED;
+    }
+
+    @Override
+    public void beginFrame() {
+        if (this.framebuffer == 0) {
+            this.createFramebuffer(); // requires the GL capabilities, created by the graphics device
+        }
+
+        glBindFramebuffer(GL_FRAMEBUFFER, this.framebuffer);
+    }
+
+    @Override
+    public void endFrame() {
+        // Clear single-frame mapped keys
+        Keyboard.clear();
+
+        glfwPollEvents();
+        this.frameCount++;
+    }
+
+    @Override
+    public long getWindowHandle() {
+        if (!this.state.hasInitialized()) {
+            log.warn("Unable to get window handle, window manager is not initialized.");
+            return -1;
+        }
+
+        return this.windowHandle;
+    }
+
+    @Override
+    public int getFramebufferId() {
+        return this.framebuffer;
+    }
+
+    @Override
+    public boolean isWindowActive() {
+        if (this.state.isDisposed()) {
+            return false;
+        }
+
+        int frameLimit = this.windowSettings.getFrameLimit();
+        return frameLimit <= 0 || this.frameCount < frameLimit;
+    }
+
+    @Override
+    public boolean isWindowFocused() {
+        return true; // never idle-throttled
+    }
+
+    @Override
+    public void setVSync(boolean enabled) {
+        // nothing is presented
+    }
+
+    @Override
+    public void setWindowDimensions(int width, int height) {
+        log.warn("Unable to set window dimensions, the headless resolution is fixed.");
+    }
+
+    @Override
+    public void setWindowCursorMode(WindowCursorMode mode) {
+        // no cursor
+    }
+
+    @Override
+    public void setWindowMode(WindowMode mode) {
+        // no window
+    }
+
+    @Override
+    public void setWindowTitle(String title) {
+        // no window
+    }
+
+    @Override
+    public void setWindowIcon(String... iconPaths) {
+        // no window
+    }
+
+    @Override
+    public WindowDimensions getWindowDimensions() {
+        return this.windowDimensions;
+    }
+
+    /**
+     * Get the number of frames rendered.
+     *
+     * @return The number of frames rendered.
+     */
+    public long getFrameCount() {
+        return this.frameCount;
+    }
+
+    private boolean initGLFW() {
+        GLFWErrorCallback.createPrint(System.err).set();
+
+        // without a display, render through the null platform (OSMesa) instead of failing:
+        boolean offscreenPlatform = System.getenv("DISPLAY") == null && System.getenv("WAYLAND_DISPLAY") == null
+                && !System.getProperty("os.name", "").startsWith("Windows")
+                && !System.getProperty("os.name", "").startsWith("Mac")
+                && glfwPlatformSupported(GLFW_PLATFORM_NULL);
+        if (offscreenPlatform) {
+            log.debug("No display available, using the GLFW null platform.");
+            glfwInitHint(GLFW_PLATFORM, GLFW_PLATFORM_NULL);
+        }
+
+        if (!glfwInit()) {
+            log.error("Unable to initialize GLFW.");
+            throw new RuntimeException("Unable to initialize GLFW");
+        }
+
+        glfwDefaultWindowHints();
+        glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
+        glfwWindowHint(GLFW_RESIZABLE, GLFW_FALSE);
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MAJOR, OPENGL_VERSION_MAJOR);
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MINOR, OPENGL_VERSION_MINOR);
+        glfwWindowHint(GLFW_OPENGL_PROFILE, GLFW_OPENGL_CORE_PROFILE);
+        glfwWindowHint(GLFW_OPENGL_FORWARD_COMPAT, GL_TRUE);
+        if (offscreenPlatform) {
+            glfwWindowHint(GLFW_CONTEXT_CREATION_API, GLFW_OSMESA_CONTEXT_API);
+        }
+        if (this.windowSettings.isDebugMode()) {
+            glfwWindowHint(GLFW_OPENGL_DEBUG_CONTEXT, GLFW_TRUE);
+        }
+
+        return offscreenPlatform;
+    }
+
+    private long createWindow(boolean offscreenPlatform) {
+        // the window surface is not rendered to, keep it minimal:
+        long handle = glfwCreateWindow(offscreenPlatform ? this.windowSettings.getWindowWidth() : 1,
+                offscreenPlatform ? this.windowSettings.getWindowHeight() : 1, this.windowSettings.getTitle(), 0, 0);
+        if (handle == 0) {
+            log.error("Failed to create the GLFW headless context.");
+            throw new RuntimeException("Failed to create the GLFW headless context");
+        }
+
+        return handle;
+    }
+
+    private void createFramebuffer() {
+        final int width = this.windowDimensions.getWindowWidth();
+        final int height = this.windowDimensions.getWindowHeight();
+
+        this.colorRenderbuffer = glGenRenderbuffers();
+        glBindRenderbuffer(GL_RENDERBUFFER, this.colorRenderbuffer);
+        glRenderbufferStorage(GL_RENDERBUFFER, GL_RGBA8, width, height);
+
+        this.depthStencilRenderbuffer = glGenRenderbuffers();
+        glBindRenderbuffer(GL_RENDERBUFFER, this.depthStencilRenderbuffer);
+        glRenderbufferStorage(GL_RENDERBUFFER, GL_DEPTH24_STENCIL8, width, height);
+        glBindRenderbuffer(GL_RENDERBUFFER, 0);
+
+        this.framebuffer = glGenFramebuffers();
+        glBindFramebuffer(GL_FRAMEBUFFER, this.framebuffer);
+        glFramebufferRenderbuffer(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_RENDERBUFFER, this.colorRenderbuffer);
+        glFramebufferRenderbuffer(GL_FRAMEBUFFER, GL_DEPTH_STENCIL_ATTACHMENT, GL_RENDERBUFFER,
+                this.depthStencilRenderbuffer);
+        if (glCheckFramebufferStatus(GL_FRAMEBUFFER) != GL_FRAMEBUFFER_COMPLETE) {
+            log.error("Incomplete headless framebuffer ({}x{}).", width, height);
+            throw new RuntimeException("Incomplete headless framebuffer");
+        }
+
+        log.debug("Rendering offscreen at {}x{}.", width, height);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.opengl;
+
+import java.nio.file.Path;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class FrameRecorderSettings {
+
+    private Path output;
+    private RecordingFormat format;
+    private int width, height;
+    private int frameInterval;
+    private int frameRate;
+    private int workerCount;
+    private int queueCapacity;
+
+    /**
+     * Constructor.
+     *
+     * @param output The output directory (PNG sequence) or file (Y4M).
+     * @param format The recording format.
+     * @param width  The width of the recorded frames (the window contents are scaled to it).
+     * @param height The height of the recorded frames.
+     */
+    public FrameRecorderSettings(Path output, RecordingFormat format, int width, int height) {
+        this.output = output;
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.frameInterval = 1;
+        this.frameRate = 60;
+        this.workerCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.queueCapacity = 8;
+    }
+}
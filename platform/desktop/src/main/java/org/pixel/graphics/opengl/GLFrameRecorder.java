@@ -0,0 +1,357 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.opengl;
+
+import static org.lwjgl.opengl.GL11C.GL_COLOR_BUFFER_BIT;
+import static org.lwjgl.opengl.GL11C.GL_LINEAR;
+import static org.lwjgl.opengl.GL11C.GL_NEAREST;
+import static org.lwjgl.opengl.GL11C.GL_RGBA8;
+import static org.lwjgl.opengl.GL11C.glGetInteger;
+import static org.lwjgl.opengl.GL13C.GL_SAMPLE_BUFFERS;
+import static org.lwjgl.opengl.GL30C.GL_COLOR_ATTACHMENT0;
+import static org.lwjgl.opengl.GL30C.GL_DRAW_FRAMEBUFFER;
+import static org.lwjgl.opengl.GL30C.GL_FRAMEBUFFER;
+import static org.lwjgl.opengl.GL30C.GL_FRAMEBUFFER_COMPLETE;
+import static org.lwjgl.opengl.GL30C.GL_READ_FRAMEBUFFER;
+import static org.lwjgl.opengl.GL30C.GL_RENDERBUFFER;
+import static org.lwjgl.opengl.GL30C.glBindFramebuffer;
+import static org.lwjgl.opengl.GL30C.glBindRenderbuffer;
+import static org.lwjgl.opengl.GL30C.glBlitFramebuffer;
+import static org.lwjgl.opengl.GL30C.glCheckFramebufferStatus;
+import static org.lwjgl.opengl.GL30C.glDeleteFramebuffers;
+import static org.lwjgl.opengl.GL30C.glDeleteRenderbuffers;
+import static org.lwjgl.opengl.GL30C.glFramebufferRenderbuffer;
+import static org.lwjgl.opengl.GL30C.glGenFramebuffers;
+import static org.lwjgl.opengl.GL30C.glGenRenderbuffers;
+import static org.lwjgl.opengl.GL30C.glRenderbufferStorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+import org.pixel.core.DesktopWindowManager;
+import org.pixel.graphics.FrameRecorder;
+import org.pixel.io.ImageWriter;
+import org.pixel.io.Y4mWriter;
+
+/**
+ * Frame recorder backed by asynchronous readback. Every Nth frame the window contents are scaled into an offscreen
+ * framebuffer of the recording resolution and read back through a {@link GLPixelReader}; once the pixels arrive they
+ * are handed to a bounded queue processed by worker threads (color conversion and PNG/Y4M encoding). When the
+ * readback ring or the queue is full the frame is dropped (see {@link #getDroppedFrameCount()}), the render thread
+ * never waits for the encoders. Video streams repeat the previous frame in place of the dropped ones, so the stream
+ * keeps one frame per captured frame and plays for as long as the recording.
+ */
+public class GLFrameRecorder implements FrameRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(GLFrameRecorder.class);
+
+    private final DesktopWindowManager windowManager;
+    private final FrameRecorderSettings settings;
+    private final GLPixelReader pixelReader;
+    private final AtomicLong droppedFrames;
+    private final AtomicLong encodedFrames;
+
+    private ThreadPoolExecutor encoder;
+    private Y4mWriter y4mWriter;
+    private boolean recording;
+    private boolean multisampled;
+    private long frameCounter;
+    private long capturedFrames;
+    private long nextStreamFrame; // index of the next captured frame expected by the video stream (encoder thread)
+    private int framebuffer;
+    private int renderbuffer;
+    private int resolveFramebuffer;
+    private int resolveRenderbuffer;
+    private int resolveWidth;
+    private int resolveHeight;
+
+    /**
+     * Constructor.
+     *
+     * @param windowManager The window manager (source of the window dimensions).
+     * @param settings      The recorder settings.
+     */
+    public GLFrameRecorder(DesktopWindowManager windowManager, FrameRecorderSettings settings) {
+        this.windowManager = windowManager;
+        this.settings = settings;
+        this.pixelReader = new GLPixelReader();
+        this.droppedFrames = new AtomicLong();
+        this.encodedFrames = new AtomicLong();
+    }
+
+    @Override
+    public boolean start() {
+        if (recording) {
+            log.warn("Frame recorder already recording.");
+            return false;
+        }
+
+        final int width = settings.getWidth();
+        final int height = settings.getHeight();
+        if (width <= 0 || height <= 0 || settings.getFrameInterval() <= 0 || settings.getQueueCapacity() <= 0) {
+            log.error("Invalid frame recorder settings.");
+            return false;
+        }
+
+        try {
+            if (settings.getFormat() == RecordingFormat.Y4M) {
+                Path parent = settings.getOutput().toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                y4mWriter = new Y4mWriter(settings.getOutput(), width, height, settings.getFrameRate());
+
+            } else {
+                Files.createDirectories(settings.getOutput());
+            }
+
+        } catch (IOException e) {
+            log.error("Unable to create the recording output '{}'.", settings.getOutput(), e);
+            return false;
+        }
+
+        // a stream must be written in order, by a single worker:
+        int workerCount = settings.getFormat() == RecordingFormat.Y4M ? 1 : Math.max(1, settings.getWorkerCount());
+        encoder = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, GLFrameRecorder.class.getSimpleName() + "-encoder");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        // offscreen target at the recording resolution:
+        framebuffer = glGenFramebuffers();
+        renderbuffer = glGenRenderbuffers();
+        createTarget(framebuffer, renderbuffer, width, height);
+        glBindFramebuffer(GL_FRAMEBUFFER, windowManager.getFramebufferId());
+        multisampled = glGetInteger(GL_SAMPLE_BUFFERS) > 0; // queried on the game's framebuffer
+
+        frameCounter = 0;
+        capturedFrames = 0;
+        nextStreamFrame = 0;
+        droppedFrames.set(0);
+        encodedFrames.set(0);
+        recording = true;
+
+        log.info("Recording {}x{} frames to '{}'.", width, height, settings.getOutput());
+        return true;
+    }
+
+    @Override
+    public void stop() {
+        if (!recording) {
+            return;
+        }
+        recording = false;
+
+        // deliver the frames still in flight, then let the workers drain the queue:
+        pixelReader.flush();
+        encoder.shutdown();
+        try {
+            while (!encoder.awaitTermination(1, TimeUnit.SECONDS)) {
+                log.debug("Waiting for {} frame(s) to be encoded.", encoder.getQueue().size());
+            }
+
+        } catch (InterruptedException e) {
+            log.error("Exception caught!", e);
+            Thread.currentThread().interrupt();
+        }
+        encoder = null;
+
+        if (y4mWriter != null) {
+            try {
+                // frames dropped after the last encoded one:
+                if (y4mWriter.getFrameCount() > 0 && capturedFrames > nextStreamFrame) {
+                    y4mWriter.repeatFrame(capturedFrames - nextStreamFrame);
+                }
+                y4mWriter.close();
+
+            } catch (IOException e) {
+                log.error("Unable to close the recording output '{}'.", settings.getOutput(), e);
+            }
+            y4mWriter = null;
+        }
+
+        deleteTargets();
+
+        log.info("Recording stopped: {} frame(s) captured, {} dropped, {} encoded.", capturedFrames,
+                droppedFrames.get(), encodedFrames.get());
+        if (droppedFrames.get() > 0) {
+            log.warn("{} frame(s) dropped while recording, the encoders could not keep up (consider a larger frame "
+                    + "interval, queue capacity or a lower resolution).", droppedFrames.get());
+        }
+    }
+
+    @Override
+    public boolean isRecording() {
+        return recording;
+    }
+
+    @Override
+    public void captureFrame() {
+        if (!recording) {
+            return;
+        }
+
+        pixelReader.poll();
+        if (frameCounter++ % settings.getFrameInterval() != 0) {
+            return;
+        }
+
+        final long frameIndex = capturedFrames++;
+        if (pixelReader.getPendingCount() >= pixelReader.getCapacity()) {
+            droppedFrames.incrementAndGet(); // the readback would block
+            return;
+        }
+
+        var windowDimensions = windowManager.getWindowDimensions();
+        final int windowWidth = windowDimensions.getWindowWidth();
+        final int windowHeight = windowDimensions.getWindowHeight();
+        final int width = settings.getWidth();
+        final int height = settings.getHeight();
+        final boolean scaled = windowWidth != width || windowHeight != height;
+
+        // a multisampled framebuffer can only be blitted at the same size, resolve it first when scaling:
+        final int target = windowManager.getFramebufferId();
+        int source = target;
+        if (multisampled && scaled) {
+            if (resolveFramebuffer == 0 || resolveWidth != windowWidth || resolveHeight != windowHeight) {
+                deleteResolveTarget();
+                resolveFramebuffer = glGenFramebuffers();
+                resolveRenderbuffer = glGenRenderbuffers();
+                resolveWidth = windowWidth;
+                resolveHeight = windowHeight;
+                createTarget(resolveFramebuffer, resolveRenderbuffer, windowWidth, windowHeight);
+            }
+
+            glBindFramebuffer(GL_READ_FRAMEBUFFER, target);
+            glBindFramebuffer(GL_DRAW_FRAMEBUFFER, resolveFramebuffer);
+            glBlitFramebuffer(0, 0, windowWidth, windowHeight, 0, 0, windowWidth, windowHeight,
+                    GL_COLOR_BUFFER_BIT, GL_NEAREST);
+            source = resolveFramebuffer;
+        }
+
+        glBindFramebuffer(GL_READ_FRAMEBUFFER, source);
+        glBindFramebuffer(GL_DRAW_FRAMEBUFFER, framebuffer);
+        glBlitFramebuffer(0, 0, windowWidth, windowHeight, 0, 0, width, height, GL_COLOR_BUFFER_BIT,
+                scaled ? GL_LINEAR : GL_NEAREST);
+
+        glBindFramebuffer(GL_READ_FRAMEBUFFER, framebuffer);
+        pixelReader.request(0, 0, width, height, true).thenAccept(pixels -> submit(frameIndex, pixels));
+        glBindFramebuffer(GL_FRAMEBUFFER, target);
+    }
+
+    @Override
+    public long getCapturedFrameCount() {
+        return capturedFrames;
+    }
+
+    @Override
+    public long getDroppedFrameCount() {
+        return droppedFrames.get();
+    }
+
+    @Override
+    public long getEncodedFrameCount() {
+        return encodedFrames.get();
+    }
+
+    /**
+     * Get the recorder settings (changes apply on the next start).
+     *
+     * @return The recorder settings.
+     */
+    public FrameRecorderSettings getSettings() {
+        return settings;
+    }
+
+    @Override
+    public void dispose() {
+        stop();
+        pixelReader.dispose();
+    }
+
+    private void submit(long frameIndex, byte[] pixels) {
+        try {
+            encoder.execute(() -> encode(frameIndex, pixels));
+
+        } catch (RejectedExecutionException e) {
+            droppedFrames.incrementAndGet(); // the encoders are behind
+            pixelReader.recycle(pixels);
+        }
+    }
+
+    private void encode(long frameIndex, byte[] pixels) {
+        try {
+            final int width = settings.getWidth();
+            final int height = settings.getHeight();
+            if (y4mWriter != null) {
+                try {
+                    // frames are encoded in order; fill the gap left by dropped frames with the previous frame (or
+                    // with this one, when the stream has none yet):
+                    long missing = frameIndex - nextStreamFrame;
+                    if (missing > 0 && y4mWriter.getFrameCount() > 0) {
+                        y4mWriter.repeatFrame(missing);
+                        missing = 0;
+                    }
+                    y4mWriter.writeFrame(pixels, true);
+                    if (missing > 0) {
+                        y4mWriter.repeatFrame(missing);
+                    }
+                    nextStreamFrame = frameIndex + 1;
+                    encodedFrames.incrementAndGet();
+
+                } catch (IOException e) {
+                    log.error("Unable to write frame {}.", frameIndex, e);
+                }
+
+            } else if (ImageWriter.writePng(
+                    settings.getOutput().resolve(String.format("frame_%06d.png", frameIndex)), pixels, width, height,
+                    true)) {
+                encodedFrames.incrementAndGet();
+            }
+        } finally {
+            pixelReader.recycle(pixels); // written; the array can take a later frame
+        }
+    }
+
+    private void createTarget(int framebufferId, int renderbufferId, int width, int height) {
+        glBindRenderbuffer(GL_RENDERBUFFER, renderbufferId);
+        glRenderbufferStorage(GL_RENDERBUFFER, GL_RGBA8, width, height);
+        glBindRenderbuffer(GL_RENDERBUFFER, 0);
+
+        glBindFramebuffer(GL_FRAMEBUFFER, framebufferId);
+        glFramebufferRenderbuffer(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_RENDERBUFFER, renderbufferId);
+        if (glCheckFramebufferStatus(GL_FRAMEBUFFER) != GL_FRAMEBUFFER_COMPLETE) {
+            log.error("Incomplete recording framebuffer ({}x{}).", width, height);
+        }
+        glBindFramebuffer(GL_FRAMEBUFFER, 0);
+    }
+
+    private void deleteTargets() {
+        glDeleteFramebuffers(framebuffer);
+        glDeleteRenderbuffers(renderbuffer);
+        framebuffer = 0;
+        renderbuffer = 0;
+        deleteResolveTarget();
+    }
+
+    private void deleteResolveTarget() {
+        if (resolveFramebuffer != 0) {
+            glDeleteFramebuffers(resolveFramebuffer);
+            glDeleteRenderbuffers(resolveRenderbuffer);
+            resolveFramebuffer = 0;
+            resolveRenderbuffer = 0;
+        }
+    }
+}
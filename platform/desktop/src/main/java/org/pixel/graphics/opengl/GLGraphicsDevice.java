@@ -1,6 +1,5 @@
 package org.pixel.graphics.opengl;
 
-import static org.lwjgl.opengl.GL11C.GL_BLEND;
 import static org.lwjgl.opengl.GL11C.GL_COLOR_BUFFER_BIT;
 import static org.lwjgl.opengl.GL11C.GL_CULL_FACE;
 import static org.lwjgl.opengl.GL11C.GL_DEPTH_BUFFER_BIT;
@@ -14,31 +13,52 @@ import static org.lwjgl.opengl.GL11C.GL_STENCIL_TEST;
 import static org.lwjgl.opengl.GL11C.GL_UNSIGNED_BYTE;
 import static org.lwjgl.opengl.GL11C.GL_VENDOR;
 import static org.lwjgl.opengl.GL11C.GL_VERSION;
-import static org.lwjgl.opengl.GL11C.glBlendFunc;
 import static org.lwjgl.opengl.GL11C.glClear;
 import static org.lwjgl.opengl.GL11C.glClearColor;
 import static org.lwjgl.opengl.GL11C.glDisable;
 import static org.lwjgl.opengl.GL11C.glEnable;
 import static org.lwjgl.opengl.GL11C.glGetString;
 import static org.lwjgl.opengl.GL11C.glReadPixels;
-import static org.lwjgl.opengl.GL11C.glViewport;
+import static org.lwjgl.opengl.GL11C.glGetInteger;
 import static org.lwjgl.opengl.GL13C.GL_MULTISAMPLE;
+import static org.lwjgl.opengl.GL20C.GL_MAX_TEXTURE_IMAGE_UNITS;
 import static org.lwjgl.system.MemoryUtil.memAlloc;
 import static org.lwjgl.system.MemoryUtil.memFree;
 
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.lwjgl.opengl.GL;
 import org.lwjgl.opengl.GLUtil;
 import org.lwjgl.system.Callback;
 import org.lwjgl.system.Configuration;
 import org.pixel.commons.Color;
+import org.pixel.commons.DeltaTime;
 import org.pixel.commons.lifecycle.State;
 import org.pixel.commons.logger.Logger;
 import org.pixel.commons.logger.LoggerFactory;
 import org.pixel.core.DesktopWindowManager;
 import org.pixel.core.WindowSettings;
 import org.pixel.graphics.GraphicsDevice;
+import org.pixel.graphics.shader.opengl.GLCameraUniformBuffer;
+import org.pixel.graphics.shader.opengl.GLFrameUniformBuffer;
+import org.pixel.graphics.shader.opengl.GLMultiTextureShader;
+import org.pixel.graphics.shader.opengl.GLPrimitiveShader;
+import org.pixel.graphics.shader.opengl.GLProgramCache;
+import org.pixel.graphics.shader.opengl.GLRenderBufferShader;
+import org.pixel.graphics.shader.opengl.GLShader;
+import org.pixel.graphics.shader.opengl.GLShaderSource;
+import org.pixel.graphics.shader.opengl.GLTextureShader;
+import org.pixel.graphics.shader.opengl.effect.GLBorderEffectShader;
+import org.pixel.graphics.shader.opengl.effect.GLNoiseEffectShader;
+import org.pixel.graphics.shader.opengl.effect.GLOverlayEffectShader;
+import org.pixel.graphics.shader.opengl.effect.GLPixelerEffectShader;
+import org.pixel.graphics.shader.opengl.effect.GLSepiaEffectShader;
+import org.pixel.io.ImageWriter;
 
 public class GLGraphicsDevice implements GraphicsDevice {
 
@@ -49,6 +69,9 @@ public class GLGraphicsDevice implements GraphicsDevice {
 
     private State state;
     private Callback debugLocalCallback;
+    private long startTime;
+    private GLPixelReader pixelReader;
+    private ExecutorService imageEncoder;
 
     /**
      * Constructor
@@ -73,7 +96,7 @@ public class GLGraphicsDevice implements GraphicsDevice {
 
         // Update viewport dimensions
         var windowDimensions = this.windowManager.getWindowDimensions();
-        glViewport(0, 0, windowDimensions.getWindowWidth(), windowDimensions.getWindowHeight());
+        GLStateCache.viewport(0, 0, windowDimensions.getWindowWidth(), windowDimensions.getWindowHeight());
         // TODO: call glViewport when window is resized (sync with window manager)
 
         // Debug-specific initialization
@@ -84,6 +107,12 @@ public class GLGraphicsDevice implements GraphicsDevice {
             Configuration.DISABLE_CHECKS.set(true);
         }
 
+        // Build the engine programs up front (reloaded from their binaries when cached):
+        this.initShaderPrograms();
+
+        // Shared frame data starts counting time from here:
+        this.startTime = System.nanoTime();
+
         // Set base clear color:
         setClearColor(windowSettings.getBackgroundColor());
 
@@ -103,9 +132,40 @@ public class GLGraphicsDevice implements GraphicsDevice {
             this.debugLocalCallback.free();
         }
 
+        if (this.pixelReader != null) {
+            this.pixelReader.dispose();
+            this.pixelReader = null;
+        }
+
+        if (this.imageEncoder != null) {
+            this.imageEncoder.shutdown(); // pending screenshots are completed in the background
+            this.imageEncoder = null;
+        }
+
+        GLFrameUniformBuffer.dispose();
+        GLCameraUniformBuffer.dispose();
+        GLShader.setProgramCache(null);
+
         this.state = State.DISPOSED;
     }
 
+    @Override
+    public void beginFrame(DeltaTime delta) {
+        if (this.pixelReader != null) {
+            this.pixelReader.poll();
+        }
+
+        var windowDimensions = this.windowManager.getWindowDimensions();
+        // fixed steps (e.g. headless or golden-image runs) use the summed steps so time-animated shaders are
+        // deterministic:
+        GLFrameUniformBuffer.setTime(delta != null && delta.isFixedStep()
+                ? delta.getTotalElapsed()
+                : (System.nanoTime() - startTime) / 1_000_000_000.0f);
+        GLFrameUniformBuffer.setViewport(windowDimensions.getWindowWidth(), windowDimensions.getWindowHeight());
+        GLFrameUniformBuffer.upload();
+        GLCameraUniformBuffer.beginFrame();
+    }
+
     @Override
     public void clear() {
         glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT | GL_STENCIL_BUFFER_BIT);
@@ -118,26 +178,87 @@ public class GLGraphicsDevice implements GraphicsDevice {
 
     @Override
     public byte[] readPixels(int sx, int sy, int width, int height, boolean opaque) {
-        final int stride = width * 4;
-
         ByteBuffer imageBuffer = memAlloc(width * height * 4);
-        glReadPixels(0, 0, width, height, GL_RGBA, GL_UNSIGNED_BYTE, imageBuffer);
+        glReadPixels(sx, sy, width, height, GL_RGBA, GL_UNSIGNED_BYTE, imageBuffer);
+
+        // direct buffers have no backing array, copy out:
+        byte[] data = new byte[imageBuffer.remaining()];
+        imageBuffer.get(data);
+        memFree(imageBuffer);
 
         if (opaque) {
-            for (int y = 0, x; y < height; y++) {
-                int row = y * stride;
-                for (x = 0; x < width; x++) {
-                    imageBuffer.put(row + x * 4 + 3, (byte) 255);
-                }
+            for (int i = 3; i < data.length; i += 4) {
+                data[i] = (byte) 255;
             }
         }
 
-        var data = imageBuffer.array();
-        memFree(imageBuffer);
-
         return data;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The region is copied into a pixel pack buffer and mapped a frame or two later (see {@link GLPixelReader}), so
+     * the render thread does not wait for the GPU. The future completes on the render thread.
+     */
+    @Override
+    public CompletableFuture<byte[]> readPixelsAsync(int sx, int sy, int width, int height, boolean opaque) {
+        if (this.pixelReader == null) {
+            this.pixelReader = new GLPixelReader();
+        }
+
+        return this.pixelReader.request(sx, sy, width, height, opaque);
+    }
+
+    /**
+     * Capture the window contents into a PNG file. The pixels are read back asynchronously and encoded on a
+     * background thread, so the capture causes no frame hitch. Call after drawing the frame to be captured.
+     *
+     * @param file The output file.
+     * @return A future completed once the file is written (true) or failed to be written (false).
+     */
+    public CompletableFuture<Boolean> captureScreenshot(Path file) {
+        if (this.imageEncoder == null) {
+            this.imageEncoder = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, GLGraphicsDevice.class.getSimpleName() + "-encoder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        var windowDimensions = this.windowManager.getWindowDimensions();
+        final int width = windowDimensions.getWindowWidth();
+        final int height = windowDimensions.getWindowHeight();
+
+        return readPixelsAsync(0, 0, width, height, true)
+                .thenApplyAsync(pixels -> ImageWriter.writePng(file, pixels, width, height, true), imageEncoder);
+    }
+
+    private void initShaderPrograms() {
+        // every engine shader source is loaded at once here, rather than when each shader is first created (same
+        // texture count as the default sprite batch):
+        int textureUnits = Math.max(glGetInteger(GL_MAX_TEXTURE_IMAGE_UNITS), 1);
+        List<GLShaderSource> sources = List.of(
+                GLMultiTextureShader.getSource(textureUnits),
+                GLPrimitiveShader.getSource(),
+                GLTextureShader.getSource(),
+                GLRenderBufferShader.getSource(),
+                GLBorderEffectShader.getSource(),
+                GLNoiseEffectShader.getSource(),
+                GLOverlayEffectShader.getSource(),
+                GLPixelerEffectShader.getSource(),
+                GLSepiaEffectShader.getSource());
+
+        if (!GLProgramCache.isSupported()) {
+            log.debug("Program binaries are not supported; shaders are compiled on creation.");
+            return;
+        }
+
+        String cacheDirectory = this.windowSettings.getShaderCacheDirectory();
+        GLShader.setProgramCache(new GLProgramCache(cacheDirectory != null ? Path.of(cacheDirectory) : null));
+        GLShader.precompile(sources);
+    }
+
     private void initGLCapabilities() {
         // This line is critical for LWJGL's interoperation with GLFW's OpenGL context,
         // or any context that is managed
@@ -148,7 +269,8 @@ public class GLGraphicsDevice implements GraphicsDevice {
 
         glDisable(GL_CULL_FACE);
         glDisable(GL_DEPTH_TEST);
-        glEnable(GL_BLEND);
+        GLStateCache.invalidate(); // new context
+        GLStateCache.setBlendEnabled(true);
         if (this.windowSettings.getMultisampling() > 0) {
             glEnable(GL_MULTISAMPLE);
 
@@ -156,6 +278,6 @@ public class GLGraphicsDevice implements GraphicsDevice {
             glDisable(GL_MULTISAMPLE);
         }
         glEnable(GL_STENCIL_TEST);
-        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
     }
 }
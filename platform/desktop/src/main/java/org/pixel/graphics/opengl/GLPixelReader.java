@@ -0,0 +1,244 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.opengl;
+
+import static org.lwjgl.opengl.GL11C.GL_RGBA;
+import static org.lwjgl.opengl.GL11C.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL11C.glReadPixels;
+import static org.lwjgl.opengl.GL15C.GL_READ_ONLY;
+import static org.lwjgl.opengl.GL15C.GL_STREAM_READ;
+import static org.lwjgl.opengl.GL15C.glBindBuffer;
+import static org.lwjgl.opengl.GL15C.glBufferData;
+import static org.lwjgl.opengl.GL15C.glDeleteBuffers;
+import static org.lwjgl.opengl.GL15C.glGenBuffers;
+import static org.lwjgl.opengl.GL15C.glMapBuffer;
+import static org.lwjgl.opengl.GL15C.glUnmapBuffer;
+import static org.lwjgl.opengl.GL21C.GL_PIXEL_PACK_BUFFER;
+import static org.lwjgl.opengl.GL32C.GL_ALREADY_SIGNALED;
+import static org.lwjgl.opengl.GL32C.GL_CONDITION_SATISFIED;
+import static org.lwjgl.opengl.GL32C.GL_SYNC_FLUSH_COMMANDS_BIT;
+import static org.lwjgl.opengl.GL32C.GL_SYNC_GPU_COMMANDS_COMPLETE;
+import static org.lwjgl.opengl.GL32C.GL_TIMEOUT_EXPIRED;
+import static org.lwjgl.opengl.GL32C.glClientWaitSync;
+import static org.lwjgl.opengl.GL32C.glDeleteSync;
+import static org.lwjgl.opengl.GL32C.glFenceSync;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import org.pixel.commons.lifecycle.Disposable;
+
+/**
+ * Asynchronous framebuffer readback through a ring of pixel pack buffers. A request only queues the copy on the GPU
+ * (glReadPixels into a buffer object followed by a fence); the data is mapped once the fence has signaled, typically
+ * a frame or two later, when {@link #poll()} is called. When every buffer of the ring is in flight the oldest request
+ * is completed first (blocking), so the ring never grows.
+ * <p>
+ * Pixels are delivered in RGBA chunk format, bottom row first (framebuffer order), like
+ * {@link GLGraphicsDevice#readPixels(int, int, int, int, boolean)}. Futures are completed on the render thread;
+ * heavy consumers (e.g. image encoding) should continue on another executor. Consumers that read back continuously
+ * (e.g. frame recording) should hand the pixel arrays back with {@link #recycle(byte[])} once done with them, so
+ * later readbacks reuse them instead of allocating a new array per frame.
+ */
+public class GLPixelReader implements Disposable {
+
+    private static final int DEFAULT_RING_SIZE = 3;
+    private static final int POOL_CAPACITY = 8; // idle pixel arrays kept for reuse
+
+    private final int[] buffers;
+    private final int[] bufferSizes;
+    private final ArrayDeque<Request> pending;
+    private final ArrayBlockingQueue<byte[]> pixelPool = new ArrayBlockingQueue<>(POOL_CAPACITY); // any thread
+    private int nextBuffer;
+
+    /**
+     * Constructor.
+     */
+    public GLPixelReader() {
+        this(DEFAULT_RING_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ringSize The number of pixel pack buffers (maximum number of requests in flight).
+     */
+    public GLPixelReader(int ringSize) {
+        if (ringSize <= 0) {
+            throw new IllegalArgumentException("Invalid ring size, must be greater than zero");
+        }
+
+        this.buffers = new int[ringSize];
+        this.bufferSizes = new int[ringSize];
+        this.pending = new ArrayDeque<>(ringSize);
+    }
+
+    /**
+     * Queue the readback of a framebuffer region (read from the current read buffer).
+     *
+     * @param x      The x coordinate.
+     * @param y      The y coordinate.
+     * @param width  The width.
+     * @param height The height.
+     * @param opaque True if the alpha channel should be opaque, false otherwise.
+     * @return A future completed with the pixels (RGBA chunk format) once they are available.
+     */
+    public CompletableFuture<byte[]> request(int x, int y, int width, int height, boolean opaque) {
+        if (pending.size() == buffers.length) {
+            complete(pending.poll(), true); // ring exhausted, wait for the oldest request
+        }
+
+        int index = nextBuffer;
+        nextBuffer = (nextBuffer + 1) % buffers.length;
+        if (buffers[index] == 0) {
+            buffers[index] = glGenBuffers();
+        }
+
+        int size = width * height * 4;
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, buffers[index]);
+        if (bufferSizes[index] < size) {
+            glBufferData(GL_PIXEL_PACK_BUFFER, size, GL_STREAM_READ);
+            bufferSizes[index] = size;
+        }
+        glReadPixels(x, y, width, height, GL_RGBA, GL_UNSIGNED_BYTE, 0L);
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, 0);
+
+        var request = new Request(index, size, opaque, glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0));
+        pending.add(request);
+
+        return request.future;
+    }
+
+    /**
+     * Complete the requests whose data is available, without blocking (call once per frame).
+     */
+    public void poll() {
+        while (!pending.isEmpty() && complete(pending.peek(), false)) {
+            pending.poll();
+        }
+    }
+
+    /**
+     * Complete all pending requests, blocking until their data is available.
+     */
+    public void flush() {
+        while (!pending.isEmpty()) {
+            complete(pending.poll(), true);
+        }
+    }
+
+    /**
+     * Hand back a pixel array delivered by this reader, once it is no longer used (can be called from any thread).
+     * Following readbacks of the same size reuse it.
+     *
+     * @param pixels The pixel array.
+     */
+    public void recycle(byte[] pixels) {
+        pixelPool.offer(pixels); // dropped when the pool is full
+    }
+
+    /**
+     * Get the maximum number of requests in flight (further requests block until the oldest completes).
+     *
+     * @return The ring size.
+     */
+    public int getCapacity() {
+        return buffers.length;
+    }
+
+    /**
+     * Get the number of requests in flight.
+     *
+     * @return The number of pending requests.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void dispose() {
+        while (!pending.isEmpty()) {
+            Request request = pending.poll();
+            glDeleteSync(request.fence);
+            request.future.completeExceptionally(new IllegalStateException("Pixel reader disposed."));
+        }
+
+        for (int i = 0; i < buffers.length; i++) {
+            if (buffers[i] != 0) {
+                glDeleteBuffers(buffers[i]);
+                buffers[i] = 0;
+                bufferSizes[i] = 0;
+            }
+        }
+    }
+
+    private boolean complete(Request request, boolean wait) {
+        int status = glClientWaitSync(request.fence, GL_SYNC_FLUSH_COMMANDS_BIT, wait ? Long.MAX_VALUE : 0L);
+        if (status == GL_TIMEOUT_EXPIRED && !wait) {
+            return false;
+        }
+        glDeleteSync(request.fence);
+
+        if (status != GL_ALREADY_SIGNALED && status != GL_CONDITION_SATISFIED) {
+            request.future.completeExceptionally(new IllegalStateException("Pixel readback fence failed."));
+            return true;
+        }
+
+        byte[] data = obtainPixels(request.size);
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, buffers[request.buffer]);
+        ByteBuffer mapped = glMapBuffer(GL_PIXEL_PACK_BUFFER, GL_READ_ONLY, request.size, null);
+        if (mapped != null) {
+            mapped.get(data);
+            glUnmapBuffer(GL_PIXEL_PACK_BUFFER);
+        }
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, 0);
+
+        if (mapped == null) {
+            recycle(data);
+            request.future.completeExceptionally(new IllegalStateException("Unable to map the pixel pack buffer."));
+            return true;
+        }
+
+        if (request.opaque) {
+            for (int i = 3; i < data.length; i += 4) {
+                data[i] = (byte) 255;
+            }
+        }
+        request.future.complete(data);
+
+        return true;
+    }
+
+    private byte[] obtainPixels(int size) {
+        byte[] pixels;
+        while ((pixels = pixelPool.poll()) != null) {
+            if (pixels.length == size) {
+                return pixels;
+            }
+            // discard arrays of a previous size (e.g. after a resize)
+        }
+
+        return new byte[size];
+    }
+
+    private static class Request {
+
+        private final int buffer;
+        private final int size;
+        private final boolean opaque;
+        private final long fence;
+        private final CompletableFuture<byte[]> future;
+
+        Request(int buffer, int size, boolean opaque, long fence) {
+            this.buffer = buffer;
+            this.size = size;
+            this.opaque = opaque;
+            this.fence = fence;
+            this.future = new CompletableFuture<>();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.opengl;
+
+import static org.lwjgl.opengl.GL11C.GL_BLEND;
+import static org.lwjgl.opengl.GL11C.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL11C.glBindTexture;
+import static org.lwjgl.opengl.GL11C.glBlendFunc;
+import static org.lwjgl.opengl.GL11C.glDisable;
+import static org.lwjgl.opengl.GL11C.glEnable;
+import static org.lwjgl.opengl.GL11C.glViewport;
+import static org.lwjgl.opengl.GL13C.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13C.glActiveTexture;
+import static org.lwjgl.opengl.GL15C.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15C.glBindBuffer;
+import static org.lwjgl.opengl.GL20C.glUseProgram;
+import static org.lwjgl.opengl.GL30C.glBindVertexArray;
+
+import java.util.Arrays;
+
+/**
+ * Shadow copy of the OpenGL state changed by the engine (program, vertex array, array buffer, 2D texture per unit,
+ * blend state and viewport), used to skip calls that would not change anything. Every engine bind goes through
+ * this class; code that changes the same state behind its back (e.g. NanoVG, raw GL calls in games) must call
+ * {@link #invalidate()} before the engine renders again.
+ * <p>
+ * The element array buffer binding belongs to the bound vertex array, so it is not tracked here.
+ */
+public class GLStateCache {
+
+    //region Fields & Properties
+
+    private static final int UNKNOWN = -1;
+    private static final int MAX_TRACKED_TEXTURE_UNITS = 32;
+
+    private static final int[] textures = new int[MAX_TRACKED_TEXTURE_UNITS];
+    private static int program = UNKNOWN;
+    private static int vertexArray = UNKNOWN;
+    private static int arrayBuffer = UNKNOWN;
+    private static int activeTextureUnit = UNKNOWN;
+    private static int blendEnabled = UNKNOWN;
+    private static int blendSrcFactor = UNKNOWN;
+    private static int blendDstFactor = UNKNOWN;
+    private static int viewportX = UNKNOWN;
+    private static int viewportY = UNKNOWN;
+    private static int viewportWidth = UNKNOWN;
+    private static int viewportHeight = UNKNOWN;
+
+    private static long issuedCalls;
+    private static long elidedCalls;
+
+    static {
+        Arrays.fill(textures, UNKNOWN);
+    }
+
+    //endregion
+
+    //region Constructors
+
+    private GLStateCache() {
+        // no instantiation allowed
+    }
+
+    //endregion
+
+    //region Public Functions
+
+    /**
+     * Forget the tracked state, so the next call of each kind reaches the driver.
+     */
+    public static void invalidate() {
+        Arrays.fill(textures, UNKNOWN);
+        program = UNKNOWN;
+        vertexArray = UNKNOWN;
+        arrayBuffer = UNKNOWN;
+        activeTextureUnit = UNKNOWN;
+        blendEnabled = UNKNOWN;
+        blendSrcFactor = UNKNOWN;
+        blendDstFactor = UNKNOWN;
+        viewportX = UNKNOWN;
+        viewportY = UNKNOWN;
+        viewportWidth = UNKNOWN;
+        viewportHeight = UNKNOWN;
+    }
+
+    /**
+     * Use a shader program.
+     *
+     * @param programId The native program id.
+     */
+    public static void useProgram(int programId) {
+        if (program == programId) {
+            elidedCalls++;
+            return;
+        }
+
+        glUseProgram(programId);
+        program = programId;
+        issuedCalls++;
+    }
+
+    /**
+     * Bind a vertex array object.
+     *
+     * @param vertexArrayId The native vertex array id (0 to unbind).
+     */
+    public static void bindVertexArray(int vertexArrayId) {
+        if (vertexArray == vertexArrayId) {
+            elidedCalls++;
+            return;
+        }
+
+        glBindVertexArray(vertexArrayId);
+        vertexArray = vertexArrayId;
+        issuedCalls++;
+    }
+
+    /**
+     * Bind a buffer object (only the {@code GL_ARRAY_BUFFER} target is tracked).
+     *
+     * @param target   The target.
+     * @param bufferId The native buffer id (0 to unbind).
+     */
+    public static void bindBuffer(int target, int bufferId) {
+        if (target == GL_ARRAY_BUFFER) {
+            if (arrayBuffer == bufferId) {
+                elidedCalls++;
+                return;
+            }
+            arrayBuffer = bufferId;
+        }
+
+        glBindBuffer(target, bufferId);
+        issuedCalls++;
+    }
+
+    /**
+     * Select the active texture unit.
+     *
+     * @param unit The texture unit index (0 based, not {@code GL_TEXTURE0} based).
+     */
+    public static void activeTexture(int unit) {
+        if (activeTextureUnit == unit) {
+            elidedCalls++;
+            return;
+        }
+
+        glActiveTexture(GL_TEXTURE0 + unit);
+        activeTextureUnit = unit;
+        issuedCalls++;
+    }
+
+    /**
+     * Bind a 2D texture to the active texture unit.
+     *
+     * @param textureId The native texture id (0 to unbind).
+     */
+    public static void bindTexture(int textureId) {
+        int unit = activeTextureUnit;
+        if (unit >= 0 && unit < MAX_TRACKED_TEXTURE_UNITS) {
+            if (textures[unit] == textureId) {
+                elidedCalls++;
+                return;
+            }
+            textures[unit] = textureId;
+        }
+
+        glBindTexture(GL_TEXTURE_2D, textureId);
+        issuedCalls++;
+    }
+
+    /**
+     * Bind a 2D texture to a texture unit (the unit becomes the active one unless the binding is already current).
+     *
+     * @param unit      The texture unit index (0 based).
+     * @param textureId The native texture id (0 to unbind).
+     */
+    public static void bindTexture(int unit, int textureId) {
+        if (unit < MAX_TRACKED_TEXTURE_UNITS && textures[unit] == textureId) {
+            elidedCalls += 2; // the unit switch is skipped as well
+            return;
+        }
+
+        activeTexture(unit);
+        bindTexture(textureId);
+    }
+
+    /**
+     * Enable or disable blending.
+     *
+     * @param enabled True to enable blending.
+     */
+    public static void setBlendEnabled(boolean enabled) {
+        int value = enabled ? 1 : 0;
+        if (blendEnabled == value) {
+            elidedCalls++;
+            return;
+        }
+
+        if (enabled) {
+            glEnable(GL_BLEND);
+        } else {
+            glDisable(GL_BLEND);
+        }
+        blendEnabled = value;
+        issuedCalls++;
+    }
+
+    /**
+     * Set the blend function.
+     *
+     * @param srcFactor The source factor.
+     * @param dstFactor The destination factor.
+     */
+    public static void blendFunc(int srcFactor, int dstFactor) {
+        if (blendSrcFactor == srcFactor && blendDstFactor == dstFactor) {
+            elidedCalls++;
+            return;
+        }
+
+        glBlendFunc(srcFactor, dstFactor);
+        blendSrcFactor = srcFactor;
+        blendDstFactor = dstFactor;
+        issuedCalls++;
+    }
+
+    /**
+     * Set the viewport.
+     *
+     * @param x      The x position.
+     * @param y      The y position.
+     * @param width  The width.
+     * @param height The height.
+     */
+    public static void viewport(int x, int y, int width, int height) {
+        if (viewportX == x && viewportY == y && viewportWidth == width && viewportHeight == height) {
+            elidedCalls++;
+            return;
+        }
+
+        glViewport(x, y, width, height);
+        viewportX = x;
+        viewportY = y;
+        viewportWidth = width;
+        viewportHeight = height;
+        issuedCalls++;
+    }
+
+    /**
+     * Notify that a program is about to be deleted (its id may be reused by the driver).
+     *
+     * @param programId The native program id.
+     */
+    public static void onDeleteProgram(int programId) {
+        if (program == programId) {
+            program = UNKNOWN;
+        }
+    }
+
+    /**
+     * Notify that a vertex array object is about to be deleted (its id may be reused by the driver).
+     *
+     * @param vertexArrayId The native vertex array id.
+     */
+    public static void onDeleteVertexArray(int vertexArrayId) {
+        if (vertexArray == vertexArrayId) {
+            vertexArray = UNKNOWN;
+        }
+    }
+
+    /**
+     * Notify that a buffer object is about to be deleted (its id may be reused by the driver).
+     *
+     * @param bufferId The native buffer id.
+     */
+    public static void onDeleteBuffer(int bufferId) {
+        if (arrayBuffer == bufferId) {
+            arrayBuffer = UNKNOWN;
+        }
+    }
+
+    /**
+     * Notify that a texture is about to be deleted (its id may be reused by the driver).
+     *
+     * @param textureId The native texture id.
+     */
+    public static void onDeleteTexture(int textureId) {
+        for (int i = 0; i < MAX_TRACKED_TEXTURE_UNITS; i++) {
+            if (textures[i] == textureId) {
+                textures[i] = UNKNOWN;
+            }
+        }
+    }
+
+    /**
+     * Get the number of state calls forwarded to the driver.
+     *
+     * @return The number of issued calls.
+     */
+    public static long getIssuedCalls() {
+        return issuedCalls;
+    }
+
+    /**
+     * Get the number of state calls skipped because the state was already current.
+     *
+     * @return The number of elided calls.
+     */
+    public static long getElidedCalls() {
+        return elidedCalls;
+    }
+
+    /**
+     * Reset the issued/elided call counters.
+     */
+    public static void resetCounters() {
+        issuedCalls = 0;
+        elidedCalls = 0;
+    }
+
+    //endregion
+}
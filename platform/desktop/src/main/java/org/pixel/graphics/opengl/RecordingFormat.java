@@ -0,0 +1,17 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.opengl;
+
+public enum RecordingFormat {
+    /**
+     * One PNG file per frame (frames are encoded in parallel).
+     */
+    PNG_SEQUENCE,
+    /**
+     * A single raw YUV4MPEG2 video stream (frames are encoded in order by a single worker).
+     */
+    Y4M
+}
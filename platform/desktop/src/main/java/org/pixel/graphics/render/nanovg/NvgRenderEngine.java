@@ -12,7 +12,12 @@ import org.pixel.commons.Color;
 import org.pixel.commons.attribute.HorizontalAlignment;
 import org.pixel.commons.attribute.Solidity;
 import org.pixel.commons.attribute.VerticalAlignment;
+import org.pixel.graphics.opengl.GLStateCache;
 import org.pixel.graphics.render.RenderEngine2D;
+import org.pixel.graphics.render.shape.ShapeMesh;
+import org.pixel.graphics.render.shape.VectorShape;
+import org.pixel.graphics.shader.opengl.GLCameraUniformBuffer;
+import org.pixel.graphics.shader.opengl.GLPrimitiveShader;
 import org.pixel.math.Matrix4;
 import org.pixel.math.Rectangle;
 import org.pixel.math.Size;
@@ -24,6 +29,8 @@ import java.util.HashMap;
 
 import static org.lwjgl.nanovg.NanoVG.*;
 import static org.lwjgl.nanovg.NanoVGGL3.*;
+import static org.lwjgl.opengl.GL11C.GL_ONE_MINUS_SRC_ALPHA;
+import static org.lwjgl.opengl.GL11C.GL_SRC_ALPHA;
 
 public class NvgRenderEngine extends RenderEngine2D {
 
@@ -37,6 +44,10 @@ public class NvgRenderEngine extends RenderEngine2D {
 
     private String prevFontName = null;
 
+    private final float[] currentTransform = new float[6];
+    private final float[] shapeMatrix = new float[16];
+    private GLPrimitiveShader shapeShader;
+
     private final long ctx;
 
     /**
@@ -50,6 +61,7 @@ public class NvgRenderEngine extends RenderEngine2D {
         this.fontMapping = new HashMap<>();
         this.fontBufferMapping = new HashMap<>();
         this.ctx = nvgCreate(NVG_ANTIALIAS | NVG_STENCIL_STROKES);
+        GLStateCache.invalidate();
     }
 
     @Override
@@ -60,6 +72,7 @@ public class NvgRenderEngine extends RenderEngine2D {
     @Override
     public void end() {
         nvgEndFrame(ctx);
+        GLStateCache.invalidate(); // nanovg renders with its own program, buffers, textures and blend state
     }
 
     @Override
@@ -190,6 +203,7 @@ public class NvgRenderEngine extends RenderEngine2D {
     @Override
     public void fillText(String text, float x, float y, float maxRowWidth) {
         nvgTextBox(ctx, x, y, maxRowWidth, text);
+        GLStateCache.invalidate(); // glyph atlas updates bind the atlas texture
     }
 
     @Override
@@ -235,6 +249,55 @@ public class NvgRenderEngine extends RenderEngine2D {
         nvgClosePath(ctx);
     }
 
+    @Override
+    public VectorShape createShape(ShapeMesh mesh) {
+        if (shapeShader == null) {
+            shapeShader = new GLPrimitiveShader();
+        }
+
+        return new NvgVectorShape(mesh, shapeShader);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Retained shapes are drawn immediately while NanoVG renders its paths at {@link #end()}, so within a frame they
+     * appear beneath the NanoVG content (e.g. panel backgrounds under NanoVG text).
+     */
+    @Override
+    public void drawShape(VectorShape shape, Matrix4 transform) {
+        // shape transform followed by the current nanovg transform (x' = ax + cy + e, y' = bx + dy + f):
+        float[][] s = transform.toUnsafeArray();
+        float[] t = currentTransform;
+        nvgCurrentTransform(ctx, t);
+        float a = t[0] * s[0][0] + t[2] * s[0][1];
+        float b = t[1] * s[0][0] + t[3] * s[0][1];
+        float c = t[0] * s[1][0] + t[2] * s[1][1];
+        float d = t[1] * s[1][0] + t[3] * s[1][1];
+        float e = t[0] * s[3][0] + t[2] * s[3][1] + t[4];
+        float f = t[1] * s[3][0] + t[3] * s[3][1] + t[5];
+
+        // followed by the viewport orthographic projection (column major, y-axis pointing down):
+        float sx = 2.0f / viewportDimensions.getWidth();
+        float sy = -2.0f / viewportDimensions.getHeight();
+        float[] matrix = shapeMatrix;
+        matrix[0] = a * sx;
+        matrix[1] = b * sy;
+        matrix[4] = c * sx;
+        matrix[5] = d * sy;
+        matrix[10] = 1.0f;
+        matrix[12] = e * sx - 1.0f;
+        matrix[13] = f * sy + 1.0f;
+        matrix[15] = 1.0f;
+
+        GLStateCache.setBlendEnabled(true);
+        GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        shapeShader.use();
+        // the shape transform gets its own camera slot, open batches select theirs again before drawing:
+        GLCameraUniformBuffer.bind(GLCameraUniformBuffer.push(matrix));
+        ((NvgVectorShape) shape).draw();
+    }
+
     @Override
     public void setSolidity(Solidity solidity) {
         nvgPathWinding(ctx, convert(solidity));
@@ -242,6 +305,9 @@ public class NvgRenderEngine extends RenderEngine2D {
 
     @Override
     public void dispose() {
+        if (shapeShader != null) {
+            shapeShader.dispose();
+        }
         nvgDelete(ctx);
     }
 
@@ -0,0 +1,116 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.render.nanovg;
+
+import static org.lwjgl.opengl.GL11C.GL_FLOAT;
+import static org.lwjgl.opengl.GL11C.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL11C.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL11C.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL11C.glDrawElements;
+import static org.lwjgl.opengl.GL15C.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15C.GL_STATIC_DRAW;
+import static org.lwjgl.opengl.GL20C.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20C.glVertexAttribPointer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import org.lwjgl.system.MemoryUtil;
+import org.pixel.graphics.render.shape.ShapeMesh;
+import org.pixel.graphics.render.shape.VectorShape;
+import org.pixel.graphics.shader.opengl.GLElementBufferObject;
+import org.pixel.graphics.shader.opengl.GLPrimitiveShader;
+import org.pixel.graphics.shader.opengl.GLVertexArrayObject;
+import org.pixel.graphics.shader.opengl.GLVertexBufferObject;
+
+/**
+ * Shape mesh uploaded once into static GPU buffers (same vertex layout as the primitive batch: position and
+ * normalized byte color).
+ */
+public class NvgVectorShape implements VectorShape {
+
+    private static final int VERTEX_STRIDE = 12; // position (2 floats) + color (4 normalized bytes)
+
+    private final GLVertexArrayObject vao;
+    private final GLVertexBufferObject vbo;
+    private final GLElementBufferObject ebo;
+    private final int indexCount;
+
+    /**
+     * Constructor.
+     *
+     * @param mesh   The mesh to upload.
+     * @param shader The shader used to draw the shape.
+     */
+    public NvgVectorShape(ShapeMesh mesh, GLPrimitiveShader shader) {
+        this.indexCount = mesh.getIndexCount();
+        this.vao = new GLVertexArrayObject();
+        this.vbo = new GLVertexBufferObject();
+        this.ebo = new GLElementBufferObject();
+
+        ByteBuffer vertexData = MemoryUtil.memAlloc(Math.max(mesh.getVertexCount(), 1) * VERTEX_STRIDE);
+        IntBuffer indexData = MemoryUtil.memAllocInt(Math.max(indexCount, 1));
+        try {
+            boolean littleEndian = vertexData.order() == ByteOrder.LITTLE_ENDIAN;
+            for (int i = 0; i < mesh.getVertexCount(); i++) {
+                // the color attribute reads bytes in r, g, b, a order:
+                int rgba = mesh.getColor(i);
+                vertexData.putFloat(mesh.getX(i));
+                vertexData.putFloat(mesh.getY(i));
+                vertexData.putInt(littleEndian ? Integer.reverseBytes(rgba) : rgba);
+            }
+            for (int i = 0; i < indexCount; i++) {
+                indexData.put(mesh.getIndex(i));
+            }
+            vertexData.flip();
+            indexData.flip();
+
+            int aVertexPosition = shader.getAttributeLocation("aVertexPosition");
+            int aVertexColor = shader.getAttributeLocation("aVertexColor");
+
+            vao.bind();
+            vbo.bind(GL_ARRAY_BUFFER);
+            vbo.uploadData(GL_ARRAY_BUFFER, vertexData, GL_STATIC_DRAW);
+            ebo.bind(); // recorded in the vao
+            ebo.uploadData(indexData, GL_STATIC_DRAW);
+
+            glEnableVertexAttribArray(aVertexPosition);
+            glVertexAttribPointer(aVertexPosition, 2, GL_FLOAT, false, VERTEX_STRIDE, 0);
+
+            glEnableVertexAttribArray(aVertexColor);
+            glVertexAttribPointer(aVertexColor, 4, GL_UNSIGNED_BYTE, true, VERTEX_STRIDE, 2 * Float.BYTES);
+
+            vao.unbind();
+        } finally {
+            MemoryUtil.memFree(vertexData);
+            MemoryUtil.memFree(indexData);
+        }
+    }
+
+    /**
+     * Draw the shape (the shader must be in use, with its matrix set).
+     */
+    void draw() {
+        if (indexCount == 0) {
+            return;
+        }
+
+        vao.bind();
+        glDrawElements(GL_TRIANGLES, indexCount, GL_UNSIGNED_INT, 0);
+    }
+
+    @Override
+    public int getTriangleCount() {
+        return indexCount / 3;
+    }
+
+    @Override
+    public void dispose() {
+        vao.dispose();
+        vbo.dispose();
+        ebo.dispose();
+    }
+}
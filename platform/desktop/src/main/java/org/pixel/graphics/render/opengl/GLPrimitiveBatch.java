@@ -0,0 +1,181 @@
+package org.pixel.graphics.render.opengl;
+
+import static org.lwjgl.opengl.GL11C.GL_FLOAT;
+import static org.lwjgl.opengl.GL11C.GL_ONE_MINUS_SRC_ALPHA;
+import static org.lwjgl.opengl.GL11C.GL_SRC_ALPHA;
+import static org.lwjgl.opengl.GL11C.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL11C.glDrawArrays;
+import static org.lwjgl.opengl.GL15C.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15C.GL_STREAM_DRAW;
+import static org.lwjgl.opengl.GL20C.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20C.glVertexAttribPointer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.lwjgl.system.MemoryUtil;
+import org.pixel.commons.Color;
+import org.pixel.commons.lifecycle.State;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+import org.pixel.graphics.opengl.GLPrimitiveType;
+import org.pixel.graphics.opengl.GLStateCache;
+import org.pixel.graphics.render.PrimitiveBatch;
+import org.pixel.graphics.shader.opengl.GLCameraUniformBuffer;
+import org.pixel.graphics.shader.opengl.GLPrimitiveShader;
+import org.pixel.graphics.shader.opengl.GLVertexArrayObject;
+import org.pixel.graphics.shader.opengl.GLVertexBufferObject;
+import org.pixel.math.Matrix4;
+
+public class GLPrimitiveBatch extends PrimitiveBatch {
+
+    private static final Logger log = LoggerFactory.getLogger(GLPrimitiveBatch.class);
+
+    private static final int VERTEX_STRIDE = 12; // position (2 floats) + color (4 normalized bytes)
+
+    private final GLVertexBufferObject vbo;
+    private final GLVertexArrayObject vao;
+    private final ByteBuffer lineBuffer;
+    private final ByteBuffer triangleBuffer;
+    private final boolean littleEndian;
+    private GLPrimitiveShader shader;
+    private int viewMatrixOffset; // camera matrix slot given on begin
+    private State state = State.CREATED;
+
+    /**
+     * Constructor.
+     */
+    public GLPrimitiveBatch() {
+        this(DEFAULT_MAX_VERTICES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxVertices The maximum number of vertices per primitive type drawn in a single call (a multiple of 6
+     *                    keeps both line and triangle batches full).
+     */
+    public GLPrimitiveBatch(int maxVertices) {
+        super(maxVertices);
+        this.vbo = new GLVertexBufferObject();
+        this.vao = new GLVertexArrayObject();
+        this.lineBuffer = MemoryUtil.memAlloc(getMaxVertices() * VERTEX_STRIDE);
+        this.triangleBuffer = MemoryUtil.memAlloc(getMaxVertices() * VERTEX_STRIDE);
+        this.littleEndian = lineBuffer.order() == ByteOrder.LITTLE_ENDIAN;
+
+        log.trace("Buffer max size (vertices): '{}'.", getMaxVertices());
+    }
+
+    @Override
+    public boolean init() {
+        if (state.hasInitialized()) {
+            log.warn("PrimitiveBatch already initialized.");
+            return false;
+        }
+        state = State.INITIALIZING;
+
+        shader = new GLPrimitiveShader();
+        int aVertexPosition = shader.getAttributeLocation("aVertexPosition");
+        int aVertexColor = shader.getAttributeLocation("aVertexColor");
+
+        vao.bind();
+        vbo.bind(GL_ARRAY_BUFFER);
+
+        glEnableVertexAttribArray(aVertexPosition);
+        glVertexAttribPointer(aVertexPosition, 2, GL_FLOAT, false, VERTEX_STRIDE, 0);
+
+        glEnableVertexAttribArray(aVertexColor);
+        glVertexAttribPointer(aVertexColor, 4, GL_UNSIGNED_BYTE, true, VERTEX_STRIDE, 2 * Float.BYTES);
+
+        state = State.INITIALIZED;
+        return true;
+    }
+
+    @Override
+    public void begin(Matrix4 viewMatrix) {
+        lineBuffer.clear();
+        triangleBuffer.clear();
+        clearPending();
+
+        GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        shader.use();
+
+        // the camera matrix gets its own slot, selected on each draw since other renderers may bind theirs:
+        viewMatrixOffset = GLCameraUniformBuffer.push(viewMatrix);
+    }
+
+    @Override
+    public void end() {
+        flush();
+    }
+
+    @Override
+    protected void putLine(float x1, float y1, float x2, float y2, Color color) {
+        int packedColor = packColor(color);
+        putVertex(lineBuffer, x1, y1, packedColor);
+        putVertex(lineBuffer, x2, y2, packedColor);
+    }
+
+    @Override
+    protected void putTriangle(float x1, float y1, float x2, float y2, float x3, float y3, Color color) {
+        int packedColor = packColor(color);
+        putVertex(triangleBuffer, x1, y1, packedColor);
+        putVertex(triangleBuffer, x2, y2, packedColor);
+        putVertex(triangleBuffer, x3, y3, packedColor);
+    }
+
+    @Override
+    protected void drawLines(int vertexCount) {
+        flushBuffer(lineBuffer, vertexCount, GLPrimitiveType.LINES);
+    }
+
+    @Override
+    protected void drawTriangles(int vertexCount) {
+        flushBuffer(triangleBuffer, vertexCount, GLPrimitiveType.TRIANGLES);
+    }
+
+    private int packColor(Color color) {
+        // the color attribute reads bytes in r, g, b, a order:
+        int rgba = color.rgba();
+        return littleEndian ? Integer.reverseBytes(rgba) : rgba;
+    }
+
+    private static void putVertex(ByteBuffer buffer, float x, float y, int packedColor) {
+        buffer.putFloat(x);
+        buffer.putFloat(y);
+        buffer.putInt(packedColor);
+    }
+
+    private void flushBuffer(ByteBuffer buffer, int vertexCount, GLPrimitiveType type) {
+        if (vertexCount == 0) {
+            return;
+        }
+
+        buffer.flip();
+
+        // other renderers may have drawn since begin (state cache and camera binding skip unchanged values):
+        shader.use();
+        GLCameraUniformBuffer.bind(viewMatrixOffset);
+
+        vao.bind();
+        vbo.bind(GL_ARRAY_BUFFER);
+        vbo.uploadData(GL_ARRAY_BUFFER, buffer, GL_STREAM_DRAW); // re-specified each time (orphaning)
+        glDrawArrays(type.getNativeMode(), 0, vertexCount);
+        buffer.clear();
+    }
+
+    @Override
+    public void dispose() {
+        if (state == State.DISPOSED) {
+            return; // native buffers already freed
+        }
+
+        MemoryUtil.memFree(lineBuffer);
+        MemoryUtil.memFree(triangleBuffer);
+        if (shader != null) {
+            shader.dispose();
+        }
+        vbo.dispose();
+        vao.dispose();
+        state = State.DISPOSED;
+    }
+}
@@ -0,0 +1,17 @@
+package org.pixel.graphics.render.opengl;
+
+import org.pixel.commons.ServiceFactory;
+import org.pixel.graphics.render.PrimitiveBatch;
+
+public class GLPrimitiveBatchServiceFactory implements ServiceFactory<PrimitiveBatch> {
+
+    @Override
+    public PrimitiveBatch create() {
+        var primitiveBatch = new GLPrimitiveBatch();
+        if (!primitiveBatch.init()) {
+            throw new RuntimeException("Failed to initialize GLPrimitiveBatch.");
+        }
+        return primitiveBatch;
+    }
+
+}
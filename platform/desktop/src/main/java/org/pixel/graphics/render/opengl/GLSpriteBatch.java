@@ -5,22 +5,15 @@ import static org.lwjgl.opengl.GL11C.GL_FLOAT;
 import static org.lwjgl.opengl.GL11C.GL_ONE;
 import static org.lwjgl.opengl.GL11C.GL_ONE_MINUS_SRC_ALPHA;
 import static org.lwjgl.opengl.GL11C.GL_SRC_ALPHA;
-import static org.lwjgl.opengl.GL11C.GL_TEXTURE_2D;
 import static org.lwjgl.opengl.GL11C.GL_TRIANGLES;
 import static org.lwjgl.opengl.GL11C.GL_ZERO;
-import static org.lwjgl.opengl.GL11C.glBindTexture;
-import static org.lwjgl.opengl.GL11C.glBlendFunc;
 import static org.lwjgl.opengl.GL11C.glDrawArrays;
 import static org.lwjgl.opengl.GL11C.glGetIntegerv;
-import static org.lwjgl.opengl.GL13C.GL_TEXTURE0;
-import static org.lwjgl.opengl.GL13C.glActiveTexture;
 import static org.lwjgl.opengl.GL15C.GL_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL15C.GL_STATIC_DRAW;
 import static org.lwjgl.opengl.GL20C.GL_MAX_TEXTURE_IMAGE_UNITS;
 import static org.lwjgl.opengl.GL20C.glEnableVertexAttribArray;
-import static org.lwjgl.opengl.GL20C.glUniform1iv;
 import static org.lwjgl.opengl.GL20C.glVertexAttribPointer;
-import static org.lwjgl.opengl.GL20C.glUniformMatrix4fv;
 
 import java.nio.FloatBuffer;
 import java.util.Arrays;
@@ -33,9 +26,12 @@ import org.pixel.commons.logger.LoggerFactory;
 import org.pixel.content.Font;
 import org.pixel.content.FontGlyph;
 import org.pixel.content.Texture;
+import org.pixel.content.font.TextLayout;
+import org.pixel.graphics.opengl.GLStateCache;
 import org.pixel.graphics.render.BlendMode;
 import org.pixel.graphics.render.SpriteBatch;
 import org.pixel.graphics.shader.Shader;
+import org.pixel.graphics.shader.opengl.GLCameraUniformBuffer;
 import org.pixel.graphics.shader.opengl.GLVertexArrayObject;
 import org.pixel.graphics.shader.opengl.GLVertexBufferObject;
 import org.pixel.graphics.shader.opengl.GLMultiTextureShader;
@@ -49,23 +45,15 @@ public class GLSpriteBatch extends SpriteBatch {
     private static final Logger log = LoggerFactory.getLogger(GLSpriteBatch.class);
 
     private static final int BUFFER_UNIT_LENGTH = 256; // maximum sprites per batch
-    private static final int SPRITE_UNIT_LENGTH = 54; // number of attribute information units per sprite
-                                                      // (uploadBufferData * each inner put)
+    private static final int SPRITE_UNIT_LENGTH = GLSpriteVertexWriter.SPRITE_UNIT_LENGTH; // attribute units per sprite
     private static final int ATTRIBUTE_STRIDE = 36; // attribute stride (bytes) between each vertex info
+    private static final int DISTANCE_FIELD_FLAG = 256; // texture index flag for distance field sprites (glyphs)
 
-    private static final Matrix4 spriteViewMatrix = new Matrix4();
-    private final Vector2 tTopLeft = new Vector2();
-    private final Vector2 tTopRight = new Vector2();
-    private final Vector2 tBottomRight = new Vector2();
-    private final Vector2 tBottomLeft = new Vector2();
-    private final Vector2 bottomLeft = new Vector2();
-    private final Vector2 bottomRight = new Vector2();
-    private final Vector2 topLeft = new Vector2();
-    private final Vector2 topRight = new Vector2();
+    private final GLSpriteVertexWriter vertexWriter = new GLSpriteVertexWriter();
+    private final Color premultipliedColor = new Color();
     private final HashMap<Integer, Integer> shaderTextureMap = new HashMap<>();
     private final GLVertexBufferObject vbo;
     private final GLVertexArrayObject vao;
-    private final FloatBuffer matrixBuffer;
     private State state = State.CREATED;
 
     private final int shaderTextureCount;
@@ -77,6 +65,9 @@ public class GLSpriteBatch extends SpriteBatch {
     private int bufferWriteIndex;
     private int lastTextureId;
     private int lastDepthLevel;
+    private BlendMode blendMode = BlendMode.NORMAL_BLEND;
+    private boolean premultipliedBlend;
+    private int viewMatrixOffset; // camera matrix slot given on begin
     private boolean hasDifferentDepthLevels;
 
     /**
@@ -112,7 +103,6 @@ public class GLSpriteBatch extends SpriteBatch {
         }
 
         this.bufferMaxSize = bufferMaxSize;
-        this.matrixBuffer = MemoryUtil.memAllocFloat(4 * 4);
         this.vbo = new GLVertexBufferObject();
         this.vao = new GLVertexArrayObject();
         this.bufferWriteIndex = 0;
@@ -150,7 +140,7 @@ public class GLSpriteBatch extends SpriteBatch {
         for (int i = 0; i < shaderTextureCount; i++) {
             textureRefArray[i] = i;
         }
-        glUniform1iv(shader.getUniformLocation("uTextureImage"), textureRefArray);
+        shader.getIntArrayUniform("uTextureImage").set(textureRefArray);
 
         // setup attributes:
         int aVertexPosition = this.shader.getAttributeLocation("aVertexPosition");
@@ -197,19 +187,20 @@ public class GLSpriteBatch extends SpriteBatch {
         SpriteData spriteData = getNextSpriteDataObject();
         spriteData.active = true;
         spriteData.textureId = texture.getId();
-        spriteData.textureWidth = texture.getWidth();
-        spriteData.textureHeight = texture.getHeight();
         spriteData.x = position.getX();
         spriteData.y = position.getY();
         spriteData.width = texture.getWidth()
                 * (source != null ? source.getWidth() / texture.getWidth() * scaleX : scaleX);
         spriteData.height = texture.getHeight()
                 * (source != null ? source.getHeight() / texture.getHeight() * scaleY : scaleY);
-        spriteData.anchor = anchor;
+        spriteData.anchorX = anchor.getX();
+        spriteData.anchorY = anchor.getY();
         spriteData.color = color;
-        spriteData.source = source;
         spriteData.rotation = rotation;
+        setSource(spriteData, texture, source);
         spriteData.depth = depth;
+        spriteData.distanceField = false;
+        spriteData.premultipliedAlpha = texture.isPremultipliedAlpha();
 
         lastDepthLevel = depth;
 
@@ -226,17 +217,18 @@ public class GLSpriteBatch extends SpriteBatch {
         SpriteData spriteData = getNextSpriteDataObject();
         spriteData.active = true;
         spriteData.textureId = texture.getId();
-        spriteData.textureWidth = texture.getWidth();
-        spriteData.textureHeight = texture.getHeight();
         spriteData.x = displayArea.getX();
         spriteData.y = displayArea.getY();
         spriteData.width = displayArea.getWidth();
         spriteData.height = displayArea.getHeight();
-        spriteData.anchor = anchor;
-        spriteData.source = source;
+        spriteData.anchorX = anchor.getX();
+        spriteData.anchorY = anchor.getY();
         spriteData.color = color;
         spriteData.rotation = rotation;
+        setSource(spriteData, texture, source);
         spriteData.depth = depth;
+        spriteData.distanceField = false;
+        spriteData.premultipliedAlpha = texture.isPremultipliedAlpha();
 
         lastDepthLevel = depth;
 
@@ -244,41 +236,49 @@ public class GLSpriteBatch extends SpriteBatch {
     }
 
     @Override
-    public void drawText(Font font, String text, Vector2 position, Color color, int fontSize) {
+    public void drawText(Font font, CharSequence text, Vector2 position, Color color, int fontSize) {
         // we are going to create a sprite data for each text character:
-        float computedScale = fontSize / (float) font.getComputedFontSize();
-        float scale = fontSize / (float) font.getFontSize();
-        int x = (int) position.getX(); // initial x position
-        int y = (int) (position.getY() + font.getFontSize() * scale + font.getVerticalSpacing());
-        for (char ch : text.toCharArray()) {
-            FontGlyph glyph = font.getGlyph(ch);
+        float lineHeight = fontSize + font.getVerticalSpacing();
+        float x = (int) position.getX(); // initial x position
+        float y = (int) (position.getY() + lineHeight);
+        int previousCodePoint = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = Character.codePointAt(text, i);
+            i += Character.charCount(codePoint);
+
+            if (codePoint == '\n') {
+                y += (int) lineHeight;
+                x = (int) position.getX();
+                previousCodePoint = -1;
+                continue;
+            }
+
+            FontGlyph glyph = font.getGlyph(codePoint, fontSize);
             if (glyph == null) {
                 continue; // cannot process this char data...
             }
 
-            if (ch == '\n') {
-                y += (int) (font.getFontSize() * scale + font.getVerticalSpacing());
-                x = (int) position.getX();
-                continue;
+            // kerned like Font.computeTextWidth and TextLayout, so the drawn width matches the measured one:
+            if (previousCodePoint >= 0) {
+                x += font.getKerning(previousCodePoint, codePoint, fontSize);
             }
 
-            var spriteData = getNextSpriteDataObject();
-            spriteData.active = true;
-            spriteData.textureId = font.getTextureId();
-            spriteData.textureWidth = font.getTextureWidth();
-            spriteData.textureHeight = font.getTextureHeight();
-            spriteData.x = x + glyph.getXOffset() * scale;
-            spriteData.y = y + glyph.getYOffset() * scale;
-            spriteData.width = glyph.getWidth() * computedScale;
-            spriteData.height = glyph.getHeight() * computedScale;
-            spriteData.source = new Rectangle(glyph.getX(), glyph.getY(), glyph.getWidth(), glyph.getHeight());
-            spriteData.anchor = Vector2.zero();
-            spriteData.color = color;
-            spriteData.rotation = 0f;
-
-            x += (int) (glyph.getXAdvance() * scale + font.getHorizontalSpacing());
-
-            spriteDataAdded();
+            float scale = addGlyph(font, glyph, x, y, fontSize, color);
+            x += glyph.getXAdvance() * scale + font.getHorizontalSpacing();
+            previousCodePoint = codePoint;
+        }
+    }
+
+    @Override
+    public void drawText(TextLayout layout, Vector2 position, Color color) {
+        Font font = layout.getFont();
+        int fontSize = layout.getFontSize();
+        for (int i = 0; i < layout.getGlyphCount(); i++) {
+            FontGlyph glyph = font.getGlyph(layout.getCodePoint(i), fontSize);
+            if (glyph != null) {
+                addGlyph(font, glyph, position.getX() + layout.getGlyphX(i), position.getY() + layout.getGlyphY(i),
+                        fontSize, color);
+            }
         }
     }
 
@@ -300,14 +300,8 @@ public class GLSpriteBatch extends SpriteBatch {
         lastTextureId = -1;
         lastDepthLevel = -1;
         hasDifferentDepthLevels = false;
-
-        if (blendMode == BlendMode.ADDITIVE) {
-            glBlendFunc(GL_ONE, GL_ONE);
-        } else if (blendMode == BlendMode.MULTIPLY) {
-            glBlendFunc(GL_DST_COLOR, GL_ZERO);
-        } else {
-            glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
-        }
+        this.blendMode = blendMode;
+        applyBlendMode(blendMode);
 
         // use shader
         shader.use();
@@ -316,20 +310,29 @@ public class GLSpriteBatch extends SpriteBatch {
         vao.bind();
         vbo.bind(GL_ARRAY_BUFFER);
 
-        // apply camera matrix
-        matrixBuffer.clear();
-        viewMatrix.writeBuffer(matrixBuffer);
-        glUniformMatrix4fv(shader.getUniformLocation("uMatrix"), false, matrixBuffer);
+        // the camera matrix gets its own slot, selected on each draw since other renderers may bind theirs:
+        viewMatrixOffset = GLCameraUniformBuffer.push(viewMatrix);
+    }
+
+    private void applyBlendMode(BlendMode blendMode) {
+        if (blendMode == BlendMode.ADDITIVE) {
+            GLStateCache.blendFunc(GL_ONE, GL_ONE);
+        } else if (blendMode == BlendMode.MULTIPLY) {
+            GLStateCache.blendFunc(GL_DST_COLOR, GL_ZERO);
+        } else if (blendMode == BlendMode.PREMULTIPLIED) {
+            GLStateCache.blendFunc(GL_ONE, GL_ONE_MINUS_SRC_ALPHA);
+        } else {
+            GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        }
+        premultipliedBlend = blendMode == BlendMode.PREMULTIPLIED;
     }
 
     @Override
     public void end() {
         flush();
 
-        vao.unbind();
-
-        // restore global blend func
-        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        // restore global blend func (the vao is left bound, the state cache skips rebinding it on the next begin)
+        GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
     }
 
     @Override
@@ -367,13 +370,19 @@ public class GLSpriteBatch extends SpriteBatch {
 
     private void putTexture(SpriteData spriteData) {
         int offset = shaderTextureMap.size();
-        glActiveTexture(GL_TEXTURE0 + offset);
-        glBindTexture(GL_TEXTURE_2D, spriteData.textureId);
+        GLStateCache.bindTexture(offset, spriteData.textureId);
         shaderTextureMap.put(spriteData.textureId, offset);
     }
 
     private void flushBatch(int count) {
         dataBuffer.flip();
+
+        // other renderers may have drawn since begin (state cache and camera binding skip unchanged values):
+        shader.use();
+        vao.bind();
+        GLCameraUniformBuffer.bind(viewMatrixOffset);
+
+        vbo.bind(GL_ARRAY_BUFFER);
         vbo.uploadData(GL_ARRAY_BUFFER, dataBuffer, GL_STATIC_DRAW);
         glDrawArrays(GL_TRIANGLES, 0, 6 * count);
     }
@@ -410,6 +419,16 @@ public class GLSpriteBatch extends SpriteBatch {
                 lastTextureId = spriteData.textureId;
             }
 
+            if (blendMode == BlendMode.NORMAL_BLEND && spriteData.premultipliedAlpha != premultipliedBlend) {
+                // premultiplied textures would be multiplied by alpha twice with the normal blend function:
+                if (count > 0) {
+                    flushBatch(count);
+                    count = 0;
+                    dataBuffer.clear();
+                }
+                applyBlendMode(spriteData.premultipliedAlpha ? BlendMode.PREMULTIPLIED : BlendMode.NORMAL_BLEND);
+            }
+
             processSpriteData(spriteData);
             count++;
             spriteData.active = false;
@@ -417,85 +436,84 @@ public class GLSpriteBatch extends SpriteBatch {
 
         flushBatch(count);
         dataBuffer.clear();
+        applyBlendMode(blendMode);
 
+        // texture units are re-bound on the next flush (glyphs rasterized in between may change the bindings):
+        shaderTextureMap.clear();
+        lastTextureId = -1;
         hasDifferentDepthLevels = false;
         lastDepthLevel = -1;
         bufferWriteIndex = 0;
     }
 
     private void processSpriteData(SpriteData sprite) {
-        // compute the sprite visualization matrix (transform the vertices according to
-        // the sprite characteristics)
-        computeSpriteDataViewMatrix(sprite);
-
-        // note that both position and source data have the following coordinate
-        // orientation:
-        // (this depends on how the texture is loaded into memory, TextureImporter will
-        // read topLeft to bottomRight)
-        // ##############
-        // #(0,0)..(1,0)#
-        // #....\.......#
-        // #..A..\...B..#
-        // #......\.....#
-        // #(0,1)..(1,1)#
-        // ##############
-
-        // vertex data:
-        bottomLeft.set(0, 1);
-        bottomLeft.transformMatrix4(spriteViewMatrix);
-        bottomRight.set(1);
-        bottomRight.transformMatrix4(spriteViewMatrix);
-        topLeft.set(0);
-        topLeft.transformMatrix4(spriteViewMatrix);
-        topRight.set(1, 0);
-        topRight.transformMatrix4(spriteViewMatrix);
-
-        // texture source:
-        tTopLeft.set(0);
-        tTopRight.set(1, 0);
-        tBottomRight.set(1);
-        tBottomLeft.set(0, 1);
-        if (sprite.source != null) {
-            // use has defined custom source area; the org.pixel.input is relative to the
-            // real width and height of
-            // the source texture, therefore we need to convert into space area
-            // (x=[0-1];y=[0-1])
-            tTopLeft.set((sprite.source.getX() / sprite.textureWidth),
-                    (sprite.source.getY() / sprite.textureHeight));
-            tTopRight.set(((sprite.source.getX() + sprite.source.getWidth()) / sprite.textureWidth),
-                    (sprite.source.getY() / sprite.textureHeight));
-            tBottomRight.set(((sprite.source.getX() + sprite.source.getWidth()) / sprite.textureWidth),
-                    ((sprite.source.getY() + sprite.source.getHeight()) / sprite.textureHeight));
-            tBottomLeft.set((sprite.source.getX() / sprite.textureWidth),
-                    ((sprite.source.getY() + sprite.source.getHeight()) / sprite.textureHeight));
+        int textureId = shaderTextureCount == 1 ? 0 : shaderTextureMap.get(sprite.textureId);
+        if (sprite.distanceField) {
+            textureId |= DISTANCE_FIELD_FLAG;
         }
 
-        int textureId = shaderTextureCount == 1 ? 0 : shaderTextureMap.get(sprite.textureId);
+        Color color = sprite.color;
+        if (sprite.premultipliedAlpha) {
+            // the tint must be premultiplied as well, so fading the sprite scales its color:
+            premultipliedColor.set(color.getRed() * color.getAlpha(), color.getGreen() * color.getAlpha(),
+                    color.getBlue() * color.getAlpha(), color.getAlpha());
+            color = premultipliedColor;
+        }
 
-        // put the drawing data on the buffer:
-        this.uploadTriangleData(bottomLeft, bottomRight, topLeft, tBottomLeft, tBottomRight, tTopLeft, sprite.color,
-                textureId);
-        this.uploadTriangleData(topLeft, bottomRight, topRight, tTopLeft, tBottomRight, tTopRight, sprite.color,
-                textureId);
+        vertexWriter.write(dataBuffer, sprite.x, sprite.y, sprite.width, sprite.height, sprite.anchorX,
+                sprite.anchorY, sprite.rotation, sprite.u0, sprite.v0, sprite.u1, sprite.v1, color, textureId);
     }
 
-    private void uploadTriangleData(Vector2 v1, Vector2 v2, Vector2 v3, Vector2 t1, Vector2 t2, Vector2 t3, Color color,
-            int textureId) {
-        this.uploadBufferData(v1.getX(), v1.getY(), t1.getX(), t1.getY(), color, textureId);
-        this.uploadBufferData(v2.getX(), v2.getY(), t2.getX(), t2.getY(), color, textureId);
-        this.uploadBufferData(v3.getX(), v3.getY(), t3.getX(), t3.getY(), color, textureId);
+    /**
+     * Add the sprite of a glyph (glyphs without a bitmap are skipped).
+     *
+     * @return The scale applied to the glyph metrics.
+     */
+    private float addGlyph(Font font, FontGlyph glyph, float penX, float baseline, int fontSize, Color color) {
+        // glyphs are rasterized at a size bucket (times the oversampling), scale them to the requested size:
+        float scale = fontSize / (float) glyph.getFontSize();
+        if (glyph.getWidth() <= 0 || glyph.getHeight() <= 0) {
+            return scale;
+        }
+
+        float computedScale = scale / font.getOversampling();
+        var spriteData = getNextSpriteDataObject();
+        spriteData.active = true;
+        spriteData.textureId = glyph.getTextureId();
+        spriteData.x = penX + glyph.getXOffset() * scale;
+        spriteData.y = baseline + glyph.getYOffset() * scale;
+        spriteData.width = glyph.getWidth() * computedScale;
+        spriteData.height = glyph.getHeight() * computedScale;
+        spriteData.u0 = glyph.getX() / font.getTextureWidth();
+        spriteData.v0 = glyph.getY() / font.getTextureHeight();
+        spriteData.u1 = (glyph.getX() + glyph.getWidth()) / font.getTextureWidth();
+        spriteData.v1 = (glyph.getY() + glyph.getHeight()) / font.getTextureHeight();
+        spriteData.anchorX = 0f;
+        spriteData.anchorY = 0f;
+        spriteData.color = color;
+        spriteData.rotation = 0f;
+        spriteData.distanceField = font.isDistanceField();
+        spriteData.premultipliedAlpha = false;
+
+        spriteDataAdded();
+
+        return scale;
     }
 
-    private void uploadBufferData(float x, float y, float tx, float ty, Color color, int textureId) {
-        this.dataBuffer.put(x);
-        this.dataBuffer.put(y);
-        this.dataBuffer.put(tx);
-        this.dataBuffer.put(ty);
-        this.dataBuffer.put(color.getRed());
-        this.dataBuffer.put(color.getGreen());
-        this.dataBuffer.put(color.getBlue());
-        this.dataBuffer.put(color.getAlpha());
-        this.dataBuffer.put(textureId);
+    private void setSource(SpriteData spriteData, Texture texture, Rectangle source) {
+        if (source == null) {
+            spriteData.u0 = 0f;
+            spriteData.v0 = 0f;
+            spriteData.u1 = 1f;
+            spriteData.v1 = 1f;
+            return;
+        }
+
+        // the source area is relative to the real width and height of the texture, convert into space area:
+        spriteData.u0 = source.getX() / texture.getWidth();
+        spriteData.v0 = source.getY() / texture.getHeight();
+        spriteData.u1 = (source.getX() + source.getWidth()) / texture.getWidth();
+        spriteData.v1 = (source.getY() + source.getHeight()) / texture.getHeight();
     }
 
     private void spriteDataAdded() {
@@ -504,46 +522,24 @@ public class GLSpriteBatch extends SpriteBatch {
         }
     }
 
-    private void computeSpriteDataViewMatrix(SpriteData spriteData) {
-        // reset
-        spriteViewMatrix.setIdentity();
-
-        // position:
-        spriteViewMatrix.translate(spriteData.x - spriteData.width * spriteData.anchor.getX(),
-                spriteData.y - spriteData.height * spriteData.anchor.getY(), 0);
-
-        // rotation:
-        if (spriteData.rotation != 0) {
-            spriteViewMatrix.translate(spriteData.width * spriteData.anchor.getX(),
-                    spriteData.height * spriteData.anchor.getY(), 0);
-            spriteViewMatrix.rotate(spriteData.rotation, 0f, 0f, 1.0f);
-            spriteViewMatrix.translate(-spriteData.width * spriteData.anchor.getX(),
-                    -spriteData.height * spriteData.anchor.getY(), 0);
-        }
-
-        // scale:
-        spriteViewMatrix.scale(spriteData.width, spriteData.height, 0.0f);
-    }
-
-    // region private classes
-
-    /**
-     * SpriteData class
-     */
     private static class SpriteData {
         boolean active;
         int textureId;
         int depth;
-        float textureWidth;
-        float textureHeight;
         float rotation;
         float x;
         float y;
         float width;
         float height;
+        float anchorX;
+        float anchorY;
+        float u0; // texture source area (top left and bottom right uv)
+        float v0;
+        float u1;
+        float v1;
         Color color;
-        Vector2 anchor;
-        Rectangle source; // texture source area
+        boolean distanceField; // signed distance field texture (font glyphs)
+        boolean premultipliedAlpha; // premultiplied alpha texture
     }
 
     // endregion
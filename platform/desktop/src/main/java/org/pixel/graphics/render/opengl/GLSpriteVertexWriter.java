@@ -0,0 +1,130 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.render.opengl;
+
+import java.nio.FloatBuffer;
+import org.pixel.commons.Color;
+import org.pixel.math.Matrix4;
+import org.pixel.math.Vector2;
+
+/**
+ * CPU side of the sprite batch: transforms each sprite quad and writes its two triangles into the vertex buffer. No GL
+ * calls are made here, so the vertex generation can be exercised (and measured) without a graphics context. Not thread
+ * safe; the working matrix and vectors are reused between sprites.
+ */
+public class GLSpriteVertexWriter {
+
+    public static final int VERTEX_UNIT_LENGTH = 9; // x, y, tx, ty, r, g, b, a, texture index
+    public static final int SPRITE_UNIT_LENGTH = VERTEX_UNIT_LENGTH * 6; // two triangles per sprite
+
+    private final Matrix4 spriteViewMatrix = new Matrix4();
+    private final Vector2 tTopLeft = new Vector2();
+    private final Vector2 tTopRight = new Vector2();
+    private final Vector2 tBottomRight = new Vector2();
+    private final Vector2 tBottomLeft = new Vector2();
+    private final Vector2 bottomLeft = new Vector2();
+    private final Vector2 bottomRight = new Vector2();
+    private final Vector2 topLeft = new Vector2();
+    private final Vector2 topRight = new Vector2();
+
+    /**
+     * Write the vertices of a sprite ({@link #SPRITE_UNIT_LENGTH} floats) into the given buffer.
+     *
+     * @param buffer       The target buffer.
+     * @param x            The x position.
+     * @param y            The y position.
+     * @param width        The width.
+     * @param height       The height.
+     * @param anchorX      The horizontal anchor (0-1).
+     * @param anchorY      The vertical anchor (0-1).
+     * @param rotation     The rotation (radians) around the anchor.
+     * @param u0           The texture source left coordinate (0-1).
+     * @param v0           The texture source top coordinate (0-1).
+     * @param u1           The texture source right coordinate (0-1).
+     * @param v1           The texture source bottom coordinate (0-1).
+     * @param color        The color.
+     * @param textureIndex The shader texture index (including flags).
+     */
+    public void write(FloatBuffer buffer, float x, float y, float width, float height, float anchorX, float anchorY,
+            float rotation, float u0, float v0, float u1, float v1, Color color, int textureIndex) {
+        // compute the sprite visualization matrix (transform the vertices according to
+        // the sprite characteristics)
+        computeViewMatrix(x, y, width, height, anchorX, anchorY, rotation);
+
+        // note that both position and source data have the following coordinate
+        // orientation:
+        // (this depends on how the texture is loaded into memory, TextureImporter will
+        // read topLeft to bottomRight)
+        // ##############
+        // #(0,0)..(1,0)#
+        // #....\.......#
+        // #..A..\...B..#
+        // #......\.....#
+        // #(0,1)..(1,1)#
+        // ##############
+
+        // vertex data:
+        bottomLeft.set(0, 1);
+        bottomLeft.transformMatrix4(spriteViewMatrix);
+        bottomRight.set(1);
+        bottomRight.transformMatrix4(spriteViewMatrix);
+        topLeft.set(0);
+        topLeft.transformMatrix4(spriteViewMatrix);
+        topRight.set(1, 0);
+        topRight.transformMatrix4(spriteViewMatrix);
+
+        // texture source (space area, x=[0-1];y=[0-1]):
+        tTopLeft.set(u0, v0);
+        tTopRight.set(u1, v0);
+        tBottomRight.set(u1, v1);
+        tBottomLeft.set(u0, v1);
+
+        // put the drawing data on the buffer:
+        writeTriangle(buffer, bottomLeft, bottomRight, topLeft, tBottomLeft, tBottomRight, tTopLeft, color,
+                textureIndex);
+        writeTriangle(buffer, topLeft, bottomRight, topRight, tTopLeft, tBottomRight, tTopRight, color,
+                textureIndex);
+    }
+
+    private void computeViewMatrix(float x, float y, float width, float height, float anchorX, float anchorY,
+            float rotation) {
+        // reset
+        spriteViewMatrix.setIdentity();
+
+        // position:
+        spriteViewMatrix.translate(x - width * anchorX, y - height * anchorY, 0);
+
+        // rotation:
+        if (rotation != 0) {
+            spriteViewMatrix.translate(width * anchorX, height * anchorY, 0);
+            spriteViewMatrix.rotate(rotation, 0f, 0f, 1.0f);
+            spriteViewMatrix.translate(-width * anchorX, -height * anchorY, 0);
+        }
+
+        // scale:
+        spriteViewMatrix.scale(width, height, 0.0f);
+    }
+
+    private static void writeTriangle(FloatBuffer buffer, Vector2 v1, Vector2 v2, Vector2 v3, Vector2 t1, Vector2 t2,
+            Vector2 t3, Color color, int textureIndex) {
+        writeVertex(buffer, v1.getX(), v1.getY(), t1.getX(), t1.getY(), color, textureIndex);
+        writeVertex(buffer, v2.getX(), v2.getY(), t2.getX(), t2.getY(), color, textureIndex);
+        writeVertex(buffer, v3.getX(), v3.getY(), t3.getX(), t3.getY(), color, textureIndex);
+    }
+
+    private static void writeVertex(FloatBuffer buffer, float x, float y, float tx, float ty, Color color,
+            int textureIndex) {
+        buffer.put(x);
+        buffer.put(y);
+        buffer.put(tx);
+        buffer.put(ty);
+        buffer.put(color.getRed());
+        buffer.put(color.getGreen());
+        buffer.put(color.getBlue());
+        buffer.put(color.getAlpha());
+        buffer.put(textureIndex);
+    }
+}
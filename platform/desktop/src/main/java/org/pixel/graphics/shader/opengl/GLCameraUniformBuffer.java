@@ -0,0 +1,175 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.shader.opengl;
+
+import static org.lwjgl.opengl.GL11C.glGetInteger;
+import static org.lwjgl.opengl.GL15C.GL_DYNAMIC_DRAW;
+import static org.lwjgl.opengl.GL15C.glBindBuffer;
+import static org.lwjgl.opengl.GL15C.glBufferData;
+import static org.lwjgl.opengl.GL15C.glBufferSubData;
+import static org.lwjgl.opengl.GL15C.glDeleteBuffers;
+import static org.lwjgl.opengl.GL15C.glGenBuffers;
+import static org.lwjgl.opengl.GL30C.glBindBufferRange;
+import static org.lwjgl.opengl.GL31C.GL_UNIFORM_BUFFER;
+import static org.lwjgl.opengl.GL31C.GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import org.lwjgl.BufferUtils;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+import org.pixel.math.Matrix4;
+
+/**
+ * Camera matrices shared by the engine shaders through a std140 uniform block:
+ * <pre>
+ * layout(std140) uniform CameraData {
+ *     mat4 uMatrix; // camera (view-projection) matrix
+ * };
+ * </pre>
+ * Every camera (or transform) used during a frame is written once to its own aligned slot of a ring buffer and
+ * selected with {@code glBindBufferRange} before drawing, so batches with different cameras never rewrite a region
+ * the GPU may still be reading. The ring holds the slots of several frames; a region is only reused a few frames
+ * later.
+ */
+public class GLCameraUniformBuffer {
+
+    //region Fields & Properties
+
+    public static final String BLOCK_NAME = "CameraData";
+    public static final int BINDING_POINT = 2;
+
+    private static final Logger log = LoggerFactory.getLogger(GLCameraUniformBuffer.class);
+
+    private static final int MATRIX_SIZE = 16 * Float.BYTES;
+    private static final int SLOTS_PER_FRAME = 64;
+    private static final int FRAME_COUNT = 3; // frames in flight before a region is written again
+
+    private static final FloatBuffer data = BufferUtils.createFloatBuffer(16);
+    private static final float[] scratchMatrix = new float[16];
+    private static final float[] lastMatrix = new float[16];
+    private static int bufferId;
+    private static int slotSize;
+    private static int frameIndex;
+    private static int slotIndex;
+    private static int lastOffset = -1;
+    private static int boundOffset = -1;
+    private static boolean overflowLogged;
+
+    //endregion
+
+    //region Constructors
+
+    private GLCameraUniformBuffer() {
+        // no instantiation allowed
+    }
+
+    //endregion
+
+    //region Public Functions
+
+    /**
+     * Start a new frame, moving on to the next region of the ring.
+     */
+    public static void beginFrame() {
+        frameIndex = (frameIndex + 1) % FRAME_COUNT;
+        slotIndex = 0;
+        lastOffset = -1;
+    }
+
+    /**
+     * Write a camera matrix to a slot of the current frame. Consecutive pushes of the same matrix share a slot.
+     *
+     * @param matrix The camera matrix.
+     * @return The slot offset, to use with {@link #bind(int)}.
+     */
+    public static int push(Matrix4 matrix) {
+        float[][] m = matrix.toUnsafeArray();
+        for (int c = 0; c < 4; c++) {
+            for (int r = 0; r < 4; r++) {
+                scratchMatrix[c * 4 + r] = m[c][r];
+            }
+        }
+
+        return push(scratchMatrix);
+    }
+
+    /**
+     * Write a camera matrix to a slot of the current frame. Consecutive pushes of the same matrix share a slot.
+     *
+     * @param matrix The 16 matrix values, column major.
+     * @return The slot offset, to use with {@link #bind(int)}.
+     */
+    public static int push(float[] matrix) {
+        if (bufferId == 0) {
+            create();
+        }
+
+        if (lastOffset >= 0 && Arrays.equals(lastMatrix, matrix)) {
+            return lastOffset;
+        }
+
+        if (slotIndex == SLOTS_PER_FRAME) {
+            // still correct (the driver orders the update after the pending draws), but it may synchronize:
+            if (!overflowLogged) {
+                log.warn("More than {} camera matrices in a frame, reusing slots.", SLOTS_PER_FRAME);
+                overflowLogged = true;
+            }
+            slotIndex = 0;
+        }
+
+        int offset = (frameIndex * SLOTS_PER_FRAME + slotIndex++) * slotSize;
+        data.clear();
+        data.put(matrix, 0, 16).flip();
+        glBindBuffer(GL_UNIFORM_BUFFER, bufferId);
+        glBufferSubData(GL_UNIFORM_BUFFER, offset, data);
+
+        System.arraycopy(matrix, 0, lastMatrix, 0, 16);
+        lastOffset = offset;
+        return offset;
+    }
+
+    /**
+     * Select the camera matrix used by the following draws.
+     *
+     * @param offset The slot offset (as returned by {@link #push(float[])} during the current frame).
+     */
+    public static void bind(int offset) {
+        if (offset != boundOffset) {
+            glBindBufferRange(GL_UNIFORM_BUFFER, BINDING_POINT, bufferId, offset, MATRIX_SIZE);
+            boundOffset = offset;
+        }
+    }
+
+    /**
+     * Delete the buffer (a new one is created on the next push).
+     */
+    public static void dispose() {
+        if (bufferId != 0) {
+            glDeleteBuffers(bufferId);
+            bufferId = 0;
+        }
+        lastOffset = -1;
+        boundOffset = -1;
+    }
+
+    //endregion
+
+    //region Private Functions
+
+    private static void create() {
+        int alignment = Math.max(1, glGetInteger(GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT));
+        slotSize = (MATRIX_SIZE + alignment - 1) / alignment * alignment;
+        bufferId = glGenBuffers();
+        glBindBuffer(GL_UNIFORM_BUFFER, bufferId);
+        glBufferData(GL_UNIFORM_BUFFER, (long) slotSize * SLOTS_PER_FRAME * FRAME_COUNT, GL_DYNAMIC_DRAW);
+        slotIndex = 0;
+        lastOffset = -1;
+        boundOffset = -1;
+    }
+
+    //endregion
+}
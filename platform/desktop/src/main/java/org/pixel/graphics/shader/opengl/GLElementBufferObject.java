@@ -7,9 +7,11 @@ package org.pixel.graphics.shader.opengl;
 
 import static org.lwjgl.opengl.GL30C.GL_ELEMENT_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL30C.glBindBuffer;
-import static org.lwjgl.opengl.GL30C.glDeleteVertexArrays;
+import static org.lwjgl.opengl.GL30C.glBufferData;
+import static org.lwjgl.opengl.GL30C.glDeleteBuffers;
 import static org.lwjgl.opengl.GL30C.glGenBuffers;
 
+import java.nio.IntBuffer;
 import org.pixel.commons.lifecycle.Disposable;
 
 public class GLElementBufferObject implements Disposable {
@@ -56,9 +58,19 @@ public class GLElementBufferObject implements Disposable {
         glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, 0);
     }
 
+    /**
+     * Upload index data to the (bound) EBO.
+     *
+     * @param data  The data.
+     * @param usage The usage.
+     */
+    public void uploadData(IntBuffer data, int usage) {
+        glBufferData(GL_ELEMENT_ARRAY_BUFFER, data, usage);
+    }
+
     @Override
     public void dispose() {
-        glDeleteVertexArrays(id);
+        glDeleteBuffers(id);
     }
 
     //endregion
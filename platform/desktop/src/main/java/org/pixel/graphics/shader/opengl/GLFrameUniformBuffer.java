@@ -0,0 +1,121 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.shader.opengl;
+
+import static org.lwjgl.opengl.GL15C.GL_DYNAMIC_DRAW;
+import static org.lwjgl.opengl.GL15C.glBindBuffer;
+import static org.lwjgl.opengl.GL15C.glBufferData;
+import static org.lwjgl.opengl.GL15C.glBufferSubData;
+import static org.lwjgl.opengl.GL15C.glDeleteBuffers;
+import static org.lwjgl.opengl.GL15C.glGenBuffers;
+import static org.lwjgl.opengl.GL30C.glBindBufferBase;
+import static org.lwjgl.opengl.GL31C.GL_UNIFORM_BUFFER;
+
+import java.nio.ByteBuffer;
+import org.lwjgl.BufferUtils;
+
+/**
+ * Per-frame data shared by every engine shader through a std140 uniform block, bound once at a fixed binding point:
+ * <pre>
+ * layout(std140) uniform FrameData {
+ *     vec2 uViewport; // viewport size, in pixels
+ *     float uTime;    // time since the graphics device started, in seconds
+ * };
+ * </pre>
+ * Values are staged on the CPU and uploaded once per frame by the graphics device; camera matrices live in their own
+ * block (see {@link GLCameraUniformBuffer}).
+ */
+public class GLFrameUniformBuffer {
+
+    //region Fields & Properties
+
+    public static final String BLOCK_NAME = "FrameData";
+    public static final int BINDING_POINT = 1; // NanoVG (GL3 backend) uses binding point 0
+
+    private static final int VIEWPORT_OFFSET = 0;
+    private static final int TIME_OFFSET = 8;
+    private static final int BLOCK_SIZE = 16; // std140 rounds the block size up to a vec4 multiple
+
+    private static final ByteBuffer data = BufferUtils.createByteBuffer(BLOCK_SIZE);
+    private static int bufferId;
+    private static boolean dirty = true;
+
+    //endregion
+
+    //region Constructors
+
+    private GLFrameUniformBuffer() {
+        // no instantiation allowed
+    }
+
+    //endregion
+
+    //region Public Functions
+
+    /**
+     * Set the viewport size.
+     *
+     * @param width  The viewport width.
+     * @param height The viewport height.
+     */
+    public static void setViewport(float width, float height) {
+        putFloat(VIEWPORT_OFFSET, width);
+        putFloat(VIEWPORT_OFFSET + Float.BYTES, height);
+    }
+
+    /**
+     * Set the elapsed time.
+     *
+     * @param time The time, in seconds.
+     */
+    public static void setTime(float time) {
+        putFloat(TIME_OFFSET, time);
+    }
+
+    /**
+     * Upload the staged values if any changed (the buffer is created and bound on the first call).
+     */
+    public static void upload() {
+        if (bufferId == 0) {
+            bufferId = glGenBuffers();
+            glBindBuffer(GL_UNIFORM_BUFFER, bufferId);
+            glBufferData(GL_UNIFORM_BUFFER, BLOCK_SIZE, GL_DYNAMIC_DRAW);
+            glBindBufferBase(GL_UNIFORM_BUFFER, BINDING_POINT, bufferId);
+            dirty = true;
+        }
+
+        if (!dirty) {
+            return;
+        }
+
+        glBindBuffer(GL_UNIFORM_BUFFER, bufferId);
+        glBufferSubData(GL_UNIFORM_BUFFER, 0, data);
+        dirty = false;
+    }
+
+    /**
+     * Delete the buffer (a new one is created on the next upload).
+     */
+    public static void dispose() {
+        if (bufferId != 0) {
+            glDeleteBuffers(bufferId);
+            bufferId = 0;
+        }
+    }
+
+    //endregion
+
+    //region Private Functions
+
+    private static void putFloat(int offset, float value) {
+        if (data.getFloat(offset) != value) {
+            data.putFloat(offset, value);
+            dirty = true;
+        }
+    }
+
+    //endregion
+}
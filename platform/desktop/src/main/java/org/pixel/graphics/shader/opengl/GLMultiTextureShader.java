@@ -10,7 +10,7 @@ import java.util.List;
 
 public class GLMultiTextureShader extends GLShader {
 
-    private static final List<String> uniforms = Arrays.asList("uMatrix", "uTextureImage");
+    private static final List<String> uniforms = Arrays.asList("uTextureImage");
     private static final List<String> attributes = Arrays.asList("aVertexPosition", "aVertexColor",
             "aTextureCoordinates", "aTextureIndex");
 
@@ -28,19 +28,31 @@ public class GLMultiTextureShader extends GLShader {
      * @param textureCount The number of textures to be used.
      */
     public GLMultiTextureShader(int textureCount) {
-        super(vertSrc,
-                fragSrc
-                        .replace("/*$numTextures*/", String.valueOf(textureCount))
-                        .replace("/*$textureSwitchCase*/", createTextureSwitch(textureCount)),
-                attributes, uniforms);
+        super(vertSrc, createFragmentSource(textureCount), attributes, uniforms);
         this.init();
     }
 
+    /**
+     * Get the program source.
+     *
+     * @param textureCount The number of textures to be used.
+     * @return The program source.
+     */
+    public static GLShaderSource getSource(int textureCount) {
+        return new GLShaderSource(vertSrc, createFragmentSource(textureCount));
+    }
+
+    private static String createFragmentSource(int textureCount) {
+        return fragSrc
+                .replace("/*$numTextures*/", String.valueOf(textureCount))
+                .replace("/*$textureSwitchCase*/", createTextureSwitch(textureCount));
+    }
+
     private static String createTextureSwitch(int textureCount) {
         var sb = new StringBuilder();
         for (int i = 0; i < textureCount; i++) {
             sb.append("\tcase ").append(i).append(":\n");
-            sb.append("\t\tcolor = texture(uTextureImage[").append(i).append("], vTextureCoordinates) * vColor;\n");
+            sb.append("\t\tcolor = texture(uTextureImage[").append(i).append("], vTextureCoordinates);\n");
             sb.append("\t\tbreak;\n");
         }
         return sb.toString();
@@ -12,7 +12,7 @@ public class GLPrimitiveShader extends GLShader {
 
     //region private properties
 
-    private static final List<String> uniforms = List.of("uMatrix");
+    private static final List<String> uniforms = List.of();
     private static final List<String> attributes = Arrays.asList("aVertexPosition", "aVertexColor");
 
     private static final String vertSrc;
@@ -35,5 +35,14 @@ public class GLPrimitiveShader extends GLShader {
         this.init();
     }
 
+    /**
+     * Get the program source.
+     *
+     * @return The program source.
+     */
+    public static GLShaderSource getSource() {
+        return new GLShaderSource(vertSrc, fragSrc);
+    }
+
     //endregion
 }
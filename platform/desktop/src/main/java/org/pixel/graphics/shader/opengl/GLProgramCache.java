@@ -0,0 +1,295 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.shader.opengl;
+
+import static org.lwjgl.opengl.GL11C.GL_RENDERER;
+import static org.lwjgl.opengl.GL11C.GL_TRUE;
+import static org.lwjgl.opengl.GL11C.GL_VENDOR;
+import static org.lwjgl.opengl.GL11C.GL_VERSION;
+import static org.lwjgl.opengl.GL11C.glGetInteger;
+import static org.lwjgl.opengl.GL11C.glGetString;
+import static org.lwjgl.opengl.GL20C.GL_LINK_STATUS;
+import static org.lwjgl.opengl.GL20C.glCreateProgram;
+import static org.lwjgl.opengl.GL20C.glDeleteProgram;
+import static org.lwjgl.opengl.GL20C.glGetProgrami;
+import static org.lwjgl.opengl.GL41C.GL_NUM_PROGRAM_BINARY_FORMATS;
+import static org.lwjgl.opengl.GL41C.GL_PROGRAM_BINARY_LENGTH;
+import static org.lwjgl.opengl.GL41C.GL_PROGRAM_BINARY_RETRIEVABLE_HINT;
+import static org.lwjgl.opengl.GL41C.glGetProgramBinary;
+import static org.lwjgl.opengl.GL41C.glProgramBinary;
+import static org.lwjgl.opengl.GL41C.glProgramParameteri;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+import org.pixel.commons.annotations.Nullable;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+
+/**
+ * Cache of linked program binaries ({@code glGetProgramBinary}), so a program built once is reloaded with
+ * {@code glProgramBinary} instead of being compiled and linked again. Entries are keyed by the hash of the shader
+ * sources and the driver identification (vendor, renderer and version strings); binaries are kept in memory and,
+ * when a directory is given, on disk for later launches. A binary rejected by the driver (e.g. after a driver update
+ * that kept the same version string) is discarded and the caller falls back to compilation.
+ *
+ * <p>Layout (big-endian header): {@code [magic:int][version:int][binaryFormat:int][length:int]} followed by the
+ * program binary.
+ */
+public class GLProgramCache {
+
+    private static final Logger log = LoggerFactory.getLogger(GLProgramCache.class);
+
+    private static final int MAGIC = 0x50585042; // "PXPB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final String FILE_EXTENSION = ".pxpb";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path directory;
+    private final String driverId;
+    private final HashMap<String, ProgramBinary> binaries;
+
+    /**
+     * Constructor (requires a current context).
+     *
+     * @param directory The cache directory (created if needed); when null binaries are only kept in memory.
+     */
+    public GLProgramCache(@Nullable Path directory) {
+        this.directory = directory;
+        this.driverId = glGetString(GL_VENDOR) + "|" + glGetString(GL_RENDERER) + "|" + glGetString(GL_VERSION);
+        this.binaries = new HashMap<>();
+    }
+
+    /**
+     * Check if the current context can retrieve and load program binaries.
+     *
+     * @return True if program binaries are supported, false otherwise.
+     */
+    public static boolean isSupported() {
+        GLCapabilities capabilities = GL.getCapabilities();
+        return (capabilities.OpenGL41 || capabilities.GL_ARB_get_program_binary)
+                && glGetInteger(GL_NUM_PROGRAM_BINARY_FORMATS) > 0;
+    }
+
+    /**
+     * Compute the cache key of a given program.
+     *
+     * @param vertexSource   The vertex shader source.
+     * @param fragmentSource The fragment shader source.
+     * @return The cache key.
+     */
+    public String computeKey(String vertexSource, String fragmentSource) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(vertexSource.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(fragmentSource.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(driverId.getBytes(StandardCharsets.UTF_8));
+
+            byte[] hash = digest.digest();
+            char[] key = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                key[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+                key[i * 2 + 1] = HEX[hash[i] & 0xF];
+            }
+
+            return new String(key);
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Check if an entry is available (in memory or on disk).
+     *
+     * @param key The cache key.
+     * @return True if the entry is available, false otherwise.
+     */
+    public boolean contains(String key) {
+        return binaries.containsKey(key) || (directory != null && Files.isReadable(getFile(key)));
+    }
+
+    /**
+     * Create a program from a cached binary.
+     *
+     * @param key The cache key.
+     * @return The linked program id or 0 on a cache miss (or when the driver rejected the binary).
+     */
+    public int load(String key) {
+        ProgramBinary binary = binaries.get(key);
+        if (binary == null && (binary = read(key)) == null) {
+            return 0;
+        }
+
+        int programId = glCreateProgram();
+        glProgramBinary(programId, binary.format, binary.data.duplicate());
+        if (glGetProgrami(programId, GL_LINK_STATUS) != GL_TRUE) {
+            log.debug("Program binary '{}' rejected by the driver, recompiling.", key);
+            glDeleteProgram(programId);
+            evict(key);
+            return 0;
+        }
+
+        binaries.put(key, binary);
+        return programId;
+    }
+
+    /**
+     * Hint the driver that the binary of a program will be retrieved (call before linking).
+     *
+     * @param programId The program id.
+     */
+    public void prepare(int programId) {
+        glProgramParameteri(programId, GL_PROGRAM_BINARY_RETRIEVABLE_HINT, GL_TRUE);
+    }
+
+    /**
+     * Store the binary of a linked program.
+     *
+     * @param key       The cache key.
+     * @param programId The linked program id.
+     */
+    public void store(String key, int programId) {
+        int length = glGetProgrami(programId, GL_PROGRAM_BINARY_LENGTH);
+        if (length <= 0) {
+            return;
+        }
+
+        IntBuffer format = BufferUtils.createIntBuffer(1);
+        ByteBuffer data = BufferUtils.createByteBuffer(length);
+        glGetProgramBinary(programId, null, format, data);
+
+        ProgramBinary binary = new ProgramBinary(format.get(0), data);
+        binaries.put(key, binary);
+        if (directory != null) {
+            write(key, binary);
+        }
+    }
+
+    /**
+     * Get the cache directory.
+     *
+     * @return The cache directory or null when binaries are only kept in memory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private ProgramBinary read(String key) {
+        if (directory == null) {
+            return null;
+        }
+
+        Path file = getFile(key);
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            if (fc.size() > HEADER_SIZE && fc.read(header) == HEADER_SIZE) {
+                header.flip();
+                int format = header.getInt(8);
+                int length = header.getInt(12);
+                if (header.getInt(0) == MAGIC && header.getInt(4) == VERSION && length == fc.size() - HEADER_SIZE) {
+                    ByteBuffer data = BufferUtils.createByteBuffer(length);
+                    while (data.hasRemaining()) {
+                        if (fc.read(data) < 0) {
+                            throw new IOException("Unexpected end of file.");
+                        }
+                    }
+                    return new ProgramBinary(format, data.flip());
+                }
+            }
+
+        } catch (IOException e) {
+            log.error("Unable to read program cache entry '{}'.", file, e);
+            return null;
+        }
+
+        log.warn("Discarding invalid program cache entry '{}'.", file);
+        evict(key);
+        return null;
+    }
+
+    private void write(String key, ProgramBinary binary) {
+        Path file = getFile(key);
+        Path tmpFile = directory.resolve(key + FILE_EXTENSION + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel fc = FileChannel.open(tmpFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(MAGIC).putInt(VERSION)
+                        .putInt(binary.format).putInt(binary.data.remaining())
+                        .flip();
+                ByteBuffer data = binary.data.duplicate();
+                while (header.hasRemaining()) {
+                    fc.write(header);
+                }
+                while (data.hasRemaining()) {
+                    fc.write(data);
+                }
+            }
+
+            // publish atomically so a concurrent launch never observes a partial entry:
+            try {
+                Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+        } catch (IOException e) {
+            log.error("Unable to write program cache entry '{}'.", file, e);
+        }
+    }
+
+    private void evict(String key) {
+        binaries.remove(key);
+        if (directory == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(getFile(key));
+
+        } catch (IOException e) {
+            log.error("Unable to delete program cache entry '{}'.", key, e);
+        }
+    }
+
+    private Path getFile(String key) {
+        return directory.resolve(key + FILE_EXTENSION);
+    }
+
+    private static class ProgramBinary {
+
+        private final int format;
+        private final ByteBuffer data;
+
+        ProgramBinary(int format, ByteBuffer data) {
+            this.format = format;
+            this.data = data;
+        }
+    }
+}
@@ -29,4 +29,13 @@ public class GLRenderBufferShader extends GLShader {
         this.init();
     }
 
+    /**
+     * Get the program source.
+     *
+     * @return The program source.
+     */
+    public static GLShaderSource getSource() {
+        return new GLShaderSource(vertSrc, fragSrc);
+    }
+
 }
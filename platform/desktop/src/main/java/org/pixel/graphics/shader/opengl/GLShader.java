@@ -1,30 +1,47 @@
 package org.pixel.graphics.shader.opengl;
 
+import org.pixel.commons.annotations.Nullable;
 import org.pixel.commons.logger.Logger;
 import org.pixel.commons.logger.LoggerFactory;
+import org.pixel.graphics.opengl.GLStateCache;
 import org.pixel.graphics.shader.Shader;
+import org.pixel.graphics.shader.opengl.uniform.GLFloatUniform;
+import org.pixel.graphics.shader.opengl.uniform.GLIntArrayUniform;
+import org.pixel.graphics.shader.opengl.uniform.GLIntUniform;
+import org.pixel.graphics.shader.opengl.uniform.GLMatrix4Uniform;
+import org.pixel.graphics.shader.opengl.uniform.GLUniform;
+import org.pixel.graphics.shader.opengl.uniform.GLVector2Uniform;
+import org.pixel.graphics.shader.opengl.uniform.GLVector4Uniform;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 import static org.lwjgl.opengl.GL11C.GL_TRUE;
 import static org.lwjgl.opengl.GL20C.*;
+import static org.lwjgl.opengl.GL31C.GL_INVALID_INDEX;
+import static org.lwjgl.opengl.GL31C.glGetUniformBlockIndex;
+import static org.lwjgl.opengl.GL31C.glUniformBlockBinding;
 
 public abstract class GLShader implements Shader {
 
     private static final Logger log = LoggerFactory.getLogger(GLShader.class);
 
+    private static GLProgramCache programCache;
+
     private final String vertexShaderSource;
     private final String fragmentShaderSource;
     private final List<String> attributes;
     private final List<String> uniforms;
     private final HashMap<String, Integer> attributeLocationMap;
     private final HashMap<String, Integer> uniformLocationMap;
+    private final HashMap<String, GLUniform> uniformHandleMap;
 
     private int programId;
     private int vertexShaderId;
@@ -45,43 +62,68 @@ public abstract class GLShader implements Shader {
         this.uniforms = uniforms;
         this.attributeLocationMap = new HashMap<>();
         this.uniformLocationMap = new HashMap<>();
+        this.uniformHandleMap = new HashMap<>();
     }
 
     @Override
     public boolean init() {
-        // create and put vertex/fragment shader:
-        vertexShaderId = glCreateShader(GL_VERTEX_SHADER);
-        fragmentShaderId = glCreateShader(GL_FRAGMENT_SHADER);
+        // reuse the program binary when available:
+        String cacheKey = programCache != null ? programCache.computeKey(vertexShaderSource, fragmentShaderSource)
+                : null;
+        programId = cacheKey != null ? programCache.load(cacheKey) : 0;
+
+        if (programId == 0) {
+            // create and put vertex/fragment shader:
+            vertexShaderId = glCreateShader(GL_VERTEX_SHADER);
+            fragmentShaderId = glCreateShader(GL_FRAGMENT_SHADER);
 
-        // attach shader source
-        initShader(vertexShaderId, vertexShaderSource);
-        initShader(fragmentShaderId, fragmentShaderSource);
+            // attach shader source
+            initShader(vertexShaderId, vertexShaderSource);
+            initShader(fragmentShaderId, fragmentShaderSource);
 
-        // create program:
-        programId = glCreateProgram();
+            // create program:
+            programId = glCreateProgram();
+            if (cacheKey != null) {
+                programCache.prepare(programId);
+            }
 
-        // attach shaders:
-        glAttachShader(programId, vertexShaderId);
-        glAttachShader(programId, fragmentShaderId);
+            // attach shaders:
+            glAttachShader(programId, vertexShaderId);
+            glAttachShader(programId, fragmentShaderId);
 
-        // link:
-        glLinkProgram(programId);
+            // link:
+            glLinkProgram(programId);
+
+            // status check:
+            if (glGetProgrami(programId, GL_LINK_STATUS) != GL_TRUE) {
+                throw new RuntimeException(glGetProgramInfoLog(programId));
+            }
 
-        // status check:
-        if (glGetProgrami(programId, GL_LINK_STATUS) != GL_TRUE) {
-            throw new RuntimeException(glGetProgramInfoLog(programId));
+            if (cacheKey != null) {
+                programCache.store(cacheKey, programId);
+            }
         }
 
         // cache locations
         cacheAttributeLocations();
         cacheUniformLocations();
 
+        // shared per-frame data and camera matrices:
+        int frameBlockIndex = glGetUniformBlockIndex(programId, GLFrameUniformBuffer.BLOCK_NAME);
+        if (frameBlockIndex != GL_INVALID_INDEX) {
+            glUniformBlockBinding(programId, frameBlockIndex, GLFrameUniformBuffer.BINDING_POINT);
+        }
+        int cameraBlockIndex = glGetUniformBlockIndex(programId, GLCameraUniformBuffer.BLOCK_NAME);
+        if (cameraBlockIndex != GL_INVALID_INDEX) {
+            glUniformBlockBinding(programId, cameraBlockIndex, GLCameraUniformBuffer.BINDING_POINT);
+        }
+
         return true;
     }
 
     @Override
     public void use() {
-        glUseProgram(programId);
+        GLStateCache.useProgram(programId);
     }
 
     @Override
@@ -93,6 +135,7 @@ public abstract class GLShader implements Shader {
     public void dispose() {
         glDeleteShader(vertexShaderId);
         glDeleteShader(fragmentShaderId);
+        GLStateCache.onDeleteProgram(programId);
         glDeleteProgram(programId);
     }
 
@@ -115,6 +158,67 @@ public abstract class GLShader implements Shader {
         return uniformLocationMap.get(name);
     }
 
+    /**
+     * Get a matrix uniform handle. Handles should be obtained once (e.g. at initialization) and kept, setting a value
+     * through a handle costs no lookup and redundant values are not uploaded.
+     *
+     * @param name The uniform name.
+     * @return The uniform handle.
+     */
+    public GLMatrix4Uniform getMatrix4Uniform(String name) {
+        return getUniform(name, GLMatrix4Uniform.class, GLMatrix4Uniform::new);
+    }
+
+    /**
+     * Get a float uniform handle.
+     *
+     * @param name The uniform name.
+     * @return The uniform handle.
+     */
+    public GLFloatUniform getFloatUniform(String name) {
+        return getUniform(name, GLFloatUniform.class, GLFloatUniform::new);
+    }
+
+    /**
+     * Get a vec2 uniform handle.
+     *
+     * @param name The uniform name.
+     * @return The uniform handle.
+     */
+    public GLVector2Uniform getVector2Uniform(String name) {
+        return getUniform(name, GLVector2Uniform.class, GLVector2Uniform::new);
+    }
+
+    /**
+     * Get a vec4 uniform handle.
+     *
+     * @param name The uniform name.
+     * @return The uniform handle.
+     */
+    public GLVector4Uniform getVector4Uniform(String name) {
+        return getUniform(name, GLVector4Uniform.class, GLVector4Uniform::new);
+    }
+
+    /**
+     * Get an int (or sampler) uniform handle.
+     *
+     * @param name The uniform name.
+     * @return The uniform handle.
+     */
+    public GLIntUniform getIntUniform(String name) {
+        return getUniform(name, GLIntUniform.class, GLIntUniform::new);
+    }
+
+    /**
+     * Get an int (or sampler) array uniform handle.
+     *
+     * @param name The uniform name.
+     * @return The uniform handle.
+     */
+    public GLIntArrayUniform getIntArrayUniform(String name) {
+        return getUniform(name, GLIntArrayUniform.class, GLIntArrayUniform::new);
+    }
+
     /**
      * Get shader attribute location.
      *
@@ -135,6 +239,19 @@ public abstract class GLShader implements Shader {
         }
     }
 
+    private <T extends GLUniform> T getUniform(String name, Class<T> type, IntFunction<T> factory) {
+        GLUniform uniform = uniformHandleMap.get(name);
+        if (uniform == null) {
+            Integer location = uniformLocationMap.get(name);
+            uniform = factory.apply(location != null ? location : glGetUniformLocation(programId, name));
+            uniformHandleMap.put(name, uniform);
+        } else if (!type.isInstance(uniform)) {
+            throw new RuntimeException("Uniform '" + name + "' is not a " + type.getSimpleName());
+        }
+
+        return type.cast(uniform);
+    }
+
     private void cacheAttributeLocations() {
         attributes.forEach(elem -> attributeLocationMap.put(elem, glGetAttribLocation(programId, elem)));
     }
@@ -145,6 +262,79 @@ public abstract class GLShader implements Shader {
 
     // region static
 
+    /**
+     * Set the program cache used by shader initialization.
+     *
+     * @param cache The program cache (null to always compile from source).
+     */
+    public static void setProgramCache(@Nullable GLProgramCache cache) {
+        programCache = cache;
+    }
+
+    /**
+     * Get the program cache used by shader initialization.
+     *
+     * @return The program cache or null if none is set.
+     */
+    public static GLProgramCache getProgramCache() {
+        return programCache;
+    }
+
+    /**
+     * Build the given programs ahead of time and store them in the program cache, so the shaders created later are
+     * loaded from their binary. Every source is submitted before any status is queried, which lets drivers that
+     * compile in the background (e.g. KHR_parallel_shader_compile) work on all of them concurrently. Programs already
+     * cached are skipped; nothing is done without a program cache.
+     *
+     * @param sources The program sources.
+     */
+    public static void precompile(List<GLShaderSource> sources) {
+        if (programCache == null) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<int[]> programs = new ArrayList<>(); // <program, vertex shader, fragment shader>
+        for (GLShaderSource source : sources) {
+            String key = programCache.computeKey(source.getVertexSource(), source.getFragmentSource());
+            if (keys.contains(key) || programCache.contains(key)) {
+                continue;
+            }
+
+            int vertexShaderId = glCreateShader(GL_VERTEX_SHADER);
+            glShaderSource(vertexShaderId, source.getVertexSource());
+            glCompileShader(vertexShaderId);
+            int fragmentShaderId = glCreateShader(GL_FRAGMENT_SHADER);
+            glShaderSource(fragmentShaderId, source.getFragmentSource());
+            glCompileShader(fragmentShaderId);
+
+            keys.add(key);
+            programs.add(new int[]{glCreateProgram(), vertexShaderId, fragmentShaderId});
+        }
+
+        for (int[] program : programs) {
+            programCache.prepare(program[0]);
+            glAttachShader(program[0], program[1]);
+            glAttachShader(program[0], program[2]);
+            glLinkProgram(program[0]);
+        }
+
+        for (int i = 0; i < programs.size(); i++) {
+            int[] program = programs.get(i);
+            if (glGetProgrami(program[0], GL_LINK_STATUS) == GL_TRUE) {
+                programCache.store(keys.get(i), program[0]);
+            } else {
+                log.warn("Unable to precompile program: {}", glGetProgramInfoLog(program[0]));
+            }
+
+            glDeleteShader(program[1]);
+            glDeleteShader(program[2]);
+            glDeleteProgram(program[0]);
+        }
+
+        log.debug("Precompiled {} program(s).", programs.size());
+    }
+
     /**
      * Load shader source from file.
      *
@@ -153,7 +343,6 @@ public abstract class GLShader implements Shader {
      */
     protected static String loadShader(String fileName) {
         // TODO: remove this code, use FileUtils.*
-        // TODO: apply early loading? (load all engine shaders at once)
         ClassLoader classLoader = ClassLoader.getSystemClassLoader();
         try (InputStream is = classLoader.getResourceAsStream(fileName)) {
             if (is == null) {
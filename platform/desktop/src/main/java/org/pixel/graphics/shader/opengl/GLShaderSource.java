@@ -0,0 +1,44 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.shader.opengl;
+
+/**
+ * Vertex and fragment source pair of a shader program.
+ */
+public class GLShaderSource {
+
+    private final String vertexSource;
+    private final String fragmentSource;
+
+    /**
+     * Constructor.
+     *
+     * @param vertexSource   The vertex shader source.
+     * @param fragmentSource The fragment shader source.
+     */
+    public GLShaderSource(String vertexSource, String fragmentSource) {
+        this.vertexSource = vertexSource;
+        this.fragmentSource = fragmentSource;
+    }
+
+    /**
+     * Get the vertex shader source.
+     *
+     * @return The vertex shader source.
+     */
+    public String getVertexSource() {
+        return vertexSource;
+    }
+
+    /**
+     * Get the fragment shader source.
+     *
+     * @return The fragment shader source.
+     */
+    public String getFragmentSource() {
+        return fragmentSource;
+    }
+}
@@ -12,7 +12,7 @@ public class GLTextureShader extends GLShader {
 
     //region private properties
 
-    private static final List<String> uniforms = Arrays.asList("uMatrix", "uTextureImage");
+    private static final List<String> uniforms = Arrays.asList("uTextureImage");
     private static final List<String> attributes = Arrays.asList("aVertexPosition", "aVertexColor", "aTextureCoordinates");
 
     private static final String vertSrc;
@@ -35,5 +35,14 @@ public class GLTextureShader extends GLShader {
         this.init();
     }
 
+    /**
+     * Get the program source.
+     *
+     * @return The program source.
+     */
+    public static GLShaderSource getSource() {
+        return new GLShaderSource(vertSrc, fragSrc);
+    }
+
     //endregion
 }
@@ -5,11 +5,11 @@
 
 package org.pixel.graphics.shader.opengl;
 
-import static org.lwjgl.opengl.GL30C.glBindVertexArray;
 import static org.lwjgl.opengl.GL30C.glDeleteVertexArrays;
 import static org.lwjgl.opengl.GL30C.glGenVertexArrays;
 
 import org.pixel.commons.lifecycle.Disposable;
+import org.pixel.graphics.opengl.GLStateCache;
 
 public class GLVertexArrayObject implements Disposable {
 
@@ -45,18 +45,19 @@ public class GLVertexArrayObject implements Disposable {
      * Bind the VAO.
      */
     public void bind() {
-        glBindVertexArray(id);
+        GLStateCache.bindVertexArray(id);
     }
 
     /**
      * Unbind the VAO.
      */
     public void unbind() {
-        glBindVertexArray(0);
+        GLStateCache.bindVertexArray(0);
     }
 
     @Override
     public void dispose() {
+        GLStateCache.onDeleteVertexArray(id);
         glDeleteVertexArrays(id);
     }
 
@@ -5,15 +5,16 @@
 
 package org.pixel.graphics.shader.opengl;
 
-import static org.lwjgl.opengl.GL15C.glBindBuffer;
 import static org.lwjgl.opengl.GL15C.glBufferData;
 import static org.lwjgl.opengl.GL15C.glBufferSubData;
 import static org.lwjgl.opengl.GL15C.glDeleteBuffers;
 import static org.lwjgl.opengl.GL15C.glGenBuffers;
 
+import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import org.pixel.commons.lifecycle.Disposable;
+import org.pixel.graphics.opengl.GLStateCache;
 
 public class GLVertexBufferObject implements Disposable {
 
@@ -51,7 +52,7 @@ public class GLVertexBufferObject implements Disposable {
      * @param target The target.
      */
     public void bind(int target) {
-        glBindBuffer(target, id);
+        GLStateCache.bindBuffer(target, id);
     }
 
     /**
@@ -87,8 +88,20 @@ public class GLVertexBufferObject implements Disposable {
         glBufferData(target, data, usage);
     }
 
+    /**
+     * Upload data to the VBO.
+     *
+     * @param target The target.
+     * @param data   The data.
+     * @param usage  The usage.
+     */
+    public void uploadData(int target, ByteBuffer data, int usage) {
+        glBufferData(target, data, usage);
+    }
+
     @Override
     public void dispose() {
+        GLStateCache.onDeleteBuffer(id);
         glDeleteBuffers(id);
     }
 
@@ -10,19 +10,17 @@ import lombok.Setter;
 
 import org.pixel.commons.Color;
 import org.pixel.graphics.shader.opengl.GLShader;
+import org.pixel.graphics.shader.opengl.GLShaderSource;
+import org.pixel.graphics.shader.opengl.uniform.GLFloatUniform;
+import org.pixel.graphics.shader.opengl.uniform.GLVector4Uniform;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
-import static org.lwjgl.opengl.GL20C.glUniform1f;
-import static org.lwjgl.opengl.GL20C.glUniform4f;
-
-@Getter
-@Setter
 public class GLBorderEffectShader extends GLShader {
 
-    private static final List<String> uniforms = Arrays.asList("uTextureImage", "uVertical", "uHorizontal", "uTime",
+    private static final List<String> uniforms = Arrays.asList("uTextureImage", "uVertical", "uHorizontal",
             "uColor");
     private static final List<String> attributes = Collections.singletonList("aVertexPosition");
 
@@ -34,8 +32,18 @@ public class GLBorderEffectShader extends GLShader {
         fragSrc = loadShader("engine/shader/opengl/effect/border.frag.glsl");
     }
 
+    private final GLFloatUniform verticalUniform;
+    private final GLFloatUniform horizontalUniform;
+    private final GLVector4Uniform colorUniform;
+
+    @Getter
+    @Setter
     private float vertical;
+    @Getter
+    @Setter
     private float horizontal;
+    @Getter
+    @Setter
     private Color color;
 
     /**
@@ -45,11 +53,7 @@ public class GLBorderEffectShader extends GLShader {
      * @param horizontal Horizontal border size
      */
     public GLBorderEffectShader(float vertical, float horizontal) {
-        super(vertSrc, fragSrc, attributes, uniforms);
-        this.vertical = vertical;
-        this.horizontal = horizontal;
-        this.color = Color.BLACK;
-        this.init();
+        this(vertical, horizontal, Color.BLACK);
     }
 
     /**
@@ -65,12 +69,24 @@ public class GLBorderEffectShader extends GLShader {
         this.horizontal = horizontal;
         this.color = color;
         this.init();
+        this.verticalUniform = getFloatUniform("uVertical");
+        this.horizontalUniform = getFloatUniform("uHorizontal");
+        this.colorUniform = getVector4Uniform("uColor");
+    }
+
+    /**
+     * Get the program source.
+     *
+     * @return The program source.
+     */
+    public static GLShaderSource getSource() {
+        return new GLShaderSource(vertSrc, fragSrc);
     }
 
     @Override
     public void apply() {
-        glUniform1f(getUniformLocation("uHorizontal"), horizontal);
-        glUniform1f(getUniformLocation("uVertical"), vertical);
-        glUniform4f(getUniformLocation("uColor"), color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
+        horizontalUniform.set(horizontal);
+        verticalUniform.set(vertical);
+        colorUniform.set(color);
     }
 }
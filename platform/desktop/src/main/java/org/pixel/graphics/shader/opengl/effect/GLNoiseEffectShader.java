@@ -8,17 +8,15 @@ package org.pixel.graphics.shader.opengl.effect;
 import lombok.Getter;
 import lombok.Setter;
 import org.pixel.graphics.shader.opengl.GLShader;
+import org.pixel.graphics.shader.opengl.GLShaderSource;
+import org.pixel.graphics.shader.opengl.uniform.GLFloatUniform;
+import org.pixel.graphics.shader.opengl.uniform.GLVector2Uniform;
 import org.pixel.math.Vector2;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
-import static org.lwjgl.opengl.GL20C.glUniform1f;
-import static org.lwjgl.opengl.GL20C.glUniform2f;
-
-@Getter
-@Setter
 public class GLNoiseEffectShader extends GLShader {
 
     private static final List<String> uniforms = Arrays.asList("uTextureImage", "uAmount", "uOffset", "uDensity");
@@ -32,8 +30,18 @@ public class GLNoiseEffectShader extends GLShader {
         fragSrc = loadShader("engine/shader/opengl/effect/noise.frag.glsl");
     }
 
+    private final GLFloatUniform amountUniform;
+    private final GLFloatUniform densityUniform;
+    private final GLVector2Uniform offsetUniform;
+
+    @Getter
+    @Setter
     private float amount;
+    @Getter
+    @Setter
     private float density;
+    @Getter
+    @Setter
     private Vector2 offset;
 
     /**
@@ -48,13 +56,25 @@ public class GLNoiseEffectShader extends GLShader {
         this.density = density;
         this.offset = Vector2.zero();
         this.init();
+        this.amountUniform = getFloatUniform("uAmount");
+        this.densityUniform = getFloatUniform("uDensity");
+        this.offsetUniform = getVector2Uniform("uOffset");
+    }
+
+    /**
+     * Get the program source.
+     *
+     * @return The program source.
+     */
+    public static GLShaderSource getSource() {
+        return new GLShaderSource(vertSrc, fragSrc);
     }
 
     @Override
     public void apply() {
-        glUniform1f(getUniformLocation("uAmount"), amount);
-        glUniform1f(getUniformLocation("uDensity"), density);
-        glUniform2f(getUniformLocation("uOffset"), offset.getX(), offset.getY());
+        amountUniform.set(amount);
+        densityUniform.set(density);
+        offsetUniform.set(offset);
     }
 }
 
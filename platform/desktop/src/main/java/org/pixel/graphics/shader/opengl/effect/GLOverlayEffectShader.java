@@ -10,17 +10,15 @@ import lombok.Setter;
 
 import org.pixel.commons.Color;
 import org.pixel.graphics.shader.opengl.GLShader;
+import org.pixel.graphics.shader.opengl.GLShaderSource;
+import org.pixel.graphics.shader.opengl.uniform.GLVector4Uniform;
 
 import java.util.Arrays;
 import java.util.List;
 
-import static org.lwjgl.opengl.GL20C.glUniform4f;
-
-@Getter
-@Setter
 public class GLOverlayEffectShader extends GLShader {
 
-    private static final List<String> uniforms = Arrays.asList("uTextureImage", "uOverlayColor", "uTime");
+    private static final List<String> uniforms = Arrays.asList("uTextureImage", "uOverlayColor");
     private static final List<String> attributes = Arrays.asList("aVertexPosition");
 
     private static final String vertSrc;
@@ -31,6 +29,10 @@ public class GLOverlayEffectShader extends GLShader {
         fragSrc = loadShader("engine/shader/opengl/effect/overlay.frag.glsl");
     }
 
+    private final GLVector4Uniform overlayColorUniform;
+
+    @Getter
+    @Setter
     private Color overlayColor;
 
     /**
@@ -42,11 +44,20 @@ public class GLOverlayEffectShader extends GLShader {
         super(vertSrc, fragSrc, attributes, uniforms);
         this.overlayColor = overlayColor;
         this.init();
+        this.overlayColorUniform = getVector4Uniform("uOverlayColor");
+    }
+
+    /**
+     * Get the program source.
+     *
+     * @return The program source.
+     */
+    public static GLShaderSource getSource() {
+        return new GLShaderSource(vertSrc, fragSrc);
     }
 
     @Override
     public void apply() {
-        glUniform4f(getUniformLocation("uOverlayColor"), overlayColor.getRed(), overlayColor.getGreen(),
-                overlayColor.getBlue(), overlayColor.getAlpha());
+        overlayColorUniform.set(overlayColor);
     }
 }
@@ -8,19 +8,17 @@ package org.pixel.graphics.shader.opengl.effect;
 import lombok.Getter;
 import lombok.Setter;
 import org.pixel.graphics.shader.opengl.GLShader;
+import org.pixel.graphics.shader.opengl.GLShaderSource;
+import org.pixel.graphics.shader.opengl.uniform.GLFloatUniform;
+import org.pixel.graphics.shader.opengl.uniform.GLIntUniform;
 
 import java.util.Arrays;
 import java.util.List;
 
-import static org.lwjgl.opengl.GL20C.glUniform1f;
-import static org.lwjgl.opengl.GL20C.glUniform1i;
-
-@Getter
-@Setter
 public class GLPixelerEffectShader extends GLShader {
 
     private static final List<String> uniforms = Arrays.asList("uTextureImage", "uBlockSizeH", "uBlockSizeV",
-            "uAnimated", "uTime");
+            "uAnimated");
     private static final List<String> attributes = Arrays.asList("aVertexPosition");
 
     private static final String vertSrc;
@@ -31,8 +29,18 @@ public class GLPixelerEffectShader extends GLShader {
         fragSrc = loadShader("engine/shader/opengl/effect/pixeler.frag.glsl");
     }
 
+    private final GLFloatUniform horizontalBlockSizeUniform;
+    private final GLFloatUniform verticalBlockSizeUniform;
+    private final GLIntUniform animatedUniform;
+
+    @Getter
+    @Setter
     private boolean animated;
+    @Getter
+    @Setter
     private float horizontalBlockSize;
+    @Getter
+    @Setter
     private float verticalBlockSize;
 
     /**
@@ -47,12 +55,24 @@ public class GLPixelerEffectShader extends GLShader {
         this.verticalBlockSize = verticalBlockSize;
         this.animated = false;
         this.init();
+        this.horizontalBlockSizeUniform = getFloatUniform("uBlockSizeH");
+        this.verticalBlockSizeUniform = getFloatUniform("uBlockSizeV");
+        this.animatedUniform = getIntUniform("uAnimated");
+    }
+
+    /**
+     * Get the program source.
+     *
+     * @return The program source.
+     */
+    public static GLShaderSource getSource() {
+        return new GLShaderSource(vertSrc, fragSrc);
     }
 
     @Override
     public void apply() {
-        glUniform1f(getUniformLocation("uBlockSizeH"), horizontalBlockSize);
-        glUniform1f(getUniformLocation("uBlockSizeV"), verticalBlockSize);
-        glUniform1i(getUniformLocation("uAnimated"), animated ? 1 : 0);
+        horizontalBlockSizeUniform.set(horizontalBlockSize);
+        verticalBlockSizeUniform.set(verticalBlockSize);
+        animatedUniform.set(animated ? 1 : 0);
     }
 }
@@ -8,18 +8,16 @@ package org.pixel.graphics.shader.opengl.effect;
 import lombok.Getter;
 import lombok.Setter;
 import org.pixel.graphics.shader.opengl.GLShader;
+import org.pixel.graphics.shader.opengl.GLShaderSource;
+import org.pixel.graphics.shader.opengl.uniform.GLFloatUniform;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
-import static org.lwjgl.opengl.GL20C.glUniform1f;
-
-@Getter
-@Setter
 public class GLSepiaEffectShader extends GLShader {
 
-    private static final List<String> uniforms = Arrays.asList("uTextureImage", "uAmount", "uTime");
+    private static final List<String> uniforms = Arrays.asList("uTextureImage", "uAmount");
     private static final List<String> attributes = Collections.singletonList("aVertexPosition");
 
     private static final String vertSrc;
@@ -30,6 +28,10 @@ public class GLSepiaEffectShader extends GLShader {
         fragSrc = loadShader("engine/shader/opengl/effect/sepia.frag.glsl");
     }
 
+    private final GLFloatUniform amountUniform;
+
+    @Getter
+    @Setter
     private float amount;
 
     /**
@@ -41,10 +43,20 @@ public class GLSepiaEffectShader extends GLShader {
         super(vertSrc, fragSrc, attributes, uniforms);
         this.amount = amount;
         this.init();
+        this.amountUniform = getFloatUniform("uAmount");
+    }
+
+    /**
+     * Get the program source.
+     *
+     * @return The program source.
+     */
+    public static GLShaderSource getSource() {
+        return new GLShaderSource(vertSrc, fragSrc);
     }
 
     @Override
     public void apply() {
-        glUniform1f(getUniformLocation("uAmount"), amount);
+        amountUniform.set(amount);
     }
 }
@@ -0,0 +1,37 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.shader.opengl.uniform;
+
+import static org.lwjgl.opengl.GL20C.glUniform1f;
+
+public class GLFloatUniform extends GLUniform {
+
+    private float value;
+
+    /**
+     * Constructor.
+     *
+     * @param location The uniform location.
+     */
+    public GLFloatUniform(int location) {
+        super(location);
+    }
+
+    /**
+     * Set the uniform value.
+     *
+     * @param value The value.
+     */
+    public void set(float value) {
+        if (location < 0 || (hasValue && this.value == value)) {
+            return;
+        }
+
+        glUniform1f(location, value);
+        this.value = value;
+        this.hasValue = true;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.shader.opengl.uniform;
+
+import static org.lwjgl.opengl.GL20C.glUniform1iv;
+
+import java.util.Arrays;
+
+public class GLIntArrayUniform extends GLUniform {
+
+    private int[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param location The uniform location.
+     */
+    public GLIntArrayUniform(int location) {
+        super(location);
+    }
+
+    /**
+     * Set the uniform values.
+     *
+     * @param values The values.
+     */
+    public void set(int[] values) {
+        if (location < 0 || (hasValue && Arrays.equals(this.values, values))) {
+            return;
+        }
+
+        glUniform1iv(location, values);
+        this.values = values.clone();
+        this.hasValue = true;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.shader.opengl.uniform;
+
+import static org.lwjgl.opengl.GL20C.glUniform1i;
+
+public class GLIntUniform extends GLUniform {
+
+    private int value;
+
+    /**
+     * Constructor.
+     *
+     * @param location The uniform location.
+     */
+    public GLIntUniform(int location) {
+        super(location);
+    }
+
+    /**
+     * Set the uniform value.
+     *
+     * @param value The value.
+     */
+    public void set(int value) {
+        if (location < 0 || (hasValue && this.value == value)) {
+            return;
+        }
+
+        glUniform1i(location, value);
+        this.value = value;
+        this.hasValue = true;
+    }
+}
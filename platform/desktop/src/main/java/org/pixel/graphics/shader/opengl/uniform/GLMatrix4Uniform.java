@@ -0,0 +1,75 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.shader.opengl.uniform;
+
+import static org.lwjgl.opengl.GL20C.glUniformMatrix4fv;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import org.lwjgl.BufferUtils;
+import org.pixel.math.Matrix4;
+
+public class GLMatrix4Uniform extends GLUniform {
+
+    private final float[] values = new float[16]; // column major
+    private final FloatBuffer buffer = BufferUtils.createFloatBuffer(16);
+
+    /**
+     * Constructor.
+     *
+     * @param location The uniform location.
+     */
+    public GLMatrix4Uniform(int location) {
+        super(location);
+    }
+
+    /**
+     * Set the uniform value.
+     *
+     * @param matrix The matrix.
+     */
+    public void set(Matrix4 matrix) {
+        if (location < 0) {
+            return;
+        }
+
+        float[][] m = matrix.toUnsafeArray();
+        boolean changed = !hasValue;
+        for (int c = 0; c < 4; c++) {
+            for (int r = 0; r < 4; r++) {
+                if (values[c * 4 + r] != m[c][r]) {
+                    values[c * 4 + r] = m[c][r];
+                    changed = true;
+                }
+            }
+        }
+
+        if (changed) {
+            upload();
+        }
+    }
+
+    /**
+     * Set the uniform value.
+     *
+     * @param matrix The 16 matrix values, column major.
+     */
+    public void set(float[] matrix) {
+        if (location < 0 || (hasValue && Arrays.equals(values, matrix))) {
+            return;
+        }
+
+        System.arraycopy(matrix, 0, values, 0, 16);
+        upload();
+    }
+
+    private void upload() {
+        buffer.clear();
+        buffer.put(values).flip();
+        glUniformMatrix4fv(location, false, buffer);
+        hasValue = true;
+    }
+}
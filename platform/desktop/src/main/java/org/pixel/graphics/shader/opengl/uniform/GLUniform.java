@@ -0,0 +1,63 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.shader.opengl.uniform;
+
+/**
+ * Typed handle of a shader uniform, with the location resolved once and the last uploaded value cached so that
+ * redundant uploads are skipped. Uniform values are program state: setters must be called while the owning shader
+ * is in use.
+ */
+public abstract class GLUniform {
+
+    //region private properties
+
+    protected final int location;
+    protected boolean hasValue;
+
+    //endregion
+
+    //region constructors
+
+    /**
+     * Constructor.
+     *
+     * @param location The uniform location (-1 if the uniform is not active in the program).
+     */
+    protected GLUniform(int location) {
+        this.location = location;
+    }
+
+    //endregion
+
+    //region public methods
+
+    /**
+     * Get the uniform location.
+     *
+     * @return The uniform location.
+     */
+    public int getLocation() {
+        return location;
+    }
+
+    /**
+     * Check if the uniform is active in the program (inactive uniforms ignore every upload).
+     *
+     * @return True if the uniform is active.
+     */
+    public boolean isActive() {
+        return location >= 0;
+    }
+
+    /**
+     * Forget the cached value, so the next set is uploaded (e.g. after the program was changed by other means).
+     */
+    public void invalidate() {
+        hasValue = false;
+    }
+
+    //endregion
+}
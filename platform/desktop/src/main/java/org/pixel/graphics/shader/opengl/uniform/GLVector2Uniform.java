@@ -0,0 +1,51 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.shader.opengl.uniform;
+
+import static org.lwjgl.opengl.GL20C.glUniform2f;
+
+import org.pixel.math.Vector2;
+
+public class GLVector2Uniform extends GLUniform {
+
+    private float x;
+    private float y;
+
+    /**
+     * Constructor.
+     *
+     * @param location The uniform location.
+     */
+    public GLVector2Uniform(int location) {
+        super(location);
+    }
+
+    /**
+     * Set the uniform value.
+     *
+     * @param vector The value.
+     */
+    public void set(Vector2 vector) {
+        set(vector.getX(), vector.getY());
+    }
+
+    /**
+     * Set the uniform value.
+     *
+     * @param x The x component.
+     * @param y The y component.
+     */
+    public void set(float x, float y) {
+        if (location < 0 || (hasValue && this.x == x && this.y == y)) {
+            return;
+        }
+
+        glUniform2f(location, x, y);
+        this.x = x;
+        this.y = y;
+        this.hasValue = true;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.graphics.shader.opengl.uniform;
+
+import static org.lwjgl.opengl.GL20C.glUniform4f;
+
+import org.pixel.commons.Color;
+
+public class GLVector4Uniform extends GLUniform {
+
+    private float x;
+    private float y;
+    private float z;
+    private float w;
+
+    /**
+     * Constructor.
+     *
+     * @param location The uniform location.
+     */
+    public GLVector4Uniform(int location) {
+        super(location);
+    }
+
+    /**
+     * Set the uniform value.
+     *
+     * @param color The color (r, g, b, a).
+     */
+    public void set(Color color) {
+        set(color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
+    }
+
+    /**
+     * Set the uniform value.
+     *
+     * @param x The x component.
+     * @param y The y component.
+     * @param z The z component.
+     * @param w The w component.
+     */
+    public void set(float x, float y, float z, float w) {
+        if (location < 0 || (hasValue && this.x == x && this.y == y && this.z == z && this.w == w)) {
+            return;
+        }
+
+        glUniform4f(location, x, y, z, w);
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+        this.hasValue = true;
+    }
+}
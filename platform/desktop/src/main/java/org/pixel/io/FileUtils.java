@@ -14,12 +14,18 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
-import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -31,6 +37,11 @@ public class FileUtils {
 
     private static final Logger log = LoggerFactory.getLogger(FileUtils.class);
 
+    /**
+     * Files smaller than this are read into a direct buffer instead of being mapped (mapping has a fixed cost).
+     */
+    private static final long MAPPING_THRESHOLD = 64 * 1024;
+
     /**
      * Load image file.
      *
@@ -38,15 +49,12 @@ public class FileUtils {
      * @return The image data.
      */
     public static ImageData loadImage(String filepath) {
-        byte[] data = loadFile(filepath);
-        if (data == null) {
+        ByteBuffer rawBuffer = loadFileBuffer(filepath);
+        if (rawBuffer == null) {
             log.warn("Unable to load image due to IO failure (cannot read file from '{}').", filepath);
             return null;
         }
 
-        ByteBuffer rawBuffer = createByteBuffer(data.length);
-        rawBuffer.put(data).flip(); // reset position to 0
-
         try (MemoryStack stack = MemoryStack.stackPush()) {
             IntBuffer w = stack.mallocInt(1);
             IntBuffer h = stack.mallocInt(1);
@@ -92,10 +100,8 @@ public class FileUtils {
         }
 
         if (Files.isReadable(path)) {
-            try (SeekableByteChannel fc = Files.newByteChannel(path)) {
-                ByteBuffer buffer = createByteBuffer((int) fc.size());
-                while (fc.read(buffer) != -1) ; // write into our buffer
-                return buffer.array();
+            try {
+                return Files.readAllBytes(path);
 
             } catch (IOException e) {
                 log.error("Exception caught!", e);
@@ -105,6 +111,78 @@ public class FileUtils {
         return null;
     }
 
+    /**
+     * Load file as a direct byte buffer. Absolute (and exploded classpath) files are memory-mapped, while other
+     * classpath resources are read straight into a direct buffer, so no intermediate heap copies are made.
+     *
+     * @param filepath The file path (relative paths allowed).
+     * @return The byte buffer (read-only when mapped) or null if the file could not be loaded.
+     */
+    public static ByteBuffer loadFileBuffer(String filepath) {
+        Path path = Paths.get(filepath);
+        if (!path.isAbsolute()) {
+            URL url = org.pixel.commons.util.FileUtils.class.getClassLoader().getResource(filepath);
+            if (url == null) {
+                log.warn("Unable to load local resource file '{}'.", filepath);
+                return null;
+            }
+
+            try {
+                if ("file".equals(url.getProtocol())) {
+                    return mapFile(Paths.get(url.toURI()));
+                }
+
+                return readResource(url);
+
+            } catch (IOException | URISyntaxException e) {
+                log.error("Exception caught while loading relative path resource!", e);
+            }
+
+            return null;
+        }
+
+        if (Files.isReadable(path)) {
+            try {
+                return mapFile(path);
+
+            } catch (IOException e) {
+                log.error("Exception caught!", e);
+            }
+        }
+
+        return null;
+    }
+
+    private static ByteBuffer mapFile(Path path) throws IOException {
+        try (FileChannel fc = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = fc.size();
+            if (size >= MAPPING_THRESHOLD) {
+                return fc.map(FileChannel.MapMode.READ_ONLY, 0, size); // stays valid after the channel is closed
+            }
+
+            ByteBuffer buffer = createByteBuffer((int) size);
+            while (buffer.hasRemaining() && fc.read(buffer) != -1) ; // write into our buffer
+            return buffer.flip();
+        }
+    }
+
+    private static ByteBuffer readResource(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        long size = connection.getContentLengthLong();
+        try (InputStream in = connection.getInputStream()) {
+            if (size < 0) {
+                // unknown size, fallback to a heap read:
+                byte[] data = in.readAllBytes();
+                return createByteBuffer(data.length).put(data).flip();
+            }
+
+            ByteBuffer buffer = createByteBuffer((int) size);
+            ReadableByteChannel channel = Channels.newChannel(in);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) ; // write into our buffer
+            return buffer.flip();
+        }
+    }
+
     /**
      * Load file content.
      *
@@ -0,0 +1,61 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.io;
+
+import static org.lwjgl.stb.STBImageWrite.stbi_write_png;
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import org.pixel.commons.logger.Logger;
+import org.pixel.commons.logger.LoggerFactory;
+
+public class ImageWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageWriter.class);
+
+    private ImageWriter() {
+        // no instantiation allowed
+    }
+
+    /**
+     * Encode RGBA pixels to a PNG file (thread safe, may be called off the render thread).
+     *
+     * @param path           The output path.
+     * @param pixels         The pixels (RGBA chunk format).
+     * @param width          The image width.
+     * @param height         The image height.
+     * @param bottomRowFirst True if the pixels start with the bottom row (framebuffer order), false otherwise.
+     * @return True if executed successfully or false otherwise.
+     */
+    public static boolean writePng(Path path, byte[] pixels, int width, int height, boolean bottomRowFirst) {
+        final int stride = width * 4;
+        if (pixels.length < stride * height) {
+            log.error("Unable to write '{}'; expected {} bytes but got {}.", path, stride * height, pixels.length);
+            return false;
+        }
+
+        ByteBuffer image = memAlloc(stride * height);
+        try {
+            for (int y = 0; y < height; y++) {
+                int row = bottomRowFirst ? height - 1 - y : y;
+                image.put(pixels, row * stride, stride);
+            }
+            image.flip();
+
+            if (!stbi_write_png(path.toString(), width, height, 4, image, stride)) {
+                log.error("Unable to write '{}'.", path);
+                return false;
+            }
+
+            return true;
+
+        } finally {
+            memFree(image);
+        }
+    }
+}
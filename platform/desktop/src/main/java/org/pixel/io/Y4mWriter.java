@@ -0,0 +1,180 @@
+/*
+ * This software is available under Apache License
+ * Copyright (c) 2020
+ */
+
+package org.pixel.io;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Raw YUV4MPEG2 (Y4M) video stream writer. Frames are converted from RGBA to planar YUV 4:2:0 (full range BT.601
+ * coefficients) and appended uncompressed, so the stream can be encoded later by external tools (e.g. ffmpeg). Not
+ * thread safe; frames must be written in order from a single thread.
+ */
+public class Y4mWriter implements Closeable {
+
+    private static final byte[] FRAME_HEADER = "FRAME\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream output;
+    private final int width;
+    private final int height;
+    private final int chromaWidth;
+    private final int chromaHeight;
+    private final byte[] lumaPlane;
+    private final byte[] cbPlane;
+    private final byte[] crPlane;
+    private long frameCount;
+
+    /**
+     * Constructor.
+     *
+     * @param path      The output path.
+     * @param width     The frame width.
+     * @param height    The frame height.
+     * @param frameRate The frame rate (frames per second).
+     * @throws IOException If the stream cannot be created.
+     */
+    public Y4mWriter(Path path, int width, int height, int frameRate) throws IOException {
+        if (width <= 0 || height <= 0 || frameRate <= 0) {
+            throw new IllegalArgumentException("Invalid stream format, dimensions and frame rate must be positive");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.chromaWidth = (width + 1) / 2;
+        this.chromaHeight = (height + 1) / 2;
+        this.lumaPlane = new byte[width * height];
+        this.cbPlane = new byte[chromaWidth * chromaHeight];
+        this.crPlane = new byte[chromaWidth * chromaHeight];
+        this.output = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16);
+
+        String header = "YUV4MPEG2 W" + width + " H" + height + " F" + frameRate + ":1"
+                + " Ip A1:1 C420jpeg XCOLORRANGE=FULL\n";
+        output.write(header.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Append a frame.
+     *
+     * @param pixels         The pixels (RGBA chunk format).
+     * @param bottomRowFirst True if the pixels start with the bottom row (framebuffer order), false otherwise.
+     * @throws IOException If the frame cannot be written.
+     */
+    public void writeFrame(byte[] pixels, boolean bottomRowFirst) throws IOException {
+        if (pixels.length < width * height * 4) {
+            throw new IllegalArgumentException("Invalid frame, expected " + width * height * 4 + " bytes");
+        }
+
+        convert(pixels, bottomRowFirst);
+
+        writePlanes();
+    }
+
+    /**
+     * Append the last written frame again (e.g. in place of dropped frames, so the stream keeps its duration).
+     *
+     * @param count The number of repetitions.
+     * @throws IOException If the frames cannot be written.
+     */
+    public void repeatFrame(long count) throws IOException {
+        if (frameCount == 0) {
+            throw new IllegalStateException("No frame to repeat");
+        }
+
+        for (long i = 0; i < count; i++) {
+            writePlanes();
+        }
+    }
+
+    /**
+     * Get the number of frames written (including repetitions).
+     *
+     * @return The number of frames.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Get the frame width.
+     *
+     * @return The frame width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the frame height.
+     *
+     * @return The frame height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    private void writePlanes() throws IOException {
+        output.write(FRAME_HEADER);
+        output.write(lumaPlane);
+        output.write(cbPlane);
+        output.write(crPlane);
+        frameCount++;
+    }
+
+    private void convert(byte[] pixels, boolean bottomRowFirst) {
+        // luma per pixel, chroma averaged over each 2x2 block (16.16 fixed point coefficients):
+        for (int cy = 0; cy < chromaHeight; cy++) {
+            for (int cx = 0; cx < chromaWidth; cx++) {
+                int sumR = 0, sumG = 0, sumB = 0, count = 0;
+                for (int dy = 0; dy < 2; dy++) {
+                    int y = cy * 2 + dy;
+                    if (y >= height) {
+                        break;
+                    }
+
+                    int row = (bottomRowFirst ? height - 1 - y : y) * width;
+                    for (int dx = 0; dx < 2; dx++) {
+                        int x = cx * 2 + dx;
+                        if (x >= width) {
+                            break;
+                        }
+
+                        int offset = (row + x) * 4;
+                        int r = pixels[offset] & 0xFF;
+                        int g = pixels[offset + 1] & 0xFF;
+                        int b = pixels[offset + 2] & 0xFF;
+                        lumaPlane[y * width + x] = (byte) ((19595 * r + 38470 * g + 7471 * b + 32768) >> 16);
+                        sumR += r;
+                        sumG += g;
+                        sumB += b;
+                        count++;
+                    }
+                }
+
+                int r = sumR / count;
+                int g = sumG / count;
+                int b = sumB / count;
+                int cb = (-11059 * r - 21709 * g + 32768 * b + 32768) >> 16;
+                int cr = (32768 * r - 27439 * g - 5329 * b + 32768) >> 16;
+                cbPlane[cy * chromaWidth + cx] = (byte) clamp(cb + 128);
+                crPlane[cy * chromaWidth + cx] = (byte) clamp(cr + 128);
+            }
+        }
+    }
+
+    private static int clamp(int value) {
+        return value < 0 ? 0 : Math.min(value, 255);
+    }
+}
@@ -7,9 +7,13 @@ in vec2 vTextureCoordinates;
 uniform float uHorizontal;
 uniform float uVertical;
 uniform vec4 uColor;
-uniform float uTime;
 uniform sampler2D uTextureImage;
 
+layout(std140) uniform FrameData {
+    vec2 uViewport;
+    float uTime;
+};
+
 void main() {
     vec4 color = texture(uTextureImage, vTextureCoordinates);
     vec2 st = vTextureCoordinates;
@@ -3,11 +3,15 @@
 out vec4 oFragColor;
 
 uniform sampler2D uTextureImage;
-uniform float uTime;
 uniform float uBlockSizeH;
 uniform float uBlockSizeV;
 uniform int uAnimated;
 
+layout(std140) uniform FrameData {
+    vec2 uViewport;
+    float uTime;
+};
+
 in vec2 vTextureCoordinates;
 
 void main(void) {
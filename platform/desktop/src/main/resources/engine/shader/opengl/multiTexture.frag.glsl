@@ -5,6 +5,7 @@ out vec4 oFragColor;
 in vec2 vTextureCoordinates;
 in vec4 vColor;
 flat in int vTextureIndex;
+flat in int vDistanceField;
 
 uniform sampler2D uTextureImage[/*$numTextures*/];
 
@@ -18,6 +19,13 @@ void main() {
     {
     /*$textureSwitchCase*/
     }
+    // signed distance field glyphs store the distance in alpha (edge at 0.5), anti-aliased over one screen pixel:
+    float edgeWidth = max(fwidth(color.a) * 0.5, 0.0001);
+    if (vDistanceField != 0) {
+        color = vec4(vColor.rgb, vColor.a * smoothstep(0.5 - edgeWidth, 0.5 + edgeWidth, color.a));
+    } else {
+        color *= vColor;
+    }
     if (color.a <= 0) {
         discard;
     }
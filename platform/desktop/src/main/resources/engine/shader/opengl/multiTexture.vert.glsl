@@ -3,17 +3,23 @@
 out vec2 vTextureCoordinates;
 out vec4 vColor;
 flat out int vTextureIndex;
+flat out int vDistanceField;
 
 in vec2 aVertexPosition;
 in vec2 aTextureCoordinates;
 in vec4 aVertexColor;
 in float aTextureIndex;
 
-uniform mat4 uMatrix;
+layout(std140) uniform CameraData {
+    mat4 uMatrix;
+};
 
 void main() {
     vColor = aVertexColor;
     vTextureCoordinates = aTextureCoordinates;
-    vTextureIndex = int(aTextureIndex);
+    // the texture index carries the distance field flag (256) above the texture unit:
+    int textureIndex = int(aTextureIndex);
+    vTextureIndex = textureIndex & 255;
+    vDistanceField = textureIndex >> 8;
     gl_Position = uMatrix * vec4(aVertexPosition, 0.0, 1.0);
 }
@@ -5,7 +5,9 @@ out vec4 vColor;
 in vec2 aVertexPosition;
 in vec4 aVertexColor;
 
-uniform mat4 uMatrix;
+layout(std140) uniform CameraData {
+    mat4 uMatrix;
+};
 
 void main() {
     vColor = aVertexColor;
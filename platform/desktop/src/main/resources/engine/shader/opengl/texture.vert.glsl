@@ -7,7 +7,9 @@ in vec2 aVertexPosition;
 in vec2 aTextureCoordinates;
 in vec4 aVertexColor;
 
-uniform mat4 uMatrix;
+layout(std140) uniform CameraData {
+    mat4 uMatrix;
+};
 
 void main() {
     vColor = aVertexColor;